@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog.compiler;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.catalog.BinaryMessageCatalogWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static io.microsphere.i18n.AbstractResourceServiceMessageSource.DEFAULT_RESOURCE_NAME_PREFIX;
+import static io.microsphere.i18n.AbstractResourceServiceMessageSource.DEFAULT_RESOURCE_NAME_SUFFIX;
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static io.microsphere.i18n.util.MessageUtils.SOURCE_SEPARATOR;
+import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The compiler that compiles the properties resources {@code META-INF/i18n/{source}/i18n_messages_*.properties} of
+ * one source into the {@link io.microsphere.i18n.catalog.BinaryMessageCatalog binary message catalog} at build time,
+ * the message codes are validated as {@link io.microsphere.i18n.AbstractResourceServiceMessageSource} does at runtime,
+ * the message patterns are validated by compiling and the {@link Locale locales} are indexed.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessageCatalogCompiler compiler = new MessageCatalogCompiler("test");
+ *   try (Reader reader = Files.newBufferedReader(Paths.get("i18n_messages_en.properties"))) {
+ *       compiler.addResource("i18n_messages_en.properties", reader);
+ *   }
+ *   try (OutputStream outputStream = Files.newOutputStream(Paths.get("i18n_messages.catalog"))) {
+ *       compiler.writeTo(outputStream);
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageCatalogProcessor
+ * @see BinaryMessageCatalogWriter
+ * @since 1.0.0
+ */
+public class MessageCatalogCompiler {
+
+    private final String source;
+
+    private final String codePrefix;
+
+    private final BinaryMessageCatalogWriter writer = new BinaryMessageCatalogWriter();
+
+    private int resourceCount;
+
+    /**
+     * Constructs with the given source identifier.
+     *
+     * @param source the source identifier
+     */
+    public MessageCatalogCompiler(String source) {
+        assertNotNull(source, () -> "'source' argument must not be null");
+        this.source = source;
+        this.codePrefix = source + SOURCE_SEPARATOR;
+    }
+
+    /**
+     * Resolves the {@link Locale} from the specified resource name, e.g. "i18n_messages_zh_CN.properties"
+     *
+     * @param resourceName the resource name
+     * @return {@code null} if the resource name is not the localized message resource
+     */
+    @Nullable
+    public static Locale resolveLocale(String resourceName) {
+        if (resourceName == null || !resourceName.startsWith(DEFAULT_RESOURCE_NAME_PREFIX) || !resourceName.endsWith(DEFAULT_RESOURCE_NAME_SUFFIX)) {
+            return null;
+        }
+        String locale = resourceName.substring(DEFAULT_RESOURCE_NAME_PREFIX.length(), resourceName.length() - DEFAULT_RESOURCE_NAME_SUFFIX.length());
+        if (locale.isEmpty()) {
+            return null;
+        }
+        String[] parts = locale.split("_", 3);
+        return new Locale(parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "");
+    }
+
+    /**
+     * Compiles the messages of the specified properties resource, the ones of the same {@link Locale} are merged
+     *
+     * @param resourceName the resource name, e.g. "i18n_messages_zh_CN.properties"
+     * @param reader       the {@link Reader} of the properties resource, which is not closed
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the resource name is not the localized message resource
+     * @throws IllegalStateException    if any message code does not start with the source prefix
+     */
+    public void addResource(String resourceName, Reader reader) throws IOException {
+        Locale locale = resolveLocale(resourceName);
+        if (locale == null) {
+            throw new IllegalArgumentException(format("Source '{}' Message Resource[name : '{}'] must match '{}*{}'",
+                    this.source, resourceName, DEFAULT_RESOURCE_NAME_PREFIX, DEFAULT_RESOURCE_NAME_SUFFIX));
+        }
+        Properties properties = new Properties();
+        properties.load(reader);
+        Map<String, String> messages = new HashMap<>(properties.size() * 4 / 3 + 1);
+        for (String code : properties.stringPropertyNames()) {
+            if (!code.startsWith(this.codePrefix)) {
+                throw new IllegalStateException(format("Source '{}' Message Resource[name : '{}'] code '{}' must start with '{}'",
+                        this.source, resourceName, code, this.codePrefix));
+            }
+            String message = properties.getProperty(code);
+            // Validates the message pattern
+            compile(message);
+            messages.put(code, message);
+        }
+        this.writer.addMessages(locale, messages);
+        this.resourceCount++;
+    }
+
+    /**
+     * Writes the compiled catalog to the specified {@link OutputStream}, which is not closed
+     *
+     * @param outputStream the {@link OutputStream}
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        this.writer.writeTo(outputStream);
+    }
+
+    /**
+     * Writes the compiled catalog to the byte array
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public byte[] toByteArray() {
+        return this.writer.toByteArray();
+    }
+
+    /**
+     * Get the source identifier
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Get the count of the compiled resources
+     *
+     * @return the count of the compiled resources
+     */
+    public int getResourceCount() {
+        return this.resourceCount;
+    }
+}
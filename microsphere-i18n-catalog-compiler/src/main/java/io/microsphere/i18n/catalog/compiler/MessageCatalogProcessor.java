@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog.compiler;
+
+import io.microsphere.i18n.catalog.ResourceIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static io.microsphere.i18n.AbstractResourceServiceMessageSource.DEFAULT_RESOURCE_NAME_PREFIX;
+import static io.microsphere.i18n.AbstractResourceServiceMessageSource.DEFAULT_RESOURCE_NAME_SUFFIX;
+import static io.microsphere.i18n.DefaultServiceMessageSource.PRECOMPILED_CATALOG_RESOURCE_NAME;
+import static io.microsphere.i18n.DefaultServiceMessageSource.RESOURCE_LOCATION_PATTERN;
+import static io.microsphere.i18n.catalog.ResourceIndex.INDEX_RESOURCE_NAME;
+import static io.microsphere.text.FormatUtils.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.NOTE;
+import static javax.tools.Diagnostic.Kind.WARNING;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+/**
+ * The annotation processor that compiles the properties resources {@code META-INF/i18n/{source}/i18n_messages_*.properties}
+ * of the {@link #SOURCES_OPTION configured sources} in the class output into the
+ * {@link io.microsphere.i18n.catalog.BinaryMessageCatalog binary message catalogs}
+ * {@code META-INF/i18n/{source}/i18n_messages.precompiled} when the compilation is over, which are loaded by
+ * {@link io.microsphere.i18n.DefaultServiceMessageSource} at runtime. The invalid message code fails the compilation.
+ * <p>
+ * If the {@link #INDEX_OPTION index option} is {@code true}, the {@link ResourceIndex resource index}
+ * {@code META-INF/i18n.index} of all resources under {@code META-INF/i18n/} in the class output, including the compiled
+ * catalogs, is generated, thus the resources of the artifact are resolved without scanning the classpath at runtime.
+ * <p>
+ * The build tool copies the resources into the class output before the compilation, e.g. Maven :
+ * <pre>{@code
+ * <plugin>
+ *     <groupId>org.apache.maven.plugins</groupId>
+ *     <artifactId>maven-compiler-plugin</artifactId>
+ *     <configuration>
+ *         <annotationProcessorPaths>
+ *             <path>
+ *                 <groupId>io.github.microsphere-projects</groupId>
+ *                 <artifactId>microsphere-i18n-catalog-compiler</artifactId>
+ *                 <version>${microsphere-i18n.version}</version>
+ *             </path>
+ *         </annotationProcessorPaths>
+ *         <compilerArgs>
+ *             <arg>-Amicrosphere.i18n.catalog.sources=test</arg>
+ *             <arg>-Amicrosphere.i18n.index=true</arg>
+ *         </compilerArgs>
+ *     </configuration>
+ * </plugin>
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageCatalogCompiler
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions({MessageCatalogProcessor.SOURCES_OPTION, MessageCatalogProcessor.INDEX_OPTION})
+public class MessageCatalogProcessor extends AbstractProcessor {
+
+    /**
+     * The option of the comma-separated sources to compile
+     */
+    public static final String SOURCES_OPTION = "microsphere.i18n.catalog.sources";
+
+    /**
+     * The option of whether the {@link ResourceIndex resource index} is generated
+     */
+    public static final String INDEX_OPTION = "microsphere.i18n.index";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            String sources = processingEnv.getOptions().get(SOURCES_OPTION);
+            if (sources != null) {
+                for (String source : sources.split(",")) {
+                    source = source.trim();
+                    if (!source.isEmpty()) {
+                        compile(source);
+                    }
+                }
+            }
+            if (Boolean.parseBoolean(processingEnv.getOptions().get(INDEX_OPTION))) {
+                index();
+            }
+        }
+        // The annotations are not claimed
+        return false;
+    }
+
+    private void compile(String source) {
+        Filer filer = processingEnv.getFiler();
+        Messager messager = processingEnv.getMessager();
+        String catalogResource = format(RESOURCE_LOCATION_PATTERN, source, PRECOMPILED_CATALOG_RESOURCE_NAME);
+        try {
+            Path directory = resolveResourceDirectory(filer, source);
+            MessageCatalogCompiler compiler = new MessageCatalogCompiler(source);
+            if (Files.isDirectory(directory)) {
+                String glob = DEFAULT_RESOURCE_NAME_PREFIX + "*" + DEFAULT_RESOURCE_NAME_SUFFIX;
+                try (DirectoryStream<Path> resources = Files.newDirectoryStream(directory, glob)) {
+                    for (Path resource : resources) {
+                        try (Reader reader = Files.newBufferedReader(resource, UTF_8)) {
+                            compiler.addResource(resource.getFileName().toString(), reader);
+                        }
+                    }
+                }
+            }
+            if (compiler.getResourceCount() == 0) {
+                messager.printMessage(WARNING, format("Source '{}' has no message resource in '{}'", source, directory));
+                return;
+            }
+            FileObject catalog = filer.createResource(CLASS_OUTPUT, "", catalogResource);
+            try (OutputStream outputStream = catalog.openOutputStream()) {
+                compiler.writeTo(outputStream);
+            }
+            messager.printMessage(NOTE, format("Source '{}' compiles {} message resources into '{}'", source,
+                    compiler.getResourceCount(), catalogResource));
+        } catch (IOException | RuntimeException e) {
+            messager.printMessage(ERROR, format("Source '{}' message catalog compiling is failed : {}", source, e.getMessage()));
+        }
+    }
+
+    private void index() {
+        Filer filer = processingEnv.getFiler();
+        Messager messager = processingEnv.getMessager();
+        try {
+            // The resource is never opened, which is used to locate the directory
+            FileObject probe = filer.getResource(CLASS_OUTPUT, "", INDEX_RESOURCE_NAME);
+            Path directory = Paths.get(probe.toUri()).resolveSibling("i18n");
+            List<String> resources = new ArrayList<>();
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> paths = Files.walk(directory)) {
+                    paths.filter(Files::isRegularFile)
+                            .map(path -> directory.relativize(path).toString().replace(File.separatorChar, '/'))
+                            .forEach(resources::add);
+                }
+            }
+            if (resources.isEmpty()) {
+                messager.printMessage(WARNING, format("No i18n resource in '{}' to index", directory));
+                return;
+            }
+            FileObject index = filer.createResource(CLASS_OUTPUT, "", INDEX_RESOURCE_NAME);
+            try (OutputStream outputStream = index.openOutputStream()) {
+                ResourceIndex.writeTo(resources, outputStream);
+            }
+            messager.printMessage(NOTE, format("{} i18n resources are indexed into '{}'", resources.size(), INDEX_RESOURCE_NAME));
+        } catch (IOException | RuntimeException e) {
+            messager.printMessage(ERROR, format("The i18n resource indexing is failed : {}", e.getMessage()));
+        }
+    }
+
+    /**
+     * Resolves the directory of the message resources of the specified source in the class output
+     */
+    private Path resolveResourceDirectory(Filer filer, String source) throws IOException {
+        // The resource is never opened, which is used to locate the directory
+        String probeResource = format(RESOURCE_LOCATION_PATTERN, source, DEFAULT_RESOURCE_NAME_PREFIX + DEFAULT_RESOURCE_NAME_SUFFIX);
+        FileObject fileObject = filer.getResource(CLASS_OUTPUT, "", probeResource);
+        return Paths.get(fileObject.toUri()).getParent();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog.compiler;
+
+import io.microsphere.i18n.catalog.BinaryMessageCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.catalog.compiler.MessageCatalogCompiler.resolveLocale;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link MessageCatalogCompiler} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageCatalogCompiler
+ * @since 1.0.0
+ */
+class MessageCatalogCompilerTest {
+
+    @Test
+    void testResolveLocale() {
+        assertEquals(ENGLISH, resolveLocale("i18n_messages_en.properties"));
+        assertEquals(SIMPLIFIED_CHINESE, resolveLocale("i18n_messages_zh_CN.properties"));
+        assertEquals(new Locale("en", "US", "POSIX"), resolveLocale("i18n_messages_en_US_POSIX.properties"));
+        assertNull(resolveLocale("i18n_messages_.properties"));
+        assertNull(resolveLocale("i18n_messages_en.yaml"));
+        assertNull(resolveLocale("messages_en.properties"));
+        assertNull(resolveLocale(null));
+    }
+
+    @Test
+    void testAddResource() throws IOException {
+        MessageCatalogCompiler compiler = new MessageCatalogCompiler("test");
+        try (Reader reader = new StringReader("test.a = test-a\ntest.hello = Hello,{}")) {
+            compiler.addResource("i18n_messages_en.properties", reader);
+        }
+        try (Reader reader = new StringReader("test.a = \\u6d4b\\u8bd5-a")) {
+            compiler.addResource("i18n_messages_zh_CN.properties", reader);
+        }
+        assertEquals("test", compiler.getSource());
+        assertEquals(2, compiler.getResourceCount());
+
+        BinaryMessageCatalog catalog = BinaryMessageCatalog.of(ByteBuffer.wrap(compiler.toByteArray()));
+        assertEquals(ofList(ENGLISH, SIMPLIFIED_CHINESE), catalog.getLocales());
+        assertEquals(ofSet("test.a", "test.hello"), catalog.getCodes());
+        assertEquals("Hello,{}", catalog.getMessage(ENGLISH, "test.hello"));
+        assertEquals("测试-a", catalog.getMessage(SIMPLIFIED_CHINESE, "test.a"));
+    }
+
+    @Test
+    void testAddInvalidResource() {
+        MessageCatalogCompiler compiler = new MessageCatalogCompiler("test");
+        assertThrows(IllegalArgumentException.class, () -> compiler.addResource("messages.properties", new StringReader("")));
+        assertThrows(IllegalStateException.class, () -> compiler.addResource("i18n_messages_en.properties", new StringReader("error.a = a")));
+        assertEquals(0, compiler.getResourceCount());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog.compiler;
+
+import io.microsphere.i18n.DefaultServiceMessageSource;
+import io.microsphere.i18n.catalog.ResourceIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.catalog.ResourceIndex.INDEX_RESOURCE_NAME;
+import static io.microsphere.i18n.catalog.compiler.MessageCatalogProcessor.INDEX_OPTION;
+import static io.microsphere.i18n.catalog.compiler.MessageCatalogProcessor.SOURCES_OPTION;
+import static io.microsphere.util.ClassLoaderUtils.getDefaultClassLoader;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static javax.tools.JavaFileObject.Kind.SOURCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MessageCatalogProcessor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageCatalogProcessor
+ * @since 1.0.0
+ */
+class MessageCatalogProcessorTest {
+
+    private Path classOutput;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.classOutput = Files.createTempDirectory("classes");
+        // Simulates the resources copied into the class output by the build tool
+        for (String resource : ofList("META-INF/i18n/test/i18n_messages_en.properties",
+                "META-INF/i18n/test/i18n_messages_zh_CN.properties", "META-INF/i18n/error/i18n_messages_zh_CN.properties")) {
+            Path path = this.classOutput.resolve(resource);
+            Files.createDirectories(path.getParent());
+            try (InputStream inputStream = getDefaultClassLoader().getResourceAsStream(resource)) {
+                Files.copy(inputStream, path);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.classOutput)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testProcess() throws IOException {
+        assertTrue(compile("test, not-found"));
+        assertTrue(Files.exists(this.classOutput.resolve("META-INF/i18n/test/i18n_messages.precompiled")));
+        assertFalse(Files.exists(this.classOutput.resolve("META-INF/i18n/not-found/i18n_messages.precompiled")));
+
+        // The messages are loaded from the catalog, the properties resources are not parsed
+        List<String> loadedResources = new ArrayList<>();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{this.classOutput.toUri().toURL()}, null)) {
+            DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource("test", classLoader) {
+                @Override
+                protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
+                    loadedResources.add(resource);
+                    return super.loadAllPropertiesResources(resource);
+                }
+            };
+            serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+            serviceMessageSource.init();
+            assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+            // Only the resource that is absent in the catalog, e.g. the one of the fallback Locale "zh", is loaded
+            assertFalse(loadedResources.contains(serviceMessageSource.getResource(ENGLISH)));
+            assertFalse(loadedResources.contains(serviceMessageSource.getResource(SIMPLIFIED_CHINESE)));
+            serviceMessageSource.destroy();
+        }
+    }
+
+    @Test
+    void testProcessWithIndex() throws IOException {
+        assertTrue(compile("test", "-A" + INDEX_OPTION + "=true"));
+        Path index = this.classOutput.resolve(INDEX_RESOURCE_NAME);
+        assertTrue(Files.exists(index));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{this.classOutput.toUri().toURL()}, null)) {
+            ResourceIndex resourceIndex = ResourceIndex.load(classLoader);
+            assertEquals(ofSet("META-INF/i18n/test/i18n_messages_en.properties",
+                    "META-INF/i18n/test/i18n_messages_zh_CN.properties",
+                    "META-INF/i18n/test/i18n_messages.precompiled",
+                    "META-INF/i18n/error/i18n_messages_zh_CN.properties"), resourceIndex.getResourceNames());
+        }
+    }
+
+    @Test
+    void testProcessWithoutOption() {
+        assertTrue(compile(null));
+        assertFalse(Files.exists(this.classOutput.resolve("META-INF/i18n/test/i18n_messages.precompiled")));
+    }
+
+    @Test
+    void testProcessOnInvalidCode() {
+        assertFalse(compile("error"));
+        assertFalse(Files.exists(this.classOutput.resolve("META-INF/i18n/error/i18n_messages.precompiled")));
+    }
+
+    private boolean compile(String sources, String... extraOptions) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = new ArrayList<>(ofList("-d", this.classOutput.toString(), "-proc:only"));
+        if (sources != null) {
+            options.add("-A" + SOURCES_OPTION + "=" + sources);
+        }
+        options.addAll(ofList(extraOptions));
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///Test.java"), SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "class Test {}";
+            }
+        };
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, ofList(source));
+        task.setProcessors(ofList(new MessageCatalogProcessor()));
+        return task.call();
+    }
+}
@@ -2,17 +2,39 @@ package io.microsphere.i18n;
 
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.catalog.CompactMessagePatterns;
+import io.microsphere.i18n.catalog.MessageCodeTable;
+import io.microsphere.i18n.catalog.MessagePool;
+import io.microsphere.i18n.text.MessageFormatter;
+import io.microsphere.i18n.text.MessageFormatter.CompiledMessage;
+import io.microsphere.i18n.text.MessagePattern;
+import io.microsphere.i18n.util.ParallelUtils;
 
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import static io.microsphere.collection.SetUtils.newFixedLinkedHashSet;
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static io.microsphere.i18n.util.ParallelUtils.runAll;
 import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
 import static io.microsphere.util.ArrayUtils.arrayToString;
 import static io.microsphere.util.Assert.assertNotNull;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
@@ -46,7 +68,48 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
      */
     public static final String DEFAULT_RESOURCE_NAME_SUFFIX = ".properties";
 
-    private volatile Map<String, Map<String, String>> localizedResourceMessages = emptyMap();
+    /**
+     * The max count of the cached message patterns of the {@link Locale locales} that are not precomputed
+     */
+    private static final int MAX_CACHED_LOCALE_PATTERNS = 256;
+
+    /**
+     * The placeholder of the cached {@link Locale} that has no message
+     */
+    private static final Map<String, MessagePattern> NO_MESSAGE_PATTERNS = unmodifiableMap(new HashMap<>(0));
+
+    private volatile MessagesSnapshot messagesSnapshot = MessagesSnapshot.EMPTY;
+
+    private boolean compactCatalog;
+
+    private boolean lazyLoading;
+
+    private Set<Locale> warmUpLocales = emptySet();
+
+    /**
+     * The {@link #getSupportedLocales() supported locales} whose resources are not loaded yet in the
+     * {@link #isLazyLoading() lazy loading} mode, guarded by {@code this} on write
+     */
+    private volatile Set<Locale> pendingLocales = emptySet();
+
+    private MessagePool messagePool;
+
+    private Executor loadingExecutor;
+
+    /**
+     * The {@link MessagePool.Statistics statistics} of the current reload, guarded by {@code this}
+     */
+    private MessagePool.Statistics reloadStatistics;
+
+    /**
+     * The message patterns keyed by the resource before the current reload, whose unchanged {@link MessagePattern}
+     * instances are reused, guarded by {@code this}
+     */
+    private Map<String, Map<String, MessagePattern>> previousResourcePatterns = emptyMap();
+
+    private volatile MessagePool.Statistics deduplicationStatistics;
+
+    private final List<ResourceServiceMessageSourceListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs with the given source identifier.
@@ -71,12 +134,104 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
     @Override
     public void initializeResources(Iterable<String> resources) {
         synchronized (this) {
-            // Copy the current messages and initialized resources
-            Map<String, Map<String, String>> localizedResourceMessages = new HashMap<>(this.localizedResourceMessages);
-            initializeResources(resources, localizedResourceMessages);
-            // Exchange the field
-            this.localizedResourceMessages = localizedResourceMessages;
+            loadResources(resources);
         }
+        fireResourcesInitialized(resources);
+    }
+
+    /**
+     * Loads the specified resources, the caller must hold the lock of {@code this}
+     *
+     * @param resources the resources
+     */
+    private void loadResources(Iterable<String> resources) {
+        publishResources(stageResources(resources));
+    }
+
+    /**
+     * Loads the specified resources and builds the new {@link MessagesSnapshot snapshot} aside without publishing it,
+     * the caller must hold the lock of {@code this}
+     *
+     * @param resources the resources
+     * @return non-null
+     */
+    private StagedResources stageResources(Iterable<String> resources) {
+        startReload();
+        MessagesSnapshot currentMessagesSnapshot = this.messagesSnapshot;
+        // Copy the current message patterns and initialized resources
+        Map<String, Map<String, MessagePattern>> currentResourcePatterns = currentMessagesSnapshot.localizedResourcePatterns;
+        Map<String, Map<String, MessagePattern>> localizedResourcePatterns = new HashMap<>(currentResourcePatterns);
+        Set<String> loadedResources = initializeResources(resources, localizedResourcePatterns);
+        // The unchanged resources keep their current message patterns instances
+        Set<String> changedResources = new HashSet<>();
+        for (String resource : loadedResources) {
+            if (localizedResourcePatterns.get(resource) != currentResourcePatterns.get(resource)) {
+                changedResources.add(resource);
+            }
+        }
+        MessagesSnapshot messagesSnapshot = currentMessagesSnapshot;
+        if (changedResources.isEmpty()) {
+            logger.trace("Source '{}' reloaded the resources {} without any change", source, loadedResources);
+        } else {
+            messagesSnapshot = newMessagesSnapshot(localizedResourcePatterns, changedResources);
+        }
+        Set<Locale> currentPendingLocales = this.pendingLocales;
+        Set<Locale> pendingLocales = currentPendingLocales;
+        if (!currentPendingLocales.isEmpty()) {
+            Set<Locale> remainingLocales = new HashSet<>(currentPendingLocales);
+            remainingLocales.removeIf(locale -> loadedResources.contains(getResource(locale)));
+            pendingLocales = remainingLocales.isEmpty() ? emptySet() : unmodifiableSet(remainingLocales);
+        }
+        completeReload();
+        return new StagedResources(this, resources, currentMessagesSnapshot, currentPendingLocales, messagesSnapshot,
+                pendingLocales);
+    }
+
+    /**
+     * Publishes the staged resources, the caller must hold the lock of {@code this}
+     *
+     * @param stagedResources the {@link StagedResources} staged by this source
+     */
+    private void publishResources(StagedResources stagedResources) {
+        // Exchange the fields
+        this.messagesSnapshot = stagedResources.messagesSnapshot;
+        // The snapshot is published before, thus the loaded resources are visible to the readers
+        this.pendingLocales = stagedResources.pendingLocales;
+    }
+
+    /**
+     * Loads the specified resources and stages their messages without publishing them, which is the first phase of the
+     * two-phase reload, the staged messages are published by {@link StagedResources#publish()} later.
+     *
+     * @param resources the resources
+     * @return non-null
+     * @see CompositeServiceMessageSource#reload(Iterable)
+     */
+    @Nonnull
+    final StagedResources stageReload(Iterable<String> resources) {
+        synchronized (this) {
+            return stageResources(resources);
+        }
+    }
+
+    @Override
+    public void addListener(ResourceServiceMessageSourceListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(ResourceServiceMessageSourceListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code null} if any resource is not loaded yet in the {@link #isLazyLoading() lazy loading} mode
+     */
+    @Override
+    public Set<String> getMessageCodes() {
+        return this.pendingLocales.isEmpty() ? this.messagesSnapshot.messageCodes : null;
     }
 
     @Override
@@ -89,44 +244,674 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
         if (code.startsWith(codePrefix)) { // The complete Message code
             return code;
         }
-        return codePrefix + code;
+        MessagesSnapshot messagesSnapshot = this.messagesSnapshot;
+        String resolvedCode;
+        MessageCodeTable codeTable = messagesSnapshot.codeTable;
+        if (codeTable == null) {
+            // The complete Message code of the loaded message
+            resolvedCode = messagesSnapshot.resolvedCodes.get(code);
+        } else { // The compact catalog resolves the complete Message code from the shared code table
+            int index = codeTable.indexOf(codePrefix, code);
+            resolvedCode = index < 0 ? null : codeTable.getCode(index);
+        }
+        return resolvedCode == null ? codePrefix + code : resolvedCode;
     }
 
     @Override
     protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale, Object[] args) {
+        loadLazily(resolvedLocale);
         String message = null;
-        Map<String, String> messages = getMessages(resolvedLocale);
-        if (messages != null) {
-            String messagePattern = messages.get(resolvedCode);
-            if (messagePattern != null) {
-                message = resolveMessage(messagePattern, args);
-                logMessage(code, resolvedCode, locale, resolvedLocale, args, messagePattern, message);
-            }
+        MessagePattern messagePattern = getMessagePattern(resolvedCode, resolvedLocale);
+        if (messagePattern != null) {
+            message = formatMessage(messagePattern, resolvedLocale, args);
+            logMessage(code, resolvedCode, locale, resolvedLocale, args, messagePattern.getPattern(), message);
         }
         return message;
     }
 
+    /**
+     * Formats the compiled {@link MessagePattern} with the fixed-arity arguments directly unless the
+     * {@link #getMessageFormatter() message formatter} is present.
+     */
+    @Override
+    protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
+                                        int argumentCount, Object arg0, Object arg1, Object arg2) {
+        loadLazily(resolvedLocale);
+        String message = null;
+        MessagePattern messagePattern = getMessagePattern(resolvedCode, resolvedLocale);
+        if (messagePattern != null) {
+            message = formatMessage(messagePattern, resolvedLocale, argumentCount, arg0, arg1, arg2);
+            logMessage(code, resolvedCode, locale, resolvedLocale, toArguments(argumentCount, arg0, arg1, arg2),
+                    messagePattern.getPattern(), message);
+        }
+        return message;
+    }
+
+    @Override
+    protected boolean appendInternalMessage(Appendable out, String code, String resolvedCode, Locale locale,
+                                            Locale resolvedLocale, Object... args) throws IOException {
+        loadLazily(resolvedLocale);
+        MessagePattern messagePattern = getMessagePattern(resolvedCode, resolvedLocale);
+        if (messagePattern == null) {
+            return false;
+        }
+        formatMessageTo(out, messagePattern, resolvedLocale, args);
+        if (logger.isTraceEnabled()) {
+            logMessage(code, resolvedCode, locale, resolvedLocale, args, messagePattern.getPattern(),
+                    formatMessage(messagePattern, resolvedLocale, args));
+        }
+        return true;
+    }
+
+    @Nullable
+    private MessagePattern getMessagePattern(String resolvedCode, Locale resolvedLocale) {
+        Map<String, MessagePattern> messagePatterns = this.messagesSnapshot.effectivePatterns.get(resolvedLocale);
+        if (messagePatterns == null) { // The fallback messages of the Locale are not merged
+            messagePatterns = getMessagePatterns(resolvedLocale);
+        }
+        return messagePatterns == null ? null : messagePatterns.get(resolvedCode);
+    }
+
+    /**
+     * Compiles the current message patterns of all loaded {@link Locale locales} by the new
+     * {@link #getMessageFormatter() message formatter} aside, and then publishes them with the current messages.
+     */
+    @Override
+    protected void resetCompiledMessages() {
+        synchronized (this) {
+            MessagesSnapshot messagesSnapshot = this.messagesSnapshot;
+            if (messagesSnapshot == MessagesSnapshot.EMPTY) { // The messages will be compiled when they are published
+                return;
+            }
+            this.messagesSnapshot = messagesSnapshot.withCompiledMessages(compileMessages(messagesSnapshot,
+                    messagesSnapshot.localePatterns, messagesSnapshot.effectivePatterns));
+        }
+    }
+
+    @Override
+    CompiledMessages getCompiledMessages() {
+        return this.messagesSnapshot.compiledMessages;
+    }
+
+    /**
+     * Compiles the message patterns of the precomputed {@link Locale locales} by the current
+     * {@link #getMessageFormatter() message formatter}, the compiled messages of the current snapshot are reused if the
+     * message patterns of the {@link Locale} or the message pattern itself are unchanged, thus only the changed ones
+     * are compiled.
+     *
+     * @param currentMessagesSnapshot the current snapshot
+     * @param localePatterns          the new message patterns keyed by the precomputed {@link Locale}
+     * @param effectivePatterns       the new effective message patterns keyed by the precomputed {@link Locale}
+     * @return non-null
+     */
+    private CompiledMessages compileMessages(MessagesSnapshot currentMessagesSnapshot,
+                                             Map<Locale, Map<String, MessagePattern>> localePatterns,
+                                             Map<Locale, Map<String, MessagePattern>> effectivePatterns) {
+        MessageFormatter messageFormatter = getMessageFormatter();
+        if (messageFormatter == null) {
+            return CompiledMessages.NONE;
+        }
+        CompiledMessages currentCompiledMessages = currentMessagesSnapshot.compiledMessages;
+        boolean reusable = currentCompiledMessages.messageFormatter == messageFormatter;
+        // The fallback chains are not pre-merged in the compact catalog
+        boolean merged = !effectivePatterns.isEmpty();
+        Map<Locale, Map<String, MessagePattern>> compilingPatterns = merged ? effectivePatterns : localePatterns;
+        Map<Locale, Map<String, MessagePattern>> currentPatterns = merged ? currentMessagesSnapshot.effectivePatterns :
+                currentMessagesSnapshot.localePatterns;
+        Map<Locale, Map<String, CompiledMessage>> compiledMessages = new ConcurrentHashMap<>(compilingPatterns.size() * 2);
+        compilingPatterns.forEach((locale, messagePatterns) -> {
+            Map<String, CompiledMessage> currentLocaleCompiledMessages = reusable ? currentCompiledMessages.get(locale) : null;
+            if (currentLocaleCompiledMessages != null && currentPatterns.get(locale) == messagePatterns) {
+                compiledMessages.put(locale, currentLocaleCompiledMessages);
+                return;
+            }
+            if (messagePatterns instanceof CompactMessagePatterns) {
+                // The compact catalog compiles the used messages only on the lookup
+                compiledMessages.put(locale, new ConcurrentHashMap<>());
+                return;
+            }
+            Map<String, CompiledMessage> localeCompiledMessages = new ConcurrentHashMap<>(messagePatterns.size() * 2);
+            for (MessagePattern messagePattern : messagePatterns.values()) {
+                String pattern = messagePattern.getPattern();
+                CompiledMessage compiledMessage = currentLocaleCompiledMessages == null ? null :
+                        currentLocaleCompiledMessages.get(pattern);
+                localeCompiledMessages.put(pattern, compiledMessage == null ?
+                        messageFormatter.compile(pattern, locale) : compiledMessage);
+            }
+            compiledMessages.put(locale, localeCompiledMessages);
+        });
+        return new CompiledMessages(messageFormatter, compiledMessages);
+    }
+
+    @Override
+    protected boolean isFallbackMerged(Locale resolvedLocale) {
+        return this.messagesSnapshot.effectivePatterns.containsKey(resolvedLocale);
+    }
+
+    @Override
+    protected void resetFallbackLocales() {
+        super.resetFallbackLocales();
+        // The effective message patterns are rebuilt by the new fallback chains
+        republish();
+    }
+
+    /**
+     * Whether the messages are stored in the {@link CompactMessagePatterns compact catalog}, which shares one
+     * {@link MessageCodeTable} for all resources and packs the message patterns of each resource into one
+     * {@code byte[]} arena, the footprint is reduced at the cost of decoding and compiling the pattern on each lookup,
+     * and the fallback chains are not pre-merged.
+     *
+     * @return {@code false} by default
+     */
+    public final boolean isCompactCatalog() {
+        return this.compactCatalog;
+    }
+
+    /**
+     * Sets whether the messages are stored in the {@link CompactMessagePatterns compact catalog}, the loaded messages
+     * will be converted if changed.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+     *   source.setCompactCatalog(true);
+     *   source.init();
+     * }</pre>
+     *
+     * @param compactCatalog {@code true} if the compact catalog is used
+     * @see #isCompactCatalog()
+     */
+    public final void setCompactCatalog(boolean compactCatalog) {
+        this.compactCatalog = compactCatalog;
+        republish();
+        if (logger.isTraceEnabled()) {
+            logger.trace("Source '{}' sets the compact catalog : {}", source, compactCatalog);
+        }
+    }
+
+    /**
+     * Get the {@link MessagePool} that deduplicates the message codes and patterns
+     *
+     * @return {@code null} if the deduplication is disabled, by default
+     */
+    @Nullable
+    public final MessagePool getMessagePool() {
+        return this.messagePool;
+    }
+
+    /**
+     * Sets the {@link MessagePool} that deduplicates the message codes and patterns across the {@link Locale locales},
+     * the sources and the reloads, it takes effect on the next loading of the resources.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+     *   source.setMessagePool(MessagePool.shared());
+     *   source.init();
+     *   source.getDeduplicationStatistics().getSavedBytes();
+     * }</pre>
+     *
+     * @param messagePool the {@link MessagePool}, {@code null} to disable the deduplication
+     * @see #getDeduplicationStatistics()
+     */
+    public final void setMessagePool(@Nullable MessagePool messagePool) {
+        this.messagePool = messagePool;
+    }
+
+    /**
+     * Get the {@link MessagePool.Statistics statistics} of the deduplication in the last loading of the resources
+     *
+     * @return {@code null} if the {@link #getMessagePool() message pool} is absent on the last loading
+     */
+    @Nullable
+    public final MessagePool.Statistics getDeduplicationStatistics() {
+        return this.deduplicationStatistics;
+    }
+
+    /**
+     * Get the {@link Executor} that loads the resources of the {@link Locale locales} in parallel
+     *
+     * @return {@code null} if the resources are loaded sequentially, by default
+     */
+    @Nullable
+    public final Executor getLoadingExecutor() {
+        return this.loadingExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} that loads the resources of the {@link Locale locales} in parallel, the loading thread
+     * blocks until all resources are loaded and then publishes them at once, it takes effect on the next loading of
+     * the resources.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   ExecutorService executor = Executors.newFixedThreadPool(4);
+     *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+     *   source.setLoadingExecutor(executor);
+     *   source.init(); // The resources of the supported locales are loaded in parallel
+     *   source.setLoadingExecutor(null);
+     *   executor.shutdown();
+     * }</pre>
+     *
+     * @param loadingExecutor the {@link Executor}, {@code null} if the resources are loaded sequentially
+     * @see ParallelUtils#runAll(Executor, Collection)
+     */
+    public final void setLoadingExecutor(@Nullable Executor loadingExecutor) {
+        this.loadingExecutor = loadingExecutor;
+    }
+
+    /**
+     * Whether the resource of the {@link #getSupportedLocales() supported locale} is loaded the first time its messages
+     * are requested rather than on the initialization, except the ones of the {@link #getWarmUpLocales() warm-up locales}.
+     * The resources along the {@link #getFallbackLocales(Locale) fallback chain} are loaded together by exactly one
+     * thread while the others wait.
+     *
+     * @return {@code false} by default
+     */
+    public final boolean isLazyLoading() {
+        return this.lazyLoading;
+    }
+
+    /**
+     * Sets whether the resources are loaded lazily, it takes effect on the next initialization.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+     *   source.setLazyLoading(true);
+     *   source.setWarmUpLocales(Arrays.asList(Locale.ENGLISH));
+     *   source.init(); // Only the resource of "en" is loaded
+     *   source.getMessage("a", Locale.SIMPLIFIED_CHINESE); // The resource of "zh_CN" is loaded
+     * }</pre>
+     *
+     * @param lazyLoading {@code true} if the resources are loaded lazily
+     * @see #setWarmUpLocales(Collection)
+     */
+    public final void setLazyLoading(boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+    }
+
+    /**
+     * Get the {@link Locale locales} whose resources are loaded on the initialization in the
+     * {@link #isLazyLoading() lazy loading} mode
+     *
+     * @return non-null, empty by default
+     */
+    @Nonnull
+    public final Set<Locale> getWarmUpLocales() {
+        return this.warmUpLocales;
+    }
+
+    /**
+     * Sets the {@link Locale locales} whose resources are loaded on the initialization in the
+     * {@link #isLazyLoading() lazy loading} mode, it takes effect on the next initialization.
+     *
+     * @param warmUpLocales the warm-up {@link Locale locales}
+     */
+    public final void setWarmUpLocales(Collection<Locale> warmUpLocales) {
+        assertNotNull(warmUpLocales, () -> "The 'warmUpLocales' argument must not be null");
+        this.warmUpLocales = unmodifiableSet(new LinkedHashSet<>(warmUpLocales));
+    }
+
+    /**
+     * Whether the resources along the {@link #getFallbackLocales(Locale) fallback chain} of the specified
+     * {@link Locale} have been loaded, thus its messages are requested without the {@link #isLazyLoading() lazy loading}
+     *
+     * @param locale the {@link Locale}
+     * @return {@code true} if loaded
+     */
+    final boolean isLoaded(Locale locale) {
+        Set<Locale> pendingLocales = this.pendingLocales;
+        return pendingLocales.isEmpty() || !containsAny(pendingLocales, getFallbackLocales(locale));
+    }
+
+    /**
+     * Loads the pending resources along the {@link #getFallbackLocales(Locale) fallback chain} of the specified
+     * {@link Locale} in the {@link #isLazyLoading() lazy loading} mode, exactly one thread loads them while the others
+     * wait.
+     *
+     * @param locale the {@link Locale}
+     */
+    private void loadLazily(Locale locale) {
+        if (isLoaded(locale)) {
+            return;
+        }
+        Set<String> resources = new LinkedHashSet<>();
+        synchronized (this) {
+            // Double-checks, the resources may have been loaded by another thread
+            Set<Locale> pendingLocales = this.pendingLocales;
+            for (Locale fallbackLocale : getFallbackLocales(locale)) {
+                if (pendingLocales.contains(fallbackLocale)) {
+                    resources.add(getResource(fallbackLocale));
+                }
+            }
+            if (resources.isEmpty()) {
+                return;
+            }
+            if (logger.isTraceEnabled()) {
+                logger.trace("Source '{}' loads the resources {} lazily for the locale '{}'", source, resources, locale);
+            }
+            loadResources(resources);
+        }
+        fireResourcesInitialized(resources);
+    }
+
+    private static boolean containsAny(Set<Locale> locales, Locale[] candidates) {
+        for (Locale candidate : candidates) {
+            if (locales.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startReload() {
+        this.reloadStatistics = this.messagePool == null ? null : new MessagePool.Statistics();
+        this.previousResourcePatterns = this.messagesSnapshot.localizedResourcePatterns;
+    }
+
+    private void completeReload() {
+        MessagePool.Statistics statistics = this.reloadStatistics;
+        this.reloadStatistics = null;
+        this.previousResourcePatterns = emptyMap();
+        this.deduplicationStatistics = statistics;
+        if (statistics != null && logger.isDebugEnabled()) {
+            logger.debug("Source '{}' deduplicated the messages : {}", source, statistics);
+        }
+    }
+
+    private void republish() {
+        synchronized (this) {
+            MessagesSnapshot messagesSnapshot = this.messagesSnapshot;
+            if (messagesSnapshot != MessagesSnapshot.EMPTY) {
+                publish(messagesSnapshot.localizedResourcePatterns, null);
+            }
+        }
+    }
+
     /**
      * Initialization
      */
     protected final void initialize() {
+        Set<Locale> pendingLocales = resolvePendingLocales();
         Set<String> resources = getResources();
-        Map<String, Map<String, String>> localizedResourceMessages = new HashMap<>(resources.size());
-        for (String resource : resources) {
-            initializeResource(resource, localizedResourceMessages);
+        if (!pendingLocales.isEmpty()) {
+            Set<String> warmUpResources = new LinkedHashSet<>(resources);
+            for (Locale pendingLocale : pendingLocales) {
+                warmUpResources.remove(getResource(pendingLocale));
+            }
+            resources = warmUpResources;
+        }
+        Map<String, Map<String, MessagePattern>> localizedResourcePatterns = new HashMap<>(resources.size());
+        synchronized (this) {
+            startReload();
+            initializeResources(resources, localizedResourcePatterns);
+            // Exchange the field
+            publish(localizedResourcePatterns, null);
+            this.pendingLocales = pendingLocales;
+            completeReload();
+        }
+        logger.trace("The initialization[Source '{}'] is completed , localizedResourceMessages : {}", source, localizedResourcePatterns);
+        fireResourcesInitialized(resources);
+    }
+
+    private Set<Locale> resolvePendingLocales() {
+        if (!this.lazyLoading) {
+            return emptySet();
+        }
+        Set<Locale> pendingLocales = new LinkedHashSet<>(getSupportedLocales());
+        pendingLocales.removeAll(this.warmUpLocales);
+        return pendingLocales.isEmpty() ? emptySet() : unmodifiableSet(pendingLocales);
+    }
+
+    private void fireResourcesInitialized(Iterable<String> resources) {
+        for (ResourceServiceMessageSourceListener listener : this.listeners) {
+            listener.onResourcesInitialized(this, resources);
         }
-        // Exchange the field
-        this.localizedResourceMessages = localizedResourceMessages;
-        logger.trace("The initialization[Source '{}'] is completed , localizedResourceMessages : {}", source, localizedResourceMessages);
     }
 
     protected final void clearAllMessages() {
-        this.localizedResourceMessages.clear();
-        this.localizedResourceMessages = null;
+        synchronized (this) {
+            this.messagesSnapshot = MessagesSnapshot.EMPTY;
+            this.pendingLocales = emptySet();
+        }
+    }
+
+    /**
+     * Publishes the new {@link MessagesSnapshot snapshot} built from the specified localized resource message patterns,
+     * the caller must hold the lock of {@code this}
+     *
+     * @param localizedResourcePatterns the message patterns keyed by the resource
+     * @param changedResources          the changed resources, {@code null} if all effective message patterns
+     *                                  should be rebuilt
+     * @see #newMessagesSnapshot(Map, Set)
+     */
+    private void publish(Map<String, Map<String, MessagePattern>> localizedResourcePatterns,
+                         @Nullable Set<String> changedResources) {
+        this.messagesSnapshot = newMessagesSnapshot(localizedResourcePatterns, changedResources);
     }
 
-    private void validateMessages(Map<String, String> messages, String resourceName) {
-        messages.forEach((code, message) -> validateMessageCode(code, resourceName));
+    /**
+     * Builds the new {@link MessagesSnapshot snapshot} from the specified localized resource message patterns against
+     * the current one, the lookup table of {@link Locale} and the index of message codes are precomputed, thus the
+     * lookup of the messages would not allocate any object if hit.
+     * <p>
+     * The effective message patterns of each precomputed {@link Locale} merge the ones along its
+     * {@link #getFallbackLocales(Locale) fallback chain}, only the ones whose chain contains any changed resource are
+     * rebuilt, the others are reused from the current snapshot.
+     *
+     * @param localizedResourcePatterns the message patterns keyed by the resource
+     * @param changedResources          the changed resources, {@code null} if all effective message patterns
+     *                                  should be rebuilt
+     * @return non-null
+     */
+    private MessagesSnapshot newMessagesSnapshot(Map<String, Map<String, MessagePattern>> localizedResourcePatterns,
+                                                 @Nullable Set<String> changedResources) {
+        MessagesSnapshot currentMessagesSnapshot = this.messagesSnapshot;
+        Map<String, Map<String, MessagePattern>> currentResourcePatterns = currentMessagesSnapshot.localizedResourcePatterns;
+        Map<String, Long> resourceVersions = new HashMap<>(localizedResourcePatterns.size() * 2);
+        localizedResourcePatterns.forEach((resource, messagePatterns) -> {
+            long version = currentMessagesSnapshot.resourceVersions.getOrDefault(resource, 0L);
+            // The version is bumped if the message patterns of the resource are changed
+            resourceVersions.put(resource, currentResourcePatterns.get(resource) == messagePatterns ? version : version + 1);
+        });
+        boolean compactCatalog = this.compactCatalog;
+        MessageCodeTable codeTable = null;
+        if (compactCatalog) {
+            // The stale codes of the current table are dropped when all resources are initialized
+            codeTable = resolveCodeTable(localizedResourcePatterns, changedResources == null ? null : currentMessagesSnapshot.codeTable);
+            localizedResourcePatterns = compact(localizedResourcePatterns, codeTable);
+        } else {
+            localizedResourcePatterns = expand(localizedResourcePatterns);
+        }
+        Map<String, Map<String, String>> localizedResourceMessages = new HashMap<>(localizedResourcePatterns.size() * 2);
+        localizedResourcePatterns.forEach((resource, messagePatterns) -> {
+            Map<String, String> messages = currentMessagesSnapshot.localizedResourceMessages.get(resource);
+            boolean unchanged = currentResourcePatterns.get(resource) == messagePatterns && messages != null;
+            localizedResourceMessages.put(resource, unchanged ? messages : new MessagesView(messagePatterns));
+        });
+
+        Set<Locale> locales = newFixedLinkedHashSet(getSupportedLocales().size() + 2);
+        locales.addAll(getSupportedLocales());
+        locales.addAll(resolveHierarchicalLocales(getDefaultLocale()));
+
+        Map<Locale, Map<String, MessagePattern>> localePatterns = new HashMap<>(locales.size() * 2);
+        Map<Locale, Map<String, String>> localeMessages = new HashMap<>(locales.size() * 2);
+        Map<Locale, Map<String, MessagePattern>> effectivePatterns = new HashMap<>(locales.size() * 2);
+        for (Locale locale : locales) {
+            String resource = getResource(locale);
+            Map<String, MessagePattern> messagePatterns = localizedResourcePatterns.get(resource);
+            if (messagePatterns != null) {
+                localePatterns.put(locale, messagePatterns);
+                localeMessages.put(locale, localizedResourceMessages.get(resource));
+            }
+            if (compactCatalog) { // The fallback chains are not pre-merged
+                continue;
+            }
+            Map<String, MessagePattern> currentEffectivePatterns = currentMessagesSnapshot.effectivePatterns.get(locale);
+            if (currentEffectivePatterns == null || isFallbackChanged(locale, changedResources)) {
+                effectivePatterns.put(locale, mergeMessagePatterns(locale, localizedResourcePatterns));
+            } else {
+                effectivePatterns.put(locale, currentEffectivePatterns);
+            }
+        }
+
+        Map<String, String> resolvedCodes;
+        Set<String> messageCodes;
+        if (compactCatalog) { // The shared code table indexes the codes, the HashMap and HashSet are not built
+            resolvedCodes = emptyMap();
+            messageCodes = codeTable == currentMessagesSnapshot.codeTable
+                    && !isCodesChanged(changedResources, currentResourcePatterns, localizedResourcePatterns) ?
+                    currentMessagesSnapshot.messageCodes : codeTable.subset(getCodeIndexes(localizedResourcePatterns));
+        } else if (currentMessagesSnapshot.codeTable != null
+                || isCodesChanged(changedResources, currentResourcePatterns, localizedResourcePatterns)) {
+            resolvedCodes = new HashMap<>();
+            int prefixLength = codePrefix.length();
+            for (Map<String, MessagePattern> messagePatterns : localizedResourcePatterns.values()) {
+                for (String resolvedCode : messagePatterns.keySet()) {
+                    resolvedCodes.putIfAbsent(resolvedCode.substring(prefixLength), resolvedCode);
+                }
+            }
+            messageCodes = unmodifiableSet(new HashSet<>(resolvedCodes.values()));
+        } else { // Only the messages are changed, the indexes of the codes are reused
+            resolvedCodes = currentMessagesSnapshot.resolvedCodes;
+            messageCodes = currentMessagesSnapshot.messageCodes;
+        }
+
+        // The messages are compiled aside, and then published with the message patterns in one snapshot
+        CompiledMessages compiledMessages = compileMessages(currentMessagesSnapshot, localePatterns, effectivePatterns);
+        return new MessagesSnapshot(localizedResourcePatterns, localizedResourceMessages,
+                localePatterns, localeMessages, effectivePatterns, resolvedCodes, messageCodes, codeTable, resourceVersions,
+                compiledMessages);
+    }
+
+    /**
+     * Whether the message codes of any changed resource are changed
+     *
+     * @param changedResources          the changed resources, {@code null} if all resources are changed
+     * @param currentResourcePatterns   the message patterns of the current snapshot keyed by the resource
+     * @param localizedResourcePatterns the new message patterns keyed by the resource
+     * @return {@code true} if the indexes of the message codes should be rebuilt
+     */
+    private static boolean isCodesChanged(@Nullable Set<String> changedResources,
+                                          Map<String, Map<String, MessagePattern>> currentResourcePatterns,
+                                          Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        if (changedResources == null) {
+            return true;
+        }
+        for (String changedResource : changedResources) {
+            Map<String, MessagePattern> currentPatterns = currentResourcePatterns.get(changedResource);
+            Map<String, MessagePattern> messagePatterns = localizedResourcePatterns.get(changedResource);
+            if (currentPatterns == null || messagePatterns == null
+                    || !currentPatterns.keySet().equals(messagePatterns.keySet())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the indexes of the message codes of all {@link CompactMessagePatterns compact message patterns}, which
+     * excludes the stale codes kept in the shared {@link MessageCodeTable}
+     *
+     * @param localizedResourcePatterns the compact message patterns keyed by the resource
+     * @return non-null
+     */
+    private static BitSet getCodeIndexes(Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        BitSet codeIndexes = new BitSet();
+        for (Map<String, MessagePattern> messagePatterns : localizedResourcePatterns.values()) {
+            codeIndexes.or(((CompactMessagePatterns) messagePatterns).getCodeIndexes());
+        }
+        return codeIndexes;
+    }
+
+    private static MessageCodeTable resolveCodeTable(Map<String, Map<String, MessagePattern>> localizedResourcePatterns,
+                                                     @Nullable MessageCodeTable codeTable) {
+        Set<String> codes = new HashSet<>();
+        for (Map<String, MessagePattern> messagePatterns : localizedResourcePatterns.values()) {
+            if (!(messagePatterns instanceof CompactMessagePatterns)
+                    || ((CompactMessagePatterns) messagePatterns).getCodeTable() != codeTable) {
+                codes.addAll(messagePatterns.keySet());
+            }
+        }
+        if (codeTable != null && codeTable.containsAll(codes)) {
+            return codeTable;
+        }
+        for (Map<String, MessagePattern> messagePatterns : localizedResourcePatterns.values()) {
+            codes.addAll(messagePatterns.keySet());
+        }
+        return MessageCodeTable.of(codes);
+    }
+
+    private static Map<String, Map<String, MessagePattern>> compact(Map<String, Map<String, MessagePattern>> localizedResourcePatterns,
+                                                                    MessageCodeTable codeTable) {
+        Map<String, Map<String, MessagePattern>> compactResourcePatterns = new HashMap<>(localizedResourcePatterns.size() * 2);
+        localizedResourcePatterns.forEach((resource, messagePatterns) -> {
+            if (messagePatterns instanceof CompactMessagePatterns
+                    && ((CompactMessagePatterns) messagePatterns).getCodeTable() == codeTable) {
+                compactResourcePatterns.put(resource, messagePatterns);
+            } else {
+                compactResourcePatterns.put(resource, CompactMessagePatterns.of(codeTable, messagePatterns));
+            }
+        });
+        return compactResourcePatterns;
+    }
+
+    private static Map<String, Map<String, MessagePattern>> expand(Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        Map<String, Map<String, MessagePattern>> expandedResourcePatterns = localizedResourcePatterns;
+        for (Map.Entry<String, Map<String, MessagePattern>> entry : localizedResourcePatterns.entrySet()) {
+            Map<String, MessagePattern> messagePatterns = entry.getValue();
+            if (messagePatterns instanceof CompactMessagePatterns) {
+                if (expandedResourcePatterns == localizedResourcePatterns) {
+                    expandedResourcePatterns = new HashMap<>(localizedResourcePatterns);
+                }
+                expandedResourcePatterns.put(entry.getKey(), unmodifiableMap(new HashMap<>(messagePatterns)));
+            }
+        }
+        return expandedResourcePatterns;
+    }
+
+    private boolean isFallbackChanged(Locale locale, @Nullable Set<String> changedResources) {
+        if (changedResources == null) {
+            return true;
+        }
+        for (Locale fallbackLocale : getFallbackLocales(locale)) {
+            if (changedResources.contains(getResource(fallbackLocale))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merges the message patterns along the {@link #getFallbackLocales(Locale) fallback chain} of the specified
+     * {@link Locale}, the former {@link Locale} takes precedence.
+     *
+     * @param locale                    the {@link Locale}
+     * @param localizedResourcePatterns the message patterns keyed by the resource
+     * @return the read-only message patterns, the ones of the single present resource are shared
+     */
+    private Map<String, MessagePattern> mergeMessagePatterns(Locale locale,
+                                                             Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        Map<String, MessagePattern> effectivePatterns = emptyMap();
+        Map<String, MessagePattern> mergedPatterns = null;
+        for (Locale fallbackLocale : getFallbackLocales(locale)) {
+            Map<String, MessagePattern> messagePatterns = localizedResourcePatterns.get(getResource(fallbackLocale));
+            if (messagePatterns == null || messagePatterns.isEmpty()) {
+                continue;
+            }
+            if (effectivePatterns.isEmpty()) {
+                effectivePatterns = messagePatterns;
+                continue;
+            }
+            if (mergedPatterns == null) {
+                mergedPatterns = new HashMap<>(effectivePatterns);
+            }
+            for (Map.Entry<String, MessagePattern> entry : messagePatterns.entrySet()) {
+                mergedPatterns.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return mergedPatterns == null ? effectivePatterns : unmodifiableMap(mergedPatterns);
     }
 
     /**
@@ -193,23 +978,320 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
      */
     @Nullable
     public final Map<String, String> getMessages(Locale locale) {
-        String resource = getResource(locale);
-        return localizedResourceMessages.get(resource);
+        loadLazily(locale);
+        MessagesSnapshot messagesSnapshot = this.messagesSnapshot;
+        // The HashMap compares the identity of the keys first
+        Map<String, String> messages = messagesSnapshot.localeMessages.get(locale);
+        if (messages == null) { // The Locale is not precomputed
+            String resource = getResource(locale);
+            messages = messagesSnapshot.localizedResourceMessages.get(resource);
+        }
+        return messages;
+    }
+
+    /**
+     * Gets the compiled {@link MessagePattern message patterns} for the specified {@link Locale}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   Map<String, MessagePattern> messagePatterns = source.getMessagePatterns(Locale.ENGLISH);
+     *   messagePatterns.get("test.hello").format("World"); // "Hello,World"
+     * }</pre>
+     *
+     * @param locale the target {@link Locale}
+     * @return the read-only message patterns, or {@code null} if no messages for the locale
+     */
+    @Nullable
+    public final Map<String, MessagePattern> getMessagePatterns(Locale locale) {
+        loadLazily(locale);
+        MessagesSnapshot messagesSnapshot = this.messagesSnapshot;
+        // The HashMap compares the identity of the keys first
+        Map<String, MessagePattern> messagePatterns = messagesSnapshot.localePatterns.get(locale);
+        if (messagePatterns == null) { // The Locale is not precomputed
+            Map<Locale, Map<String, MessagePattern>> cachedLocalePatterns = messagesSnapshot.cachedLocalePatterns;
+            messagePatterns = cachedLocalePatterns.get(locale);
+            if (messagePatterns == null) {
+                String resource = getResource(locale);
+                messagePatterns = messagesSnapshot.localizedResourcePatterns.get(resource);
+                if (cachedLocalePatterns.size() < MAX_CACHED_LOCALE_PATTERNS) {
+                    cachedLocalePatterns.putIfAbsent(locale, messagePatterns == null ? NO_MESSAGE_PATTERNS : messagePatterns);
+                }
+            } else if (messagePatterns == NO_MESSAGE_PATTERNS) {
+                messagePatterns = null;
+            }
+        }
+        return messagePatterns;
+    }
+
+    /**
+     * Gets the effective {@link MessagePattern message patterns} of the specified {@link Locale}, which merge the ones
+     * along its {@link #getFallbackLocales(Locale) fallback chain}, the former {@link Locale} takes precedence.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   // The supported locales : [en_AU, en]
+     *   Map<String, MessagePattern> messagePatterns = source.getEffectiveMessagePatterns(new Locale("en", "AU"));
+     *   // The messages of "en_AU" overrides the ones of "en"
+     * }</pre>
+     *
+     * @param locale the {@link Locale}
+     * @return the read-only message patterns, or {@code null} if the {@link Locale} is neither supported nor the default
+     */
+    @Nullable
+    public final Map<String, MessagePattern> getEffectiveMessagePatterns(Locale locale) {
+        loadLazily(locale);
+        return this.messagesSnapshot.effectivePatterns.get(locale);
     }
 
-    private void initializeResources(Iterable<String> resources, Map<String, Map<String, String>> localizedResourceMessages) {
+    private Set<String> initializeResources(Iterable<String> resources, Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        Set<String> initializedResources = new LinkedHashSet<>();
         for (String resource : resources) {
-            initializeResource(resource, localizedResourceMessages);
+            initializedResources.add(resource);
+        }
+        Executor executor = this.loadingExecutor;
+        if (executor == null || initializedResources.size() < 2) {
+            for (String resource : initializedResources) {
+                initializeResource(resource, localizedResourcePatterns);
+            }
+        } else {
+            Map<String, Map<String, MessagePattern>> loadedResourcePatterns = new ConcurrentHashMap<>(initializedResources.size() * 2);
+            List<Runnable> tasks = new ArrayList<>(initializedResources.size());
+            for (String resource : initializedResources) {
+                tasks.add(() -> initializeResource(resource, loadedResourcePatterns));
+            }
+            runAll(executor, tasks);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Source '{}' loaded the resources {} in parallel", source, initializedResources);
+            }
+            localizedResourcePatterns.putAll(loadedResourcePatterns);
+        }
+        return initializedResources;
+    }
+
+    private void initializeResource(String resource, Map<String, Map<String, MessagePattern>> localizedResourcePatterns) {
+        // The precompiled message patterns are only used by the first loading, the reloading loads the latest messages
+        Map<String, MessagePattern> precompiledMessagePatterns = this.previousResourcePatterns.containsKey(resource) ?
+                null : loadPrecompiledMessagePatterns(resource);
+        if (precompiledMessagePatterns != null) {
+            logger.trace("The precompiled resource[name : '{}' ,source : '{}'] message patterns : {}", resource, this.source, precompiledMessagePatterns);
+            localizedResourcePatterns.put(resource, precompiledMessagePatterns);
+            return;
+        }
+        Map<String, MessagePattern> messagePatterns = loadMessagePatterns(resource);
+        assertNotNull(messagePatterns, () -> format("The loaded resource[name : '{}' ,source : '{}'] message patterns must not be null", resource, this.source));
+        Map<String, MessagePattern> previousPatterns = this.previousResourcePatterns.get(resource);
+        if (previousPatterns != null && isUnchanged(previousPatterns, messagePatterns)) {
+            // Keep the previous instance, thus the derived indexes of the resource are not rebuilt
+            logger.trace("The resource[name : '{}' ,source : '{}'] message patterns are unchanged", resource, this.source);
+            messagePatterns = previousPatterns;
+        }
+        // Override the localized message patterns if present
+        localizedResourcePatterns.put(resource, messagePatterns);
+    }
+
+    private static boolean isUnchanged(Map<String, MessagePattern> previousPatterns, Map<String, MessagePattern> messagePatterns) {
+        if (previousPatterns.size() != messagePatterns.size()) {
+            return false;
+        }
+        for (Map.Entry<String, MessagePattern> entry : messagePatterns.entrySet()) {
+            MessagePattern messagePattern = entry.getValue();
+            MessagePattern previousPattern = previousPatterns.get(entry.getKey());
+            if (previousPattern != messagePattern
+                    && (previousPattern == null || !previousPattern.getPattern().equals(messagePattern.getPattern()))) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private void initializeResource(String resource, Map<String, Map<String, String>> localizedResourceMessages) {
+    /**
+     * Loads, validates and compiles the messages of the specified resource, the subclass may override it to build
+     * the {@link MessagePattern message patterns} in one pass by {@link #addMessagePattern(Map, String, String, String)}
+     *
+     * @param resource the resource
+     * @return the read-only message patterns
+     */
+    @Nonnull
+    protected Map<String, MessagePattern> loadMessagePatterns(String resource) {
         Map<String, String> messages = loadMessages(resource);
         logger.trace("The loaded resource[name : '{}' ,source : '{}'] messages : {}", resource, this.source, messages);
         assertNotNull(messages, () -> format("The loaded resource[name : '{}' ,source : '{}'] messages must not be null", resource, this.source));
-        validateMessages(messages, resource);
-        // Override the localized message if present
-        localizedResourceMessages.put(resource, messages);
+        if (messages.isEmpty()) {
+            return emptyMap();
+        }
+        Map<String, MessagePattern> messagePatterns = new HashMap<>(messages.size() * 4 / 3 + 1);
+        messages.forEach((code, message) -> addMessagePattern(messagePatterns, resource, code, message));
+        return unmodifiableMap(messagePatterns);
+    }
+
+    /**
+     * Validates the message code, compiles the message and puts them into the specified message patterns, the message
+     * code and pattern are canonicalized by the {@link #getMessagePool() message pool} if present. On the reload, the
+     * {@link MessagePattern} of the unchanged message is reused rather than compiled again.
+     *
+     * @param messagePatterns the message patterns to put
+     * @param resource        the resource of the message
+     * @param code            the message code
+     * @param message         the message
+     * @throws IllegalStateException if the code is invalid
+     */
+    protected final void addMessagePattern(Map<String, MessagePattern> messagePatterns, String resource, String code,
+                                           String message) {
+        validateMessageCode(code, resource);
+        Map<String, MessagePattern> previousPatterns = this.previousResourcePatterns.get(resource);
+        if (previousPatterns != null && !(previousPatterns instanceof CompactMessagePatterns)) {
+            MessagePattern previousPattern = previousPatterns.get(code);
+            if (previousPattern != null && previousPattern.getPattern().equals(message)) {
+                messagePatterns.put(code, previousPattern);
+                return;
+            }
+        }
+        MessagePool messagePool = this.messagePool;
+        MessagePool.Statistics statistics = this.reloadStatistics;
+        if (messagePool == null || statistics == null) {
+            messagePatterns.put(code, compile(message));
+        } else {
+            messagePatterns.put(messagePool.canonicalize(code, statistics), messagePool.compile(message, statistics));
+        }
+    }
+
+    /**
+     * Loads the message patterns of the specified resource that were precompiled and validated at build time, which
+     * bypasses the {@link #loadMessages(String) loading}, the validation and the compiling of the messages. It's only
+     * invoked on the first loading of the resource, the reloading always {@link #loadMessages(String) loads} the
+     * latest messages.
+     *
+     * @param resource the resource
+     * @return the read-only message patterns, or {@code null} if the resource was not precompiled or the precompiled
+     * ones do not cover all its current contents, by default
+     */
+    @Nullable
+    protected Map<String, MessagePattern> loadPrecompiledMessagePatterns(String resource) {
+        return null;
+    }
+
+    /**
+     * Compiles the specified messages into the read-only {@link MessagePattern message patterns}, the message codes
+     * and patterns are canonicalized by the {@link #getMessagePool() message pool} if present.
+     *
+     * @param messages the messages
+     * @return non-null
+     */
+    @Nonnull
+    protected Map<String, MessagePattern> compileMessagePatterns(Map<String, String> messages) {
+        if (messages.isEmpty()) {
+            return emptyMap();
+        }
+        Map<String, MessagePattern> messagePatterns = new HashMap<>(messages.size() * 4 / 3 + 1);
+        MessagePool messagePool = this.messagePool;
+        MessagePool.Statistics statistics = this.reloadStatistics;
+        if (messagePool == null || statistics == null) {
+            messages.forEach((code, message) -> messagePatterns.put(code, compile(message)));
+        } else {
+            messages.forEach((code, message) -> messagePatterns.put(messagePool.canonicalize(code, statistics),
+                    messagePool.compile(message, statistics)));
+        }
+        return unmodifiableMap(messagePatterns);
+    }
+
+    /**
+     * Resolves the message from the compiled {@link MessagePattern} with the specified arguments, the sub-class may
+     * override this method to re-implement formatting of the compiled patterns rather than
+     * {@link #resolveMessage(String, Object...)}. The messages with at most {@link #MAX_FIXED_ARGUMENT_COUNT three}
+     * arguments are formatted by the fixed-arity
+     * {@link #getInternalMessage(String, String, Locale, Locale, int, Object, Object, Object) hook} instead.
+     *
+     * @param messagePattern the compiled {@link MessagePattern}
+     * @param args           the message arguments
+     * @return non-null
+     */
+    @Nonnull
+    protected String resolveMessage(MessagePattern messagePattern, Object... args) {
+        return messagePattern.format(args);
+    }
+
+    /**
+     * Formats the compiled {@link MessagePattern} of the specified {@link Locale} by the
+     * {@link #getMessageFormatter() message formatter} if present, otherwise
+     * {@link #resolveMessage(MessagePattern, Object...) resolves} the {@code "{}"} placeholders.
+     *
+     * @param messagePattern the compiled {@link MessagePattern}
+     * @param locale         the resolved {@link Locale} of the message pattern
+     * @param args           the message arguments
+     * @return non-null
+     */
+    @Nonnull
+    protected String formatMessage(MessagePattern messagePattern, Locale locale, Object... args) {
+        MessageFormatter messageFormatter = getMessageFormatter();
+        return messageFormatter == null ? resolveMessage(messagePattern, args) :
+                getCompiledMessage(messageFormatter, messagePattern.getPattern(), locale).format(args);
+    }
+
+    /**
+     * Formats the compiled {@link MessagePattern} of the specified {@link Locale} with the fixed-arity arguments as
+     * {@link #formatMessage(MessagePattern, Locale, Object...)} does, the arguments are formatted directly unless the
+     * {@link #getMessageFormatter() message formatter} is present.
+     *
+     * @param messagePattern the compiled {@link MessagePattern}
+     * @param locale         the resolved {@link Locale} of the message pattern
+     * @param argumentCount  the count of the arguments, from {@code 0} to {@link #MAX_FIXED_ARGUMENT_COUNT}
+     * @param arg0           the first argument if present
+     * @param arg1           the second argument if present
+     * @param arg2           the third argument if present
+     * @return non-null
+     */
+    @Nonnull
+    final String formatMessage(MessagePattern messagePattern, Locale locale, int argumentCount, Object arg0,
+                               Object arg1, Object arg2) {
+        MessageFormatter messageFormatter = getMessageFormatter();
+        if (messageFormatter != null) {
+            return getCompiledMessage(messageFormatter, messagePattern.getPattern(), locale)
+                    .format(toArguments(argumentCount, arg0, arg1, arg2));
+        }
+        switch (argumentCount) {
+            case 0:
+                return messagePattern.format(EMPTY_OBJECT_ARRAY);
+            case 1:
+                return messagePattern.format(arg0);
+            case 2:
+                return messagePattern.format(arg0, arg1);
+            default:
+                return messagePattern.format(arg0, arg1, arg2);
+        }
+    }
+
+    /**
+     * Formats the compiled {@link MessagePattern} of the specified {@link Locale} into the specified {@link Appendable}
+     * as {@link #formatMessage(MessagePattern, Locale, Object...)} does.
+     *
+     * @param out            the {@link Appendable}
+     * @param messagePattern the compiled {@link MessagePattern}
+     * @param locale         the resolved {@link Locale} of the message pattern
+     * @param args           the message arguments
+     * @throws IOException if the {@link Appendable} throws the {@link IOException}
+     */
+    protected void formatMessageTo(Appendable out, MessagePattern messagePattern, Locale locale, Object... args)
+            throws IOException {
+        MessageFormatter messageFormatter = getMessageFormatter();
+        if (messageFormatter == null) {
+            resolveMessageTo(out, messagePattern, args);
+        } else {
+            getCompiledMessage(messageFormatter, messagePattern.getPattern(), locale).formatTo(out, args);
+        }
+    }
+
+    /**
+     * Appends the message from the compiled {@link MessagePattern} with the specified arguments into the specified
+     * {@link Appendable} without the intermediate {@link String}, the sub-class that overrides
+     * {@link #resolveMessage(MessagePattern, Object...)} should override this method as well.
+     *
+     * @param out            the {@link Appendable}
+     * @param messagePattern the compiled {@link MessagePattern}
+     * @param args           the message arguments
+     * @throws IOException if the {@link Appendable} throws the {@link IOException}
+     */
+    protected void resolveMessageTo(Appendable out, MessagePattern messagePattern, Object... args) throws IOException {
+        messagePattern.formatTo(out, args);
     }
 
     /**
@@ -225,8 +1307,10 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
      */
     protected void logMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale, Object[] args,
                               String messagePattern, String message) {
-        logger.trace("Source '{}' gets Message[code : '{}' , resolvedCode : '{}' , locale : '{}' , resolvedLocale : '{}', args : '{}' , pattern : '{}'] : '{}'",
-                source, code, resolvedCode, locale, resolvedLocale, arrayToString(args), messagePattern, message);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Source '{}' gets Message[code : '{}' , resolvedCode : '{}' , locale : '{}' , resolvedLocale : '{}', args : '{}' , pattern : '{}'] : '{}'",
+                    source, code, resolvedCode, locale, resolvedLocale, arrayToString(args), messagePattern, message);
+        }
     }
 
     /**
@@ -243,12 +1327,31 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
      * @return unmodifiable map of resource name to message code-value pairs
      */
     public Map<String, Map<String, String>> getLocalizedResourceMessages() {
-        return unmodifiableMap(this.localizedResourceMessages);
+        return unmodifiableMap(this.messagesSnapshot.localizedResourceMessages);
     }
 
     @Override
     public Set<String> getInitializedResources() {
-        return localizedResourceMessages.keySet();
+        return this.messagesSnapshot.localizedResourceMessages.keySet();
+    }
+
+    /**
+     * Get the version of the specified resource, which is bumped each time the messages of the resource are changed
+     * by the loading, the reloading that does not change any message keeps the version.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   String resource = source.getResource(Locale.ENGLISH);
+     *   long version = source.getResourceVersion(resource); // 1 after the initialization
+     *   source.reload(resource);                           // No message changed
+     *   source.getResourceVersion(resource);               // 1
+     * }</pre>
+     *
+     * @param resource the resource
+     * @return {@code 0} if the resource is not loaded
+     */
+    public final long getResourceVersion(String resource) {
+        return this.messagesSnapshot.resourceVersions.getOrDefault(resource, 0L);
     }
 
     /**
@@ -270,6 +1373,186 @@ public abstract class AbstractResourceServiceMessageSource extends AbstractServi
 
     @Override
     public String toString() {
-        return super.toString() + ", localizedResourceMessages = " + this.localizedResourceMessages;
+        return super.toString() + ", localizedResourceMessages = " + this.messagesSnapshot.localizedResourceMessages;
+    }
+
+    /**
+     * The immutable snapshot of the loaded messages
+     */
+    private static final class MessagesSnapshot {
+
+        static final MessagesSnapshot EMPTY = new MessagesSnapshot(emptyMap(), emptyMap(), emptyMap(), emptyMap(),
+                emptyMap(), emptyMap(), emptySet(), null, emptyMap(), CompiledMessages.NONE);
+
+        /**
+         * The message patterns keyed by the resource
+         */
+        final Map<String, Map<String, MessagePattern>> localizedResourcePatterns;
+
+        /**
+         * The messages keyed by the resource
+         */
+        final Map<String, Map<String, String>> localizedResourceMessages;
+
+        /**
+         * The message patterns keyed by the precomputed {@link Locale}
+         */
+        final Map<Locale, Map<String, MessagePattern>> localePatterns;
+
+        /**
+         * The messages keyed by the precomputed {@link Locale}
+         */
+        final Map<Locale, Map<String, String>> localeMessages;
+
+        /**
+         * The effective message patterns merged along the fallback chain keyed by the precomputed {@link Locale}
+         */
+        final Map<Locale, Map<String, MessagePattern>> effectivePatterns;
+
+        /**
+         * The message patterns of the requested {@link Locale locales} that are not precomputed,
+         * {@link #NO_MESSAGE_PATTERNS} if absent
+         */
+        final Map<Locale, Map<String, MessagePattern>> cachedLocalePatterns = new ConcurrentHashMap<>();
+
+        /**
+         * The complete message codes keyed by the codes without the prefix, empty if the compact catalog is used
+         */
+        final Map<String, String> resolvedCodes;
+
+        /**
+         * The complete message codes of all resources, which is the view of the {@link #codeTable} if the compact
+         * catalog is used
+         */
+        final Set<String> messageCodes;
+
+        /**
+         * The shared {@link MessageCodeTable} of the compact catalog, {@code null} if the compact catalog is not used
+         */
+        final MessageCodeTable codeTable;
+
+        /**
+         * The versions keyed by the resource, which are bumped when the message patterns of the resource are changed
+         */
+        final Map<String, Long> resourceVersions;
+
+        /**
+         * The messages compiled by the {@link #getMessageFormatter() message formatter}
+         */
+        final CompiledMessages compiledMessages;
+
+        MessagesSnapshot(Map<String, Map<String, MessagePattern>> localizedResourcePatterns,
+                         Map<String, Map<String, String>> localizedResourceMessages,
+                         Map<Locale, Map<String, MessagePattern>> localePatterns,
+                         Map<Locale, Map<String, String>> localeMessages,
+                         Map<Locale, Map<String, MessagePattern>> effectivePatterns, Map<String, String> resolvedCodes,
+                         Set<String> messageCodes, MessageCodeTable codeTable, Map<String, Long> resourceVersions,
+                         CompiledMessages compiledMessages) {
+            this.localizedResourcePatterns = localizedResourcePatterns;
+            this.localizedResourceMessages = localizedResourceMessages;
+            this.localePatterns = localePatterns;
+            this.localeMessages = localeMessages;
+            this.effectivePatterns = effectivePatterns;
+            this.resolvedCodes = resolvedCodes;
+            this.messageCodes = messageCodes;
+            this.codeTable = codeTable;
+            this.resourceVersions = resourceVersions;
+            this.compiledMessages = compiledMessages;
+        }
+
+        MessagesSnapshot withCompiledMessages(CompiledMessages compiledMessages) {
+            return new MessagesSnapshot(this.localizedResourcePatterns, this.localizedResourceMessages, this.localePatterns,
+                    this.localeMessages, this.effectivePatterns, this.resolvedCodes, this.messageCodes, this.codeTable,
+                    this.resourceVersions, compiledMessages);
+        }
+    }
+
+    /**
+     * The resources loaded by the first phase of the two-phase reload, whose messages are staged aside until
+     * {@link #publish() published}
+     *
+     * @see #stageReload(Iterable)
+     */
+    static final class StagedResources {
+
+        private final AbstractResourceServiceMessageSource serviceMessageSource;
+
+        private final Iterable<String> resources;
+
+        /**
+         * The snapshot that the staged one is built against
+         */
+        private final MessagesSnapshot baseMessagesSnapshot;
+
+        private final Set<Locale> basePendingLocales;
+
+        private final MessagesSnapshot messagesSnapshot;
+
+        private final Set<Locale> pendingLocales;
+
+        StagedResources(AbstractResourceServiceMessageSource serviceMessageSource, Iterable<String> resources,
+                        MessagesSnapshot baseMessagesSnapshot, Set<Locale> basePendingLocales,
+                        MessagesSnapshot messagesSnapshot, Set<Locale> pendingLocales) {
+            this.serviceMessageSource = serviceMessageSource;
+            this.resources = resources;
+            this.baseMessagesSnapshot = baseMessagesSnapshot;
+            this.basePendingLocales = basePendingLocales;
+            this.messagesSnapshot = messagesSnapshot;
+            this.pendingLocales = pendingLocales;
+        }
+
+        /**
+         * Publishes the staged messages, the resources are reloaded again if the messages of the source have been
+         * changed since staged, e.g. loaded lazily or reloaded by another thread, and then the listeners of the source
+         * are notified.
+         */
+        void publish() {
+            AbstractResourceServiceMessageSource serviceMessageSource = this.serviceMessageSource;
+            synchronized (serviceMessageSource) {
+                if (serviceMessageSource.messagesSnapshot == this.baseMessagesSnapshot
+                        && serviceMessageSource.pendingLocales == this.basePendingLocales) {
+                    serviceMessageSource.publishResources(this);
+                } else { // The staged messages are stale
+                    serviceMessageSource.loadResources(this.resources);
+                }
+            }
+            serviceMessageSource.fireResourcesInitialized(this.resources);
+        }
+    }
+
+    /**
+     * The read-only view of the messages backed by the {@link MessagePattern message patterns}
+     */
+    private static final class MessagesView extends AbstractMap<String, String> {
+
+        private final Map<String, MessagePattern> messagePatterns;
+
+        MessagesView(Map<String, MessagePattern> messagePatterns) {
+            this.messagePatterns = messagePatterns;
+        }
+
+        @Override
+        public String get(Object code) {
+            MessagePattern messagePattern = this.messagePatterns.get(code);
+            return messagePattern == null ? null : messagePattern.getPattern();
+        }
+
+        @Override
+        public boolean containsKey(Object code) {
+            return this.messagePatterns.containsKey(code);
+        }
+
+        @Override
+        public int size() {
+            return this.messagePatterns.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Set<Entry<String, String>> entries = newFixedLinkedHashSet(this.messagePatterns.size());
+            this.messagePatterns.forEach((code, messagePattern) ->
+                    entries.add(new SimpleImmutableEntry<>(code, messagePattern.getPattern())));
+            return unmodifiableSet(entries);
+        }
     }
 }
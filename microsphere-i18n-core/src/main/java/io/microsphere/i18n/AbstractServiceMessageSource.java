@@ -2,21 +2,36 @@ package io.microsphere.i18n;
 
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.text.MessageFormatter;
+import io.microsphere.i18n.text.MessageFormatter.CompiledMessage;
 import io.microsphere.logging.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.microsphere.collection.SetUtils.newFixedLinkedHashSet;
 import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.i18n.util.MessageUtils.SOURCE_SEPARATOR;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
 import static io.microsphere.util.Assert.assertNoNullElements;
 import static io.microsphere.util.Assert.assertNotEmpty;
 import static io.microsphere.util.Assert.assertNotNull;
 import static io.microsphere.util.StringUtils.isBlank;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 
 /**
  * Abstract {@link ServiceMessageSource} providing base implementation for message resolution,
@@ -36,6 +51,22 @@ import static io.microsphere.util.StringUtils.isBlank;
  */
 public abstract class AbstractServiceMessageSource implements ServiceMessageSource {
 
+    /**
+     * The message does not fall back to the {@link #getDefaultLocale() default locale} by default
+     */
+    public static final boolean DEFAULT_FALLBACK_TO_DEFAULT_LOCALE = false;
+
+    /**
+     * The max count of the cached fallback chains of the requested {@link Locale locales} that are not precomputed
+     */
+    static final int MAX_CACHED_FALLBACK_LOCALES = 256;
+
+    /**
+     * The max count of the arguments that are passed to the fixed-arity
+     * {@link #getInternalMessage(String, String, Locale, Locale, int, Object, Object, Object) hook}
+     */
+    protected static final int MAX_FIXED_ARGUMENT_COUNT = 3;
+
     protected final Logger logger = getLogger(getClass());
 
     protected final String source;
@@ -46,6 +77,31 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
 
     private Locale defaultLocale;
 
+    /**
+     * Whether the message falls back to the {@link #getDefaultLocale() default locale} finally
+     */
+    private boolean fallbackToDefaultLocale = DEFAULT_FALLBACK_TO_DEFAULT_LOCALE;
+
+    /**
+     * The explicit fallback {@link Locale locales} keyed by the {@link Locale} whose chain they're appended to
+     */
+    private Map<Locale, List<Locale>> explicitFallbackLocales = emptyMap();
+
+    /**
+     * The immutable fallback chains keyed by the {@link #getSupportedLocales() supported locales} and the
+     * hierarchical locales of the {@link #getDefaultLocale() default locale}, {@code null} if it needs to be recomputed
+     */
+    private volatile Map<Locale, Locale[]> fallbackLocales;
+
+    /**
+     * The fallback chains of the requested {@link Locale locales} that are not precomputed
+     */
+    private final Map<Locale, Locale[]> cachedFallbackLocales = new ConcurrentHashMap<>();
+
+    private volatile MessageFormatter messageFormatter;
+
+    private volatile CompiledMessages compiledMessages = CompiledMessages.NONE;
+
     /**
      * Constructs an {@link AbstractServiceMessageSource} with the given source name.
      *
@@ -69,21 +125,104 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
 
     @Override
     public final String getMessage(String code, Locale locale, Object... args) {
+        int argumentCount = args == null ? 0 : args.length;
+        if (argumentCount <= MAX_FIXED_ARGUMENT_COUNT) { // The fixed-arity hook is shared with the overloads
+            return getMessage(code, locale, argumentCount, argumentCount > 0 ? args[0] : null,
+                    argumentCount > 1 ? args[1] : null, argumentCount > 2 ? args[2] : null);
+        }
         String message = null;
         if (code != null) {
             String resolvedCode = resolveMessageCode(code);
-            Locale resolvedLocale = resolveLocale(locale);
-            message = getInternalMessage(code, resolvedCode, locale, resolvedLocale, args);
-            if (message == null) {
-                resolvedLocale = new Locale(locale.getLanguage());
-                if (!resolvedLocale.equals(locale)) {
-                    message = getInternalMessage(code, resolvedCode, locale, resolvedLocale, args);
+            for (Locale resolvedLocale : getFallbackLocales(locale)) {
+                message = getInternalMessage(code, resolvedCode, locale, resolvedLocale, args);
+                if (message != null || isFallbackMerged(resolvedLocale)) {
+                    break;
                 }
             }
         }
         return message;
     }
 
+    @Override
+    public final String getMessage(String code, Locale locale, Object arg) {
+        return getMessage(code, locale, 1, arg, null, null);
+    }
+
+    @Override
+    public final String getMessage(String code, Locale locale, Object arg0, Object arg1) {
+        return getMessage(code, locale, 2, arg0, arg1, null);
+    }
+
+    @Override
+    public final String getMessage(String code, Locale locale, Object arg0, Object arg1, Object arg2) {
+        return getMessage(code, locale, 3, arg0, arg1, arg2);
+    }
+
+    @Override
+    public final String getMessage(String code, Locale locale, int arg) {
+        return getMessage(code, locale, 1, arg, null, null);
+    }
+
+    @Override
+    public final String getMessage(String code, Locale locale, long arg) {
+        return getMessage(code, locale, 1, arg, null, null);
+    }
+
+    /**
+     * Gets the message with at most {@link #MAX_FIXED_ARGUMENT_COUNT three} arguments along the
+     * {@link #getFallbackLocales(Locale) fallback chain} by the fixed-arity
+     * {@link #getInternalMessage(String, String, Locale, Locale, int, Object, Object, Object) hook}
+     *
+     * @param code          the message code
+     * @param locale        the requested {@link Locale}
+     * @param argumentCount the count of the arguments
+     * @param arg0          the first argument if present
+     * @param arg1          the second argument if present
+     * @param arg2          the third argument if present
+     * @return {@code null} if not found
+     */
+    @Nullable
+    private String getMessage(String code, Locale locale, int argumentCount, Object arg0, Object arg1, Object arg2) {
+        String message = null;
+        if (code != null) {
+            String resolvedCode = resolveMessageCode(code);
+            for (Locale resolvedLocale : getFallbackLocales(locale)) {
+                message = getInternalMessage(code, resolvedCode, locale, resolvedLocale, argumentCount, arg0, arg1, arg2);
+                if (message != null || isFallbackMerged(resolvedLocale)) {
+                    break;
+                }
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public final boolean appendMessage(Appendable out, String code, Object... args) {
+        return ServiceMessageSource.super.appendMessage(out, code, args);
+    }
+
+    @Override
+    public final boolean appendMessage(Appendable out, String code, Locale locale, Object... args) {
+        assertNotNull(out, () -> "The 'out' argument must not be null");
+        if (code == null) {
+            return false;
+        }
+        String resolvedCode = resolveMessageCode(code);
+        try {
+            for (Locale resolvedLocale : getFallbackLocales(locale)) {
+                if (appendInternalMessage(out, code, resolvedCode, locale, resolvedLocale, args)) {
+                    return true;
+                }
+                if (isFallbackMerged(resolvedLocale)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return false;
+    }
+
     @Nonnull
     @Override
     public final Locale getLocale() {
@@ -136,6 +275,7 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
      */
     public final void setDefaultLocale(Locale defaultLocale) {
         this.defaultLocale = defaultLocale;
+        resetFallbackLocales();
         if (this.logger.isTraceEnabled()) {
             this.logger.trace("Source '{}' sets the default Locale : '{}'", source, defaultLocale);
         }
@@ -153,11 +293,109 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
      */
     public final void setSupportedLocales(Collection<Locale> supportedLocales) {
         this.supportedLocales = resolveHierarchicalLocales(supportedLocales);
+        resetFallbackLocales();
         if (this.logger.isTraceEnabled()) {
             this.logger.trace("Source '{}' sets the supported Locales : {}", source, supportedLocales);
         }
     }
 
+    /**
+     * Whether the message falls back to the {@link #getDefaultLocale() default locale} finally
+     *
+     * @return {@code false} by default
+     */
+    public final boolean isFallbackToDefaultLocale() {
+        return this.fallbackToDefaultLocale;
+    }
+
+    /**
+     * Sets whether the message falls back to the {@link #getDefaultLocale() default locale} finally.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   source.setDefaultLocale(Locale.ENGLISH);
+     *   source.setFallbackToDefaultLocale(true);
+     *   // The fallback chain of Locale.UK : [en_GB, en], Locale.FRANCE : [fr_FR, fr, en]
+     * }</pre>
+     *
+     * @param fallbackToDefaultLocale {@code true} if falls back to the default locale
+     */
+    public final void setFallbackToDefaultLocale(boolean fallbackToDefaultLocale) {
+        this.fallbackToDefaultLocale = fallbackToDefaultLocale;
+        resetFallbackLocales();
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace("Source '{}' sets the fallback to the default Locale : {}", source, fallbackToDefaultLocale);
+        }
+    }
+
+    /**
+     * Get the explicit fallback {@link Locale locales} keyed by the {@link Locale} whose chain they're appended to
+     *
+     * @return non-null, empty by default
+     */
+    @Nonnull
+    public final Map<Locale, List<Locale>> getExplicitFallbackLocales() {
+        return this.explicitFallbackLocales;
+    }
+
+    /**
+     * Sets the explicit fallback {@link Locale locales}, which are appended to the fallback chain of the
+     * {@link Locale} they're keyed by, e.g. the regional {@link Locale} falls back to the sibling language whose
+     * messages are closer than the ones of the {@link #getDefaultLocale() default locale}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   source.setExplicitFallbackLocales(Collections.singletonMap(new Locale("pt", "BR"), Arrays.asList(new Locale("pt", "PT"))));
+     *   // The fallback chain of pt_BR : [pt_BR, pt, pt_PT]
+     * }</pre>
+     *
+     * @param explicitFallbackLocales the explicit fallback {@link Locale locales} keyed by the {@link Locale}
+     */
+    public final void setExplicitFallbackLocales(Map<Locale, ? extends Collection<Locale>> explicitFallbackLocales) {
+        assertNotNull(explicitFallbackLocales, () -> "The 'explicitFallbackLocales' argument must not be null");
+        Map<Locale, List<Locale>> locales = new HashMap<>(explicitFallbackLocales.size() * 2);
+        explicitFallbackLocales.forEach((locale, fallbackLocales) -> {
+            assertNotNull(locale, () -> "The Locale of the explicit fallback locales must not be null");
+            assertNoNullElements(fallbackLocales, () -> "The explicit fallback locales must not contain null");
+            locales.put(locale, fallbackLocales.isEmpty() ? emptyList() : unmodifiableList(new ArrayList<>(fallbackLocales)));
+        });
+        this.explicitFallbackLocales = locales.isEmpty() ? emptyMap() : unmodifiableMap(locales);
+        resetFallbackLocales();
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace("Source '{}' sets the explicit fallback Locales : {}", source, explicitFallbackLocales);
+        }
+    }
+
+    /**
+     * Get the {@link MessageFormatter} that compiles and formats the message patterns
+     *
+     * @return {@code null} if the {@code "{}"} placeholders are formatted, by default
+     */
+    @Nullable
+    public final MessageFormatter getMessageFormatter() {
+        return this.messageFormatter;
+    }
+
+    /**
+     * Sets the {@link MessageFormatter} that compiles and formats the message patterns, e.g. the
+     * {@link io.microsphere.i18n.text.JdkMessageFormatter} for the {@link java.text.MessageFormat} syntax.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   source.setMessageFormatter(new JdkMessageFormatter());
+     *   source.getMessage("items", Locale.ENGLISH, 1234); // e.g. "1,234 items" for "test.items = {0,number} items"
+     * }</pre>
+     *
+     * @param messageFormatter the {@link MessageFormatter}, {@code null} to format the {@code "{}"} placeholders
+     */
+    public final void setMessageFormatter(@Nullable MessageFormatter messageFormatter) {
+        this.messageFormatter = messageFormatter;
+        resetCompiledMessages();
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace("Source '{}' sets the message formatter : {}", source, messageFormatter);
+        }
+    }
+
     /**
      * Asserts that the given collection of supported locales is valid (non-empty, no null elements).
      *
@@ -176,6 +414,76 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
     protected abstract String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
                                                  Object... args);
 
+    /**
+     * Gets the internal message with at most {@link #MAX_FIXED_ARGUMENT_COUNT three} arguments, which serves the
+     * fixed-arity {@link #getMessage(String, Locale, Object) getMessage} overloads and the
+     * {@link #getMessage(String, Locale, Object...) varargs one} with as many arguments. The default implementation
+     * delegates to {@link #getInternalMessage(String, String, Locale, Locale, Object...)} with the argument array,
+     * the sub-classes may override to format the arguments without the array.
+     *
+     * @param code           the message code
+     * @param resolvedCode   the resolved message code
+     * @param locale         the requested {@link Locale}
+     * @param resolvedLocale the resolved {@link Locale} of the fallback chain
+     * @param argumentCount  the count of the arguments, from {@code 0} to {@link #MAX_FIXED_ARGUMENT_COUNT}
+     * @param arg0           the first argument if present
+     * @param arg1           the second argument if present
+     * @param arg2           the third argument if present
+     * @return {@code null} if not found
+     */
+    @Nullable
+    protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
+                                        int argumentCount, Object arg0, Object arg1, Object arg2) {
+        return getInternalMessage(code, resolvedCode, locale, resolvedLocale, toArguments(argumentCount, arg0, arg1, arg2));
+    }
+
+    /**
+     * Packs the fixed-arity arguments into the argument array
+     *
+     * @param argumentCount the count of the arguments, from {@code 0} to {@link #MAX_FIXED_ARGUMENT_COUNT}
+     * @param arg0          the first argument if present
+     * @param arg1          the second argument if present
+     * @param arg2          the third argument if present
+     * @return non-null
+     */
+    @Nonnull
+    protected static Object[] toArguments(int argumentCount, Object arg0, Object arg1, Object arg2) {
+        switch (argumentCount) {
+            case 0:
+                return EMPTY_OBJECT_ARRAY;
+            case 1:
+                return new Object[]{arg0};
+            case 2:
+                return new Object[]{arg0, arg1};
+            default:
+                return new Object[]{arg0, arg1, arg2};
+        }
+    }
+
+    /**
+     * Appends the internal message into the specified {@link Appendable}, the default implementation appends the
+     * result of {@link #getInternalMessage(String, String, Locale, Locale, Object...)}, the sub-classes may override
+     * to stream the message pattern and the arguments without the intermediate {@link String}.
+     *
+     * @param out            the {@link Appendable}
+     * @param code           the message code
+     * @param resolvedCode   the resolved message code
+     * @param locale         the requested {@link Locale}
+     * @param resolvedLocale the resolved {@link Locale} of the fallback chain
+     * @param args           the arguments of the message pattern
+     * @return {@code true} if the message was found and appended, otherwise nothing is appended
+     * @throws IOException if the {@link Appendable} throws the {@link IOException}
+     */
+    protected boolean appendInternalMessage(Appendable out, String code, String resolvedCode, Locale locale,
+                                            Locale resolvedLocale, Object... args) throws IOException {
+        String message = getInternalMessage(code, resolvedCode, locale, resolvedLocale, args);
+        if (message == null) {
+            return false;
+        }
+        out.append(message);
+        return true;
+    }
+
     /**
      * Checks whether the given {@link Locale} is supported by this message source.
      *
@@ -229,22 +537,224 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
         return ofSet(resolvedLocale, new Locale(resolvedLocale.getLanguage()));
     }
 
+    /**
+     * Resolves the {@link Locale} that only contains the language and the region of the specified {@link Locale}.
+     * The specified {@link Locale} will be returned directly if it has neither script, variant nor extensions.
+     *
+     * @param locale the {@link Locale} to resolve
+     * @return non-null
+     */
     @Nonnull
     protected Locale resolveLocale(Locale locale) {
-        String language = locale.getLanguage();
         String region = locale.getCountry();
-        if (isBlank(region)) {
+        if (isBlank(region) || isLanguageAndRegionOnly(locale)) {
             return locale;
         }
-        return new Locale(language, region);
+        return new Locale(locale.getLanguage(), region);
     }
 
+    /**
+     * Get the fallback chain of the specified {@link Locale}, the chains of the {@link #getSupportedLocales() supported
+     * locales} and the {@link #getDefaultLocale() default locale} are precomputed, the others are computed once
+     * and cached in bound.
+     *
+     * @param locale the requested {@link Locale}
+     * @return the shared array of the {@link Locale locales} to probe in order, must not be modified
+     * @see #resolveFallbackLocales(Locale)
+     */
+    @Nonnull
+    protected final Locale[] getFallbackLocales(Locale locale) {
+        Map<Locale, Locale[]> fallbackLocales = this.fallbackLocales;
+        if (fallbackLocales == null) {
+            fallbackLocales = resolveFallbackLocales();
+            this.fallbackLocales = fallbackLocales;
+        }
+        Locale[] locales = fallbackLocales.get(locale);
+        if (locales == null) { // The Locale is not precomputed
+            Map<Locale, Locale[]> cachedFallbackLocales = this.cachedFallbackLocales;
+            locales = cachedFallbackLocales.get(locale);
+            if (locales == null) {
+                locales = toFallbackLocales(locale, fallbackLocales);
+                if (cachedFallbackLocales.size() < MAX_CACHED_FALLBACK_LOCALES) {
+                    cachedFallbackLocales.putIfAbsent(locale, locales);
+                }
+            }
+        }
+        return locales;
+    }
+
+    /**
+     * Resolves the fallback chain of the specified {@link Locale} : the {@link Locale} without the extensions if it
+     * has the script or the variant, the {@link #resolveLocale(Locale) language and region}, the language, the ones
+     * of the {@link #getExplicitFallbackLocales() explicit fallback locales} of them, then the ones of the
+     * {@link #getDefaultLocale() default locale} if {@link #isFallbackToDefaultLocale() enabled}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   source.resolveFallbackLocales(new Locale("en", "GB", "POSIX")); // [en_GB_POSIX, en_GB, en]
+     *   source.setExplicitFallbackLocales(Collections.singletonMap(Locale.UK, Arrays.asList(Locale.FRENCH)));
+     *   source.resolveFallbackLocales(Locale.UK); // [en_GB, en, fr]
+     * }</pre>
+     *
+     * @param locale the requested {@link Locale}
+     * @return the distinct {@link Locale locales} to probe in order
+     */
+    @Nonnull
+    protected Set<Locale> resolveFallbackLocales(Locale locale) {
+        Set<Locale> fallbackLocales = new LinkedHashSet<>(8);
+        addCandidateLocales(fallbackLocales, locale);
+        Map<Locale, List<Locale>> explicitFallbackLocales = this.explicitFallbackLocales;
+        if (!explicitFallbackLocales.isEmpty()) {
+            for (Locale candidateLocale : new ArrayList<>(fallbackLocales)) {
+                for (Locale explicitFallbackLocale : explicitFallbackLocales.getOrDefault(candidateLocale, emptyList())) {
+                    addCandidateLocales(fallbackLocales, explicitFallbackLocale);
+                }
+            }
+        }
+        if (this.fallbackToDefaultLocale) {
+            addCandidateLocales(fallbackLocales, getDefaultLocale());
+        }
+        return fallbackLocales;
+    }
+
+    private void addCandidateLocales(Set<Locale> locales, Locale locale) {
+        if (!locale.getScript().isEmpty() || !locale.getVariant().isEmpty()) {
+            locales.add(locale.stripExtensions());
+        }
+        locales.add(resolveLocale(locale));
+        locales.add(new Locale(locale.getLanguage()));
+    }
+
+    /**
+     * Whether the messages of the fallback chain of the specified {@link Locale} have been merged, thus
+     * {@link #getInternalMessage(String, String, Locale, Locale, Object...)} has probed the whole chain.
+     *
+     * @param resolvedLocale the resolved {@link Locale} in the fallback chain
+     * @return {@code false} by default
+     */
+    protected boolean isFallbackMerged(Locale resolvedLocale) {
+        return false;
+    }
+
+    /**
+     * Resets the fallback chains after the {@link #getSupportedLocales() supported locales},
+     * the {@link #getDefaultLocale() default locale}, {@link #isFallbackToDefaultLocale() the fallback to it} or the
+     * {@link #getExplicitFallbackLocales() explicit fallback locales} changed,
+     * they will be recomputed on the next lookup.
+     */
+    protected void resetFallbackLocales() {
+        this.fallbackLocales = null;
+        this.cachedFallbackLocales.clear();
+    }
+
+    private Map<Locale, Locale[]> resolveFallbackLocales() {
+        Set<Locale> locales = new LinkedHashSet<>(getSupportedLocales());
+        locales.addAll(resolveHierarchicalLocales(getDefaultLocale()));
+        // The instances of the locales are shared, thus the lookup of HashMap compares the identities first
+        Map<Locale, Locale> canonicalLocales = new HashMap<>(locales.size() * 2);
+        for (Locale locale : locales) {
+            canonicalLocales.put(locale, locale);
+        }
+        Map<Locale, Locale[]> fallbackLocales = new HashMap<>(locales.size() * 2);
+        for (Locale locale : locales) {
+            fallbackLocales.put(locale, toFallbackLocales(locale, canonicalLocales));
+        }
+        return unmodifiableMap(fallbackLocales);
+    }
+
+    private Locale[] toFallbackLocales(Locale locale, Map<Locale, ?> canonicalLocales) {
+        Set<Locale> locales = resolveFallbackLocales(locale);
+        Locale[] fallbackLocales = new Locale[locales.size()];
+        int index = 0;
+        for (Locale fallbackLocale : locales) {
+            fallbackLocales[index++] = canonicalize(fallbackLocale, canonicalLocales);
+        }
+        return fallbackLocales;
+    }
+
+    private static Locale canonicalize(Locale locale, Map<Locale, ?> canonicalLocales) {
+        Object value = canonicalLocales.get(locale);
+        if (value instanceof Locale) {
+            return (Locale) value;
+        } else if (value instanceof Locale[]) { // The precomputed chain starts with the canonical instance
+            Locale[] locales = (Locale[]) value;
+            if (locales.length > 0 && locales[0].equals(locale)) {
+                return locales[0];
+            }
+        }
+        return locale;
+    }
+
+    private static boolean isLanguageAndRegionOnly(Locale locale) {
+        return locale.getVariant().isEmpty() && locale.getScript().isEmpty() && locale.getExtensionKeys().isEmpty();
+    }
+
+    /**
+     * Resolves the {@code "{}"} placeholders of the message pattern with the specified arguments, the sub-class may
+     * override this method to re-implement formatting.
+     *
+     * @param message the message pattern
+     * @param args    the message arguments
+     * @return non-null
+     */
     @Nonnull
     protected String resolveMessage(String message, Object... args) {
         // Using FormatUtils#format, future subclasses may re-implement formatting
         return format(message, args);
     }
 
+    /**
+     * Formats the message pattern of the specified {@link Locale} by the {@link #getMessageFormatter() message formatter}
+     * if present, otherwise {@link #resolveMessage(String, Object...) resolves} the {@code "{}"} placeholders.
+     *
+     * @param pattern the message pattern
+     * @param locale  the {@link Locale} of the message pattern
+     * @param args    the message arguments
+     * @return non-null
+     */
+    @Nonnull
+    protected String formatMessage(String pattern, Locale locale, Object... args) {
+        MessageFormatter messageFormatter = this.messageFormatter;
+        return messageFormatter == null ? resolveMessage(pattern, args) :
+                getCompiledMessage(messageFormatter, pattern, locale).format(args);
+    }
+
+    /**
+     * Gets the message compiled by the specified {@link MessageFormatter}, which is compiled once per the pattern and
+     * the {@link Locale} until the compiled messages are {@link #resetCompiledMessages() reset}.
+     *
+     * @param messageFormatter the {@link MessageFormatter}
+     * @param pattern          the message pattern
+     * @param locale           the {@link Locale} of the message pattern
+     * @return non-null
+     */
+    @Nonnull
+    protected final CompiledMessage getCompiledMessage(MessageFormatter messageFormatter, String pattern, Locale locale) {
+        CompiledMessages compiledMessages = getCompiledMessages();
+        if (compiledMessages.messageFormatter != messageFormatter) { // The message formatter is being changed
+            return messageFormatter.compile(pattern, locale);
+        }
+        return compiledMessages.get(pattern, locale);
+    }
+
+    /**
+     * Get the current {@link CompiledMessages}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    CompiledMessages getCompiledMessages() {
+        return this.compiledMessages;
+    }
+
+    /**
+     * Resets the compiled messages after the {@link #getMessageFormatter() message formatter} changed, they will be
+     * compiled again on demand.
+     */
+    protected void resetCompiledMessages() {
+        this.compiledMessages = new CompiledMessages(this.messageFormatter);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " - " +
@@ -253,4 +763,50 @@ public abstract class AbstractServiceMessageSource implements ServiceMessageSour
                 ", supportedLocales = " + getSupportedLocales() +
                 ", defaultLocale = " + getDefaultLocale();
     }
+
+    /**
+     * The messages compiled by one {@link MessageFormatter} keyed by the {@link Locale} and the message pattern, the
+     * absent ones are compiled on demand
+     */
+    static final class CompiledMessages {
+
+        static final CompiledMessages NONE = new CompiledMessages(null);
+
+        @Nullable
+        final MessageFormatter messageFormatter;
+
+        private final Map<Locale, Map<String, CompiledMessage>> messages;
+
+        CompiledMessages(@Nullable MessageFormatter messageFormatter) {
+            this(messageFormatter, new ConcurrentHashMap<>());
+        }
+
+        CompiledMessages(@Nullable MessageFormatter messageFormatter, Map<Locale, Map<String, CompiledMessage>> messages) {
+            this.messageFormatter = messageFormatter;
+            this.messages = messages;
+        }
+
+        /**
+         * Get the compiled messages of the specified {@link Locale} keyed by the message pattern
+         *
+         * @param locale the {@link Locale}
+         * @return {@code null} if absent
+         */
+        @Nullable
+        Map<String, CompiledMessage> get(Locale locale) {
+            return this.messages.get(locale);
+        }
+
+        CompiledMessage get(String pattern, Locale locale) {
+            Map<String, CompiledMessage> localeCompiledMessages = this.messages.get(locale);
+            if (localeCompiledMessages == null) {
+                localeCompiledMessages = this.messages.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+            }
+            CompiledMessage compiledMessage = localeCompiledMessages.get(pattern);
+            if (compiledMessage == null) {
+                compiledMessage = localeCompiledMessages.computeIfAbsent(pattern, p -> this.messageFormatter.compile(p, locale));
+            }
+            return compiledMessage;
+        }
+    }
 }
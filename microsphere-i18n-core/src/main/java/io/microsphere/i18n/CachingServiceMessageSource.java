@@ -0,0 +1,675 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.logging.Logger;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.util.Collections.emptySet;
+
+/**
+ * The opt-in {@link ServiceMessageSource} decorator that caches the formatted messages of the delegate keyed by the
+ * message code, the resolved {@link Locale} and the arguments. Only the messages whose arguments are all immutable, e.g.
+ * {@link String}, the boxed primitives and {@link Enum}, are admitted. The resolved {@link Locale} is the first one
+ * along the fallback chain of the requested {@link Locale} that the delegate supports, thus the requested locales
+ * resolved to the same messages, e.g. {@code en_US} and {@code en_US_POSIX}, share the cached messages.
+ * <p>
+ * The cache is bounded by the segmented LRU policy : the new entries are admitted into the probation segment, the
+ * ones hit again are promoted into the protected segment, thus the frequently used messages survive the scans of the
+ * one-off messages. The lookups read the {@link ConcurrentHashMap} without locking, the hits are recorded into a
+ * lossy buffer that is replayed into the policy under the lock by the writers, or by the reader that fills the buffer.
+ * The cached messages are invalidated after the resources of the delegate are
+ * {@link #reload(Iterable) reloaded} or initialized, or the {@link CompositeServiceMessageSource#getVersion() version}
+ * of the {@link CompositeServiceMessageSource composite} delegate is bumped.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   CachingServiceMessageSource source = new CachingServiceMessageSource(new DefaultServiceMessageSource("test"), 1024);
+ *   source.init();
+ *   source.getMessage("hello", Locale.ENGLISH, "World"); // "Hello,World", missed
+ *   source.getMessage("hello", Locale.ENGLISH, "World"); // "Hello,World", hit
+ *   source.getHitCount();                                // 1
+ *   source.destroy();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ServiceMessageSource
+ * @see CompositeServiceMessageSource#getVersion()
+ * @since 1.0.0
+ */
+public class CachingServiceMessageSource implements ReloadableResourceServiceMessageSource {
+
+    private static final Logger logger = getLogger(CachingServiceMessageSource.class);
+
+    /**
+     * The default maximum count of the cached messages
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * The max count of the cached resolved {@link Locale locales}
+     */
+    private static final int MAX_RESOLVED_LOCALES = 256;
+
+    private final ServiceMessageSource delegate;
+
+    private final int maximumSize;
+
+    private final MessageCache messageCache;
+
+    /**
+     * The generation of the cached messages, which is bumped on the invalidation
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ResourceServiceMessageSourceListener invalidatingListener = (source, resources) -> invalidate();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private volatile ResolvedLocales resolvedLocales = new ResolvedLocales(-1L);
+
+    /**
+     * Constructs the {@link CachingServiceMessageSource} with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size}
+     *
+     * @param delegate the delegate {@link ServiceMessageSource}
+     */
+    public CachingServiceMessageSource(ServiceMessageSource delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructs the {@link CachingServiceMessageSource}
+     *
+     * @param delegate    the delegate {@link ServiceMessageSource}
+     * @param maximumSize the maximum count of the cached messages
+     * @throws IllegalArgumentException if the delegate is null or the maximum size is not positive
+     */
+    public CachingServiceMessageSource(ServiceMessageSource delegate, int maximumSize) {
+        assertNotNull(delegate, () -> "The 'delegate' argument must not be null");
+        assertTrue(maximumSize > 0, () -> "The 'maximumSize' argument must be positive");
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.messageCache = new MessageCache(maximumSize);
+        if (delegate instanceof ResourceServiceMessageSource) {
+            ((ResourceServiceMessageSource) delegate).addListener(this.invalidatingListener);
+        }
+    }
+
+    @Override
+    public void init() {
+        this.delegate.init();
+        invalidate();
+    }
+
+    @Override
+    public void destroy() {
+        if (this.delegate instanceof ResourceServiceMessageSource) {
+            ((ResourceServiceMessageSource) this.delegate).removeListener(this.invalidatingListener);
+        }
+        this.delegate.destroy();
+        invalidate();
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object... args) {
+        if (code == null || !isCacheable(args)) {
+            return this.delegate.getMessage(code, locale, args);
+        }
+        long version = getVersion();
+        MessageKey key = new MessageKey(code, resolveLocale(locale, version), args);
+        String message = this.messageCache.get(key, version);
+        if (message != null) {
+            this.hitCount.increment();
+            return message;
+        }
+        this.missCount.increment();
+        message = this.delegate.getMessage(code, locale, args);
+        if (message != null) {
+            this.messageCache.put(key.copy(), message, version);
+        }
+        return message;
+    }
+
+    @Nonnull
+    @Override
+    public Locale getLocale() {
+        return this.delegate.getLocale();
+    }
+
+    @Nonnull
+    @Override
+    public Locale getDefaultLocale() {
+        return this.delegate.getDefaultLocale();
+    }
+
+    @Nonnull
+    @Override
+    public Set<Locale> getSupportedLocales() {
+        return this.delegate.getSupportedLocales();
+    }
+
+    @Override
+    public Set<String> getMessageCodes() {
+        return this.delegate.getMessageCodes();
+    }
+
+    @Override
+    public String getSource() {
+        return this.delegate.getSource();
+    }
+
+    @Override
+    public int getPriority() {
+        return this.delegate.getPriority();
+    }
+
+    @Override
+    public boolean canReload(String changedResource) {
+        return this.delegate instanceof ReloadableResourceServiceMessageSource
+                && ((ReloadableResourceServiceMessageSource) this.delegate).canReload(changedResource);
+    }
+
+    @Override
+    public boolean canReload(Iterable<String> changedResources) {
+        return this.delegate instanceof ReloadableResourceServiceMessageSource
+                && ((ReloadableResourceServiceMessageSource) this.delegate).canReload(changedResources);
+    }
+
+    @Override
+    public void reload(String changedResource) {
+        if (this.delegate instanceof ReloadableResourceServiceMessageSource) {
+            try {
+                ((ReloadableResourceServiceMessageSource) this.delegate).reload(changedResource);
+            } finally {
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public void reload(Iterable<String> changedResources) {
+        if (this.delegate instanceof ReloadableResourceServiceMessageSource) {
+            try {
+                ((ReloadableResourceServiceMessageSource) this.delegate).reload(changedResources);
+            } finally {
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> reloadAsync(Iterable<String> changedResources, Executor executor) {
+        if (this.delegate instanceof ReloadableResourceServiceMessageSource) {
+            return ((ReloadableResourceServiceMessageSource) this.delegate).reloadAsync(changedResources, executor)
+                    .whenComplete((result, error) -> invalidate());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void initializeResource(String resource) {
+        if (this.delegate instanceof ResourceServiceMessageSource) {
+            try {
+                ((ResourceServiceMessageSource) this.delegate).initializeResource(resource);
+            } finally {
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public void initializeResources(Iterable<String> resources) {
+        if (this.delegate instanceof ResourceServiceMessageSource) {
+            try {
+                ((ResourceServiceMessageSource) this.delegate).initializeResources(resources);
+            } finally {
+                invalidate();
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Set<String> getInitializedResources() {
+        return this.delegate instanceof ResourceServiceMessageSource ?
+                ((ResourceServiceMessageSource) this.delegate).getInitializedResources() : emptySet();
+    }
+
+    @Override
+    public void addListener(ResourceServiceMessageSourceListener listener) {
+        if (this.delegate instanceof ResourceServiceMessageSource) {
+            ((ResourceServiceMessageSource) this.delegate).addListener(listener);
+        }
+    }
+
+    @Override
+    public void removeListener(ResourceServiceMessageSourceListener listener) {
+        if (this.delegate instanceof ResourceServiceMessageSource) {
+            ((ResourceServiceMessageSource) this.delegate).removeListener(listener);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Charset getEncoding() {
+        return this.delegate instanceof ResourceServiceMessageSource ?
+                ((ResourceServiceMessageSource) this.delegate).getEncoding() : ReloadableResourceServiceMessageSource.super.getEncoding();
+    }
+
+    /**
+     * Invalidates all cached messages, they will be evicted lazily on the next lookup
+     */
+    public void invalidate() {
+        long generation = this.generation.incrementAndGet();
+        if (logger.isTraceEnabled()) {
+            logger.trace("The cached messages of '{}' were invalidated, generation : {}", this.delegate, generation);
+        }
+    }
+
+    /**
+     * Get the delegate {@link ServiceMessageSource}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public ServiceMessageSource getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the maximum count of the cached messages
+     *
+     * @return the positive maximum size
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Get the count of the cached messages
+     *
+     * @return the count of the cached messages, which may include the invalidated ones not evicted yet
+     */
+    public int size() {
+        return this.messageCache.size();
+    }
+
+    /**
+     * Get the count of the lookups that hit the cached messages
+     *
+     * @return the count of the hits
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Get the count of the cacheable lookups that missed the cached messages
+     *
+     * @return the count of the misses
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Get the count of the cached messages that were evicted by the size bound
+     *
+     * @return the count of the evictions
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingServiceMessageSource{delegate=" + this.delegate + ", maximumSize=" + this.maximumSize +
+                ", hitCount=" + getHitCount() + ", missCount=" + getMissCount() +
+                ", evictionCount=" + getEvictionCount() + '}';
+    }
+
+    /**
+     * Get the version of the cached messages, which is increased on the invalidation of this source or the
+     * {@link CompositeServiceMessageSource#getVersion() version bump} of the composite delegate
+     *
+     * @return the version
+     */
+    private long getVersion() {
+        long version = this.generation.get();
+        if (this.delegate instanceof CompositeServiceMessageSource) {
+            version += ((CompositeServiceMessageSource) this.delegate).getVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Resolves the first {@link Locale} along the fallback chain of the specified {@link Locale} that the delegate
+     * supports, which is cached until the version of the cached messages is changed
+     *
+     * @param locale  the requested {@link Locale}
+     * @param version the version of the cached messages
+     * @return {@code null} if the requested {@link Locale} is {@code null}
+     */
+    private Locale resolveLocale(Locale locale, long version) {
+        if (locale == null) {
+            return null;
+        }
+        ResolvedLocales resolvedLocales = this.resolvedLocales;
+        if (resolvedLocales.version != version) {
+            resolvedLocales = new ResolvedLocales(version);
+            this.resolvedLocales = resolvedLocales;
+        }
+        Map<Locale, Locale> locales = resolvedLocales.locales;
+        Locale resolvedLocale = locales.get(locale);
+        if (resolvedLocale == null) {
+            resolvedLocale = resolveLocale(locale);
+            if (locales.size() < MAX_RESOLVED_LOCALES) {
+                locales.putIfAbsent(locale, resolvedLocale);
+            }
+        }
+        return resolvedLocale;
+    }
+
+    /**
+     * Resolves the {@link Locale} whose fallback chain is the one of the specified {@link Locale} without the leading
+     * locales that the delegate does not support, thus both of them resolve the same messages
+     *
+     * @param locale the requested {@link Locale}
+     * @return non-null
+     */
+    private Locale resolveLocale(Locale locale) {
+        Set<Locale> supportedLocales = this.delegate.getSupportedLocales();
+        Locale defaultLocale = this.delegate.getDefaultLocale();
+        Locale[] candidateLocales = {locale, locale.stripExtensions(), new Locale(locale.getLanguage(), locale.getCountry())};
+        for (Locale candidateLocale : candidateLocales) {
+            if (supportedLocales.contains(candidateLocale) || candidateLocale.equals(defaultLocale)) {
+                return candidateLocale;
+            }
+        }
+        // The rest of the fallback chain starts with the language
+        return new Locale(locale.getLanguage());
+    }
+
+    /**
+     * Whether the specified arguments are all immutable
+     *
+     * @param args the message arguments
+     * @return {@code true} if the message could be cached
+     */
+    static boolean isCacheable(Object[] args) {
+        if (args == null) {
+            return true;
+        }
+        for (Object arg : args) {
+            if (arg != null && !isImmutable(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object arg) {
+        return arg instanceof String || arg instanceof Integer || arg instanceof Long || arg instanceof Boolean
+                || arg instanceof Character || arg instanceof Short || arg instanceof Byte || arg instanceof Double
+                || arg instanceof Float || arg instanceof Enum;
+    }
+
+    /**
+     * The key of the cached message
+     */
+    private static final class MessageKey {
+
+        private final String code;
+
+        private final Locale locale;
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        MessageKey(String code, Locale locale, Object[] args) {
+            this.code = code;
+            this.locale = locale;
+            this.args = args;
+            this.hashCode = 31 * (31 * code.hashCode() + Objects.hashCode(locale)) + Arrays.hashCode(args);
+        }
+
+        /**
+         * Copies the key with its own arguments, the arguments array of the caller may be reused
+         *
+         * @return the copy
+         */
+        MessageKey copy() {
+            Object[] args = this.args;
+            return args == null || args.length == 0 ? this : new MessageKey(this.code, this.locale, args.clone());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey that = (MessageKey) o;
+            return this.hashCode == that.hashCode && this.code.equals(that.code)
+                    && Objects.equals(this.locale, that.locale) && Arrays.equals(this.args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * The resolved {@link Locale locales} keyed by the requested ones of the version
+     */
+    private static final class ResolvedLocales {
+
+        private final long version;
+
+        private final Map<Locale, Locale> locales = new ConcurrentHashMap<>();
+
+        ResolvedLocales(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * The cached message of the version
+     */
+    private static final class Node {
+
+        private final MessageKey key;
+
+        private final String message;
+
+        private final long version;
+
+        Node(MessageKey key, String message, long version) {
+            this.key = key;
+            this.message = message;
+            this.version = version;
+        }
+    }
+
+    /**
+     * The bounded segmented LRU cache of the messages, the entries of the stale version are evicted at once. The
+     * {@link #get(MessageKey, long) lookup} reads the {@link ConcurrentHashMap} without locking and records the hit
+     * into the lossy read buffer, the access-ordered segments are only mutated under the lock.
+     */
+    private final class MessageCache {
+
+        /**
+         * The size of the read buffer, which is the power of two
+         */
+        private static final int READ_BUFFER_SIZE = 64;
+
+        private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+        private final int protectedMaximumSize;
+
+        private final ConcurrentHashMap<MessageKey, Node> entries = new ConcurrentHashMap<>();
+
+        /**
+         * The entries accessed once in the access order, guarded by the lock
+         */
+        private final LinkedHashMap<MessageKey, Node> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * The entries accessed more than once in the access order, guarded by the lock
+         */
+        private final LinkedHashMap<MessageKey, Node> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * The hit entries that are not replayed into the segments yet, the slot may be overwritten before replayed
+         */
+        private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+        private final AtomicInteger readBufferIndex = new AtomicInteger();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The version of the cached entries, guarded by the lock
+         */
+        private long version;
+
+        MessageCache(int maximumSize) {
+            this.protectedMaximumSize = maximumSize * 4 / 5;
+        }
+
+        String get(MessageKey key, long version) {
+            Node node = this.entries.get(key);
+            if (node == null || node.version != version) {
+                return null;
+            }
+            int index = this.readBufferIndex.getAndIncrement() & READ_BUFFER_MASK;
+            this.readBuffer.lazySet(index, node);
+            if (index == READ_BUFFER_MASK && this.lock.tryLock()) { // The buffer is full
+                try {
+                    drainReadBuffer();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+            return node.message;
+        }
+
+        void put(MessageKey key, String message, long version) {
+            this.lock.lock();
+            try {
+                if (!isCurrent(version)) {
+                    return;
+                }
+                drainReadBuffer();
+                if (this.protectedEntries.containsKey(key)) {
+                    return;
+                }
+                Node node = new Node(key, message, version);
+                this.entries.put(key, node);
+                this.probation.put(key, node);
+                if (this.probation.size() + this.protectedEntries.size() > maximumSize) {
+                    Iterator<MessageKey> iterator = this.probation.keySet().iterator();
+                    this.entries.remove(iterator.next());
+                    iterator.remove();
+                    evictionCount.increment();
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        int size() {
+            return this.entries.size();
+        }
+
+        /**
+         * Replays the recorded hits into the segments, the caller must hold the lock
+         */
+        private void drainReadBuffer() {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                Node node = this.readBuffer.getAndSet(i, null);
+                if (node != null && node.version == this.version) {
+                    onHit(node);
+                }
+            }
+        }
+
+        private void onHit(Node node) {
+            MessageKey key = node.key;
+            if (this.protectedEntries.get(key) != null) { // Moves to the most recently used
+                return;
+            }
+            if (this.probation.get(key) != node) { // Evicted or replaced
+                return;
+            }
+            // Promotes the entry hit again
+            this.probation.remove(key);
+            this.protectedEntries.put(key, node);
+            if (this.protectedEntries.size() > this.protectedMaximumSize) { // Demotes the eldest protected one
+                Iterator<Map.Entry<MessageKey, Node>> iterator = this.protectedEntries.entrySet().iterator();
+                Map.Entry<MessageKey, Node> eldest = iterator.next();
+                iterator.remove();
+                this.probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        /**
+         * Whether the specified version is current, the entries of the previous version are cleared if newer, the
+         * caller must hold the lock
+         *
+         * @param version the version of the caller
+         * @return {@code false} if the version of the caller is stale
+         */
+        private boolean isCurrent(long version) {
+            if (version > this.version) {
+                this.entries.clear();
+                this.probation.clear();
+                this.protectedEntries.clear();
+                this.version = version;
+            }
+            return version == this.version;
+        }
+    }
+}
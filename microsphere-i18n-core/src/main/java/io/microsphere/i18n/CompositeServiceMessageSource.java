@@ -1,19 +1,27 @@
 package io.microsphere.i18n;
 
 import io.microsphere.annotation.Nonnull;
+import io.microsphere.i18n.AbstractResourceServiceMessageSource.StagedResources;
 import io.microsphere.logging.Logger;
 
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import static io.microsphere.collection.ListUtils.first;
 import static io.microsphere.collection.ListUtils.forEach;
 import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.util.I18nUtils.findAllServiceMessageSources;
+import static io.microsphere.i18n.util.MessageUtils.SOURCE_SEPARATOR;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -22,8 +30,20 @@ import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableSet;
 
 /**
- * The Composite {@link ServiceMessageSource} class, No thread safe.
- * Delegates to a list of child {@link ServiceMessageSource} instances.
+ * The Composite {@link ServiceMessageSource} class.
+ * Delegates to a list of child {@link ServiceMessageSource} instances, the message code is routed to the delegates
+ * that {@link ServiceMessageSource#getMessageCodes() own} it by the index that is rebuilt after the delegates are set
+ * or their resources are reloaded, the delegates whose codes can't be enumerated are always tried in order.
+ * <p>
+ * The delegates and the routing index are published as an immutable snapshot with a {@link #getVersion() version}
+ * by one atomic reference swap, the readers pin the snapshot by one volatile read, thus they never see a torn or
+ * cleared list of the delegates. The {@link #reload(Iterable) reload} runs in two phases, the
+ * {@link AbstractResourceServiceMessageSource resource delegates} load the changed resources aside first, and then
+ * their new messages are published back-to-back, thus the lookups keep reading the previous messages of all
+ * delegates while the resources are being loaded. However, the delegates publish their messages one by one, a lookup
+ * racing with the second phase may still see some delegates reloaded and the others not. The version is bumped once
+ * per reload after all delegates are reloaded, rather than once per delegate, the caching layers built on top could
+ * key their entries by the version.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -46,7 +66,20 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
 
     private static final Logger logger = getLogger(CompositeServiceMessageSource.class);
 
-    private List<? extends ServiceMessageSource> serviceMessageSources;
+    /**
+     * The current snapshot of the delegates
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The count of the reloads in progress, the resources initialized by them are published once they complete,
+     * guarded by {@link #getLock()}
+     */
+    private int reloadingCount;
+
+    private final ResourceServiceMessageSourceListener resourcesInitializedListener = this::onResourcesInitialized;
+
+    private final List<ResourceServiceMessageSourceListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs an empty {@link CompositeServiceMessageSource}.
@@ -57,7 +90,6 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
      * }</pre>
      */
     public CompositeServiceMessageSource() {
-        this.serviceMessageSources = emptyList();
     }
 
     /**
@@ -77,13 +109,14 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
 
     @Override
     public void init() {
-        forEach(this.serviceMessageSources, ServiceMessageSource::init);
+        forEach(this.snapshot.serviceMessageSources, ServiceMessageSource::init);
+        invalidate();
     }
 
     @Override
     public String getMessage(String code, Locale locale, Object... args) {
         String message = null;
-        for (ServiceMessageSource serviceMessageSource : this.serviceMessageSources) {
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
             message = serviceMessageSource.getMessage(code, locale, args);
             if (message != null) {
                 break;
@@ -92,6 +125,89 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
         return message;
     }
 
+    @Override
+    public String getMessage(String code, Locale locale, Object arg) {
+        String message = null;
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            message = serviceMessageSource.getMessage(code, locale, arg);
+            if (message != null) {
+                break;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1) {
+        String message = null;
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            message = serviceMessageSource.getMessage(code, locale, arg0, arg1);
+            if (message != null) {
+                break;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1, Object arg2) {
+        String message = null;
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            message = serviceMessageSource.getMessage(code, locale, arg0, arg1, arg2);
+            if (message != null) {
+                break;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, int arg) {
+        String message = null;
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            message = serviceMessageSource.getMessage(code, locale, arg);
+            if (message != null) {
+                break;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, long arg) {
+        String message = null;
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            message = serviceMessageSource.getMessage(code, locale, arg);
+            if (message != null) {
+                break;
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public boolean appendMessage(Appendable out, String code, Locale locale, Object... args) {
+        for (ServiceMessageSource serviceMessageSource : getRoutingIndex(this.snapshot).route(code)) {
+            if (serviceMessageSource.appendMessage(out, code, locale, args)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<String> getMessageCodes() {
+        Set<String> messageCodes = new HashSet<>();
+        for (ServiceMessageSource serviceMessageSource : this.snapshot.serviceMessageSources) {
+            Set<String> codes = serviceMessageSource.getMessageCodes();
+            if (codes == null) {
+                return null;
+            }
+            messageCodes.addAll(codes);
+        }
+        return unmodifiableSet(messageCodes);
+    }
+
     @Nonnull
     @Override
     public Locale getLocale() {
@@ -147,28 +263,50 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
     public void setServiceMessageSources(List<? extends ServiceMessageSource> serviceMessageSources) {
         List<ServiceMessageSource> newServiceMessageSources = new ArrayList<>(serviceMessageSources);
         sort(newServiceMessageSources);
-
-        List<? extends ServiceMessageSource> oldServiceMessageSources = this.serviceMessageSources;
-        this.serviceMessageSources = newServiceMessageSources;
         if (logger.isTraceEnabled()) {
             logger.trace("The ServiceMessageSource original: '{}' , sorted : '{}'", serviceMessageSources, newServiceMessageSources);
         }
-
-        if (oldServiceMessageSources != null) {
-            oldServiceMessageSources.clear();
+        List<ServiceMessageSource> oldServiceMessageSources;
+        synchronized (getLock()) {
+            oldServiceMessageSources = this.snapshot.serviceMessageSources;
+            // The previous list is kept intact for the readers that pinned it
+            publish(unmodifiableList(newServiceMessageSources));
         }
+        removeResourcesInitializedListener(oldServiceMessageSources);
+        addResourcesInitializedListener(newServiceMessageSources);
+        invalidate();
     }
 
     @Override
     public void reload(Iterable<String> changedResources) {
-        iterate(ReloadableResourceServiceMessageSource.class, reloadableResourceServiceMessageSource -> {
-            if (reloadableResourceServiceMessageSource.canReload(changedResources)) {
-                reloadableResourceServiceMessageSource.reload(changedResources);
-                if (logger.isTraceEnabled()) {
-                    logger.trace("The '{}' reloaded the changed resources: {}", reloadableResourceServiceMessageSource, changedResources);
+        synchronized (getLock()) {
+            this.reloadingCount++;
+        }
+        try {
+            // The first phase : the resource delegates load the changed resources aside without publishing them
+            List<StagedResources> stagedResourcesList = new ArrayList<>();
+            iterate(ReloadableResourceServiceMessageSource.class, reloadableResourceServiceMessageSource -> {
+                if (reloadableResourceServiceMessageSource.canReload(changedResources)) {
+                    if (reloadableResourceServiceMessageSource instanceof AbstractResourceServiceMessageSource) {
+                        stagedResourcesList.add(((AbstractResourceServiceMessageSource) reloadableResourceServiceMessageSource)
+                                .stageReload(changedResources));
+                    } else { // e.g. the nested composites
+                        reloadableResourceServiceMessageSource.reload(changedResources);
+                    }
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("The '{}' reloaded the changed resources: {}", reloadableResourceServiceMessageSource, changedResources);
+                    }
                 }
+            });
+            // The second phase : the staged messages are published back-to-back
+            forEach(stagedResourcesList, StagedResources::publish);
+        } finally {
+            synchronized (getLock()) {
+                this.reloadingCount--;
             }
-        });
+            // All delegates are reloaded, the new version is published at once
+            invalidate();
+        }
     }
 
     @Override
@@ -207,6 +345,16 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
         return unmodifiableSet(resources);
     }
 
+    @Override
+    public void addListener(ResourceServiceMessageSourceListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(ResourceServiceMessageSourceListener listener) {
+        this.listeners.remove(listener);
+    }
+
     @Override
     public Charset getEncoding() {
         return ReloadableResourceServiceMessageSource.super.getEncoding();
@@ -219,33 +367,251 @@ public class CompositeServiceMessageSource implements ReloadableResourceServiceM
      */
     @Nonnull
     public List<ServiceMessageSource> getServiceMessageSources() {
-        return unmodifiableList(serviceMessageSources);
+        return this.snapshot.serviceMessageSources;
+    }
+
+    /**
+     * Get the version of the current snapshot, which is bumped each time the delegates are set, initialized, reloaded
+     * or destroyed, the snapshot of the same version is immutable.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   long version = composite.getVersion();
+     *   composite.reload(Arrays.asList("META-INF/i18n/test/i18n_messages_en.properties"));
+     *   composite.getVersion() > version; // true
+     * }</pre>
+     *
+     * @return the non-negative version
+     */
+    public final long getVersion() {
+        return this.snapshot.version;
     }
 
     @Override
     public void destroy() {
-        List<? extends ServiceMessageSource> serviceMessageSources = this.serviceMessageSources;
+        List<ServiceMessageSource> serviceMessageSources;
+        synchronized (getLock()) {
+            serviceMessageSources = this.snapshot.serviceMessageSources;
+            publish(emptyList());
+        }
+        removeResourcesInitializedListener(serviceMessageSources);
         forEach(serviceMessageSources, ServiceMessageSource::destroy);
-        serviceMessageSources.clear();
+        invalidate();
     }
 
     @Override
     public String toString() {
-        return this.getClass().getSimpleName() + " - serviceMessageSources = " + serviceMessageSources + '}';
+        return this.getClass().getSimpleName() + " - serviceMessageSources = " + this.snapshot.serviceMessageSources + '}';
+    }
+
+    /**
+     * Callback after the resources of the composited {@link ResourceServiceMessageSource} were initialized,
+     * the routing index will be rebuilt and the listeners of this source will be notified.
+     *
+     * @param serviceMessageSource the composited {@link ResourceServiceMessageSource}
+     * @param resources            the initialized resources
+     */
+    protected void onResourcesInitialized(ResourceServiceMessageSource serviceMessageSource, Iterable<String> resources) {
+        boolean reloading;
+        synchronized (getLock()) {
+            reloading = this.reloadingCount > 0;
+        }
+        if (!reloading) { // Otherwise, invalidated once the reload completes
+            invalidate();
+        }
+        for (ResourceServiceMessageSourceListener listener : this.listeners) {
+            listener.onResourcesInitialized(this, resources);
+        }
+    }
+
+    /**
+     * Invalidates the lookup structures derived from the delegates, e.g. the routing index of the message codes,
+     * they will be rebuilt on the next lookup. The subclass may override this method to invalidate its own ones.
+     */
+    protected void invalidate() {
+        synchronized (getLock()) {
+            publish(this.snapshot.serviceMessageSources);
+        }
+    }
+
+    /**
+     * Get the lock that guards the rebuilding and the invalidation of the lookup structures
+     *
+     * @return non-null
+     */
+    protected final Object getLock() {
+        return this.resourcesInitializedListener;
+    }
+
+    /**
+     * Publishes the new snapshot of the specified delegates with the next version, the caller must hold
+     * {@link #getLock()}
+     *
+     * @param serviceMessageSources the read-only delegates
+     */
+    private void publish(List<ServiceMessageSource> serviceMessageSources) {
+        this.snapshot = new Snapshot(this.snapshot.version + 1, serviceMessageSources);
+    }
+
+    private RoutingIndex getRoutingIndex(Snapshot snapshot) {
+        RoutingIndex routingIndex = snapshot.routingIndex;
+        if (routingIndex == null) {
+            synchronized (getLock()) {
+                routingIndex = snapshot.routingIndex;
+                if (routingIndex == null) {
+                    routingIndex = new RoutingIndex(snapshot.serviceMessageSources);
+                    snapshot.routingIndex = routingIndex;
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("The routing index of message codes was rebuilt : {}", routingIndex);
+                    }
+                }
+            }
+        }
+        return routingIndex;
+    }
+
+    private void addResourcesInitializedListener(List<? extends ServiceMessageSource> serviceMessageSources) {
+        for (ServiceMessageSource serviceMessageSource : serviceMessageSources) {
+            if (serviceMessageSource instanceof ResourceServiceMessageSource) {
+                ((ResourceServiceMessageSource) serviceMessageSource).addListener(this.resourcesInitializedListener);
+            }
+        }
+    }
+
+    private void removeResourcesInitializedListener(List<? extends ServiceMessageSource> serviceMessageSources) {
+        for (ServiceMessageSource serviceMessageSource : serviceMessageSources) {
+            if (serviceMessageSource instanceof ResourceServiceMessageSource) {
+                ((ResourceServiceMessageSource) serviceMessageSource).removeListener(this.resourcesInitializedListener);
+            }
+        }
     }
 
     private ServiceMessageSource getFirstServiceMessageSource() {
-        return first(this.serviceMessageSources);
+        return first(this.snapshot.serviceMessageSources);
     }
 
     private <T> void iterate(Class<T> serviceMessageSourceType, Consumer<T> consumer) {
-        this.serviceMessageSources.stream()
+        this.snapshot.serviceMessageSources.stream()
                 .filter(serviceMessageSourceType::isInstance)
                 .map(serviceMessageSourceType::cast)
                 .forEach(consumer);
     }
 
     private <T> void iterate(Consumer<ServiceMessageSource> consumer) {
-        this.serviceMessageSources.forEach(consumer);
+        this.snapshot.serviceMessageSources.forEach(consumer);
+    }
+
+    /**
+     * The immutable snapshot of the delegates, the routing index of the delegates is built on the first lookup
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, emptyList());
+
+        private final long version;
+
+        private final List<ServiceMessageSource> serviceMessageSources;
+
+        /**
+         * The index of the message codes to the owning delegates, {@code null} if it's not built yet
+         */
+        private volatile RoutingIndex routingIndex;
+
+        Snapshot(long version, List<ServiceMessageSource> serviceMessageSources) {
+            this.version = version;
+            this.serviceMessageSources = serviceMessageSources;
+        }
+    }
+
+    /**
+     * The immutable index of the message codes to the candidate delegates in order, the candidates of a code are
+     * the delegates that own it and the delegates whose codes can't be enumerated.
+     */
+    private static final class RoutingIndex {
+
+        private static final ServiceMessageSource[] NO_SERVICE_MESSAGE_SOURCES = new ServiceMessageSource[0];
+
+        /**
+         * The candidate delegates keyed by the complete and the unprefixed message codes
+         */
+        private final Map<String, ServiceMessageSource[]> routes;
+
+        /**
+         * The delegates whose codes can't be enumerated, they are the candidates of the codes not owned by any delegate
+         */
+        private final ServiceMessageSource[] defaultRoutes;
+
+        RoutingIndex(List<? extends ServiceMessageSource> serviceMessageSources) {
+            int size = serviceMessageSources.size();
+            List<Set<String>> delegateCodes = new ArrayList<>(size);
+            Set<String> allCodes = new HashSet<>();
+            List<ServiceMessageSource> defaultRoutes = new ArrayList<>(size);
+            for (ServiceMessageSource serviceMessageSource : serviceMessageSources) {
+                Set<String> codes = resolveCodes(serviceMessageSource);
+                if (codes == null) {
+                    defaultRoutes.add(serviceMessageSource);
+                } else {
+                    allCodes.addAll(codes);
+                }
+                delegateCodes.add(codes);
+            }
+
+            // The same candidates are shared by the codes
+            Map<List<ServiceMessageSource>, ServiceMessageSource[]> sharedCandidates = new HashMap<>();
+            Map<String, ServiceMessageSource[]> routes = new HashMap<>(allCodes.size() * 4 / 3 + 1);
+            for (String code : allCodes) {
+                List<ServiceMessageSource> candidates = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Set<String> codes = delegateCodes.get(i);
+                    if (codes == null || codes.contains(code)) {
+                        candidates.add(serviceMessageSources.get(i));
+                    }
+                }
+                routes.put(code, sharedCandidates.computeIfAbsent(candidates, c -> c.toArray(NO_SERVICE_MESSAGE_SOURCES)));
+            }
+            this.routes = routes;
+            this.defaultRoutes = defaultRoutes.toArray(NO_SERVICE_MESSAGE_SOURCES);
+        }
+
+        /**
+         * Resolves the complete and the unprefixed message codes that the leaf sources of the specified delegate own
+         *
+         * @param serviceMessageSource the delegate
+         * @return {@code null} if any leaf source can't enumerate its message codes
+         */
+        private static Set<String> resolveCodes(ServiceMessageSource serviceMessageSource) {
+            Set<String> codes = new HashSet<>();
+            for (ServiceMessageSource leafServiceMessageSource : findAllServiceMessageSources(serviceMessageSource)) {
+                Set<String> messageCodes = leafServiceMessageSource.getMessageCodes();
+                if (messageCodes == null) {
+                    return null;
+                }
+                String codePrefix = leafServiceMessageSource.getSource() + SOURCE_SEPARATOR;
+                int prefixLength = codePrefix.length();
+                for (String messageCode : messageCodes) {
+                    codes.add(messageCode);
+                    if (messageCode.startsWith(codePrefix)) {
+                        codes.add(messageCode.substring(prefixLength));
+                    }
+                }
+            }
+            return codes;
+        }
+
+        /**
+         * Routes the specified message code to the candidate delegates
+         *
+         * @param code the message code
+         * @return the candidate delegates in order, the empty array if no delegate could resolve the code
+         */
+        ServiceMessageSource[] route(String code) {
+            ServiceMessageSource[] candidates = this.routes.get(code);
+            return candidates == null ? this.defaultRoutes : candidates;
+        }
+
+        @Override
+        public String toString() {
+            return "RoutingIndex{codes=" + this.routes.size() + ", defaultRoutes=" + Arrays.toString(this.defaultRoutes) + '}';
+        }
     }
 }
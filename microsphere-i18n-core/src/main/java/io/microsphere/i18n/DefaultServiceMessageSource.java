@@ -2,22 +2,43 @@ package io.microsphere.i18n;
 
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.catalog.BinaryMessageCatalog;
+import io.microsphere.i18n.catalog.ResourceIndex;
+import io.microsphere.i18n.text.MessagePattern;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import static io.microsphere.text.FormatUtils.format;
 import static io.microsphere.util.ClassLoaderUtils.getDefaultClassLoader;
+import static java.util.Collections.enumeration;
 
 /**
  * Default {@link ServiceMessageSource} Class that loads i18n messages from classpath resources
  * under {@code META-INF/i18n/{source}/}.
+ * <p>
+ * If the {@link BinaryMessageCatalog binary message catalog} {@code META-INF/i18n/{source}/i18n_messages.precompiled}
+ * that was compiled from the properties resources at build time is present, the messages of the resources it was
+ * compiled from are loaded from it on the initialization, thus those properties resources are neither parsed nor
+ * validated at runtime. The resource that is contributed by other artifacts too, is absent in the catalog, or was
+ * modified after the compiling, and any reloading fall back to the properties resources.
+ * <p>
+ * If the {@link ResourceIndex resource index} {@code META-INF/i18n.index} that was generated at build time is present
+ * and covers the source, the resources are resolved by it rather than by {@link ClassLoader#getResources(String)
+ * scanning} the classpath, unless any classpath root contributes to the source without indexing it.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -39,9 +60,28 @@ public class DefaultServiceMessageSource extends PropertiesResourceServiceMessag
      */
     public static final String RESOURCE_LOCATION_PATTERN = "META-INF/i18n/{}/{}";
 
+    /**
+     * The resource name of the {@link BinaryMessageCatalog binary message catalog} precompiled at build time, which
+     * differs from the {@link MappedServiceMessageSource#CATALOG_RESOURCE_NAME one} of
+     * {@link MappedServiceMessageSource}, thus the messages are not loaded by both sources twice.
+     */
+    public static final String PRECOMPILED_CATALOG_RESOURCE_NAME = "i18n_messages.precompiled";
+
     @Nonnull
     private final ClassLoader classLoader;
 
+    /**
+     * The precompiled catalog with the indexes of its {@link Locale locales} keyed by the resources
+     */
+    @Nullable
+    private volatile PrecompiledCatalog precompiledCatalog;
+
+    /**
+     * The {@link ResourceIndex} of the {@link ClassLoader}, resolved on the initialization
+     */
+    @Nullable
+    private volatile ResourceIndex resourceIndex;
+
     /**
      * Constructs with the given source using the default class loader.
      *
@@ -62,9 +102,23 @@ public class DefaultServiceMessageSource extends PropertiesResourceServiceMessag
         this.classLoader = classLoader == null ? getDefaultClassLoader() : classLoader;
     }
 
+    @Override
+    public void init() {
+        this.resourceIndex = resolveResourceIndex();
+        this.precompiledCatalog = loadPrecompiledCatalog();
+        super.init();
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        this.precompiledCatalog = null;
+        this.resourceIndex = null;
+    }
+
     @Override
     public boolean canReload(String changedResource) {
-        return this.classLoader.getResource(changedResource) != null;
+        return findResource(changedResource) != null;
     }
 
     protected String getResource(String resourceName) {
@@ -84,6 +138,190 @@ public class DefaultServiceMessageSource extends PropertiesResourceServiceMessag
     }
 
     protected Enumeration<URL> getResources(String resource) throws IOException {
+        ResourceIndex resourceIndex = this.resourceIndex;
+        if (resourceIndex != null && resourceIndex.isIndexed(resource)) {
+            return enumeration(resourceIndex.getResources(resource));
+        }
         return this.classLoader.getResources(resource);
     }
+
+    /**
+     * Get the {@link ResourceIndex} that resolves the resources
+     *
+     * @return {@code null} if the index is absent or not resolved yet
+     */
+    @Nullable
+    public final ResourceIndex getResourceIndex() {
+        return this.resourceIndex;
+    }
+
+    @Nullable
+    private URL findResource(String resource) {
+        ResourceIndex resourceIndex = this.resourceIndex;
+        if (resourceIndex != null && resourceIndex.isIndexed(resource)) {
+            return resourceIndex.getResource(resource);
+        }
+        return this.classLoader.getResource(resource);
+    }
+
+    @Nullable
+    private ResourceIndex resolveResourceIndex() {
+        ResourceIndex resourceIndex;
+        try {
+            resourceIndex = ResourceIndex.of(this.classLoader);
+        } catch (IOException e) {
+            throw new RuntimeException(format("Source '{}' resource index[name : {}] loading is failed", this.source,
+                    ResourceIndex.INDEX_RESOURCE_NAME), e);
+        }
+        logger.trace("Source '{}' resolves the resource index : {}", this.source, resourceIndex);
+        return resourceIndex;
+    }
+
+    @Override
+    protected Map<String, MessagePattern> loadPrecompiledMessagePatterns(String resource) {
+        PrecompiledCatalog precompiledCatalog = this.precompiledCatalog;
+        if (precompiledCatalog == null) {
+            return null;
+        }
+        Integer localeIndex = precompiledCatalog.localeIndexes.get(resource);
+        if (localeIndex == null) {
+            logger.trace("Source '{}' precompiled message catalog does not cover the resource '{}'", this.source, resource);
+            return null;
+        }
+        BinaryMessageCatalog catalog = precompiledCatalog.catalog;
+        int codeCount = catalog.getCodeCount();
+        Map<String, String> messages = new HashMap<>(codeCount * 4 / 3 + 1);
+        for (int codeIndex = 0; codeIndex < codeCount; codeIndex++) {
+            String message = catalog.getMessage(localeIndex, codeIndex);
+            if (message != null) {
+                messages.put(catalog.getCode(codeIndex), message);
+            }
+        }
+        // The message pool canonicalizes the precompiled messages as well as the loaded ones
+        return compileMessagePatterns(messages);
+    }
+
+    /**
+     * Resolves the resources whose current contents are exactly the ones the catalog was compiled from, that is, the
+     * resource is only present next to the catalog and was not modified after the compiling, e.g. the incremental
+     * build skipped the compiler. The classpath is scanned at most once per source rather than once per resource.
+     *
+     * @param resources    the resources that the catalog contains
+     * @param location     the location of the classpath root that contains the catalog
+     * @param lastModified the last modified time of the catalog
+     * @return non-null
+     */
+    private Set<String> resolvePrecompiledResources(Set<String> resources, String location, long lastModified) {
+        Set<String> precompiledResources = new HashSet<>(resources.size() * 4 / 3 + 1);
+        ResourceIndex resourceIndex = this.resourceIndex;
+        if (resourceIndex != null && resourceIndex.isIndexed(getResource(PRECOMPILED_CATALOG_RESOURCE_NAME))) {
+            // The index lists all contributors of the directory
+            for (String resource : resources) {
+                List<URL> urls = resourceIndex.getResources(resource);
+                if (urls.size() == 1 && isPrecompiled(urls.get(0), location + resource, lastModified)) {
+                    precompiledResources.add(resource);
+                }
+            }
+            return precompiledResources;
+        }
+        String directory = getResource("");
+        try {
+            Enumeration<URL> directoryURLs = this.classLoader.getResources(directory);
+            String precompiledDirectory = location + directory.substring(0, directory.length() - 1);
+            while (directoryURLs.hasMoreElements()) {
+                String directoryURL = directoryURLs.nextElement().toString();
+                if (!directoryURL.startsWith(precompiledDirectory) || directoryURL.length() > precompiledDirectory.length() + 1) {
+                    // Other artifacts contribute to the directory
+                    logger.trace("Source '{}' directory '{}' is contributed by other classpath roots than '{}'", this.source, directory, location);
+                    return precompiledResources;
+                }
+            }
+            for (String resource : resources) {
+                if (isPrecompiled(new URL(location + resource), location + resource, lastModified)) {
+                    precompiledResources.add(resource);
+                }
+            }
+        } catch (IOException e) {
+            logger.trace("Source '{}' directory '{}' can't be scanned", this.source, directory, e);
+        }
+        return precompiledResources;
+    }
+
+    private static boolean isPrecompiled(URL url, String precompiledLocation, long lastModified) {
+        if (!url.toString().equals(precompiledLocation)) {
+            return false;
+        }
+        if (!"file".equals(url.getProtocol())) { // The packaged artifact is immutable
+            return true;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() && file.lastModified() <= lastModified;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the last modified time of the specified file {@link URL}
+     *
+     * @param url the {@link URL}
+     * @return zero if the {@link URL} is not a file, e.g. the entry of the packaged artifact
+     */
+    private static long lastModified(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return 0L;
+        }
+        try {
+            return new File(url.toURI()).lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Loads the precompiled {@link BinaryMessageCatalog binary message catalog} of the source
+     *
+     * @return {@code null} if absent
+     */
+    @Nullable
+    private PrecompiledCatalog loadPrecompiledCatalog() {
+        String resource = getResource(PRECOMPILED_CATALOG_RESOURCE_NAME);
+        URL url = findResource(resource);
+        if (url == null) {
+            return null;
+        }
+        BinaryMessageCatalog catalog;
+        try {
+            catalog = BinaryMessageCatalog.load(url);
+        } catch (IOException e) {
+            throw new RuntimeException(format("Source '{}' precompiled message catalog[name : {}] loading is failed", this.source, resource), e);
+        }
+        String catalogURL = url.toString();
+        String location = catalogURL.substring(0, catalogURL.length() - resource.length());
+        Map<String, Integer> localeIndexes = new HashMap<>();
+        for (Locale locale : catalog.getLocales()) {
+            localeIndexes.put(getResource(locale), catalog.indexOfLocale(locale));
+        }
+        Set<String> precompiledResources = resolvePrecompiledResources(localeIndexes.keySet(), location, lastModified(url));
+        localeIndexes.keySet().retainAll(precompiledResources);
+        logger.trace("Source '{}' loads the precompiled message catalog[name : {}] covering the resources {} : {}",
+                this.source, resource, precompiledResources, catalog);
+        return localeIndexes.isEmpty() ? null : new PrecompiledCatalog(catalog, localeIndexes);
+    }
+
+    private static final class PrecompiledCatalog {
+
+        private final BinaryMessageCatalog catalog;
+
+        /**
+         * The indexes of the {@link Locale locales} keyed by the resources that the catalog covers
+         */
+        private final Map<String, Integer> localeIndexes;
+
+        PrecompiledCatalog(BinaryMessageCatalog catalog, Map<String, Integer> localeIndexes) {
+            this.catalog = catalog;
+            this.localeIndexes = localeIndexes;
+        }
+    }
 }
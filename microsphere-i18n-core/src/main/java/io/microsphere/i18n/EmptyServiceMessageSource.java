@@ -3,6 +3,9 @@ package io.microsphere.i18n;
 import io.microsphere.annotation.Nonnull;
 
 import java.util.Locale;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
 
 /**
  * Empty {@link ServiceMessageSource} that always returns {@code null} for any message code.
@@ -49,6 +52,11 @@ public class EmptyServiceMessageSource implements ServiceMessageSource {
         return getDefaultLocale();
     }
 
+    @Override
+    public Set<String> getMessageCodes() {
+        return emptySet();
+    }
+
     @Override
     public String getSource() {
         return "Empty";
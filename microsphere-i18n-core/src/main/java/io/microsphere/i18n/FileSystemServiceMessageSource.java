@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.nio.channels.Channels.newReader;
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+/**
+ * The {@link ReloadableResourceServiceMessageSource} that loads the messages from the
+ * {@code i18n_messages_{locale}.properties} files in an external directory, e.g. the mounted volume of the Kubernetes
+ * ConfigMap, the files are read by the NIO {@link FileChannel channels}.
+ * <p>
+ * The directory is watched by the {@link WatchService} since the initialization, only the files whose state, the real
+ * path, the size or the last modified time, is changed are {@link #reload(Iterable) reloaded}, thus the atomic swap
+ * of the symbolic links, e.g. {@code ..data} of the ConfigMap volume, that does not touch the files themselves is
+ * detected too. If the directory becomes inaccessible, e.g. it's deleted or unmounted, the watching is stopped until
+ * the directory reappears, then it's watched again and the changed files are reloaded.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   FileSystemServiceMessageSource source = new FileSystemServiceMessageSource("test", Paths.get("/etc/i18n"));
+ *   source.init();   // loads /etc/i18n/i18n_messages_en.properties and watches /etc/i18n
+ *   source.getMessage("a", Locale.ENGLISH);
+ *   source.destroy(); // stops watching
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see WatchService
+ * @see ReloadableResourceServiceMessageSource
+ * @since 1.0.0
+ */
+public class FileSystemServiceMessageSource extends PropertiesResourceServiceMessageSource implements
+        ReloadableResourceServiceMessageSource {
+
+    /**
+     * The interval in milliseconds to check whether the inaccessible directory reappears
+     */
+    private static final long REWATCH_INTERVAL = 500;
+
+    private final Path directory;
+
+    /**
+     * The states of the resource files keyed by the resources, which were loaded last time
+     */
+    private final Map<String, Object> fileStates = new ConcurrentHashMap<>();
+
+    private boolean watchEnabled = true;
+
+    /**
+     * Whether the directory should be watched, which is {@code true} from the start to the stop of the watching
+     */
+    private volatile boolean watchRequired;
+
+    @Nullable
+    private volatile WatchService watchService;
+
+    /**
+     * Constructs with the given source and the directory of the properties files
+     *
+     * @param source    the source identifier
+     * @param directory the directory of the properties files
+     */
+    public FileSystemServiceMessageSource(String source, Path directory) {
+        super(source);
+        assertNotNull(directory, () -> "The 'directory' argument must not be null");
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void init() {
+        // The states are taken before the loading, thus the change during the initialization is not missed
+        refreshFileStates();
+        super.init();
+        if (this.watchEnabled) {
+            startWatching();
+            reloadChangedResources();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopWatching();
+        super.destroy();
+        this.fileStates.clear();
+    }
+
+    @Override
+    public boolean canReload(String changedResource) {
+        return getResources().contains(changedResource);
+    }
+
+    @Override
+    protected String getResource(String resourceName) {
+        return this.directory.resolve(resourceName).toString();
+    }
+
+    @Override
+    protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
+        Path file = this.directory.resolve(resource);
+        FileChannel channel;
+        try {
+            // The symbolic links are resolved once on opening, thus the content is consistent during the swap
+            channel = FileChannel.open(file, READ);
+        } catch (NoSuchFileException e) {
+            return emptyList();
+        }
+        CharsetDecoder decoder = getEncoding().newDecoder()
+                .onMalformedInput(REPLACE)
+                .onUnmappableCharacter(REPLACE);
+        return ofList(newReader(channel, decoder, -1));
+    }
+
+    /**
+     * Reloads the resources whose files are changed since last loading
+     *
+     * @return the changed resources
+     */
+    @Nonnull
+    public synchronized Set<String> reloadChangedResources() {
+        Set<String> changedResources = new LinkedHashSet<>();
+        Map<String, Object> changedFileStates = new HashMap<>();
+        for (String resource : getResources()) {
+            Object fileState = getFileState(resource);
+            if (!Objects.equals(fileState, this.fileStates.get(resource))) {
+                changedResources.add(resource);
+                changedFileStates.put(resource, fileState);
+            }
+        }
+        if (!changedResources.isEmpty()) {
+            logger.trace("Source '{}' reloads the changed resources : {}", this.source, changedResources);
+            reload(changedResources);
+            // The states were taken before the loading, thus the later change is detected on the next event
+            changedFileStates.forEach(this::setFileState);
+        }
+        return changedResources;
+    }
+
+    /**
+     * Get the directory of the properties files
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Sets whether the directory is watched since the initialization, if disabled, the changes are reloaded by
+     * {@link #reloadChangedResources()} explicitly, e.g. by a scheduled task
+     *
+     * @param watchEnabled {@code true} by default
+     */
+    public void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+    }
+
+    /**
+     * Whether the directory is being watched
+     *
+     * @return {@code true} if watching, {@code false} if the watching is disabled, stopped or the directory is
+     * inaccessible
+     */
+    public boolean isWatching() {
+        return this.watchService != null;
+    }
+
+    private void refreshFileStates() {
+        for (String resource : getResources()) {
+            setFileState(resource, getFileState(resource));
+        }
+    }
+
+    private void setFileState(String resource, @Nullable Object fileState) {
+        if (fileState == null) {
+            this.fileStates.remove(resource);
+        } else {
+            this.fileStates.put(resource, fileState);
+        }
+    }
+
+    /**
+     * Get the state of the resource file, which is changed if the file is modified, replaced or its symbolic link is
+     * swapped
+     *
+     * @param resource the resource
+     * @return {@code null} if the file is absent
+     */
+    @Nullable
+    private Object getFileState(String resource) {
+        Path file = this.directory.resolve(resource);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return asList(file.toRealPath(), attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void startWatching() {
+        WatchService watchService;
+        try {
+            watchService = newWatchService();
+        } catch (IOException e) {
+            logger.warn("Source '{}' can't watch the directory['{}'], the changes will not be reloaded", this.source,
+                    this.directory, e);
+            return;
+        }
+        WatchService startedWatchService = watchService;
+        this.watchRequired = true;
+        this.watchService = startedWatchService;
+        Thread watcher = new Thread(() -> watch(startedWatchService), "microsphere-i18n-" + this.source + "-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private WatchService newWatchService() throws IOException {
+        WatchService watchService = this.directory.getFileSystem().newWatchService();
+        try {
+            this.directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException e) {
+            closeQuietly(watchService);
+            throw e;
+        }
+        return watchService;
+    }
+
+    private void watch(WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                // Any event may change the resources, e.g. the swap of the symbolic link of the parent directory
+                watchKey.pollEvents();
+                reloadChangedResourcesQuietly();
+                if (!watchKey.reset()) { // The directory is inaccessible, e.g. deleted or unmounted
+                    logger.warn("Source '{}' can't watch the inaccessible directory['{}'], it will be watched again once it reappears",
+                            this.source, this.directory);
+                    closeQuietly(watchService);
+                    this.watchService = null;
+                    watchService = awaitDirectory();
+                    if (watchService == null) { // Stopped
+                        break;
+                    }
+                    logger.info("Source '{}' watches the reappeared directory['{}'] again", this.source, this.directory);
+                    // The changes before the registration are not notified
+                    reloadChangedResourcesQuietly();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Awaits the inaccessible directory reappears and watches it again
+     *
+     * @return the new {@link WatchService}, {@code null} if the watching is stopped
+     * @throws InterruptedException if interrupted
+     */
+    @Nullable
+    private WatchService awaitDirectory() throws InterruptedException {
+        while (this.watchRequired) {
+            Thread.sleep(REWATCH_INTERVAL);
+            if (Files.isDirectory(this.directory)) {
+                WatchService watchService;
+                try {
+                    watchService = newWatchService();
+                } catch (IOException e) { // e.g. deleted again
+                    continue;
+                }
+                this.watchService = watchService;
+                if (!this.watchRequired) { // Stopped concurrently
+                    stopWatching();
+                    return null;
+                }
+                return watchService;
+            }
+        }
+        return null;
+    }
+
+    private void reloadChangedResourcesQuietly() {
+        try {
+            reloadChangedResources();
+        } catch (RuntimeException e) {
+            logger.warn("Source '{}' failed to reload the changed resources in the directory['{}']", this.source,
+                    this.directory, e);
+        }
+    }
+
+    private void stopWatching() {
+        this.watchRequired = false;
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            this.watchService = null;
+            closeQuietly(watchService);
+        }
+    }
+
+    private static void closeQuietly(@Nullable WatchService watchService) {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.text.MessagePattern;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.microsphere.i18n.AbstractServiceMessageSource.MAX_FIXED_ARGUMENT_COUNT;
+import static io.microsphere.i18n.util.I18nUtils.findAllServiceMessageSources;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The immutable catalog that flattens the messages of all leaf {@link AbstractResourceServiceMessageSource sources}
+ * of a {@link ServiceMessageSource} hierarchy, e.g. the nested {@link CompositeServiceMessageSource composites}.
+ * The catalog of each {@link Locale} merges the leaves in their {@link io.microsphere.lang.Prioritized priority}
+ * order with the language fallback pre-applied, thus the lookup is one hash probe that resolves the same message
+ * as the hierarchy does. Only the {@link Locale locales} whose resources have been loaded are flattened on the
+ * building, the ones pending in the {@link AbstractResourceServiceMessageSource#isLazyLoading() lazy loading} mode
+ * are loaded and flattened on their first lookup, thus the building never loads any resource.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   CompositeServiceMessageSource composite = new CompositeServiceMessageSource(
+ *       Arrays.asList(new DefaultServiceMessageSource("test")));
+ *   composite.init();
+ *   FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(composite);
+ *   catalog.getMessage("hello", Locale.ENGLISH, "World"); // "Hello,World"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompositeServiceMessageSource
+ * @see AbstractResourceServiceMessageSource
+ * @since 1.0.0
+ */
+public final class FlattenedMessageCatalog {
+
+    /**
+     * The max count of the cached catalogs of the {@link Locale locales} that are not precomputed
+     */
+    static final int MAX_CACHED_LOCALES = 64;
+
+    /**
+     * The leaf sources in priority order
+     */
+    private final List<AbstractResourceServiceMessageSource> serviceMessageSources;
+
+    /**
+     * The message entries keyed by the precomputed {@link Locale}
+     */
+    private final Map<Locale, Map<String, Entry>> localeEntries;
+
+    /**
+     * The {@link Locale locales} that should be precomputed but their resources have not been loaded on the building
+     */
+    private final Set<Locale> pendingLocales;
+
+    /**
+     * The message entries of the {@link Locale locales} that are not precomputed
+     */
+    private final Map<Locale, Map<String, Entry>> cachedLocaleEntries = new ConcurrentHashMap<>();
+
+    private FlattenedMessageCatalog(List<AbstractResourceServiceMessageSource> serviceMessageSources) {
+        this.serviceMessageSources = serviceMessageSources;
+        Set<Locale> locales = new LinkedHashSet<>();
+        for (AbstractResourceServiceMessageSource serviceMessageSource : serviceMessageSources) {
+            locales.addAll(serviceMessageSource.getSupportedLocales());
+            locales.addAll(serviceMessageSource.resolveHierarchicalLocales(serviceMessageSource.getDefaultLocale()));
+        }
+        Map<Locale, Map<String, Entry>> localeEntries = new HashMap<>(locales.size() * 2);
+        Set<Locale> pendingLocales = new HashSet<>();
+        for (Locale locale : locales) {
+            if (isLoaded(locale)) {
+                localeEntries.put(locale, flatten(locale));
+            } else {
+                pendingLocales.add(locale);
+            }
+        }
+        this.localeEntries = localeEntries;
+        this.pendingLocales = pendingLocales;
+    }
+
+    /**
+     * Flattens the leaf sources of the specified {@link ServiceMessageSource}
+     *
+     * @param serviceMessageSource the root {@link ServiceMessageSource}
+     * @return {@code null} if any leaf source is not {@link AbstractResourceServiceMessageSource} and has any
+     * {@link ServiceMessageSource#getMessageCodes() message code}, whose messages can't be flattened
+     */
+    @Nullable
+    public static FlattenedMessageCatalog of(ServiceMessageSource serviceMessageSource) {
+        List<ServiceMessageSource> leafServiceMessageSources = findAllServiceMessageSources(serviceMessageSource);
+        List<AbstractResourceServiceMessageSource> serviceMessageSources = new ArrayList<>(leafServiceMessageSources.size());
+        for (ServiceMessageSource leafServiceMessageSource : leafServiceMessageSources) {
+            if (leafServiceMessageSource instanceof AbstractResourceServiceMessageSource) {
+                serviceMessageSources.add((AbstractResourceServiceMessageSource) leafServiceMessageSource);
+            } else if (!hasNoMessage(leafServiceMessageSource)) {
+                return null;
+            }
+        }
+        return new FlattenedMessageCatalog(unmodifiableList(serviceMessageSources));
+    }
+
+    private static boolean hasNoMessage(ServiceMessageSource serviceMessageSource) {
+        // e.g. EmptyServiceMessageSource, MappedServiceMessageSource without the catalog
+        Set<String> messageCodes = serviceMessageSource.getMessageCodes();
+        return messageCodes != null && messageCodes.isEmpty();
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale}
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param args   the message arguments
+     * @return {@code null} if not found
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, Object... args) {
+        Entry entry = getEntry(code, locale);
+        return entry == null ? null : entry.format(args);
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale} with one argument
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param arg    the message argument
+     * @return {@code null} if not found
+     * @see ServiceMessageSource#getMessage(String, Locale, Object)
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, Object arg) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        return entry.format(1, arg, null, null);
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale} with two arguments
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param arg0   the first message argument
+     * @param arg1   the second message argument
+     * @return {@code null} if not found
+     * @see ServiceMessageSource#getMessage(String, Locale, Object, Object)
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        return entry.format(2, arg0, arg1, null);
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale} with three arguments
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param arg0   the first message argument
+     * @param arg1   the second message argument
+     * @param arg2   the third message argument
+     * @return {@code null} if not found
+     * @see ServiceMessageSource#getMessage(String, Locale, Object, Object, Object)
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1, Object arg2) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        return entry.format(3, arg0, arg1, arg2);
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale} with one {@code int} argument
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param arg    the message argument
+     * @return {@code null} if not found
+     * @see ServiceMessageSource#getMessage(String, Locale, int)
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, int arg) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        return entry.isDirect() ? entry.messagePattern.format(arg) : entry.format(1, arg, null, null);
+    }
+
+    /**
+     * Get the message by the specified code and {@link Locale} with one {@code long} argument
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param arg    the message argument
+     * @return {@code null} if not found
+     * @see ServiceMessageSource#getMessage(String, Locale, long)
+     */
+    @Nullable
+    public String getMessage(String code, Locale locale, long arg) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        return entry.isDirect() ? entry.messagePattern.format(arg) : entry.format(1, arg, null, null);
+    }
+
+    /**
+     * Get the flattened {@link MessagePattern} by the specified code and {@link Locale}, which may be formatted with
+     * the fixed-arity arguments directly
+     *
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @return {@code null} if not found
+     */
+    @Nullable
+    public MessagePattern getMessagePattern(String code, Locale locale) {
+        Entry entry = getEntry(code, locale);
+        return entry == null ? null : entry.messagePattern;
+    }
+
+    /**
+     * Appends the message by the specified code and {@link Locale} into the specified {@link Appendable} without the
+     * intermediate {@link String}
+     *
+     * @param out    the {@link Appendable}
+     * @param code   the message code, the complete code or the code without the source prefix
+     * @param locale the {@link Locale}
+     * @param args   the message arguments
+     * @return {@code true} if the message was found and appended, otherwise nothing is appended
+     * @throws UncheckedIOException if the {@link Appendable} throws the {@link IOException}
+     */
+    public boolean appendMessage(Appendable out, String code, Locale locale, Object... args) {
+        Entry entry = getEntry(code, locale);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            entry.serviceMessageSource.formatMessageTo(out, entry.messagePattern, entry.locale, args);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Get the flattened {@link MessagePattern message patterns} of the specified {@link Locale}, the language fallback
+     * has been applied
+     *
+     * @param locale the {@link Locale}
+     * @return the read-only message patterns keyed by the complete and the unprefixed codes
+     */
+    @Nonnull
+    public Map<String, MessagePattern> getMessagePatterns(Locale locale) {
+        Map<String, Entry> entries = getEntries(locale);
+        Map<String, MessagePattern> messagePatterns = new HashMap<>(entries.size() * 4 / 3 + 1);
+        entries.forEach((code, entry) -> messagePatterns.put(code, entry.messagePattern));
+        return unmodifiableMap(messagePatterns);
+    }
+
+    /**
+     * Get the flattened leaf sources in priority order
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public List<AbstractResourceServiceMessageSource> getServiceMessageSources() {
+        return this.serviceMessageSources;
+    }
+
+    @Nullable
+    private Entry getEntry(String code, Locale locale) {
+        return code == null ? null : getEntries(locale).get(code);
+    }
+
+    private Map<String, Entry> getEntries(Locale locale) {
+        Map<String, Entry> entries = this.localeEntries.get(locale);
+        if (entries == null) { // The Locale is not precomputed or its resources were pending
+            entries = this.cachedLocaleEntries.get(locale);
+            if (entries == null) {
+                // The pending resources along the fallback chains are loaded
+                entries = flatten(locale);
+                if (this.pendingLocales.contains(locale) || this.cachedLocaleEntries.size() < MAX_CACHED_LOCALES) {
+                    this.cachedLocaleEntries.putIfAbsent(locale, entries);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private boolean isLoaded(Locale locale) {
+        for (AbstractResourceServiceMessageSource serviceMessageSource : this.serviceMessageSources) {
+            if (!serviceMessageSource.isLoaded(locale)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Flattens the messages of the specified {@link Locale} as {@link AbstractServiceMessageSource#getMessage(String, Locale, Object...)}
+     * resolves : the leaf sources are visited in order, each leaf is probed along its
+     * {@link AbstractServiceMessageSource#getFallbackLocales(Locale) fallback chain}, the first message wins.
+     *
+     * @param locale the {@link Locale}
+     * @return the read-only message entries keyed by the complete and the unprefixed codes
+     */
+    private Map<String, Entry> flatten(Locale locale) {
+        Map<String, Entry> entries = new HashMap<>();
+        for (AbstractResourceServiceMessageSource serviceMessageSource : this.serviceMessageSources) {
+            // The messages are formatted in the first merged Locale of the chain as the source does
+            Locale mergedLocale = null;
+            for (Locale fallbackLocale : serviceMessageSource.getFallbackLocales(locale)) {
+                if (mergedLocale == null && serviceMessageSource.isFallbackMerged(fallbackLocale)) {
+                    mergedLocale = fallbackLocale;
+                }
+                flatten(serviceMessageSource, fallbackLocale, mergedLocale == null ? fallbackLocale : mergedLocale, entries);
+            }
+        }
+        return entries.isEmpty() ? emptyMap() : unmodifiableMap(entries);
+    }
+
+    private void flatten(AbstractResourceServiceMessageSource serviceMessageSource, Locale locale, Locale formatLocale,
+                         Map<String, Entry> entries) {
+        Map<String, MessagePattern> messagePatterns = serviceMessageSource.getMessagePatterns(locale);
+        if (messagePatterns == null) {
+            return;
+        }
+        String codePrefix = serviceMessageSource.codePrefix;
+        int prefixLength = codePrefix.length();
+        messagePatterns.forEach((resolvedCode, messagePattern) -> {
+            Entry entry = new Entry(serviceMessageSource, messagePattern, formatLocale);
+            entries.putIfAbsent(resolvedCode, entry);
+            String code = resolvedCode.substring(prefixLength);
+            // The unprefixed code that starts with the prefix is resolved as the complete code
+            if (!code.startsWith(codePrefix)) {
+                entries.putIfAbsent(code, entry);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "FlattenedMessageCatalog{serviceMessageSources=" + this.serviceMessageSources +
+                ", locales=" + this.localeEntries.keySet() + '}';
+    }
+
+    /**
+     * The compiled {@link MessagePattern} with its owning source and the {@link Locale} that format it
+     */
+    private static final class Entry {
+
+        private final AbstractResourceServiceMessageSource serviceMessageSource;
+
+        private final MessagePattern messagePattern;
+
+        private final Locale locale;
+
+        Entry(AbstractResourceServiceMessageSource serviceMessageSource, MessagePattern messagePattern, Locale locale) {
+            this.serviceMessageSource = serviceMessageSource;
+            this.messagePattern = messagePattern;
+            this.locale = locale;
+        }
+
+        String format(Object... args) {
+            int argumentCount = args == null ? 0 : args.length;
+            if (argumentCount <= MAX_FIXED_ARGUMENT_COUNT) { // As the fixed-arity hook of the source does
+                return format(argumentCount, argumentCount > 0 ? args[0] : null, argumentCount > 1 ? args[1] : null,
+                        argumentCount > 2 ? args[2] : null);
+            }
+            return this.serviceMessageSource.formatMessage(this.messagePattern, this.locale, args);
+        }
+
+        String format(int argumentCount, Object arg0, Object arg1, Object arg2) {
+            return this.serviceMessageSource.formatMessage(this.messagePattern, this.locale, argumentCount, arg0, arg1, arg2);
+        }
+
+        /**
+         * Whether the {@link MessagePattern} formats the primitive argument directly, that requires the
+         * {@link AbstractResourceServiceMessageSource#getMessageFormatter() message formatter} is absent
+         *
+         * @return {@code true} if formatted directly
+         */
+        boolean isDirect() {
+            return this.serviceMessageSource.getMessageFormatter() == null;
+        }
+    }
+}
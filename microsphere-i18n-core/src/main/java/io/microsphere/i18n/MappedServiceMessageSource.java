@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.catalog.BinaryMessageCatalog;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+import static io.microsphere.i18n.DefaultServiceMessageSource.RESOURCE_LOCATION_PATTERN;
+import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.ArrayUtils.arrayToString;
+import static io.microsphere.util.ClassLoaderUtils.getDefaultClassLoader;
+import static java.util.Collections.emptySet;
+
+/**
+ * The {@link ServiceMessageSource} Class that resolves the messages off the memory-mapped
+ * {@link BinaryMessageCatalog binary message catalog} located at {@code META-INF/i18n/{source}/i18n_messages.catalog},
+ * thus the startup does not parse any resource and the messages stay out of the heap until they are returned.
+ * <p>
+ * The catalog file in the file system is memory-mapped, the one in the archive is read into the direct buffer, and
+ * it is absent, the source has no message.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MappedServiceMessageSource source = new MappedServiceMessageSource("test");
+ *   source.init();
+ *   source.getMessage("hello", Locale.ENGLISH, "World"); // "Hello,World"
+ *   source.destroy();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BinaryMessageCatalog
+ * @see io.microsphere.i18n.catalog.BinaryMessageCatalogWriter
+ * @since 1.0.0
+ */
+public class MappedServiceMessageSource extends AbstractServiceMessageSource {
+
+    /**
+     * The resource name of the binary message catalog
+     */
+    public static final String CATALOG_RESOURCE_NAME = "i18n_messages.catalog";
+
+    @Nonnull
+    private final ClassLoader classLoader;
+
+    @Nullable
+    private Path catalogPath;
+
+    @Nullable
+    private volatile BinaryMessageCatalog catalog;
+
+    /**
+     * Whether the catalog was loaded, the absent catalog is loaded as {@code null}
+     */
+    private volatile boolean initialized;
+
+    /**
+     * Constructs with the given source using the default class loader.
+     *
+     * @param source the source identifier
+     */
+    public MappedServiceMessageSource(String source) {
+        this(source, null);
+    }
+
+    /**
+     * Constructs with the given source and optional class loader.
+     *
+     * @param source      the source identifier
+     * @param classLoader the class loader to use, or {@code null} for the default
+     */
+    public MappedServiceMessageSource(String source, @Nullable ClassLoader classLoader) {
+        super(source);
+        this.classLoader = classLoader == null ? getDefaultClassLoader() : classLoader;
+    }
+
+    @Override
+    public void init() {
+        BinaryMessageCatalog catalog;
+        try {
+            catalog = loadCatalog();
+        } catch (IOException e) {
+            throw new RuntimeException(format("Source '{}' binary message catalog loading is failed", this.source), e);
+        }
+        this.catalog = catalog;
+        this.initialized = true;
+        if (logger.isTraceEnabled()) {
+            logger.trace("The initialization[Source '{}'] is completed , catalog : {}", this.source, catalog);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // The mapped buffer is released by GC
+        this.initialized = false;
+        this.catalog = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code null} before the catalog is loaded, thus the ones that index the message codes, e.g. the routing
+     * index of {@link CompositeServiceMessageSource}, do not regard this source as owning nothing, or the empty set
+     * if the catalog is absent
+     */
+    @Override
+    public Set<String> getMessageCodes() {
+        if (!this.initialized) {
+            return null;
+        }
+        BinaryMessageCatalog catalog = this.catalog;
+        return catalog == null ? emptySet() : catalog.getCodes();
+    }
+
+    /**
+     * Sets the {@link Path} of the catalog file, which takes precedence over the classpath resource
+     *
+     * @param catalogPath the {@link Path} of the catalog file, {@code null} to use the classpath resource
+     */
+    public void setCatalogPath(@Nullable Path catalogPath) {
+        this.catalogPath = catalogPath;
+    }
+
+    /**
+     * Get the loaded {@link BinaryMessageCatalog}
+     *
+     * @return {@code null} if absent or not initialized
+     */
+    @Nullable
+    public BinaryMessageCatalog getCatalog() {
+        return this.catalog;
+    }
+
+    /**
+     * Get the classpath resource of the catalog
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getCatalogResource() {
+        return format(RESOURCE_LOCATION_PATTERN, this.source, CATALOG_RESOURCE_NAME);
+    }
+
+    /**
+     * The unprefixed code is resolved against the catalog without concatenating the prefix
+     *
+     * @param code the message code
+     * @return the code itself
+     */
+    @Override
+    protected String resolveMessageCode(String code) {
+        return code;
+    }
+
+    @Override
+    protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale, Object... args) {
+        BinaryMessageCatalog catalog = this.catalog;
+        if (catalog == null) {
+            return null;
+        }
+        int localeIndex = catalog.indexOfLocale(resolvedLocale);
+        if (localeIndex < 0) {
+            return null;
+        }
+        // The unprefixed code that starts with the prefix is resolved as the complete code
+        int codeIndex = code.startsWith(this.codePrefix) ? catalog.indexOfCode(code) : catalog.indexOfCode(this.codePrefix, code);
+        String messagePattern = codeIndex < 0 ? null : catalog.getMessage(localeIndex, codeIndex);
+        if (messagePattern == null) {
+            return null;
+        }
+        String message = formatMessage(messagePattern, resolvedLocale, args);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Source '{}' gets Message[code : '{}' , locale : '{}' , resolvedLocale : '{}', args : '{}' , pattern : '{}'] : '{}'",
+                    this.source, code, locale, resolvedLocale, arrayToString(args), messagePattern, message);
+        }
+        return message;
+    }
+
+    /**
+     * Loads the {@link BinaryMessageCatalog} from the {@link #setCatalogPath(Path) catalog file} or the
+     * {@link #getCatalogResource() classpath resource}
+     *
+     * @return {@code null} if absent
+     * @throws IOException if an I/O error occurs
+     */
+    @Nullable
+    protected BinaryMessageCatalog loadCatalog() throws IOException {
+        Path catalogPath = this.catalogPath;
+        if (catalogPath != null) {
+            return BinaryMessageCatalog.map(catalogPath);
+        }
+        URL url = this.classLoader.getResource(getCatalogResource());
+        return url == null ? null : BinaryMessageCatalog.load(url);
+    }
+}
@@ -1,6 +1,9 @@
 package io.microsphere.i18n;
 
+import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.text.MessagePattern;
+import io.microsphere.i18n.text.PropertiesParser;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -12,6 +15,7 @@ import java.util.Properties;
 
 import static io.microsphere.collection.CollectionUtils.isEmpty;
 import static io.microsphere.collection.MapUtils.isNotEmpty;
+import static io.microsphere.i18n.text.PropertiesParser.parse;
 import static io.microsphere.text.FormatUtils.format;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
@@ -59,6 +63,38 @@ public abstract class PropertiesResourceServiceMessageSource extends AbstractRes
         return messages == null ? emptyMap() : unmodifiableMap(messages);
     }
 
+    /**
+     * Parses the {@link #loadAllPropertiesResources(String) properties resources} by the {@link PropertiesParser} and
+     * builds the {@link MessagePattern message patterns} in one pass without the intermediate {@link Properties}, the
+     * messages of the latter resource override the former ones as {@link #loadAllProperties(String)} does.
+     *
+     * @param resource the resource
+     * @return the read-only message patterns
+     */
+    @Nonnull
+    @Override
+    protected Map<String, MessagePattern> loadMessagePatterns(String resource) {
+        Map<String, MessagePattern> messagePatterns = null;
+        try {
+            List<Reader> propertiesResources = loadAllPropertiesResources(resource);
+            logger.trace("Source '{}' parses {} Properties Resources['{}']", this.source, propertiesResources.size(), resource);
+            if (isEmpty(propertiesResources)) {
+                return emptyMap();
+            }
+            messagePatterns = new HashMap<>();
+            Map<String, MessagePattern> patterns = messagePatterns;
+            for (Reader propertiesResource : propertiesResources) {
+                try (Reader reader = propertiesResource) {
+                    parse(reader, (code, message) -> addMessagePattern(patterns, resource, code, message));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(format("Source '{}' Messages Properties Resource[name : {}] loading is failed", this.source, resource), e);
+        }
+        logger.trace("Source '{}' parses all Properties Resources[name :{}] : {}", this.source, resource, messagePatterns);
+        return messagePatterns.isEmpty() ? emptyMap() : unmodifiableMap(messagePatterns);
+    }
+
     /**
      * Loads all properties for the specified {@link Locale}.
      *
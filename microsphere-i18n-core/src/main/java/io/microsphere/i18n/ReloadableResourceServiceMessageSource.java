@@ -1,5 +1,10 @@
 package io.microsphere.i18n;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+
 /**
  * Reloadable {@link ResourceServiceMessageSource} that supports dynamic reloading
  * of internationalized message resources at runtime.
@@ -61,4 +66,29 @@ public interface ReloadableResourceServiceMessageSource extends ResourceServiceM
     default void reload(Iterable<String> changedResources) {
         initializeResources(changedResources);
     }
+
+    /**
+     * Reloads the specified resources on the {@link Executor} if {@link #canReload(Iterable)} returns <code>true</code>,
+     * the new messages are built aside and published at once, thus the readers keep reading the current messages
+     * without blocking until the reloading is completed. The returned {@link CompletableFuture} completes after the
+     * new messages are visible, which could be awaited for the read-your-writes.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   ExecutorService executor = Executors.newSingleThreadExecutor();
+     *   source.reloadAsync(Arrays.asList("META-INF/i18n/test/i18n_messages_en.properties"), executor)
+     *         .thenRun(() -> source.getMessage("a", Locale.ENGLISH)); // The reloaded message
+     * }</pre>
+     *
+     * @param changedResources Changes in the resources
+     * @param executor         the {@link Executor} that reloads the resources
+     * @return the {@link CompletableFuture} of the reloading
+     */
+    default CompletableFuture<Void> reloadAsync(Iterable<String> changedResources, Executor executor) {
+        return runAsync(() -> {
+            if (canReload(changedResources)) {
+                reload(changedResources);
+            }
+        }, executor);
+    }
 }
@@ -50,6 +50,23 @@ public interface ResourceServiceMessageSource extends ServiceMessageSource {
     @Nonnull
     Set<String> getInitializedResources();
 
+    /**
+     * Adds the {@link ResourceServiceMessageSourceListener listener} that will be notified after the resources
+     * were initialized.
+     *
+     * @param listener {@link ResourceServiceMessageSourceListener}
+     */
+    default void addListener(ResourceServiceMessageSourceListener listener) {
+    }
+
+    /**
+     * Removes the {@link ResourceServiceMessageSourceListener listener}
+     *
+     * @param listener {@link ResourceServiceMessageSourceListener}
+     */
+    default void removeListener(ResourceServiceMessageSourceListener listener) {
+    }
+
     /**
      * Gets the resource content character encoding
      *
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import java.util.EventListener;
+
+/**
+ * The listener of {@link ResourceServiceMessageSource} that will be notified after the resources were initialized
+ * or reloaded, e.g. the composited sources could rebuild their derived indexes.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+ *   source.addListener((serviceMessageSource, resources) -> System.out.println("Changed : " + resources));
+ *   source.init();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ResourceServiceMessageSource#addListener(ResourceServiceMessageSourceListener)
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ResourceServiceMessageSourceListener extends EventListener {
+
+    /**
+     * Callback after the specified resources of {@link ResourceServiceMessageSource} were initialized
+     *
+     * @param serviceMessageSource the {@link ResourceServiceMessageSource} whose resources were initialized
+     * @param resources            the initialized resources
+     */
+    void onResourcesInitialized(ResourceServiceMessageSource serviceMessageSource, Iterable<String> resources);
+}
@@ -4,11 +4,14 @@ import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
 import io.microsphere.lang.Prioritized;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
 import static java.util.Locale.ENGLISH;
 import static java.util.Locale.getDefault;
 
@@ -57,6 +60,116 @@ public interface ServiceMessageSource extends Prioritized {
     @Nullable
     String getMessage(String code, Locale locale, Object... args);
 
+    /**
+     * Getting international Messages without the argument, the fixed-arity overloads avoid the argument array of the
+     * varargs and the boxing of the primitive arguments if the implementation formats them natively.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   String a = source.getMessage("a", Locale.ENGLISH); // "test-a"
+     *   String hello = source.getMessage("hello", Locale.ENGLISH, "World"); // "Hello,World"
+     *   String limit = source.getMessage("limit", Locale.ENGLISH, 100); // e.g. "The limit is 100"
+     * }</pre>
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale) {
+        return getMessage(code, locale, EMPTY_OBJECT_ARRAY);
+    }
+
+    /**
+     * Getting international Messages with one argument
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg    the argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, Object arg) {
+        return getMessage(code, locale, new Object[]{arg});
+    }
+
+    /**
+     * Getting international Messages with two arguments
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg0   the first argument of message pattern
+     * @param arg1   the second argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, Object arg0, Object arg1) {
+        return getMessage(code, locale, new Object[]{arg0, arg1});
+    }
+
+    /**
+     * Getting international Messages with three arguments
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg0   the first argument of message pattern
+     * @param arg1   the second argument of message pattern
+     * @param arg2   the third argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, Object arg0, Object arg1, Object arg2) {
+        return getMessage(code, locale, new Object[]{arg0, arg1, arg2});
+    }
+
+    /**
+     * Getting international Messages with one {@code int} argument, the {@code byte} and {@code short} arguments are
+     * widened to {@code int}.
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg    the argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, int arg) {
+        return getMessage(code, locale, new Object[]{arg});
+    }
+
+    /**
+     * Getting international Messages with one {@code long} argument
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg    the argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object...)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, long arg) {
+        return getMessage(code, locale, new Object[]{arg});
+    }
+
+    /**
+     * Getting international Messages with one {@code char} argument, which is formatted as the character rather than
+     * being widened to the {@link #getMessage(String, Locale, int) int overload}.
+     *
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param arg    the argument of message pattern
+     * @return <code>null</code> if message can't be found
+     * @see #getMessage(String, Locale, Object)
+     */
+    @Nullable
+    default String getMessage(String code, Locale locale, char arg) {
+        return getMessage(code, locale, (Object) arg);
+    }
+
     /**
      * Getting international Messages using the runtime {@link Locale}.
      *
@@ -77,6 +190,54 @@ public interface ServiceMessageSource extends Prioritized {
         return getMessage(code, getLocale(), args);
     }
 
+    /**
+     * Appends the international message into the specified {@link Appendable}, e.g. the buffer of the caller, the
+     * default implementation appends the result of {@link #getMessage(String, Locale, Object...)}, the sub-classes
+     * may stream the message pattern and the arguments without the intermediate {@link String}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   StringBuilder out = new StringBuilder("{\"message\":\"");
+     *   if (source.appendMessage(out, "hello", Locale.ENGLISH, "World")) {
+     *       out.append("\"}"); // {"message":"Hello,World"}
+     *   }
+     * }</pre>
+     *
+     * @param out    the {@link Appendable}, e.g. {@link StringBuilder}, {@link java.io.Writer} or
+     *               {@link java.nio.CharBuffer}
+     * @param code   message Code
+     * @param locale {@link Locale}
+     * @param args   the argument of message pattern
+     * @return {@code true} if the message was found and appended, otherwise nothing is appended
+     * @throws UncheckedIOException if the {@link Appendable} throws the {@link IOException}
+     */
+    default boolean appendMessage(Appendable out, String code, Locale locale, Object... args) {
+        String message = getMessage(code, locale, args);
+        if (message == null) {
+            return false;
+        }
+        try {
+            out.append(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Appends the international message into the specified {@link Appendable} using the runtime {@link Locale}.
+     *
+     * @param out  the {@link Appendable}
+     * @param code message Code
+     * @param args the argument of message pattern
+     * @return {@code true} if the message was found and appended, otherwise nothing is appended
+     * @throws UncheckedIOException if the {@link Appendable} throws the {@link IOException}
+     * @see #appendMessage(Appendable, String, Locale, Object...)
+     */
+    default boolean appendMessage(Appendable out, String code, Object... args) {
+        return appendMessage(out, code, getLocale(), args);
+    }
+
     /**
      * Get the runtime {@link Locale}
      *
@@ -105,6 +266,17 @@ public interface ServiceMessageSource extends Prioritized {
         return ofSet(getDefaultLocale(), ENGLISH);
     }
 
+    /**
+     * Gets the complete message codes that this source owns, which are used to route the message codes
+     * to the owning sources.
+     *
+     * @return {@code null} as default if the message codes can't be enumerated
+     */
+    @Nullable
+    default Set<String> getMessageCodes() {
+        return null;
+    }
+
     /**
      * Message service source
      *
@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The read-only binary message catalog that resolves the messages directly off a {@link ByteBuffer}, typically
+ * memory-mapped from a file, thus the catalog stays out of the heap except the message that is returned.
+ * <p>
+ * The format (big-endian) written by {@link BinaryMessageCatalogWriter} :
+ * <pre>
+ * int     magic         : {@link #MAGIC}
+ * int     version       : {@link #VERSION}
+ * int     localeCount
+ * int     codeCount
+ * (int offset, int length) * localeCount             : the language tags of the locales
+ * (int offset, int length) * codeCount               : the codes sorted by their UTF-8 bytes
+ * (int offset, int length) * localeCount * codeCount : the messages, the offset is -1 if absent
+ * byte[]  blob          : the UTF-8 bytes addressed by the offsets above
+ * </pre>
+ * The message code is resolved by the binary search on the code table without decoding.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   BinaryMessageCatalog catalog = BinaryMessageCatalog.map(Paths.get("i18n_messages.catalog"));
+ *   catalog.getMessage(Locale.ENGLISH, "test.hello"); // "Hello,{}"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BinaryMessageCatalogWriter
+ * @since 1.0.0
+ */
+public final class BinaryMessageCatalog {
+
+    /**
+     * The magic number of the format : "MSIC"
+     */
+    public static final int MAGIC = 0x4D534943;
+
+    /**
+     * The version of the format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of the (offset, length) entry in bytes
+     */
+    static final int ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+
+    private final int codeCount;
+
+    private final int codeTablePosition;
+
+    private final int valueTablePosition;
+
+    private final int blobPosition;
+
+    private final List<Locale> locales;
+
+    private final Map<Locale, Integer> localeIndexes;
+
+    private final Set<String> codes;
+
+    private BinaryMessageCatalog(ByteBuffer buffer) {
+        assertTrue(buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC, () -> "Not a binary message catalog");
+        int version = buffer.getInt(4);
+        assertTrue(version == VERSION, () -> format("The version of the binary message catalog is {}, expected {}", version, VERSION));
+        int localeCount = buffer.getInt(8);
+        int codeCount = buffer.getInt(12);
+        long codeTablePosition = HEADER_SIZE + (long) localeCount * ENTRY_SIZE;
+        long valueTablePosition = codeTablePosition + (long) codeCount * ENTRY_SIZE;
+        long blobPosition = valueTablePosition + (long) localeCount * codeCount * ENTRY_SIZE;
+        assertTrue(localeCount >= 0 && codeCount >= 0 && blobPosition <= buffer.limit(), () -> "The binary message catalog is truncated");
+        this.buffer = buffer;
+        this.codeCount = codeCount;
+        this.codeTablePosition = (int) codeTablePosition;
+        this.valueTablePosition = (int) valueTablePosition;
+        this.blobPosition = (int) blobPosition;
+        List<Locale> locales = new ArrayList<>(localeCount);
+        Map<Locale, Integer> localeIndexes = new HashMap<>(localeCount * 2);
+        for (int i = 0; i < localeCount; i++) {
+            Locale locale = Locale.forLanguageTag(decode(HEADER_SIZE + i * ENTRY_SIZE));
+            locales.add(locale);
+            localeIndexes.put(locale, i);
+        }
+        this.locales = unmodifiableList(locales);
+        this.localeIndexes = localeIndexes;
+        this.codes = new CodeSet();
+    }
+
+    /**
+     * Memory-maps the binary message catalog from the specified file
+     *
+     * @param path the {@link Path} of the file
+     * @return non-null
+     * @throws IOException              if the file can't be mapped
+     * @throws IllegalArgumentException if the content is not a valid binary message catalog
+     */
+    @Nonnull
+    public static BinaryMessageCatalog map(Path path) throws IOException {
+        assertNotNull(path, () -> "The 'path' argument must not be null");
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            // The mapping remains valid after the channel is closed
+            return of(channel.map(READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Loads the binary message catalog from the specified {@link URL}, the file is memory-mapped, the other one, e.g.
+     * the entry in the archive, is read into the direct {@link ByteBuffer}
+     *
+     * @param url the {@link URL} of the catalog
+     * @return non-null
+     * @throws IOException              if the catalog can't be read
+     * @throws IllegalArgumentException if the content is not a valid binary message catalog
+     */
+    @Nonnull
+    public static BinaryMessageCatalog load(URL url) throws IOException {
+        assertNotNull(url, () -> "The 'url' argument must not be null");
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return map(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream inputStream = url.openStream()) {
+            byte[] bytes = inputStream.readAllBytes();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return of(buffer);
+        }
+    }
+
+    /**
+     * Reads the binary message catalog from the specified {@link ByteBuffer}, which is not copied
+     *
+     * @param buffer the {@link ByteBuffer} of the content
+     * @return non-null
+     * @throws IllegalArgumentException if the content is not a valid binary message catalog
+     */
+    @Nonnull
+    public static BinaryMessageCatalog of(ByteBuffer buffer) {
+        assertNotNull(buffer, () -> "The 'buffer' argument must not be null");
+        return new BinaryMessageCatalog(buffer.slice());
+    }
+
+    /**
+     * Get the {@link Locale locales} of the catalog
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public List<Locale> getLocales() {
+        return this.locales;
+    }
+
+    /**
+     * Get the index of the specified {@link Locale}
+     *
+     * @param locale the {@link Locale}
+     * @return the index of the {@link Locale}, or {@code -1} if absent
+     */
+    public int indexOfLocale(Locale locale) {
+        Integer index = this.localeIndexes.get(locale);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get the read-only message codes, which are decoded on iteration
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public Set<String> getCodes() {
+        return this.codes;
+    }
+
+    /**
+     * Get the message code at the specified index
+     *
+     * @param index the index of the message code
+     * @return non-null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Nonnull
+    public String getCode(int index) {
+        if (index < 0 || index >= this.codeCount) {
+            throw new IndexOutOfBoundsException(format("The code index : {} is out of range", index));
+        }
+        return decode(this.codeTablePosition + index * ENTRY_SIZE);
+    }
+
+    /**
+     * Get the count of the message codes
+     *
+     * @return the count of the message codes
+     */
+    public int getCodeCount() {
+        return this.codeCount;
+    }
+
+    /**
+     * Get the index of the specified message code
+     *
+     * @param code the message code
+     * @return the index of the code, or {@code -1} if absent
+     */
+    public int indexOfCode(String code) {
+        return indexOfCode("", code);
+    }
+
+    /**
+     * Get the index of the message code that concatenates the specified prefix and code without concatenating them
+     *
+     * @param prefix the prefix of the message code
+     * @param code   the rest of the message code
+     * @return the index of the code, or {@code -1} if absent
+     */
+    public int indexOfCode(String prefix, String code) {
+        int low = 0;
+        int high = this.codeCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(this.codeTablePosition + middle * ENTRY_SIZE, prefix, code);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the message by the specified indexes
+     *
+     * @param localeIndex the index of the {@link Locale}
+     * @param codeIndex   the index of the message code
+     * @return {@code null} if absent
+     * @throws IndexOutOfBoundsException if any index is out of range
+     */
+    @Nullable
+    public String getMessage(int localeIndex, int codeIndex) {
+        if (localeIndex < 0 || localeIndex >= this.locales.size() || codeIndex < 0 || codeIndex >= this.codeCount) {
+            throw new IndexOutOfBoundsException(format("The locale index : {} or code index : {} is out of range", localeIndex, codeIndex));
+        }
+        int position = this.valueTablePosition + (localeIndex * this.codeCount + codeIndex) * ENTRY_SIZE;
+        return this.buffer.getInt(position) < 0 ? null : decode(position);
+    }
+
+    /**
+     * Get the message by the specified {@link Locale} and code
+     *
+     * @param locale the {@link Locale}
+     * @param code   the message code
+     * @return {@code null} if absent
+     */
+    @Nullable
+    public String getMessage(Locale locale, String code) {
+        int localeIndex = indexOfLocale(locale);
+        int codeIndex = localeIndex < 0 ? -1 : indexOfCode(code);
+        return codeIndex < 0 ? null : getMessage(localeIndex, codeIndex);
+    }
+
+    /**
+     * Get the size of the catalog in bytes
+     *
+     * @return the size of the catalog in bytes
+     */
+    public int getSize() {
+        return this.buffer.limit();
+    }
+
+    /**
+     * Decodes the UTF-8 bytes addressed by the (offset, length) entry at the specified position
+     */
+    private String decode(int entryPosition) {
+        int offset = this.blobPosition + this.buffer.getInt(entryPosition);
+        int length = this.buffer.getInt(entryPosition + 4);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = this.buffer.get(offset + i);
+        }
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Compares the UTF-8 bytes addressed by the (offset, length) entry at the specified position with the UTF-8
+     * bytes of the concatenated prefix and code, which are encoded on the fly
+     */
+    private int compare(int entryPosition, String prefix, String code) {
+        int position = this.blobPosition + this.buffer.getInt(entryPosition);
+        int end = position + this.buffer.getInt(entryPosition + 4);
+        for (int i = 0, length = prefix.length() + code.length(); i < length; ) {
+            int codePoint = i < prefix.length() ? prefix.codePointAt(i) : code.codePointAt(i - prefix.length());
+            i += Character.charCount(codePoint);
+            int byteCount = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            for (int k = 0; k < byteCount; k++) {
+                if (position == end) { // The code in the catalog is the prefix of the specified one
+                    return -1;
+                }
+                int difference = (this.buffer.get(position++) & 0xFF) - utf8Byte(codePoint, byteCount, k);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+        }
+        return position == end ? 0 : 1;
+    }
+
+    private static int utf8Byte(int codePoint, int byteCount, int index) {
+        if (byteCount == 1) {
+            return codePoint;
+        }
+        int shift = 6 * (byteCount - 1 - index);
+        return index == 0 ? ((0xFF00 >> byteCount) & 0xFF) | (codePoint >> shift) : 0x80 | ((codePoint >> shift) & 0x3F);
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryMessageCatalog{locales=" + this.locales + ", codeCount=" + this.codeCount +
+                ", size=" + getSize() + '}';
+    }
+
+    /**
+     * The read-only view of the message codes
+     */
+    private final class CodeSet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < codeCount;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return decode(codeTablePosition + this.index++ * ENTRY_SIZE);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object code) {
+            return code instanceof String && indexOfCode((String) code) > -1;
+        }
+
+        @Override
+        public int size() {
+            return codeCount;
+        }
+    }
+}
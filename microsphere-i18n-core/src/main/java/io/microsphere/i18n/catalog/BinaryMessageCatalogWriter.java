@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static io.microsphere.i18n.catalog.BinaryMessageCatalog.ENTRY_SIZE;
+import static io.microsphere.i18n.catalog.BinaryMessageCatalog.HEADER_SIZE;
+import static io.microsphere.i18n.catalog.BinaryMessageCatalog.MAGIC;
+import static io.microsphere.i18n.catalog.BinaryMessageCatalog.VERSION;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The writer of the {@link BinaryMessageCatalog binary message catalog}, the equal strings are written once.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   BinaryMessageCatalogWriter writer = new BinaryMessageCatalogWriter();
+ *   writer.addMessages(Locale.ENGLISH, singletonMap("test.hello", "Hello,{}"));
+ *   try (OutputStream outputStream = Files.newOutputStream(Paths.get("i18n_messages.catalog"))) {
+ *       writer.writeTo(outputStream);
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BinaryMessageCatalog
+ * @since 1.0.0
+ */
+public final class BinaryMessageCatalogWriter {
+
+    private final Map<Locale, Map<String, String>> localeMessages = new LinkedHashMap<>();
+
+    /**
+     * Adds the messages of the specified {@link Locale}, which override the added ones with the same codes
+     *
+     * @param locale   the {@link Locale}
+     * @param messages the messages keyed by the message codes
+     * @return this
+     */
+    @Nonnull
+    public BinaryMessageCatalogWriter addMessages(Locale locale, Map<String, String> messages) {
+        assertNotNull(locale, () -> "The 'locale' argument must not be null");
+        assertNotNull(messages, () -> "The 'messages' argument must not be null");
+        this.localeMessages.computeIfAbsent(locale, l -> new HashMap<>()).putAll(messages);
+        return this;
+    }
+
+    /**
+     * Writes the catalog to the specified {@link OutputStream}, which is not closed
+     *
+     * @param outputStream the {@link OutputStream}
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        // The codes are sorted by their UTF-8 bytes, which is the order of the binary search
+        TreeSet<byte[]> sortedCodes = new TreeSet<>(BinaryMessageCatalogWriter::compare);
+        this.localeMessages.values().forEach(messages -> messages.keySet().forEach(code -> sortedCodes.add(code.getBytes(UTF_8))));
+        List<String> codes = new ArrayList<>(sortedCodes.size());
+        sortedCodes.forEach(code -> codes.add(new String(code, UTF_8)));
+
+        Blob blob = new Blob();
+        int localeCount = this.localeMessages.size();
+        int codeCount = codes.size();
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(localeCount);
+        header.writeInt(codeCount);
+        for (Locale locale : this.localeMessages.keySet()) {
+            blob.writeEntry(locale.toLanguageTag(), header);
+        }
+        for (String code : codes) {
+            blob.writeEntry(code, header);
+        }
+        for (Map<String, String> messages : this.localeMessages.values()) {
+            for (String code : codes) {
+                String message = messages.get(code);
+                if (message == null) {
+                    header.writeInt(-1);
+                    header.writeInt(0);
+                } else {
+                    blob.writeEntry(message, header);
+                }
+            }
+        }
+        blob.bytes.writeTo(header);
+        header.flush();
+    }
+
+    /**
+     * Writes the catalog to the byte array
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public byte[] toByteArray() {
+        int localeCount = this.localeMessages.size();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(HEADER_SIZE + localeCount * ENTRY_SIZE);
+        try {
+            writeTo(outputStream);
+        } catch (IOException e) {
+            // Never happens
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static int compare(byte[] one, byte[] another) {
+        for (int i = 0, length = Math.min(one.length, another.length); i < length; i++) {
+            int difference = (one[i] & 0xFF) - (another[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return one.length - another.length;
+    }
+
+    /**
+     * The blob of the UTF-8 bytes, the equal strings are written once
+     */
+    private static final class Blob {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final Map<String, int[]> entries = new HashMap<>();
+
+        void writeEntry(String value, DataOutputStream header) throws IOException {
+            int[] entry = this.entries.get(value);
+            if (entry == null) {
+                byte[] bytes = value.getBytes(UTF_8);
+                entry = new int[]{this.bytes.size(), bytes.length};
+                this.bytes.write(bytes, 0, bytes.length);
+                this.entries.put(value, entry);
+            }
+            header.writeInt(entry[0]);
+            header.writeInt(entry[1]);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.text.MessagePattern;
+
+import java.io.ByteArrayOutputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The immutable compact {@link MessagePattern message patterns} of one resource, the message codes are kept in the
+ * shared {@link MessageCodeTable}, the message patterns are packed into one {@code byte[]} arena addressed by the
+ * {@code int} offsets, encoded by Latin-1 if possible, otherwise UTF-8. Thus there is neither {@link Map.Entry}
+ * nor {@link String} object per message.
+ * <p>
+ * The {@link MessagePattern} is decoded and compiled on the first {@link #get(Object) lookup} of its code, and then
+ * cached in the slot of the code, thus only the used message patterns are kept as the objects, at the cost of one
+ * reference slot per code in the {@link MessageCodeTable}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessageCodeTable codeTable = MessageCodeTable.of(messagePatterns.keySet());
+ *   CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(codeTable, messagePatterns);
+ *   compactMessagePatterns.get("test.hello").format("World"); // "Hello,World"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageCodeTable
+ * @see MessagePattern
+ * @since 1.0.0
+ */
+public final class CompactMessagePatterns extends AbstractMap<String, MessagePattern> {
+
+    private static final byte ABSENT = 0;
+
+    private static final byte LATIN_1 = 1;
+
+    private static final byte UTF_8_CODER = 2;
+
+    private final MessageCodeTable codeTable;
+
+    /**
+     * The encoded message patterns
+     */
+    private final byte[] arena;
+
+    /**
+     * The start offsets of the message patterns in the arena indexed by the code, the last one is the end
+     */
+    private final int[] offsets;
+
+    /**
+     * The coders of the message patterns indexed by the code
+     */
+    private final byte[] coders;
+
+    /**
+     * The compiled message patterns of the used codes indexed by the code, the immutable {@link MessagePattern} is
+     * published by the racy single-check, thus it may be compiled more than once concurrently, but never seen partially
+     */
+    private final MessagePattern[] messagePatterns;
+
+    private final int size;
+
+    private CompactMessagePatterns(MessageCodeTable codeTable, byte[] arena, int[] offsets, byte[] coders, int size) {
+        this.codeTable = codeTable;
+        this.arena = arena;
+        this.offsets = offsets;
+        this.coders = coders;
+        this.messagePatterns = new MessagePattern[coders.length];
+        this.size = size;
+    }
+
+    /**
+     * Packs the specified message patterns
+     *
+     * @param codeTable       the shared {@link MessageCodeTable} that must contain all codes of the message patterns
+     * @param messagePatterns the message patterns
+     * @return non-null
+     * @throws IllegalArgumentException if any code of the message patterns is absent in the {@link MessageCodeTable}
+     */
+    @Nonnull
+    public static CompactMessagePatterns of(MessageCodeTable codeTable, Map<String, ? extends MessagePattern> messagePatterns) {
+        assertNotNull(codeTable, () -> "The 'codeTable' argument must not be null");
+        assertNotNull(messagePatterns, () -> "The 'messagePatterns' argument must not be null");
+        int length = codeTable.size();
+        int[] offsets = new int[length + 1];
+        byte[] coders = new byte[length];
+        ByteArrayOutputStream arena = new ByteArrayOutputStream(messagePatterns.size() * 16);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            offsets[i] = arena.size();
+            MessagePattern messagePattern = messagePatterns.get(codeTable.getCode(i));
+            if (messagePattern != null) {
+                String pattern = messagePattern.getPattern();
+                boolean latin1 = isLatin1(pattern);
+                byte[] bytes = pattern.getBytes(latin1 ? ISO_8859_1 : UTF_8);
+                arena.write(bytes, 0, bytes.length);
+                coders[i] = latin1 ? LATIN_1 : UTF_8_CODER;
+                size++;
+            }
+        }
+        offsets[length] = arena.size();
+        assertTrue(size == messagePatterns.size(), () -> "The 'codeTable' must contain all codes of the 'messagePatterns'");
+        return new CompactMessagePatterns(codeTable, arena.toByteArray(), offsets, coders, size);
+    }
+
+    @Override
+    public MessagePattern get(Object code) {
+        int index = this.codeTable.indexOf(code);
+        return index < 0 ? null : getMessagePattern(index);
+    }
+
+    /**
+     * Get the raw message pattern of the specified code without compiling
+     *
+     * @param code the message code
+     * @return {@code null} if absent
+     */
+    @Nullable
+    public String getPattern(Object code) {
+        int index = this.codeTable.indexOf(code);
+        if (index < 0) {
+            return null;
+        }
+        MessagePattern messagePattern = this.messagePatterns[index];
+        return messagePattern == null ? decode(index) : messagePattern.getPattern();
+    }
+
+    @Override
+    public boolean containsKey(Object code) {
+        int index = this.codeTable.indexOf(code);
+        return index > -1 && this.coders[index] != ABSENT;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+
+            @Override
+            public Iterator<String> iterator() {
+                return new IndexIterator<String>() {
+                    @Override
+                    String get(int index) {
+                        return codeTable.getCode(index);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object code) {
+                return containsKey(code);
+            }
+
+            @Override
+            public int size() {
+                return CompactMessagePatterns.this.size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, MessagePattern>> entrySet() {
+        return new AbstractSet<Entry<String, MessagePattern>>() {
+
+            @Override
+            public Iterator<Entry<String, MessagePattern>> iterator() {
+                return new IndexIterator<Entry<String, MessagePattern>>() {
+                    @Override
+                    Entry<String, MessagePattern> get(int index) {
+                        // The iteration does not cache the message patterns of the unused codes
+                        MessagePattern messagePattern = messagePatterns[index];
+                        return new SimpleImmutableEntry<>(codeTable.getCode(index),
+                                messagePattern == null ? compile(decode(index)) : messagePattern);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMessagePatterns.this.size;
+            }
+        };
+    }
+
+    /**
+     * Get the shared {@link MessageCodeTable}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public MessageCodeTable getCodeTable() {
+        return this.codeTable;
+    }
+
+    /**
+     * Get the indexes of the present message codes in the shared {@link MessageCodeTable}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public BitSet getCodeIndexes() {
+        BitSet codeIndexes = new BitSet(this.coders.length);
+        for (int i = 0; i < this.coders.length; i++) {
+            if (this.coders[i] != ABSENT) {
+                codeIndexes.set(i);
+            }
+        }
+        return codeIndexes;
+    }
+
+    /**
+     * Get the size of the arena in bytes
+     *
+     * @return the size of the arena in bytes
+     */
+    public int getArenaSize() {
+        return this.arena.length;
+    }
+
+    private MessagePattern getMessagePattern(int index) {
+        MessagePattern messagePattern = this.messagePatterns[index];
+        if (messagePattern == null) {
+            String pattern = decode(index);
+            if (pattern == null) {
+                return null;
+            }
+            messagePattern = compile(pattern);
+            this.messagePatterns[index] = messagePattern;
+        }
+        return messagePattern;
+    }
+
+    private String decode(int index) {
+        byte coder = this.coders[index];
+        if (coder == ABSENT) {
+            return null;
+        }
+        int offset = this.offsets[index];
+        return new String(this.arena, offset, this.offsets[index + 1] - offset, coder == LATIN_1 ? ISO_8859_1 : UTF_8);
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The {@link Iterator} over the indexes of the present message patterns
+     *
+     * @param <E> the type of the element
+     */
+    private abstract class IndexIterator<E> implements Iterator<E> {
+
+        private int index = nextIndex(0);
+
+        @Override
+        public boolean hasNext() {
+            return this.index < coders.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = this.index;
+            this.index = nextIndex(index + 1);
+            return get(index);
+        }
+
+        abstract E get(int index);
+
+        private int nextIndex(int index) {
+            while (index < coders.length && coders[index] == ABSENT) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The immutable sorted table of the distinct message codes, which is shared by the
+ * {@link CompactMessagePatterns compact message patterns} of all {@link java.util.Locale locales} of one source,
+ * thus each message code is stored once.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessageCodeTable codeTable = MessageCodeTable.of(Arrays.asList("test.hello", "test.a"));
+ *   codeTable.indexOf("test.a");     // 0
+ *   codeTable.indexOf("test.hello"); // 1
+ *   codeTable.indexOf("test.b");     // -1
+ *   codeTable.indexOf("test.", "a"); // 0
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompactMessagePatterns
+ * @since 1.0.0
+ */
+public final class MessageCodeTable {
+
+    private final String[] codes;
+
+    private MessageCodeTable(String[] codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Creates the {@link MessageCodeTable} from the specified message codes
+     *
+     * @param codes the message codes, the duplicated ones are ignored
+     * @return non-null
+     */
+    @Nonnull
+    public static MessageCodeTable of(Collection<String> codes) {
+        assertNotNull(codes, () -> "The 'codes' argument must not be null");
+        return new MessageCodeTable(new TreeSet<>(codes).toArray(new String[0]));
+    }
+
+    /**
+     * Get the index of the specified message code
+     *
+     * @param code the message code
+     * @return the index of the code, or {@code -1} if absent
+     */
+    public int indexOf(Object code) {
+        if (!(code instanceof String)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(this.codes, code);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Get the index of the message code that concatenates the specified prefix and code without concatenating them
+     *
+     * @param prefix the prefix of the message code
+     * @param code   the rest of the message code
+     * @return the index of the code, or {@code -1} if absent
+     */
+    public int indexOf(String prefix, String code) {
+        int low = 0;
+        int high = this.codes.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(this.codes[middle], prefix, code);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the message code at the specified index
+     *
+     * @param index the index
+     * @return non-null
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range
+     */
+    @Nonnull
+    public String getCode(int index) {
+        return this.codes[index];
+    }
+
+    /**
+     * Whether the table contains all specified message codes
+     *
+     * @param codes the message codes
+     * @return {@code true} if contains all
+     */
+    public boolean containsAll(Collection<String> codes) {
+        for (String code : codes) {
+            if (indexOf(code) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the count of the message codes
+     *
+     * @return the count of the message codes
+     */
+    public int size() {
+        return this.codes.length;
+    }
+
+    /**
+     * Get the read-only {@link Set} view of the message codes at the specified indexes, which is backed by this table
+     * rather than copying the message codes.
+     *
+     * @param indexes the indexes of the message codes, which is copied
+     * @return non-null
+     */
+    @Nonnull
+    public Set<String> subset(BitSet indexes) {
+        assertNotNull(indexes, () -> "The 'indexes' argument must not be null");
+        return new CodeSet((BitSet) indexes.clone());
+    }
+
+    @Override
+    public String toString() {
+        return "MessageCodeTable{size=" + this.codes.length + '}';
+    }
+
+    /**
+     * Compares the specified value with the concatenated prefix and code as {@link String#compareTo(String)} does
+     */
+    private static int compare(String value, String prefix, String code) {
+        int prefixLength = prefix.length();
+        int length = prefixLength + code.length();
+        int valueLength = value.length();
+        for (int i = 0, limit = Math.min(valueLength, length); i < limit; i++) {
+            char c = i < prefixLength ? prefix.charAt(i) : code.charAt(i - prefixLength);
+            char v = value.charAt(i);
+            if (v != c) {
+                return v - c;
+            }
+        }
+        return valueLength - length;
+    }
+
+    /**
+     * The read-only {@link Set} of the message codes at the indexes
+     */
+    private final class CodeSet extends AbstractSet<String> {
+
+        private final BitSet indexes;
+
+        private final int size;
+
+        CodeSet(BitSet indexes) {
+            this.indexes = indexes;
+            this.size = indexes.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object code) {
+            int index = indexOf(code);
+            return index > -1 && this.indexes.get(index);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int index = indexes.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return this.index > -1 && this.index < codes.length;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String code = codes[this.index];
+                    this.index = indexes.nextSetBit(this.index + 1);
+                    return code;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.i18n.text.MessagePattern;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The canonicalization pool of the message codes and the compiled {@link MessagePattern message patterns}, the equal
+ * ones share one instance across the {@link java.util.Locale locales}, the sources and the reloads. The pool holds
+ * the instances weakly, thus the ones that are not referenced by any catalog anymore are reclaimed by GC.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessagePool messagePool = MessagePool.shared();
+ *   MessagePool.Statistics statistics = new MessagePool.Statistics();
+ *   MessagePattern p1 = messagePool.compile(new String("Hello,{}"), statistics);
+ *   MessagePattern p2 = messagePool.compile(new String("Hello,{}"), statistics);
+ *   // p1 == p2, statistics.getDeduplicatedCount() == 1
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessagePattern
+ * @since 1.0.0
+ */
+public final class MessagePool {
+
+    private static final MessagePool SHARED = new MessagePool();
+
+    /**
+     * The estimated shallow size of {@link String} in bytes
+     */
+    private static final int STRING_SIZE = 24;
+
+    /**
+     * The estimated size of the array header in bytes
+     */
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    /**
+     * The estimated shallow size of {@link MessagePattern} in bytes
+     */
+    private static final int MESSAGE_PATTERN_SIZE = 24;
+
+    private final Map<String, WeakReference<String>> codes = new WeakHashMap<>();
+
+    private final Map<String, WeakReference<MessagePattern>> messagePatterns = new WeakHashMap<>();
+
+    /**
+     * Get the shared {@link MessagePool} in the JVM
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public static MessagePool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Canonicalizes the specified message code
+     *
+     * @param code       the message code
+     * @param statistics the {@link Statistics} to record
+     * @return the canonical instance of the message code
+     */
+    @Nonnull
+    public String canonicalize(String code, Statistics statistics) {
+        assertNotNull(code, () -> "The 'code' argument must not be null");
+        String canonicalCode;
+        synchronized (this.codes) {
+            canonicalCode = get(this.codes, code);
+            if (canonicalCode == null) {
+                this.codes.put(code, new WeakReference<>(code));
+                canonicalCode = code;
+            }
+        }
+        statistics.record(canonicalCode != code, sizeOf(code));
+        return canonicalCode;
+    }
+
+    /**
+     * Compiles the specified message pattern or gets the canonical compiled one
+     *
+     * @param pattern    the message pattern
+     * @param statistics the {@link Statistics} to record
+     * @return the canonical instance of the compiled {@link MessagePattern}
+     */
+    @Nonnull
+    public MessagePattern compile(String pattern, Statistics statistics) {
+        assertNotNull(pattern, () -> "The 'pattern' argument must not be null");
+        MessagePattern messagePattern;
+        synchronized (this.messagePatterns) {
+            messagePattern = get(this.messagePatterns, pattern);
+            if (messagePattern == null) {
+                messagePattern = MessagePattern.compile(pattern);
+                this.messagePatterns.put(messagePattern.getPattern(), new WeakReference<>(messagePattern));
+                statistics.record(false, 0);
+                return messagePattern;
+            }
+        }
+        statistics.record(true, sizeOf(messagePattern));
+        return messagePattern;
+    }
+
+    /**
+     * Get the count of the pooled message codes and message patterns
+     *
+     * @return the count of the pooled instances
+     */
+    public int size() {
+        int size;
+        synchronized (this.codes) {
+            size = this.codes.size();
+        }
+        synchronized (this.messagePatterns) {
+            size += this.messagePatterns.size();
+        }
+        return size;
+    }
+
+    private static <V> V get(Map<String, WeakReference<V>> pool, String key) {
+        WeakReference<V> reference = pool.get(key);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Estimates the retained size of the specified {@link String} in bytes, the Latin-1 one is compacted
+     *
+     * @param value the {@link String}
+     * @return the estimated size in bytes
+     */
+    static long sizeOf(String value) {
+        int length = value.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        return align(STRING_SIZE) + align(ARRAY_HEADER_SIZE + (latin1 ? length : length * 2L));
+    }
+
+    /**
+     * Estimates the retained size of the specified {@link MessagePattern} in bytes, including its pattern and segments
+     *
+     * @param messagePattern the {@link MessagePattern}
+     * @return the estimated size in bytes
+     */
+    static long sizeOf(MessagePattern messagePattern) {
+        String pattern = messagePattern.getPattern();
+        int argumentCount = messagePattern.getArgumentCount();
+        long size = align(MESSAGE_PATTERN_SIZE) + sizeOf(pattern);
+        if (argumentCount > 0) {
+            int segmentCount = argumentCount + 1;
+            int segmentsLength = pattern.length() - argumentCount * MessagePattern.PLACEHOLDER.length();
+            size += align(ARRAY_HEADER_SIZE + segmentCount * 4L) + segmentCount * align(STRING_SIZE)
+                    + segmentCount * align(ARRAY_HEADER_SIZE) + segmentsLength;
+        }
+        return size;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * The statistics of the canonicalization, e.g. in one reload, which may be recorded by the parallel loading threads
+     */
+    public static final class Statistics {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder deduplicatedCount = new LongAdder();
+
+        private final LongAdder savedBytes = new LongAdder();
+
+        void record(boolean deduplicated, long size) {
+            this.count.increment();
+            if (deduplicated) {
+                this.deduplicatedCount.increment();
+                this.savedBytes.add(size);
+            }
+        }
+
+        /**
+         * Get the count of the canonicalized instances
+         *
+         * @return the count of the canonicalized instances
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * Get the count of the instances that were replaced by the canonical ones
+         *
+         * @return the count of the deduplicated instances
+         */
+        public long getDeduplicatedCount() {
+            return this.deduplicatedCount.sum();
+        }
+
+        /**
+         * Get the estimated bytes saved by the deduplication
+         *
+         * @return the estimated bytes
+         */
+        public long getSavedBytes() {
+            return this.savedBytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{count=" + getCount() + ", deduplicatedCount=" + getDeduplicatedCount() +
+                    ", savedBytes=" + getSavedBytes() + '}';
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.text.FormatUtils.format;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * The immutable index of the i18n resources under {@code META-INF/i18n/} on the classpath, which maps each resource to
+ * the {@link URL URLs} that contribute to it, thus the resources are resolved without
+ * {@link ClassLoader#getResources(String) scanning} the classpath per source and per {@link java.util.Locale}.
+ * <p>
+ * Each artifact contributes its index file {@link #INDEX_RESOURCE_NAME "META-INF/i18n.index"}, which is generated at
+ * build time, e.g. by the {@code microsphere-i18n-catalog-compiler}, one UTF-8 line per resource relative to
+ * {@code META-INF/i18n/}, e.g. {@code test/i18n_messages_en.properties}, the lines starting with {@code '#'} are
+ * comments. The index files of all artifacts are discovered by one scan and merged.
+ * <p>
+ * The index is an optimization rather than the source of truth : the roots of the artifacts that ship the index are
+ * recorded per directory, and each directory is verified by one {@link ClassLoader#getResources(String) scan} of the
+ * directory itself when the index is loaded. If any classpath root contributes to the directory without indexing it,
+ * a warning is logged and the directory is not {@link #isIndexed(String) indexed}, thus its resources are resolved
+ * by the {@link ClassLoader}. The root whose archive has no directory entries can't be detected by the scan, hence
+ * such artifacts should ship the index. The resources of the other directories are absent in the index and should be
+ * resolved by the {@link ClassLoader} as well. The index is ignored if the system property
+ * {@link #IGNORE_PROPERTY_NAME "microsphere.i18n.index.ignore"} is {@code true}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ResourceIndex resourceIndex = ResourceIndex.of(classLoader);
+ *   String resource = "META-INF/i18n/test/i18n_messages_en.properties";
+ *   if (resourceIndex != null && resourceIndex.isIndexed(resource)) {
+ *       List<URL> urls = resourceIndex.getResources(resource);
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see io.microsphere.i18n.DefaultServiceMessageSource
+ * @since 1.0.0
+ */
+public final class ResourceIndex {
+
+    private static final Logger logger = getLogger(ResourceIndex.class);
+
+    /**
+     * The name of the index file
+     */
+    public static final String INDEX_RESOURCE_NAME = "META-INF/i18n.index";
+
+    /**
+     * The name of the system property that ignores the index
+     */
+    public static final String IGNORE_PROPERTY_NAME = "microsphere.i18n.index.ignore";
+
+    /**
+     * The directory of the i18n resources
+     */
+    static final String RESOURCE_DIRECTORY = "META-INF/i18n/";
+
+    /**
+     * The location of the resource relative to the index file
+     */
+    private static final String RELATIVE_RESOURCE_DIRECTORY = "i18n/";
+
+    private static final char COMMENT = '#';
+
+    /**
+     * The placeholder of the {@link ClassLoader} that has no index
+     */
+    private static final ResourceIndex NO_INDEX = new ResourceIndex(new HashMap<>(0), new HashSet<>(0));
+
+    private static final Map<ClassLoader, ResourceIndex> cache = new WeakHashMap<>();
+
+    private final Map<String, List<URL>> resources;
+
+    private final Set<String> directories;
+
+    private ResourceIndex(Map<String, List<URL>> resources, Set<String> directories) {
+        this.resources = resources;
+        this.directories = directories;
+    }
+
+    /**
+     * Get the {@link ResourceIndex} of the specified {@link ClassLoader}, which is loaded on the first request and
+     * shared by all sources
+     *
+     * @param classLoader the {@link ClassLoader}
+     * @return {@code null} if the {@link ClassLoader} has no index or the index is {@link #IGNORE_PROPERTY_NAME ignored}
+     * @throws IOException if the index can't be loaded
+     */
+    @Nullable
+    public static ResourceIndex of(ClassLoader classLoader) throws IOException {
+        assertNotNull(classLoader, () -> "The 'classLoader' argument must not be null");
+        if (getBoolean(IGNORE_PROPERTY_NAME)) {
+            return null;
+        }
+        ResourceIndex resourceIndex;
+        synchronized (cache) {
+            resourceIndex = cache.get(classLoader);
+            if (resourceIndex == null) {
+                resourceIndex = load(classLoader);
+                cache.put(classLoader, resourceIndex == null ? NO_INDEX : resourceIndex);
+            }
+        }
+        return resourceIndex == NO_INDEX ? null : resourceIndex;
+    }
+
+    /**
+     * Loads and merges the index files of the specified {@link ClassLoader} without caching
+     *
+     * @param classLoader the {@link ClassLoader}
+     * @return {@code null} if the {@link ClassLoader} has no index
+     * @throws IOException if the index can't be loaded
+     */
+    @Nullable
+    public static ResourceIndex load(ClassLoader classLoader) throws IOException {
+        assertNotNull(classLoader, () -> "The 'classLoader' argument must not be null");
+        Enumeration<URL> indexURLs = classLoader.getResources(INDEX_RESOURCE_NAME);
+        if (!indexURLs.hasMoreElements()) {
+            return null;
+        }
+        Map<String, List<URL>> resources = new HashMap<>();
+        // The roots of the artifacts that index the directory keyed by the directory
+        Map<String, Set<String>> directoryRoots = new HashMap<>();
+        while (indexURLs.hasMoreElements()) {
+            URL indexURL = indexURLs.nextElement();
+            String root = getRoot(indexURL, INDEX_RESOURCE_NAME);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexURL.openStream(), UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.charAt(0) == COMMENT) {
+                        continue;
+                    }
+                    String resource = RESOURCE_DIRECTORY + line;
+                    // The URL of the resource shares the protocol handler of the index, e.g. "jar"
+                    URL url = new URL(indexURL, RELATIVE_RESOURCE_DIRECTORY + line);
+                    resources.computeIfAbsent(resource, r -> new ArrayList<>(1)).add(url);
+                    directoryRoots.computeIfAbsent(getDirectory(resource), d -> new HashSet<>()).add(root);
+                }
+            }
+        }
+        Set<String> directories = new HashSet<>(directoryRoots.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Set<String>> entry : directoryRoots.entrySet()) {
+            String directory = entry.getKey();
+            if (isIndexedByAllRoots(classLoader, directory, entry.getValue())) {
+                directories.add(directory);
+            }
+        }
+        Map<String, List<URL>> readOnlyResources = new HashMap<>(resources.size() * 4 / 3 + 1);
+        resources.forEach((resource, urls) -> readOnlyResources.put(resource, unmodifiableList(urls)));
+        return new ResourceIndex(readOnlyResources, directories);
+    }
+
+    /**
+     * Whether all classpath roots that contribute to the specified directory index it
+     *
+     * @param classLoader the {@link ClassLoader}
+     * @param directory   the directory, e.g. {@code META-INF/i18n/test/}
+     * @param roots       the roots of the artifacts that index the directory
+     * @return {@code false} if any root does not index the directory
+     * @throws IOException if the directory can't be scanned
+     */
+    private static boolean isIndexedByAllRoots(ClassLoader classLoader, String directory, Set<String> roots)
+            throws IOException {
+        Enumeration<URL> directoryURLs = classLoader.getResources(directory);
+        while (directoryURLs.hasMoreElements()) {
+            URL directoryURL = directoryURLs.nextElement();
+            String root = getRoot(directoryURL, directory);
+            if (!roots.contains(root)) {
+                logger.warn("The resource index '{}' is not shipped by the classpath root '{}' that contributes to the directory '{}', the resources of the directory will be resolved by the ClassLoader",
+                        INDEX_RESOURCE_NAME, root, directory);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the classpath root of the specified {@link URL} of the resource
+     *
+     * @param url      the {@link URL} of the resource
+     * @param resource the resource, the trailing {@code '/'} of the directory is optional in the {@link URL}
+     * @return the root, e.g. {@code "jar:file:/app.jar!/"}
+     */
+    private static String getRoot(URL url, String resource) {
+        String location = url.toString();
+        String path = resource;
+        if (path.endsWith("/") && !location.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return location.endsWith(path) ? location.substring(0, location.length() - path.length()) : location;
+    }
+
+    /**
+     * Writes the index of the specified resources
+     *
+     * @param resources    the resources relative to {@code META-INF/i18n/}, e.g. {@code test/i18n_messages_en.properties}
+     * @param outputStream the {@link OutputStream} of the index file
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeTo(Collection<String> resources, OutputStream outputStream) throws IOException {
+        assertNotNull(resources, () -> "The 'resources' argument must not be null");
+        Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+        for (String resource : new TreeSet<>(resources)) {
+            assertTrue(!resource.isEmpty() && resource.charAt(0) != '/' && resource.indexOf('\n') < 0,
+                    () -> format("The resource '{}' must be relative to '{}'", resource, RESOURCE_DIRECTORY));
+            writer.write(resource);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Whether the directory of the specified resource is covered by the index, which is indexed by all classpath roots
+     * that contribute to it, thus the resources of the directory are resolved without the {@link ClassLoader}
+     *
+     * @param resource the resource, e.g. {@code META-INF/i18n/test/i18n_messages_en.properties}
+     * @return {@code true} if indexed
+     */
+    public boolean isIndexed(String resource) {
+        return this.directories.contains(getDirectory(resource));
+    }
+
+    /**
+     * Get the {@link URL URLs} that contribute to the specified resource
+     *
+     * @param resource the resource, e.g. {@code META-INF/i18n/test/i18n_messages_en.properties}
+     * @return non-null read-only list, empty if absent
+     */
+    @Nonnull
+    public List<URL> getResources(String resource) {
+        List<URL> urls = this.resources.get(resource);
+        return urls == null ? emptyList() : urls;
+    }
+
+    /**
+     * Get the first {@link URL} of the specified resource as {@link ClassLoader#getResource(String)} does
+     *
+     * @param resource the resource
+     * @return {@code null} if absent
+     */
+    @Nullable
+    public URL getResource(String resource) {
+        List<URL> urls = this.resources.get(resource);
+        return urls == null ? null : urls.get(0);
+    }
+
+    /**
+     * Get the indexed resources
+     *
+     * @return non-null read-only set
+     */
+    @Nonnull
+    public Set<String> getResourceNames() {
+        return unmodifiableSet(this.resources.keySet());
+    }
+
+    private static String getDirectory(String resource) {
+        int index = resource.lastIndexOf('/');
+        return index < 0 ? "" : resource.substring(0, index + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceIndex{resources=" + this.resources.keySet() + ", directories=" + this.directories + '}';
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The {@link MessageFormatter} that is compatible with {@link MessageFormat}, e.g. {@code "{0,number}"} and
+ * {@code "{1,date}"}. The {@link MessageFormat} is parsed once per pattern and {@link Locale}, the formatting borrows
+ * one of its clones from a small pool, thus it never contends on a lock, and the clones are released with the
+ * compiled pattern rather than being kept by the threads. The pattern without any argument and the one that can't be
+ * parsed by {@link MessageFormat}, e.g. the one with the {@code "{}"} placeholders, are compiled into the
+ * {@link MessagePattern}, thus their quotes are kept as is, e.g. {@code "Can't connect"}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+ *   source.setMessageFormatter(new JdkMessageFormatter());
+ *   source.init();
+ *   source.getMessage("items", Locale.ENGLISH, 1234); // e.g. "1,234 items" for "test.items = {0,number} items"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageFormat
+ * @see MessageFormatter
+ * @since 1.0.0
+ */
+public class JdkMessageFormatter implements MessageFormatter {
+
+    @Nonnull
+    @Override
+    public CompiledMessage compile(String pattern, Locale locale) {
+        assertNotNull(pattern, () -> "The 'pattern' argument must not be null");
+        MessageFormat messageFormat;
+        try {
+            messageFormat = new MessageFormat(pattern, locale);
+        } catch (IllegalArgumentException e) { // e.g. "Hello,{}"
+            return MessagePattern.compile(pattern);
+        }
+        if (messageFormat.getFormatsByArgumentIndex().length == 0) { // No argument
+            return MessagePattern.compile(pattern);
+        }
+        return new CompiledMessageFormat(messageFormat);
+    }
+
+    /**
+     * The parsed {@link MessageFormat} that formats with the clones borrowed from a bounded pool
+     */
+    private static final class CompiledMessageFormat implements CompiledMessage {
+
+        /**
+         * The max count of the pooled clones per pattern, the power of two
+         */
+        private static final int POOL_SIZE = 4;
+
+        private final MessageFormat messageFormat;
+
+        private final AtomicReferenceArray<MessageFormat> pool;
+
+        CompiledMessageFormat(MessageFormat messageFormat) {
+            this.messageFormat = messageFormat;
+            this.pool = new AtomicReferenceArray<>(POOL_SIZE);
+        }
+
+        @Override
+        public String format(Object... args) {
+            int start = (int) Thread.currentThread().getId() & (POOL_SIZE - 1);
+            MessageFormat messageFormat = borrow(start);
+            try {
+                return messageFormat.format(args);
+            } finally {
+                release(start, messageFormat);
+            }
+        }
+
+        private MessageFormat borrow(int start) {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                MessageFormat messageFormat = this.pool.getAndSet((start + i) & (POOL_SIZE - 1), null);
+                if (messageFormat != null) {
+                    return messageFormat;
+                }
+            }
+            // All clones are in use
+            return (MessageFormat) this.messageFormat.clone();
+        }
+
+        private void release(int start, MessageFormat messageFormat) {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                if (this.pool.compareAndSet((start + i) & (POOL_SIZE - 1), null, messageFormat)) {
+                    return;
+                }
+            }
+            // The pool is full, the clone is discarded
+        }
+
+        @Override
+        public String toString() {
+            return this.messageFormat.toPattern();
+        }
+    }
+}
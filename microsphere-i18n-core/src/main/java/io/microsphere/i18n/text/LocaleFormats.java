@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import java.text.NumberFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
+import static java.time.format.DateTimeFormatter.ofLocalizedDate;
+import static java.time.format.DateTimeFormatter.ofLocalizedDateTime;
+import static java.time.format.DateTimeFormatter.ofLocalizedTime;
+import static java.time.format.FormatStyle.FULL;
+import static java.time.format.FormatStyle.LONG;
+import static java.time.format.FormatStyle.MEDIUM;
+import static java.time.format.FormatStyle.SHORT;
+
+/**
+ * The cached formatters of one {@link Locale} for the {@link TypedMessageFormatter typed placeholders}, which are
+ * built once per {@link Locale} in the JVM. The {@link DateTimeFormatter DateTimeFormatters} are immutable and shared,
+ * the {@link NumberFormat NumberFormats} are not thread-safe, thus each thread formats with its own pooled clone.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   LocaleFormats localeFormats = LocaleFormats.of(Locale.ENGLISH);
+ *   localeFormats.getArgumentFormat("n", null).format(1234); // "1,234"
+ *   localeFormats.getArgumentFormat("d", "iso").format(LocalDate.of(2024, 1, 31)); // "2024-01-31"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see TypedMessageFormatter
+ * @since 1.0.0
+ */
+final class LocaleFormats {
+
+    /**
+     * The type of the number placeholder, e.g. {@code "{n}"}, {@code "{n:integer}"} or {@code "{n:percent}"}
+     */
+    static final String NUMBER_TYPE = "n";
+
+    /**
+     * The type of the date placeholder, e.g. {@code "{d}"} or {@code "{d:short}"}
+     */
+    static final String DATE_TYPE = "d";
+
+    /**
+     * The type of the time placeholder, e.g. {@code "{t}"} or {@code "{t:iso}"}
+     */
+    static final String TIME_TYPE = "t";
+
+    /**
+     * The type of the date-time placeholder, e.g. {@code "{dt}"} or {@code "{dt:long}"}
+     */
+    static final String DATE_TIME_TYPE = "dt";
+
+    static final String ISO_STYLE = "iso";
+
+    private static final ConcurrentHashMap<Locale, LocaleFormats> cache = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+
+    /**
+     * The {@link ArgumentFormat ArgumentFormats} keyed by the type and the style, e.g. {@code "d:short"}, the
+     * default style is keyed by the type only
+     */
+    private final Map<String, ArgumentFormat> argumentFormats;
+
+    private LocaleFormats(Locale locale) {
+        this.locale = locale;
+        Map<String, ArgumentFormat> argumentFormats = new HashMap<>(32);
+        addNumberFormat(argumentFormats, null, NumberFormat.getInstance(locale));
+        addNumberFormat(argumentFormats, "integer", NumberFormat.getIntegerInstance(locale));
+        addNumberFormat(argumentFormats, "percent", NumberFormat.getPercentInstance(locale));
+        // The java.util.Date and Instant arguments are formatted in the default time zone
+        ZoneId zoneId = ZoneId.systemDefault();
+        for (FormatStyle style : new FormatStyle[]{SHORT, MEDIUM, LONG, FULL}) {
+            String styleName = style.name().toLowerCase(Locale.ENGLISH);
+            addDateTimeFormat(argumentFormats, DATE_TYPE, styleName, ofLocalizedDate(style), zoneId);
+            addDateTimeFormat(argumentFormats, TIME_TYPE, styleName, ofLocalizedTime(style), zoneId);
+            addDateTimeFormat(argumentFormats, DATE_TIME_TYPE, styleName, ofLocalizedDateTime(style), zoneId);
+        }
+        addDateTimeFormat(argumentFormats, DATE_TYPE, ISO_STYLE, ISO_LOCAL_DATE, zoneId);
+        addDateTimeFormat(argumentFormats, TIME_TYPE, ISO_STYLE, ISO_LOCAL_TIME, zoneId);
+        addDateTimeFormat(argumentFormats, DATE_TIME_TYPE, ISO_STYLE, ISO_LOCAL_DATE_TIME, zoneId);
+        // The medium style is the default one like java.text.MessageFormat
+        argumentFormats.put(DATE_TYPE, argumentFormats.get(key(DATE_TYPE, "medium")));
+        argumentFormats.put(TIME_TYPE, argumentFormats.get(key(TIME_TYPE, "medium")));
+        argumentFormats.put(DATE_TIME_TYPE, argumentFormats.get(key(DATE_TIME_TYPE, "medium")));
+        this.argumentFormats = argumentFormats;
+    }
+
+    /**
+     * Get the cached {@link LocaleFormats} of the specified {@link Locale}
+     *
+     * @param locale the {@link Locale}
+     * @return non-null
+     */
+    @Nonnull
+    static LocaleFormats of(Locale locale) {
+        assertNotNull(locale, () -> "The 'locale' argument must not be null");
+        LocaleFormats localeFormats = cache.get(locale);
+        if (localeFormats == null) {
+            localeFormats = cache.computeIfAbsent(locale, LocaleFormats::new);
+        }
+        return localeFormats;
+    }
+
+    /**
+     * Get the {@link ArgumentFormat} of the specified type and style
+     *
+     * @param type  the type of the placeholder, e.g. {@code "n"}, {@code "d"}, {@code "t"} or {@code "dt"}
+     * @param style the style of the placeholder, e.g. {@code "short"} or {@code "iso"}, {@code null} for the default one
+     * @return {@code null} if the type or the style is unknown
+     */
+    @Nullable
+    ArgumentFormat getArgumentFormat(String type, @Nullable String style) {
+        return this.argumentFormats.get(style == null ? type : key(type, style));
+    }
+
+    /**
+     * Get the {@link Locale}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    Locale getLocale() {
+        return this.locale;
+    }
+
+    private static void addNumberFormat(Map<String, ArgumentFormat> argumentFormats, @Nullable String style,
+                                        NumberFormat numberFormat) {
+        ThreadLocal<NumberFormat> pooledNumberFormat = ThreadLocal.withInitial(() -> (NumberFormat) numberFormat.clone());
+        argumentFormats.put(style == null ? NUMBER_TYPE : key(NUMBER_TYPE, style), value -> value instanceof Number ?
+                pooledNumberFormat.get().format(value) : String.valueOf(value));
+    }
+
+    private void addDateTimeFormat(Map<String, ArgumentFormat> argumentFormats, String type, String style,
+                                   DateTimeFormatter dateTimeFormatter, ZoneId zoneId) {
+        // The zone is not overridden, thus the zoned arguments, e.g. ZonedDateTime, are formatted in their own zones
+        DateTimeFormatter formatter = dateTimeFormatter.withLocale(this.locale);
+        argumentFormats.put(key(type, style), value -> {
+            TemporalAccessor temporal = value instanceof Date ? Instant.ofEpochMilli(((Date) value).getTime()).atZone(zoneId) :
+                    value instanceof Instant ? ((Instant) value).atZone(zoneId) :
+                            value instanceof TemporalAccessor ? (TemporalAccessor) value : null;
+            if (temporal == null) {
+                return String.valueOf(value);
+            }
+            try {
+                return formatter.format(temporal);
+            } catch (DateTimeException e) { // e.g. the LocalTime with the date style
+                return String.valueOf(value);
+            }
+        });
+    }
+
+    private static String key(String type, String style) {
+        return type + ':' + style;
+    }
+
+    /**
+     * The thread-safe format of the typed argument, the argument of the unexpected type is formatted by
+     * {@link String#valueOf(Object)}
+     */
+    @FunctionalInterface
+    interface ArgumentFormat {
+
+        /**
+         * Formats the argument
+         *
+         * @param value the argument
+         * @return non-null
+         */
+        @Nonnull
+        String format(@Nullable Object value);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * The SPI that compiles the message patterns into the {@link CompiledMessage compiled messages} of the
+ * {@link Locale locales}, which are compiled once, e.g. at the loading time, and then formatted concurrently
+ * without any shared lock. The {@link MessagePattern} is the compiled message of the {@code "{}"} placeholders.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessageFormatter messageFormatter = new JdkMessageFormatter();
+ *   MessageFormatter.CompiledMessage compiledMessage = messageFormatter.compile("{0,number,#.##} items", Locale.ENGLISH);
+ *   compiledMessage.format(3.14159); // "3.14 items"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessagePattern
+ * @see JdkMessageFormatter
+ * @see TypedMessageFormatter
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface MessageFormatter {
+
+    /**
+     * Compiles the specified message pattern of the specified {@link Locale}
+     *
+     * @param pattern the message pattern
+     * @param locale  the {@link Locale} of the message
+     * @return the immutable and thread-safe {@link CompiledMessage}
+     */
+    @Nonnull
+    CompiledMessage compile(String pattern, Locale locale);
+
+    /**
+     * The immutable and thread-safe compiled message
+     */
+    interface CompiledMessage {
+
+        /**
+         * Formats the message with the specified arguments
+         *
+         * @param args the arguments
+         * @return non-null
+         */
+        @Nonnull
+        String format(Object... args);
+
+        /**
+         * Formats the message with the specified arguments into the specified {@link Appendable}
+         *
+         * @param out  the {@link Appendable}
+         * @param args the arguments
+         * @throws IOException if an I/O error occurs
+         */
+        default void formatTo(Appendable out, Object... args) throws IOException {
+            out.append(format(args));
+        }
+    }
+}
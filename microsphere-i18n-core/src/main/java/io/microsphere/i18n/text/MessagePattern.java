@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.text.FormatUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.constants.SymbolConstants.LEFT_CURLY_BRACE;
+import static io.microsphere.constants.SymbolConstants.RIGHT_CURLY_BRACE;
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The immutable compiled form of the message pattern that uses the {@link #PLACEHOLDER "{}"} placeholders like
+ * {@link FormatUtils#format(String, Object...)}, the pattern is split into the literal segments and the argument
+ * slots once, the formatting appends the segments and the arguments without rescanning the pattern.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MessagePattern messagePattern = MessagePattern.compile("Hello,{}");
+ *   messagePattern.format("World"); // "Hello,World"
+ *   messagePattern.getArgumentCount(); // 1
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see FormatUtils#format(String, Object...)
+ * @see MessageFormatter
+ * @since 1.0.0
+ */
+public final class MessagePattern implements MessageFormatter.CompiledMessage {
+
+    /**
+     * The placeholder of the argument
+     */
+    public static final String PLACEHOLDER = LEFT_CURLY_BRACE + RIGHT_CURLY_BRACE;
+
+    private static final String[] NO_SEGMENTS = new String[0];
+
+    private final String pattern;
+
+    /**
+     * The literal segments between the placeholders, its length is the count of the placeholders plus one,
+     * or zero if the pattern does not contain any placeholder.
+     */
+    private final String[] segments;
+
+    private MessagePattern(String pattern, String[] segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the specified message pattern
+     *
+     * @param pattern the message pattern
+     * @return non-null
+     */
+    @Nonnull
+    public static MessagePattern compile(String pattern) {
+        assertNotNull(pattern, () -> "The 'pattern' argument must not be null");
+        int placeholderLength = PLACEHOLDER.length();
+        int index = pattern.indexOf(PLACEHOLDER);
+        if (index < 0) {
+            return new MessagePattern(pattern, NO_SEGMENTS);
+        }
+        List<String> segments = new ArrayList<>(4);
+        int start = 0;
+        while (index > -1) {
+            segments.add(pattern.substring(start, index));
+            start = index + placeholderLength;
+            index = pattern.indexOf(PLACEHOLDER, start);
+        }
+        segments.add(pattern.substring(start));
+        return new MessagePattern(pattern, segments.toArray(NO_SEGMENTS));
+    }
+
+    /**
+     * Formats the message with the specified arguments, the placeholders without the corresponding arguments are kept,
+     * the redundant arguments are ignored.
+     *
+     * @param args the arguments
+     * @return the pattern itself if no placeholder or no argument is present
+     */
+    @Nonnull
+    @Override
+    public String format(Object... args) {
+        int argumentCount = getArgumentCount();
+        int argsLength = args == null ? 0 : args.length;
+        if (argumentCount == 0 || argsLength == 0) {
+            return this.pattern;
+        }
+        StringBuilder messageBuilder = newMessageBuilder(argumentCount);
+        String[] segments = this.segments;
+        messageBuilder.append(segments[0]);
+        for (int i = 0; i < argumentCount; i++) {
+            if (i < argsLength) {
+                messageBuilder.append(args[i]);
+            } else {
+                messageBuilder.append(PLACEHOLDER);
+            }
+            messageBuilder.append(segments[i + 1]);
+        }
+        return messageBuilder.toString();
+    }
+
+    /**
+     * Formats the message with one argument without the argument array
+     *
+     * @param arg the argument
+     * @return the pattern itself if no placeholder is present
+     * @see #format(Object...)
+     */
+    @Nonnull
+    public String format(Object arg) {
+        return format(1, arg, null, null);
+    }
+
+    /**
+     * Formats the message with two arguments without the argument array
+     *
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     * @return the pattern itself if no placeholder is present
+     * @see #format(Object...)
+     */
+    @Nonnull
+    public String format(Object arg0, Object arg1) {
+        return format(2, arg0, arg1, null);
+    }
+
+    /**
+     * Formats the message with three arguments without the argument array
+     *
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     * @param arg2 the third argument
+     * @return the pattern itself if no placeholder is present
+     * @see #format(Object...)
+     */
+    @Nonnull
+    public String format(Object arg0, Object arg1, Object arg2) {
+        return format(3, arg0, arg1, arg2);
+    }
+
+    /**
+     * Formats the message with one {@code int} argument without boxing
+     *
+     * @param arg the argument
+     * @return the pattern itself if no placeholder is present
+     * @see #format(Object...)
+     */
+    @Nonnull
+    public String format(int arg) {
+        int argumentCount = getArgumentCount();
+        if (argumentCount == 0) {
+            return this.pattern;
+        }
+        StringBuilder messageBuilder = newMessageBuilder(argumentCount);
+        messageBuilder.append(this.segments[0]).append(arg).append(this.segments[1]);
+        return appendPlaceholders(messageBuilder, 1);
+    }
+
+    /**
+     * Formats the message with one {@code long} argument without boxing
+     *
+     * @param arg the argument
+     * @return the pattern itself if no placeholder is present
+     * @see #format(Object...)
+     */
+    @Nonnull
+    public String format(long arg) {
+        int argumentCount = getArgumentCount();
+        if (argumentCount == 0) {
+            return this.pattern;
+        }
+        StringBuilder messageBuilder = newMessageBuilder(argumentCount);
+        messageBuilder.append(this.segments[0]).append(arg).append(this.segments[1]);
+        return appendPlaceholders(messageBuilder, 1);
+    }
+
+    private String format(int argsLength, Object arg0, Object arg1, Object arg2) {
+        int argumentCount = getArgumentCount();
+        if (argumentCount == 0) {
+            return this.pattern;
+        }
+        String[] segments = this.segments;
+        StringBuilder messageBuilder = newMessageBuilder(argumentCount);
+        messageBuilder.append(segments[0]).append(arg0).append(segments[1]);
+        if (argsLength > 1 && argumentCount > 1) {
+            messageBuilder.append(arg1).append(segments[2]);
+            if (argsLength > 2 && argumentCount > 2) {
+                messageBuilder.append(arg2).append(segments[3]);
+            }
+        }
+        return appendPlaceholders(messageBuilder, argsLength);
+    }
+
+    private StringBuilder newMessageBuilder(int argumentCount) {
+        return new StringBuilder(this.pattern.length() + argumentCount * 8);
+    }
+
+    /**
+     * Appends the placeholders without the corresponding arguments and their following segments
+     *
+     * @param messageBuilder the message builder
+     * @param argsLength     the count of the appended arguments
+     * @return the formatted message
+     */
+    private String appendPlaceholders(StringBuilder messageBuilder, int argsLength) {
+        String[] segments = this.segments;
+        for (int i = argsLength, argumentCount = getArgumentCount(); i < argumentCount; i++) {
+            messageBuilder.append(PLACEHOLDER).append(segments[i + 1]);
+        }
+        return messageBuilder.toString();
+    }
+
+    /**
+     * Formats the message with the specified arguments into the specified {@link Appendable} as
+     * {@link #format(Object...)} does, but without allocating the intermediate {@link String}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   StringBuilder out = new StringBuilder("Message : ");
+     *   MessagePattern.compile("Hello,{}").formatTo(out, "World"); // "Message : Hello,World"
+     * }</pre>
+     *
+     * @param out  the {@link Appendable}, e.g. {@link StringBuilder}, {@link java.io.Writer} or
+     *             {@link java.nio.CharBuffer}
+     * @param args the arguments
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void formatTo(Appendable out, Object... args) throws IOException {
+        int argumentCount = getArgumentCount();
+        int argsLength = args == null ? 0 : args.length;
+        if (argumentCount == 0 || argsLength == 0) {
+            out.append(this.pattern);
+            return;
+        }
+        String[] segments = this.segments;
+        out.append(segments[0]);
+        for (int i = 0; i < argumentCount; i++) {
+            if (i < argsLength) {
+                Object arg = args[i];
+                out.append(arg instanceof CharSequence ? (CharSequence) arg : String.valueOf(arg));
+            } else {
+                out.append(PLACEHOLDER);
+            }
+            out.append(segments[i + 1]);
+        }
+    }
+
+    /**
+     * Get the original message pattern
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Get the count of the argument placeholders
+     *
+     * @return zero if the pattern does not contain any placeholder
+     */
+    public int getArgumentCount() {
+        int length = this.segments.length;
+        return length == 0 ? 0 : length - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MessagePattern)) {
+            return false;
+        }
+        return this.pattern.equals(((MessagePattern) o).pattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.pattern.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+}
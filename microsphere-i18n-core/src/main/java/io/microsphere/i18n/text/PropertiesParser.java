@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.BiConsumer;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The streaming parser of the {@link java.util.Properties properties} format, which reads the characters from the
+ * {@link Reader} and passes each key-value pair to the consumer as soon as it is parsed, thus the caller builds its
+ * final structure directly rather than through the intermediate {@link java.util.Properties}.
+ * <p>
+ * The semantics are the same as {@link java.util.Properties#load(Reader)} : the comment lines starting with
+ * {@code '#'} or {@code '!'}, the line continuation by the trailing backslash, the key terminators {@code '='},
+ * {@code ':'} and the whitespaces, the escapes {@code \t \n \r \f \\uXXXX}. The latter pair of the duplicated keys is
+ * passed too, the consumer decides which one wins.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   Map<String, String> messages = new HashMap<>();
+ *   PropertiesParser.parse(new StringReader("test.hello = Hello,{}"), messages::put);
+ *   messages.get("test.hello"); // "Hello,{}"
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see java.util.Properties#load(Reader)
+ * @since 1.0.0
+ */
+public final class PropertiesParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * The current logical line whose continuations are joined
+     */
+    private final StringBuilder line = new StringBuilder(128);
+
+    /**
+     * The buffer of the unescaped key or value
+     */
+    private final StringBuilder chars = new StringBuilder(128);
+
+    private PropertiesParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Parses the properties from the specified {@link Reader}, the {@link Reader} is not closed
+     *
+     * @param reader   the {@link Reader}
+     * @param consumer the consumer of the key and the value
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the input contains a malformed {@code \\uXXXX} escape
+     */
+    public static void parse(Reader reader, BiConsumer<String, String> consumer) throws IOException {
+        assertNotNull(reader, () -> "The 'reader' argument must not be null");
+        assertNotNull(consumer, () -> "The 'consumer' argument must not be null");
+        new PropertiesParser(reader).parse(consumer);
+    }
+
+    private void parse(BiConsumer<String, String> consumer) throws IOException {
+        StringBuilder line = this.line;
+        while (readLine()) {
+            int length = line.length();
+            int keyLength = 0;
+            int valueStart = length;
+            boolean hasSeparator = false;
+            boolean precedingBackslash = false;
+            while (keyLength < length) {
+                char c = line.charAt(keyLength);
+                if ((c == '=' || c == ':') && !precedingBackslash) {
+                    valueStart = keyLength + 1;
+                    hasSeparator = true;
+                    break;
+                } else if (isWhitespace(c) && !precedingBackslash) {
+                    valueStart = keyLength + 1;
+                    break;
+                }
+                precedingBackslash = c == '\\' && !precedingBackslash;
+                keyLength++;
+            }
+            while (valueStart < length) {
+                char c = line.charAt(valueStart);
+                if (!isWhitespace(c)) {
+                    if (!hasSeparator && (c == '=' || c == ':')) {
+                        hasSeparator = true;
+                    } else {
+                        break;
+                    }
+                }
+                valueStart++;
+            }
+            consumer.accept(unescape(0, keyLength), unescape(valueStart, length));
+        }
+    }
+
+    /**
+     * Reads the next logical line into {@link #line}, the comment and blank lines are skipped, the leading whitespaces
+     * are removed, the continuations are joined
+     *
+     * @return {@code false} if no more line
+     */
+    private boolean readLine() throws IOException {
+        StringBuilder line = this.line;
+        line.setLength(0);
+        boolean skipWhitespace = true;
+        boolean commentLine = false;
+        boolean newLine = true;
+        boolean appendedLineBegin = false;
+        boolean precedingBackslash = false;
+        boolean skipLF = false;
+        int ci;
+        while ((ci = read()) > -1) {
+            char c = (char) ci;
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (skipWhitespace) {
+                if (isWhitespace(c) || (!appendedLineBegin && (c == '\r' || c == '\n'))) {
+                    continue;
+                }
+                skipWhitespace = false;
+                appendedLineBegin = false;
+            }
+            if (newLine) {
+                newLine = false;
+                if (c == '#' || c == '!') {
+                    commentLine = true;
+                    continue;
+                }
+            }
+            if (c != '\n' && c != '\r') {
+                if (!commentLine) {
+                    line.append(c);
+                    precedingBackslash = c == '\\' && !precedingBackslash;
+                }
+                continue;
+            }
+            // The end of the natural line
+            if (commentLine || line.length() == 0) {
+                commentLine = false;
+                newLine = true;
+                skipWhitespace = true;
+                line.setLength(0);
+                continue;
+            }
+            if (!precedingBackslash) {
+                return true;
+            }
+            // The line continues on the next natural line
+            line.setLength(line.length() - 1);
+            skipWhitespace = true;
+            appendedLineBegin = true;
+            precedingBackslash = false;
+            skipLF = c == '\r';
+        }
+        if (commentLine || line.length() == 0) {
+            return false;
+        }
+        if (precedingBackslash) {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (this.position >= this.limit) {
+            this.limit = this.reader.read(this.buffer, 0, BUFFER_SIZE);
+            this.position = 0;
+            if (this.limit < 1) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+        return this.buffer[this.position++];
+    }
+
+    private String unescape(int start, int end) {
+        StringBuilder line = this.line;
+        int index = start;
+        while (index < end && line.charAt(index) != '\\') {
+            index++;
+        }
+        if (index == end) { // No escape
+            return line.substring(start, end);
+        }
+        StringBuilder chars = this.chars;
+        chars.setLength(0);
+        chars.append(line, start, index);
+        while (index < end) {
+            char c = line.charAt(index++);
+            if (c != '\\' || index == end) {
+                chars.append(c);
+                continue;
+            }
+            c = line.charAt(index++);
+            switch (c) {
+                case 'u':
+                    if (index + 4 > end) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(line.charAt(index++), 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                        }
+                        value = (value << 4) | digit;
+                    }
+                    chars.append((char) value);
+                    break;
+                case 't':
+                    chars.append('\t');
+                    break;
+                case 'r':
+                    chars.append('\r');
+                    break;
+                case 'n':
+                    chars.append('\n');
+                    break;
+                case 'f':
+                    chars.append('\f');
+                    break;
+                default:
+                    chars.append(c);
+            }
+        }
+        return chars.toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.i18n.text.LocaleFormats.ArgumentFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The {@link MessageFormatter} that extends the {@link MessagePattern#PLACEHOLDER "{}"} placeholders with the typed
+ * ones, which format the arguments in the {@link Locale} of the message:
+ * <ul>
+ *     <li>{@code "{n}"}, {@code "{n:integer}"} and {@code "{n:percent}"} format the {@link Number numbers}</li>
+ *     <li>{@code "{d}"}, {@code "{t}"} and {@code "{dt}"} format the date, the time and the date-time of the
+ *     {@link java.time.temporal.TemporalAccessor temporals} and the {@link java.util.Date dates}, in the style of
+ *     {@code "short"}, {@code "medium"}(default), {@code "long"}, {@code "full"} or {@code "iso"}, e.g.
+ *     {@code "{d:short}"} and {@code "{t:iso}"}</li>
+ * </ul>
+ * The placeholders take the arguments in order as {@code "{}"} does, the unknown ones, e.g. {@code "{0}"}, are kept
+ * as the literals. The formatters of each {@link Locale} are built once and cached, thus they are built when the
+ * message patterns of the source are compiled, the formatting only appends the segments and the formatted arguments.
+ * The pattern without any typed placeholder is compiled into the {@link MessagePattern}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   DefaultServiceMessageSource source = new DefaultServiceMessageSource("test");
+ *   source.setMessageFormatter(new TypedMessageFormatter());
+ *   source.init();
+ *   // "1,234 orders since 1/31/24" for "test.orders = {n} orders since {d:short}"
+ *   source.getMessage("orders", Locale.ENGLISH, 1234, LocalDate.of(2024, 1, 31));
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessagePattern
+ * @see MessageFormatter
+ * @since 1.0.0
+ */
+public class TypedMessageFormatter implements MessageFormatter {
+
+    private static final ArgumentFormat PLAIN_FORMAT = String::valueOf;
+
+    @Nonnull
+    @Override
+    public CompiledMessage compile(String pattern, Locale locale) {
+        assertNotNull(pattern, () -> "The 'pattern' argument must not be null");
+        LocaleFormats localeFormats = LocaleFormats.of(locale);
+        List<String> segments = new ArrayList<>(4);
+        List<String> placeholders = new ArrayList<>(4);
+        List<ArgumentFormat> argumentFormats = new ArrayList<>(4);
+        boolean typed = false;
+        int start = 0;
+        int index = pattern.indexOf('{');
+        while (index > -1) {
+            int end = pattern.indexOf('}', index + 1);
+            if (end < 0) {
+                break;
+            }
+            ArgumentFormat argumentFormat = getArgumentFormat(localeFormats, pattern.substring(index + 1, end));
+            if (argumentFormat == null) { // The literal, e.g. "{0}"
+                index = pattern.indexOf('{', index + 1);
+                continue;
+            }
+            typed |= argumentFormat != PLAIN_FORMAT;
+            segments.add(pattern.substring(start, index));
+            placeholders.add(pattern.substring(index, end + 1));
+            argumentFormats.add(argumentFormat);
+            start = end + 1;
+            index = pattern.indexOf('{', start);
+        }
+        if (!typed) {
+            return MessagePattern.compile(pattern);
+        }
+        segments.add(pattern.substring(start));
+        return new TypedMessage(pattern, segments.toArray(new String[0]), placeholders.toArray(new String[0]),
+                argumentFormats.toArray(new ArgumentFormat[0]));
+    }
+
+    private static ArgumentFormat getArgumentFormat(LocaleFormats localeFormats, String placeholder) {
+        if (placeholder.isEmpty()) {
+            return PLAIN_FORMAT;
+        }
+        int colonIndex = placeholder.indexOf(':');
+        return colonIndex < 0 ? localeFormats.getArgumentFormat(placeholder, null) :
+                localeFormats.getArgumentFormat(placeholder.substring(0, colonIndex), placeholder.substring(colonIndex + 1));
+    }
+
+    /**
+     * The message compiled with the typed placeholders
+     */
+    private static final class TypedMessage implements CompiledMessage {
+
+        private final String pattern;
+
+        /**
+         * The literal segments between the placeholders, its length is the count of the placeholders plus one
+         */
+        private final String[] segments;
+
+        /**
+         * The placeholders that are kept if the corresponding arguments are absent
+         */
+        private final String[] placeholders;
+
+        private final ArgumentFormat[] argumentFormats;
+
+        TypedMessage(String pattern, String[] segments, String[] placeholders, ArgumentFormat[] argumentFormats) {
+            this.pattern = pattern;
+            this.segments = segments;
+            this.placeholders = placeholders;
+            this.argumentFormats = argumentFormats;
+        }
+
+        @Override
+        public String format(Object... args) {
+            StringBuilder messageBuilder = new StringBuilder(this.pattern.length() + this.argumentFormats.length * 8);
+            try {
+                formatTo(messageBuilder, args);
+            } catch (IOException e) { // never happens
+                throw new IllegalStateException(e);
+            }
+            return messageBuilder.toString();
+        }
+
+        @Override
+        public void formatTo(Appendable out, Object... args) throws IOException {
+            String[] segments = this.segments;
+            ArgumentFormat[] argumentFormats = this.argumentFormats;
+            int argsLength = args == null ? 0 : args.length;
+            out.append(segments[0]);
+            for (int i = 0; i < argumentFormats.length; i++) {
+                out.append(i < argsLength ? argumentFormats[i].format(args[i]) : this.placeholders[i]);
+                out.append(segments[i + 1]);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.pattern;
+        }
+    }
+}
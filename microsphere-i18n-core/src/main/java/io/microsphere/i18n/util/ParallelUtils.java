@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.util;
+
+import io.microsphere.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The utilities class for running the tasks in parallel, e.g. loading the resources of the
+ * {@link io.microsphere.i18n.ServiceMessageSource sources} and the {@link java.util.Locale locales} on the initialization.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ExecutorService executor = Executors.newFixedThreadPool(4);
+ *   ParallelUtils.runAll(executor, Arrays.asList(source1::init, source2::init));
+ *   // Both sources are initialized
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public abstract class ParallelUtils {
+
+    /**
+     * Runs the specified tasks on the {@link Executor} and blocks until all of them are completed. The caller thread
+     * runs the tasks that have not been started by the {@link Executor} yet rather than idles, thus the nested
+     * invocations on the same bounded {@link Executor} would not deadlock, and the tasks rejected by the
+     * {@link Executor} are run by the caller.
+     *
+     * @param executor the {@link Executor}, {@code null} if the tasks run in the caller thread sequentially
+     * @param tasks    the tasks
+     * @throws RuntimeException the first failure of the tasks after all tasks are completed
+     */
+    public static void runAll(@Nullable Executor executor, Collection<? extends Runnable> tasks) {
+        assertNotNull(tasks, () -> "The 'tasks' argument must not be null");
+        if (executor == null || tasks.size() < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        List<FutureTask<Void>> futureTasks = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            FutureTask<Void> futureTask = new FutureTask<>(task, null);
+            futureTasks.add(futureTask);
+            try {
+                executor.execute(futureTask);
+            } catch (RejectedExecutionException e) {
+                // The rejected task will be run by the caller
+            }
+        }
+        RuntimeException failure = null;
+        for (FutureTask<Void> futureTask : futureTasks) {
+            // No-op if the task has been started by the executor
+            futureTask.run();
+            try {
+                futureTask.get();
+            } catch (ExecutionException e) {
+                failure = merge(failure, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = merge(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException merge(RuntimeException failure, Throwable cause) {
+        if (failure == null) {
+            return cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        }
+        failure.addSuppressed(cause);
+        return failure;
+    }
+
+    private ParallelUtils() {
+    }
+}
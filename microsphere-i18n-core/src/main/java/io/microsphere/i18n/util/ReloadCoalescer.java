@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.util;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Consumer;
+
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The coalescer of the reloads, which merges the changed names, e.g. the property names or the resources, that are
+ * submitted in a burst, and runs one reload with all of them once no more name is submitted in the quiet period.
+ * The reload is deferred {@link #MAX_DELAY_FACTOR ten} quiet periods at most, thus a continuous burst could not
+ * starve it. The reloads run one by one on the single daemon thread of the coalescer.
+ * <p>
+ * If the quiet period is zero, the reload runs in the caller thread immediately without coalescing.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ReloadCoalescer coalescer = new ReloadCoalescer(200, names -> reloadAll(beanFactory, names));
+ *   coalescer.submit(Arrays.asList("test.i18n_messages_en.properties"));
+ *   CompletableFuture<Void> future = coalescer.submit(Arrays.asList("test.i18n_messages_zh.properties"));
+ *   future.join(); // Both resources are reloaded by one reload
+ *   coalescer.close();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class ReloadCoalescer implements AutoCloseable {
+
+    /**
+     * The max delay of the reload in quiet periods
+     */
+    public static final int MAX_DELAY_FACTOR = 10;
+
+    private final long quietPeriod;
+
+    private final Consumer<Set<String>> reloader;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * The changed names that are pending to reload, guarded by {@code this}
+     */
+    private Set<String> pendingNames = new LinkedHashSet<>();
+
+    /**
+     * The future of the pending reload, guarded by {@code this}
+     */
+    private CompletableFuture<Void> pendingFuture;
+
+    /**
+     * The scheduled reload, guarded by {@code this}
+     */
+    private ScheduledFuture<?> scheduledReload;
+
+    /**
+     * The time in nanoseconds when the first name of the pending reload was submitted, guarded by {@code this}
+     */
+    private long firstSubmittedTime;
+
+    private boolean closed;
+
+    /**
+     * Constructs the coalescer
+     *
+     * @param quietPeriod the quiet period in milliseconds, zero if the reload is not coalesced
+     * @param reloader    the reloader of the merged changed names
+     * @throws IllegalArgumentException if the quiet period is negative or the reloader is {@code null}
+     */
+    public ReloadCoalescer(long quietPeriod, Consumer<Set<String>> reloader) {
+        assertTrue(quietPeriod >= 0, () -> "The 'quietPeriod' argument must not be negative");
+        assertNotNull(reloader, () -> "The 'reloader' argument must not be null");
+        this.quietPeriod = quietPeriod;
+        this.reloader = reloader;
+        this.scheduler = quietPeriod > 0 ? newScheduler() : null;
+    }
+
+    /**
+     * Submits the changed names, which are merged into the pending reload, and defers the pending reload until the
+     * quiet period elapses
+     *
+     * @param changedNames the changed names
+     * @return the future of the reload that covers the changed names, which is shared by the submissions of the same
+     * burst
+     */
+    @Nonnull
+    public CompletableFuture<Void> submit(Collection<String> changedNames) {
+        assertNotNull(changedNames, () -> "The 'changedNames' argument must not be null");
+        if (this.scheduler == null) {
+            this.reloader.accept(unmodifiableSet(new LinkedHashSet<>(changedNames)));
+            return completedFuture(null);
+        }
+        synchronized (this) {
+            if (this.closed) {
+                return completedFuture(null);
+            }
+            long now = nanoTime();
+            if (this.pendingFuture == null) {
+                this.pendingFuture = new CompletableFuture<>();
+                this.firstSubmittedTime = now;
+            } else {
+                this.scheduledReload.cancel(false);
+            }
+            this.pendingNames.addAll(changedNames);
+            long deadline = this.firstSubmittedTime + MILLISECONDS.toNanos(this.quietPeriod * MAX_DELAY_FACTOR);
+            long delay = min(MILLISECONDS.toNanos(this.quietPeriod), deadline - now);
+            this.scheduledReload = this.scheduler.schedule(this::reload, delay, NANOSECONDS);
+            return this.pendingFuture;
+        }
+    }
+
+    /**
+     * Get the quiet period in milliseconds
+     *
+     * @return the quiet period in milliseconds
+     */
+    public long getQuietPeriod() {
+        return this.quietPeriod;
+    }
+
+    /**
+     * Discards the pending reload and stops the coalescer, the future of the pending reload is cancelled
+     */
+    @Override
+    public void close() {
+        CompletableFuture<Void> pendingFuture;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            pendingFuture = this.pendingFuture;
+            this.pendingFuture = null;
+            this.pendingNames = new LinkedHashSet<>();
+        }
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+        if (pendingFuture != null) {
+            pendingFuture.cancel(false);
+        }
+    }
+
+    private void reload() {
+        Set<String> changedNames;
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            if (this.pendingFuture == null) {
+                return;
+            }
+            changedNames = this.pendingNames;
+            future = this.pendingFuture;
+            this.pendingNames = new LinkedHashSet<>();
+            this.pendingFuture = null;
+            this.scheduledReload = null;
+        }
+        try {
+            this.reloader.accept(unmodifiableSet(changedNames));
+            future.complete(null);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "microsphere-i18n-reload-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
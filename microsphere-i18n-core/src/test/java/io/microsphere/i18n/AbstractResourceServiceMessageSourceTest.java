@@ -17,11 +17,21 @@
 
 package io.microsphere.i18n;
 
+import io.microsphere.i18n.text.MessagePattern;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
+import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.i18n.AbstractI18nTest.TEST_SOURCE;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRANCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -39,6 +49,66 @@ class AbstractResourceServiceMessageSourceTest {
         assertThrows(IllegalArgumentException.class, serviceMessageSource::initialize);
     }
 
+    @Test
+    void testGetEffectiveMessagePatterns() {
+        Locale australia = new Locale("en", "AU");
+        InMemoryResourceServiceMessageSource serviceMessageSource = new InMemoryResourceServiceMessageSource(TEST_SOURCE);
+        serviceMessageSource.setSupportedLocales(ofList(australia, ENGLISH));
+        serviceMessageSource.setDefaultLocale(ENGLISH);
+        serviceMessageSource.putMessage(ENGLISH, "test.a", "test-a");
+        serviceMessageSource.putMessage(ENGLISH, "test.hello", "Hello,{}");
+        serviceMessageSource.putMessage(australia, "test.hello", "G'day,{}");
+        serviceMessageSource.init();
+
+        Map<String, MessagePattern> englishPatterns = serviceMessageSource.getEffectiveMessagePatterns(ENGLISH);
+        assertSame(serviceMessageSource.getMessagePatterns(ENGLISH), englishPatterns);
+        Map<String, MessagePattern> australiaPatterns = serviceMessageSource.getEffectiveMessagePatterns(australia);
+        assertEquals(2, australiaPatterns.size());
+        assertEquals("G'day,World", serviceMessageSource.getMessage("hello", australia, "World"));
+        assertEquals("test-a", serviceMessageSource.getMessage("a", australia));
+        assertNull(serviceMessageSource.getMessage("not-found", australia));
+        assertNull(serviceMessageSource.getEffectiveMessagePatterns(FRANCE));
+
+        // Only the effective message patterns whose fallback chain contains the reloaded resource are rebuilt
+        serviceMessageSource.putMessage(australia, "test.hello", "Hi,{}");
+        serviceMessageSource.initializeResource(serviceMessageSource.getResource(australia));
+        assertSame(englishPatterns, serviceMessageSource.getEffectiveMessagePatterns(ENGLISH));
+        assertNotSame(australiaPatterns, serviceMessageSource.getEffectiveMessagePatterns(australia));
+        assertEquals("Hi,World", serviceMessageSource.getMessage("hello", australia, "World"));
+
+        serviceMessageSource.putMessage(ENGLISH, "test.a", "a");
+        serviceMessageSource.initializeResource(serviceMessageSource.getResource(ENGLISH));
+        assertEquals("a", serviceMessageSource.getMessage("a", australia));
+
+        // The effective message patterns are rebuilt after the fallback chains changed
+        assertNull(serviceMessageSource.getMessage("a", FRANCE));
+        serviceMessageSource.setFallbackToDefaultLocale(true);
+        assertEquals("a", serviceMessageSource.getMessage("a", FRANCE));
+    }
+
+    static class InMemoryResourceServiceMessageSource extends AbstractResourceServiceMessageSource {
+
+        private final Map<String, Map<String, String>> resourceMessages = new HashMap<>();
+
+        InMemoryResourceServiceMessageSource(String source) {
+            super(source);
+        }
+
+        void putMessage(Locale locale, String code, String message) {
+            this.resourceMessages.computeIfAbsent(getResource(locale), resource -> new HashMap<>()).put(code, message);
+        }
+
+        @Override
+        protected String getResource(String resourceName) {
+            return resourceName;
+        }
+
+        @Override
+        protected Map<String, String> loadMessages(String resource) {
+            return new HashMap<>(this.resourceMessages.getOrDefault(resource, new HashMap<>()));
+        }
+    }
+
     static class TestAbstractResourceServiceMessageSource extends AbstractResourceServiceMessageSource {
 
         TestAbstractResourceServiceMessageSource(String source) {
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.i18n.AbstractI18nTest.TEST_SOURCE;
+import static io.microsphere.i18n.EmptyServiceMessageSource.INSTANCE;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static java.util.Locale.UK;
+import static java.util.Locale.US;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CachingServiceMessageSource} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CachingServiceMessageSource
+ * @since 1.0.0
+ */
+class CachingServiceMessageSourceTest {
+
+    private DefaultServiceMessageSource defaultServiceMessageSource;
+
+    private CachingServiceMessageSource cachingServiceMessageSource;
+
+    @BeforeEach
+    void setUp() {
+        this.defaultServiceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE);
+        this.cachingServiceMessageSource = new CachingServiceMessageSource(this.defaultServiceMessageSource, 5);
+        this.cachingServiceMessageSource.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.cachingServiceMessageSource.destroy();
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingServiceMessageSource(null));
+        assertThrows(IllegalArgumentException.class, () -> new CachingServiceMessageSource(INSTANCE, 0));
+        assertEquals(CachingServiceMessageSource.DEFAULT_MAXIMUM_SIZE, new CachingServiceMessageSource(INSTANCE).getMaximumSize());
+        assertSame(this.defaultServiceMessageSource, this.cachingServiceMessageSource.getDelegate());
+    }
+
+    @Test
+    void testGetMessage() {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        // The UK Locale is resolved to the supported English Locale
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", UK, "World"));
+        assertEquals("Hello,1", serviceMessageSource.getMessage("hello", ENGLISH, 1));
+        assertEquals("Hello,1", serviceMessageSource.getMessage("hello", ENGLISH, 1));
+        assertEquals(3, serviceMessageSource.getHitCount());
+        assertEquals(2, serviceMessageSource.getMissCount());
+        assertEquals(2, serviceMessageSource.size());
+
+        // The message not found is not cached
+        assertNull(serviceMessageSource.getMessage("not-found", ENGLISH));
+        assertNull(serviceMessageSource.getMessage(null, ENGLISH));
+        assertEquals(3, serviceMessageSource.getMissCount());
+        assertEquals(2, serviceMessageSource.size());
+
+        // The mutable argument is not admitted
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, new StringBuilder("World")));
+        assertEquals(3, serviceMessageSource.getMissCount());
+        assertEquals(2, serviceMessageSource.size());
+    }
+
+    @Test
+    void testGetMessageWithResolvedLocale() {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        Locale posix = new Locale("en", "US", "POSIX");
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", posix, "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", US, "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", posix, "World"));
+        assertEquals(2, serviceMessageSource.getHitCount());
+        assertEquals(1, serviceMessageSource.getMissCount());
+        assertEquals(1, serviceMessageSource.size());
+
+        // The supported Locale is not shared with the others
+        assertEquals("您好,World", serviceMessageSource.getMessage("hello", SIMPLIFIED_CHINESE, "World"));
+        assertEquals(2, serviceMessageSource.getMissCount());
+        assertEquals(2, serviceMessageSource.size());
+    }
+
+    @Test
+    void testGetMessageConcurrently() throws Exception {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String arg = "arg-" + (i % 8);
+                        assertEquals("Hello," + arg, serviceMessageSource.getMessage("hello", ENGLISH, arg));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(serviceMessageSource.size() <= serviceMessageSource.getMaximumSize());
+        assertEquals(4000, serviceMessageSource.getHitCount() + serviceMessageSource.getMissCount());
+    }
+
+    @Test
+    void testIsCacheable() {
+        assertTrue(CachingServiceMessageSource.isCacheable(null));
+        assertTrue(CachingServiceMessageSource.isCacheable(new Object[]{"a", 1, 1L, true, 'c', (short) 1, (byte) 1,
+                1.0d, 1.0f, TimeUnit.SECONDS, null}));
+        assertFalse(CachingServiceMessageSource.isCacheable(new Object[]{"a", new StringBuilder()}));
+        assertFalse(CachingServiceMessageSource.isCacheable(new Object[]{new int[0]}));
+    }
+
+    @Test
+    void testEviction() {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        // The frequently used message is promoted
+        serviceMessageSource.getMessage("hello", ENGLISH, "hot");
+        serviceMessageSource.getMessage("hello", ENGLISH, "hot");
+        // The scan of the one-off messages
+        for (int i = 0; i < 10; i++) {
+            serviceMessageSource.getMessage("hello", ENGLISH, "cold-" + i);
+        }
+        assertEquals(5, serviceMessageSource.size());
+        assertEquals(6, serviceMessageSource.getEvictionCount());
+
+        long hitCount = serviceMessageSource.getHitCount();
+        assertEquals("Hello,hot", serviceMessageSource.getMessage("hello", ENGLISH, "hot"));
+        assertEquals(hitCount + 1, serviceMessageSource.getHitCount());
+    }
+
+    @Test
+    void testInvalidate() {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        serviceMessageSource.invalidate();
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        assertEquals(0, serviceMessageSource.getHitCount());
+        assertEquals(2, serviceMessageSource.getMissCount());
+
+        // The resources of the delegate are reloaded
+        List<String> resources = new ArrayList<>(this.defaultServiceMessageSource.getInitializedResources());
+        assertTrue(serviceMessageSource.canReload(resources));
+        serviceMessageSource.reload(resources);
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        assertEquals(0, serviceMessageSource.getHitCount());
+
+        // The resources of the delegate are reloaded directly
+        this.defaultServiceMessageSource.reload(resources);
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        assertEquals(0, serviceMessageSource.getHitCount());
+
+        serviceMessageSource.reloadAsync(resources, Runnable::run).join();
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        assertEquals(0, serviceMessageSource.getHitCount());
+        assertEquals(5, serviceMessageSource.getMissCount());
+    }
+
+    @Test
+    void testInvalidateOnCompositeVersion() {
+        CompositeServiceMessageSource compositeServiceMessageSource =
+                new CompositeServiceMessageSource(ofList(this.defaultServiceMessageSource));
+        CachingServiceMessageSource serviceMessageSource = new CachingServiceMessageSource(compositeServiceMessageSource);
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        serviceMessageSource.getMessage("hello", ENGLISH, "World");
+        assertEquals(1, serviceMessageSource.getHitCount());
+
+        compositeServiceMessageSource.setServiceMessageSources(ofList(INSTANCE));
+        assertNull(serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals(1, serviceMessageSource.getHitCount());
+    }
+
+    @Test
+    void testDelegatingMethods() {
+        CachingServiceMessageSource serviceMessageSource = this.cachingServiceMessageSource;
+        assertEquals(this.defaultServiceMessageSource.getLocale(), serviceMessageSource.getLocale());
+        assertEquals(this.defaultServiceMessageSource.getDefaultLocale(), serviceMessageSource.getDefaultLocale());
+        assertEquals(this.defaultServiceMessageSource.getSupportedLocales(), serviceMessageSource.getSupportedLocales());
+        assertEquals(this.defaultServiceMessageSource.getMessageCodes(), serviceMessageSource.getMessageCodes());
+        assertEquals(this.defaultServiceMessageSource.getInitializedResources(), serviceMessageSource.getInitializedResources());
+        assertEquals(this.defaultServiceMessageSource.getEncoding(), serviceMessageSource.getEncoding());
+        assertEquals(TEST_SOURCE, serviceMessageSource.getSource());
+        assertEquals(this.defaultServiceMessageSource.getPriority(), serviceMessageSource.getPriority());
+
+        CachingServiceMessageSource emptyServiceMessageSource = new CachingServiceMessageSource(INSTANCE);
+        assertFalse(emptyServiceMessageSource.canReload("any"));
+        assertTrue(emptyServiceMessageSource.getInitializedResources().isEmpty());
+        emptyServiceMessageSource.reload("any");
+        emptyServiceMessageSource.reloadAsync(ofList("any"), Runnable::run).join();
+    }
+}
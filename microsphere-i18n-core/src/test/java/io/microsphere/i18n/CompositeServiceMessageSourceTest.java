@@ -22,10 +22,16 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import static io.microsphere.collection.ListUtils.ofList;
@@ -39,6 +45,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Locale.ENGLISH;
 import static java.util.Locale.getDefault;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -95,6 +102,98 @@ class CompositeServiceMessageSourceTest {
         assertGetMessage(null);
     }
 
+    @Test
+    void testGetMessageWithFixedArity() {
+        CompositeServiceMessageSource serviceMessageSource = this.compositeServiceMessageSource;
+        assertEquals(serviceMessageSource.getMessage("a", ENGLISH, new Object[0]), serviceMessageSource.getMessage("a", ENGLISH));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, (Object) "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!", "?"));
+        assertEquals("Hello,1", serviceMessageSource.getMessage("hello", ENGLISH, 1));
+        assertEquals("Hello,1", serviceMessageSource.getMessage("hello", ENGLISH, 1L));
+        assertEquals("Hello,x", serviceMessageSource.getMessage("hello", ENGLISH, 'x'));
+        assertNull(serviceMessageSource.getMessage("not-found", ENGLISH, 1));
+        assertNull(this.emptyCompositeServiceMessageSource.getMessage("hello", ENGLISH, 1L));
+    }
+
+    @Test
+    void testAppendMessage() {
+        StringBuilder out = new StringBuilder();
+        assertTrue(this.compositeServiceMessageSource.appendMessage(out, "a", ENGLISH));
+        assertTrue(this.compositeServiceMessageSource.appendMessage(out, "hello", ENGLISH, "World"));
+        assertFalse(this.compositeServiceMessageSource.appendMessage(out, "not-found", ENGLISH));
+        assertFalse(this.compositeServiceMessageSource.appendMessage(out, null, ENGLISH));
+        assertFalse(this.emptyCompositeServiceMessageSource.appendMessage(out, "a", ENGLISH));
+        assertEquals(this.compositeServiceMessageSource.getMessage("a", ENGLISH) +
+                this.compositeServiceMessageSource.getMessage("hello", ENGLISH, "World"), out.toString());
+    }
+
+    @Test
+    void testGetMessageWithRouting() {
+        List<String> routedCodes = new ArrayList<>();
+        // The codes of TestServiceMessageSource can't be enumerated, it's always routed
+        TestServiceMessageSource testServiceMessageSource = new TestServiceMessageSource() {
+            @Override
+            public String getMessage(String code, Locale locale, Object... args) {
+                routedCodes.add(code);
+                return null;
+            }
+        };
+        CompositeServiceMessageSource compositeServiceMessageSource =
+                new CompositeServiceMessageSource(ofList(INSTANCE, testServiceMessageSource, this.defaultServiceMessageSource));
+
+        assertEquals("Hello,World", compositeServiceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals("Hello,World", compositeServiceMessageSource.getMessage("test.hello", ENGLISH, "World"));
+        assertEquals("test-a", compositeServiceMessageSource.getMessage("a", ENGLISH));
+        assertNull(compositeServiceMessageSource.getMessage("not-found", ENGLISH));
+        assertEquals(ofList("hello", "test.hello", "a", "not-found"), routedCodes);
+
+        // The unknown code is rejected without any delegate
+        compositeServiceMessageSource.setServiceMessageSources(ofList(INSTANCE, this.defaultServiceMessageSource));
+        assertNull(compositeServiceMessageSource.getMessage("not-found", ENGLISH));
+        assertEquals("test-a", compositeServiceMessageSource.getMessage("a", ENGLISH));
+    }
+
+    @Test
+    void testGetMessageCodes() {
+        // TestReloadableResourceServiceMessageSource can't enumerate its codes
+        assertNull(this.compositeServiceMessageSource.getMessageCodes());
+        assertTrue(this.emptyCompositeServiceMessageSource.getMessageCodes().isEmpty());
+
+        CompositeServiceMessageSource compositeServiceMessageSource =
+                new CompositeServiceMessageSource(ofList(INSTANCE, this.defaultServiceMessageSource));
+        assertEquals(this.defaultServiceMessageSource.getMessageCodes(), compositeServiceMessageSource.getMessageCodes());
+    }
+
+    @Test
+    void testRoutingIndexOnResourcesInitialized() {
+        DefaultServiceMessageSource defaultServiceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE);
+        CompositeServiceMessageSource nestedServiceMessageSource = new CompositeServiceMessageSource(ofList(defaultServiceMessageSource));
+        CompositeServiceMessageSource compositeServiceMessageSource = new CompositeServiceMessageSource(ofList(nestedServiceMessageSource));
+        List<Iterable<String>> initializedResources = new ArrayList<>();
+        ResourceServiceMessageSourceListener listener = (source, resources) -> {
+            assertSame(compositeServiceMessageSource, source);
+            initializedResources.add(resources);
+        };
+        compositeServiceMessageSource.addListener(listener);
+
+        // The routing index is built before the leaf is initialized
+        assertNull(compositeServiceMessageSource.getMessage("a", ENGLISH));
+
+        defaultServiceMessageSource.init();
+        assertEquals(1, initializedResources.size());
+        assertEquals("test-a", compositeServiceMessageSource.getMessage("a", ENGLISH));
+
+        compositeServiceMessageSource.removeListener(listener);
+        defaultServiceMessageSource.initializeResources(this.resources);
+        assertEquals(1, initializedResources.size());
+        assertEquals("test-a", compositeServiceMessageSource.getMessage("a", ENGLISH));
+
+        // The replaced delegates are not listened anymore
+        compositeServiceMessageSource.setServiceMessageSources(ofList(INSTANCE));
+        assertNull(compositeServiceMessageSource.getMessage("a", ENGLISH));
+    }
+
     @Test
     void testGetLocale() {
         assertEquals(getDefault(), this.compositeServiceMessageSource.getLocale());
@@ -131,6 +230,32 @@ class CompositeServiceMessageSourceTest {
         this.emptyCompositeServiceMessageSource.setServiceMessageSources(emptyList());
     }
 
+    @Test
+    void testSetServiceMessageSourcesKeepsPinnedList() {
+        List<ServiceMessageSource> serviceMessageSources = this.compositeServiceMessageSource.getServiceMessageSources();
+        long version = this.compositeServiceMessageSource.getVersion();
+        this.compositeServiceMessageSource.setServiceMessageSources(emptyList());
+        assertTrue(this.compositeServiceMessageSource.getVersion() > version);
+        assertTrue(this.compositeServiceMessageSource.getServiceMessageSources().isEmpty());
+        // The list pinned by the readers is not cleared
+        assertEquals(3, serviceMessageSources.size());
+    }
+
+    @Test
+    void testGetVersion() {
+        long version = this.compositeServiceMessageSource.getVersion();
+        assertTrue(version > 0);
+        assertEquals(version, this.compositeServiceMessageSource.getVersion());
+
+        // The version is bumped once per reload
+        this.compositeServiceMessageSource.reload(this.resources);
+        assertEquals(version + 1, this.compositeServiceMessageSource.getVersion());
+
+        this.compositeServiceMessageSource.destroy();
+        assertTrue(this.compositeServiceMessageSource.getVersion() > version + 1);
+        assertTrue(this.compositeServiceMessageSource.getServiceMessageSources().isEmpty());
+    }
+
     @Test
     void testReload() {
         this.compositeServiceMessageSource.reload(this.resources);
@@ -142,6 +267,46 @@ class CompositeServiceMessageSourceTest {
         assertReload(this.emptyCompositeServiceMessageSource);
     }
 
+    @Test
+    void testReloadInTwoPhases() {
+        AtomicInteger generation = new AtomicInteger();
+        AtomicReference<CompositeServiceMessageSource> compositeReference = new AtomicReference<>();
+        List<String> observedMessages = new CopyOnWriteArrayList<>();
+        List<ServiceMessageSource> serviceMessageSources = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            int index = i;
+            serviceMessageSources.add(new DefaultServiceMessageSource(TEST_SOURCE) {
+                @Override
+                public int getPriority() {
+                    return index;
+                }
+
+                @Override
+                protected List<Reader> loadAllPropertiesResources(String resource) {
+                    CompositeServiceMessageSource compositeServiceMessageSource = compositeReference.get();
+                    if (compositeServiceMessageSource != null) {
+                        observedMessages.add(compositeServiceMessageSource.getMessage("c0", ENGLISH));
+                    }
+                    return ofList(new StringReader("test.c" + index + "=v" + generation.get()));
+                }
+            });
+        }
+        CompositeServiceMessageSource compositeServiceMessageSource = new CompositeServiceMessageSource(serviceMessageSources);
+        compositeServiceMessageSource.init();
+        assertEquals("v0", compositeServiceMessageSource.getMessage("c0", ENGLISH));
+        assertEquals("v0", compositeServiceMessageSource.getMessage("c1", ENGLISH));
+
+        compositeReference.set(compositeServiceMessageSource);
+        generation.incrementAndGet();
+        compositeServiceMessageSource.reload(((DefaultServiceMessageSource) serviceMessageSources.get(0)).getInitializedResources());
+        // The first delegate is not published until all delegates loaded the resources
+        assertFalse(observedMessages.isEmpty());
+        assertTrue(observedMessages.stream().allMatch("v0"::equals));
+        assertEquals("v1", compositeServiceMessageSource.getMessage("c0", ENGLISH));
+        assertEquals("v1", compositeServiceMessageSource.getMessage("c1", ENGLISH));
+        compositeServiceMessageSource.destroy();
+    }
+
     @Test
     void testCanReload() {
         assertTrue(this.compositeServiceMessageSource.canReload(this.resources));
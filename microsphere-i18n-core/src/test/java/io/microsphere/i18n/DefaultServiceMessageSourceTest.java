@@ -1,19 +1,58 @@
 package io.microsphere.i18n;
 
+import io.microsphere.i18n.catalog.BinaryMessageCatalogWriter;
+import io.microsphere.i18n.catalog.CompactMessagePatterns;
+import io.microsphere.i18n.catalog.MessagePool;
+import io.microsphere.i18n.catalog.ResourceIndex;
+import io.microsphere.i18n.text.JdkMessageFormatter;
+import io.microsphere.i18n.text.MessagePattern;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.text.MessagePattern.compile;
 import static io.microsphere.util.ClassLoaderUtils.getDefaultClassLoader;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static java.util.Locale.CHINESE;
 import static java.util.Locale.ENGLISH;
 import static java.util.Locale.FRANCE;
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.GERMANY;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static java.util.Locale.UK;
 import static java.util.Locale.getDefault;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -39,6 +78,197 @@ class DefaultServiceMessageSourceTest extends ReloadableResourceServiceMessageSo
 
         assertEquals("测试-a", serviceMessageSource.getMessage("a"));
         assertEquals("您好,World", serviceMessageSource.getMessage("hello", "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("test.hello", UK, "World"));
+        assertNull(serviceMessageSource.getMessage("not-found", ENGLISH));
+        assertNull(serviceMessageSource.getMessage("a", FRANCE));
+    }
+
+    @Test
+    void testGetMessageWithFixedArity() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        assertEquals("test-a", serviceMessageSource.getMessage("a", ENGLISH));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, (Object) "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("test.hello", UK, "World", "!"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!", "?"));
+        assertEquals("Hello,100", serviceMessageSource.getMessage("hello", ENGLISH, 100));
+        assertEquals("Hello,100", serviceMessageSource.getMessage("hello", ENGLISH, 100L));
+        assertEquals("Hello,x", serviceMessageSource.getMessage("hello", ENGLISH, 'x'));
+        assertEquals(serviceMessageSource.getMessage("hello", ENGLISH, new Object[]{100}),
+                serviceMessageSource.getMessage("hello", ENGLISH, 100));
+        assertNull(serviceMessageSource.getMessage("not-found", ENGLISH, 1));
+        assertNull(serviceMessageSource.getMessage("a", FRANCE, 1L));
+        assertNull(serviceMessageSource.getMessage(null, ENGLISH, "World"));
+    }
+
+    @Test
+    void testGetInternalMessageOverridden() {
+        List<String> loggedMessages = new CopyOnWriteArrayList<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
+                                                Object... args) {
+                String message = super.getInternalMessage(code, resolvedCode, locale, resolvedLocale, args);
+                return message == null ? null : "{" + message + "}";
+            }
+
+            @Override
+            protected String getInternalMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
+                                                int argumentCount, Object arg0, Object arg1, Object arg2) {
+                String message = super.getInternalMessage(code, resolvedCode, locale, resolvedLocale, argumentCount, arg0, arg1, arg2);
+                return message == null ? null : "[" + message + "]";
+            }
+
+            @Override
+            protected void logMessage(String code, String resolvedCode, Locale locale, Locale resolvedLocale,
+                                      Object[] args, String messagePattern, String message) {
+                loggedMessages.add(message);
+            }
+        };
+        serviceMessageSource.setDefaultLocale(ENGLISH);
+        serviceMessageSource.init();
+
+        // The fixed-arity overloads and the varargs one with as many arguments share the fixed-arity hook
+        assertEquals("[Hello,World]", serviceMessageSource.getMessage("hello", ENGLISH, (Object) "World"));
+        assertEquals("[Hello,World]", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!"));
+        assertEquals("[Hello,World]", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!", "?"));
+        assertEquals("[Hello,World]", serviceMessageSource.getMessage("hello", ENGLISH, new Object[]{"World", "!"}));
+        assertEquals("[Hello,1]", serviceMessageSource.getMessage("hello", ENGLISH, 1));
+        assertEquals("[Hello,1]", serviceMessageSource.getMessage("hello", ENGLISH, 1L));
+        assertEquals("[Hello,x]", serviceMessageSource.getMessage("hello", ENGLISH, 'x'));
+        assertEquals("[test-a]", serviceMessageSource.getMessage("a", ENGLISH));
+        assertNull(serviceMessageSource.getMessage("not-found", ENGLISH, 1));
+        assertEquals("{Hello,World}", serviceMessageSource.getMessage("hello", ENGLISH, "World", "!", "?", "."));
+
+        // The overridden logMessage is called by both hooks
+        assertEquals(ofList("Hello,World", "Hello,World", "Hello,World", "Hello,World", "Hello,1", "Hello,1",
+                "Hello,x", "test-a", "Hello,World"), loggedMessages);
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testAppendMessage() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        StringBuilder out = new StringBuilder();
+        assertTrue(serviceMessageSource.appendMessage(out, "a"));
+        assertTrue(serviceMessageSource.appendMessage(out.append('|'), "test.hello", UK, "World"));
+        assertFalse(serviceMessageSource.appendMessage(out, "not-found", ENGLISH));
+        assertFalse(serviceMessageSource.appendMessage(out, "a", FRANCE));
+        assertFalse(serviceMessageSource.appendMessage(out, null, ENGLISH));
+        assertEquals("测试-a|Hello,World", out.toString());
+
+        StringWriter writer = new StringWriter();
+        assertTrue(serviceMessageSource.appendMessage(writer, "hello", ENGLISH, "World"));
+        assertEquals(serviceMessageSource.getMessage("hello", ENGLISH, "World"), writer.toString());
+
+        Appendable closedAppendable = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) throws IOException {
+                throw new IOException("closed");
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                throw new IOException("closed");
+            }
+
+            @Override
+            public Appendable append(char c) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> serviceMessageSource.appendMessage(closedAppendable, "a"));
+        assertThrows(IllegalArgumentException.class, () -> serviceMessageSource.appendMessage(null, "a"));
+    }
+
+    @Test
+    void testMessageFormatter() {
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) {
+                if (resource.endsWith("_en.properties")) {
+                    return ofList(new StringReader("test.items={0,number} items\ntest.hello=Hello,{}"));
+                }
+                return emptyList();
+            }
+        };
+        serviceMessageSource.setSupportedLocales(ofList(ENGLISH, SIMPLIFIED_CHINESE));
+        serviceMessageSource.init();
+        assertNull(serviceMessageSource.getMessageFormatter());
+        assertEquals("{0,number} items", serviceMessageSource.getMessage("items", ENGLISH, 1234));
+
+        serviceMessageSource.setMessageFormatter(new JdkMessageFormatter());
+        assertNotNull(serviceMessageSource.getMessageFormatter());
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, 1234));
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, (Object) 1234));
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, 1234L));
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, new Object[]{1234}));
+        // The message of the fallback Locale is formatted in the Locale it is resolved in
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", UK, 1234));
+        // The "{}" placeholders are still supported
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        StringBuilder out = new StringBuilder();
+        assertTrue(serviceMessageSource.appendMessage(out, "items", ENGLISH, 1234));
+        assertEquals("1,234 items", out.toString());
+
+        // The message patterns are recompiled after reloading
+        serviceMessageSource.reload(serviceMessageSource.getResource(ENGLISH));
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, 1234));
+
+        // The compact catalog compiles the used messages on the lookup
+        serviceMessageSource.setCompactCatalog(true);
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", ENGLISH, 1234));
+        assertEquals("1,234 items", serviceMessageSource.getMessage("items", UK, 1234));
+        serviceMessageSource.setCompactCatalog(false);
+
+        serviceMessageSource.setMessageFormatter(null);
+        assertEquals("{0,number} items", serviceMessageSource.getMessage("items", ENGLISH, 1234));
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testMessageFormatterOnIncrementalReload() {
+        Map<String, String> contents = new HashMap<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) {
+                String content = contents.get(resource);
+                return content == null ? emptyList() : ofList(new StringReader(content));
+            }
+        };
+        List<String> compiledPatterns = new CopyOnWriteArrayList<>();
+        JdkMessageFormatter jdkMessageFormatter = new JdkMessageFormatter();
+        serviceMessageSource.setMessageFormatter((pattern, locale) -> {
+            compiledPatterns.add(locale + ":" + pattern);
+            return jdkMessageFormatter.compile(pattern, locale);
+        });
+        serviceMessageSource.setDefaultLocale(ENGLISH);
+        serviceMessageSource.setSupportedLocales(ofList(ENGLISH, SIMPLIFIED_CHINESE));
+        String resource = serviceMessageSource.getResource(ENGLISH);
+        contents.put(resource, "test.a={0,number}\ntest.b=b");
+        contents.put(serviceMessageSource.getResource(SIMPLIFIED_CHINESE), "test.a=a-{0}");
+        serviceMessageSource.init();
+        // The message patterns are compiled when they are published
+        assertEquals(ofSet("en:{0,number}", "en:b", "zh_CN:a-{0}"), new HashSet<>(compiledPatterns));
+        assertEquals("1,234", serviceMessageSource.getMessage("a", ENGLISH, 1234));
+        assertEquals(3, compiledPatterns.size());
+
+        // Only the changed message pattern is compiled
+        compiledPatterns.clear();
+        contents.put(resource, "test.a={0,number}\ntest.b=c");
+        serviceMessageSource.reload(resource);
+        assertEquals(ofList("en:c"), compiledPatterns);
+        assertEquals("c", serviceMessageSource.getMessage("b", ENGLISH));
+        assertEquals("a-1", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE, 1));
+        assertEquals(1, compiledPatterns.size());
+
+        // All message patterns are compiled by the new message formatter
+        compiledPatterns.clear();
+        serviceMessageSource.setMessageFormatter(jdkMessageFormatter);
+        assertTrue(compiledPatterns.isEmpty());
+        assertEquals("1,234", serviceMessageSource.getMessage("a", ENGLISH, 1234));
+        serviceMessageSource.destroy();
     }
 
     @Test
@@ -90,6 +320,443 @@ class DefaultServiceMessageSourceTest extends ReloadableResourceServiceMessageSo
         String code = "test.code";
         assertEquals(code, serviceMessageSource.resolveMessageCode(code));
         assertEquals(code, serviceMessageSource.resolveMessageCode("code"));
+        // The complete codes of the loaded messages are indexed
+        assertEquals("test.a", serviceMessageSource.resolveMessageCode("a"));
+        assertSame(serviceMessageSource.resolveMessageCode("a"), serviceMessageSource.resolveMessageCode("a"));
+    }
+
+    @Test
+    void testResolveLocale() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        assertSame(ENGLISH, serviceMessageSource.resolveLocale(ENGLISH));
+        assertSame(UK, serviceMessageSource.resolveLocale(UK));
+        assertEquals(UK, serviceMessageSource.resolveLocale(new Locale("en", "GB", "variant")));
+    }
+
+    @Test
+    void testGetFallbackLocales() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        assertArrayEquals(new Locale[]{SIMPLIFIED_CHINESE, CHINESE}, serviceMessageSource.getFallbackLocales(SIMPLIFIED_CHINESE));
+        assertSame(serviceMessageSource.getFallbackLocales(SIMPLIFIED_CHINESE), serviceMessageSource.getFallbackLocales(SIMPLIFIED_CHINESE));
+        assertArrayEquals(new Locale[]{UK, ENGLISH}, serviceMessageSource.getFallbackLocales(UK));
+        assertSame(serviceMessageSource.getFallbackLocales(UK), serviceMessageSource.getFallbackLocales(UK));
+        assertSame(ENGLISH, serviceMessageSource.getFallbackLocales(UK)[1]);
+        assertArrayEquals(new Locale[]{new Locale("en", "GB", "POSIX"), UK, ENGLISH},
+                serviceMessageSource.getFallbackLocales(new Locale("en", "GB", "POSIX")));
+        assertArrayEquals(new Locale[]{ENGLISH}, serviceMessageSource.getFallbackLocales(ENGLISH));
+    }
+
+    @Test
+    void testFallbackToDefaultLocale() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        assertFalse(serviceMessageSource.isFallbackToDefaultLocale());
+        assertNull(serviceMessageSource.getMessage("a", FRANCE));
+
+        serviceMessageSource.setDefaultLocale(ENGLISH);
+        serviceMessageSource.setFallbackToDefaultLocale(true);
+        assertTrue(serviceMessageSource.isFallbackToDefaultLocale());
+        assertArrayEquals(new Locale[]{FRANCE, FRENCH, ENGLISH}, serviceMessageSource.getFallbackLocales(FRANCE));
+        assertEquals("test-a", serviceMessageSource.getMessage("a", FRANCE));
+        assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+    }
+
+    @Test
+    void testExplicitFallbackLocales() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        assertTrue(serviceMessageSource.getExplicitFallbackLocales().isEmpty());
+        assertNull(serviceMessageSource.getMessage("a", FRANCE));
+
+        serviceMessageSource.setExplicitFallbackLocales(singletonMap(FRENCH, asList(SIMPLIFIED_CHINESE)));
+        assertEquals(singletonMap(FRENCH, asList(SIMPLIFIED_CHINESE)), serviceMessageSource.getExplicitFallbackLocales());
+        assertArrayEquals(new Locale[]{FRANCE, FRENCH, SIMPLIFIED_CHINESE, CHINESE}, serviceMessageSource.getFallbackLocales(FRANCE));
+        assertEquals("测试-a", serviceMessageSource.getMessage("a", FRANCE));
+        assertNull(serviceMessageSource.getMessage("a", GERMANY));
+
+        serviceMessageSource.setExplicitFallbackLocales(emptyMap());
+        assertNull(serviceMessageSource.getMessage("a", FRANCE));
+        assertThrows(IllegalArgumentException.class, () -> serviceMessageSource.setExplicitFallbackLocales(null));
+    }
+
+    @Test
+    void testGetMessages() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        Map<String, String> messages = serviceMessageSource.getMessages(ENGLISH);
+        assertSame(messages, serviceMessageSource.getMessages(new Locale("en")));
+        assertSame(messages, serviceMessageSource.getLocalizedResourceMessages().get(serviceMessageSource.getResource(ENGLISH)));
+        assertNull(serviceMessageSource.getMessages(FRANCE));
+    }
+
+    @Test
+    void testGetMessagePatterns() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+
+        Map<String, MessagePattern> messagePatterns = serviceMessageSource.getMessagePatterns(ENGLISH);
+        assertEquals("Hello,World", messagePatterns.get("test.hello").format("World"));
+        assertEquals(serviceMessageSource.getMessages(ENGLISH).size(), messagePatterns.size());
+        assertSame(messagePatterns, serviceMessageSource.getMessagePatterns(new Locale("en")));
+        assertThrows(UnsupportedOperationException.class, () -> messagePatterns.put("test.a", compile("a")));
+        assertNull(serviceMessageSource.getMessagePatterns(FRANCE));
+    }
+
+    @Test
+    void testCompactCatalog() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        assertFalse(serviceMessageSource.isCompactCatalog());
+        Map<String, Map<String, String>> localizedResourceMessages = serviceMessageSource.getLocalizedResourceMessages();
+
+        serviceMessageSource.setCompactCatalog(true);
+        assertTrue(serviceMessageSource.isCompactCatalog());
+        assertTrue(serviceMessageSource.getMessagePatterns(ENGLISH) instanceof CompactMessagePatterns);
+        assertNull(serviceMessageSource.getEffectiveMessagePatterns(ENGLISH));
+        assertEquals(localizedResourceMessages, serviceMessageSource.getLocalizedResourceMessages());
+        assertEquals("Hello,World", serviceMessageSource.getMessage("test.hello", UK, "World"));
+        assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+        assertTrue(serviceMessageSource.getMessageCodes().contains("test.a"));
+        assertFalse(serviceMessageSource.getMessageCodes().contains("test.b"));
+        // The complete code is resolved from the shared code table
+        assertSame(((CompactMessagePatterns) serviceMessageSource.getMessagePatterns(ENGLISH)).getCodeTable().getCode(1),
+                serviceMessageSource.resolveMessageCode("hello"));
+        assertEquals("test.b", serviceMessageSource.resolveMessageCode("b"));
+        // The compiled message pattern is reused on the lookup
+        assertSame(serviceMessageSource.getMessagePatterns(ENGLISH).get("test.hello"),
+                serviceMessageSource.getMessagePatterns(ENGLISH).get("test.hello"));
+
+        // The code table is shared by the resources and is reused if the reloaded resources have no new code
+        CompactMessagePatterns messagePatterns = (CompactMessagePatterns) serviceMessageSource.getMessagePatterns(ENGLISH);
+        serviceMessageSource.initializeResource(serviceMessageSource.getResource(SIMPLIFIED_CHINESE));
+        CompactMessagePatterns reloadedMessagePatterns = (CompactMessagePatterns) serviceMessageSource.getMessagePatterns(SIMPLIFIED_CHINESE);
+        assertSame(messagePatterns.getCodeTable(), reloadedMessagePatterns.getCodeTable());
+        assertSame(messagePatterns, serviceMessageSource.getMessagePatterns(ENGLISH));
+
+        serviceMessageSource.setCompactCatalog(false);
+        assertFalse(serviceMessageSource.getMessagePatterns(ENGLISH) instanceof CompactMessagePatterns);
+        assertEquals("Hello,World", serviceMessageSource.getMessage("test.hello", UK, "World"));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", UK, "World"));
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+    }
+
+    @Test
+    void testMessagePool() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        assertNull(serviceMessageSource.getMessagePool());
+        assertNull(serviceMessageSource.getDeduplicationStatistics());
+
+        MessagePool messagePool = new MessagePool();
+        DefaultServiceMessageSource serviceMessageSource1 = new DefaultServiceMessageSource("test");
+        DefaultServiceMessageSource serviceMessageSource2 = new DefaultServiceMessageSource("test");
+        serviceMessageSource1.setMessagePool(messagePool);
+        serviceMessageSource2.setMessagePool(messagePool);
+        assertSame(messagePool, serviceMessageSource1.getMessagePool());
+        serviceMessageSource1.init();
+        serviceMessageSource2.init();
+
+        // The equal message patterns are shared across the sources
+        assertSame(serviceMessageSource1.getMessagePatterns(ENGLISH).get("test.hello"),
+                serviceMessageSource2.getMessagePatterns(ENGLISH).get("test.hello"));
+        MessagePool.Statistics statistics = serviceMessageSource2.getDeduplicationStatistics();
+        assertTrue(statistics.getDeduplicatedCount() > 0);
+        assertTrue(statistics.getSavedBytes() > 0);
+        assertEquals("Hello,World", serviceMessageSource2.getMessage("test.hello", UK, "World"));
+
+        // The reloaded ones are shared with the previous ones
+        MessagePattern messagePattern = serviceMessageSource1.getMessagePatterns(SIMPLIFIED_CHINESE).get("test.a");
+        serviceMessageSource1.initializeResource(serviceMessageSource1.getResource(SIMPLIFIED_CHINESE));
+        assertSame(messagePattern, serviceMessageSource1.getMessagePatterns(SIMPLIFIED_CHINESE).get("test.a"));
+        assertNotSame(statistics, serviceMessageSource1.getDeduplicationStatistics());
+
+        serviceMessageSource1.setMessagePool(null);
+        serviceMessageSource1.init();
+        assertNull(serviceMessageSource1.getDeduplicationStatistics());
+        serviceMessageSource1.destroy();
+        serviceMessageSource2.destroy();
+    }
+
+    @Test
+    void testLoadPrecompiledMessagePatterns() throws IOException {
+        Path directory = Files.createTempDirectory("i18n");
+        Path resourcePath = directory.resolve("META-INF/i18n/precompiled/i18n_messages_en.properties");
+        Path catalogPath = directory.resolve("META-INF/i18n/precompiled/i18n_messages.precompiled");
+        Files.createDirectories(catalogPath.getParent());
+        Files.write(resourcePath, "precompiled.hello=Hello,{}".getBytes(UTF_8));
+        // The catalog differs from the properties resource to tell which one is loaded
+        Files.write(catalogPath, new BinaryMessageCatalogWriter()
+                .addMessages(ENGLISH, singletonMap("precompiled.hello", "Hi,{}"))
+                .toByteArray());
+        long lastModified = resourcePath.toFile().lastModified();
+        catalogPath.toFile().setLastModified(lastModified);
+        Path otherDirectory = Files.createTempDirectory("i18n");
+        Path otherResourcePath = otherDirectory.resolve("META-INF/i18n/precompiled/i18n_messages_en.properties");
+        Files.createDirectories(otherResourcePath.getParent());
+        Files.write(otherResourcePath, "precompiled.other=Other".getBytes(UTF_8));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getDefaultClassLoader());
+             URLClassLoader mixedClassLoader = new URLClassLoader(new URL[]{directory.toUri().toURL(),
+                     otherDirectory.toUri().toURL()}, getDefaultClassLoader())) {
+            DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource("precompiled", classLoader);
+            serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+            serviceMessageSource.init();
+            // The properties resource is not parsed on the initialization
+            assertEquals("Hi,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            assertTrue(serviceMessageSource.getMessages(SIMPLIFIED_CHINESE).isEmpty());
+            // The precompiled message patterns are canonicalized by the message pool
+            MessagePool messagePool = new MessagePool();
+            DefaultServiceMessageSource pooledServiceMessageSource = new DefaultServiceMessageSource("precompiled", classLoader);
+            pooledServiceMessageSource.setMessagePool(messagePool);
+            pooledServiceMessageSource.init();
+            assertSame(messagePool.compile("Hi,{}", new MessagePool.Statistics()),
+                    pooledServiceMessageSource.getMessagePatterns(ENGLISH).get("precompiled.hello"));
+            pooledServiceMessageSource.destroy();
+            // The reloading loads the properties resource
+            serviceMessageSource.reload(serviceMessageSource.getResource(ENGLISH));
+            assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            serviceMessageSource.destroy();
+
+            // The properties resource was modified after the compiling
+            resourcePath.toFile().setLastModified(lastModified + 60_000L);
+            serviceMessageSource.init();
+            assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            serviceMessageSource.destroy();
+            resourcePath.toFile().setLastModified(lastModified);
+
+            // The resource that other artifacts contribute to is not covered by the catalog
+            serviceMessageSource = new DefaultServiceMessageSource("precompiled", mixedClassLoader);
+            serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+            serviceMessageSource.init();
+            assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            assertEquals("Other", serviceMessageSource.getMessage("other", ENGLISH));
+            serviceMessageSource.destroy();
+        } finally {
+            Files.delete(otherResourcePath);
+            Files.delete(catalogPath);
+            Files.delete(resourcePath);
+        }
+    }
+
+    @Test
+    void testLoadMessagePatterns() {
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) {
+                if (resource.endsWith("_en.properties")) {
+                    return ofList(new StringReader("test.a = 1\ntest.b = \\\n  2"), new StringReader("test.a = 3"));
+                }
+                return ofList(new StringReader("a = invalid"));
+            }
+        };
+        Map<String, MessagePattern> messagePatterns = serviceMessageSource.loadMessagePatterns(serviceMessageSource.getResource(ENGLISH));
+        assertEquals(2, messagePatterns.size());
+        // The latter resource overrides the former one
+        assertEquals("3", messagePatterns.get("test.a").getPattern());
+        assertEquals("2", messagePatterns.get("test.b").getPattern());
+        assertThrows(UnsupportedOperationException.class, () -> messagePatterns.put("test.c", compile("c")));
+        assertThrows(IllegalStateException.class, () -> serviceMessageSource.loadMessagePatterns(serviceMessageSource.getResource(FRANCE)));
+    }
+
+    @Test
+    void testIncrementalReload() {
+        Map<String, String> contents = new HashMap<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) {
+                String content = contents.get(resource);
+                return content == null ? emptyList() : ofList(new StringReader(content));
+            }
+        };
+        serviceMessageSource.setSupportedLocales(ofList(ENGLISH, SIMPLIFIED_CHINESE));
+        String resource = serviceMessageSource.getResource(ENGLISH);
+        contents.put(resource, "test.a=a\ntest.hello=Hello,{}");
+        assertEquals(0L, serviceMessageSource.getResourceVersion(resource));
+        serviceMessageSource.init();
+        assertEquals(1L, serviceMessageSource.getResourceVersion(resource));
+
+        Map<String, MessagePattern> messagePatterns = serviceMessageSource.getMessagePatterns(ENGLISH);
+        Set<String> messageCodes = serviceMessageSource.getMessageCodes();
+
+        // No message is changed, the message patterns and the version are kept
+        serviceMessageSource.reload(resource);
+        assertSame(messagePatterns, serviceMessageSource.getMessagePatterns(ENGLISH));
+        assertEquals(1L, serviceMessageSource.getResourceVersion(resource));
+
+        // One message is changed, the unchanged message pattern and the indexes of the codes are reused
+        contents.put(resource, "test.a=b\ntest.hello=Hello,{}");
+        serviceMessageSource.reload(resource);
+        Map<String, MessagePattern> reloadedPatterns = serviceMessageSource.getMessagePatterns(ENGLISH);
+        assertNotSame(messagePatterns, reloadedPatterns);
+        assertSame(messagePatterns.get("test.hello"), reloadedPatterns.get("test.hello"));
+        assertEquals("b", serviceMessageSource.getMessage("a", ENGLISH));
+        assertSame(messageCodes, serviceMessageSource.getMessageCodes());
+        assertEquals(2L, serviceMessageSource.getResourceVersion(resource));
+
+        // The code is added, the indexes of the codes are rebuilt
+        contents.put(resource, "test.a=b\ntest.hello=Hello,{}\ntest.c=c");
+        serviceMessageSource.reload(resource);
+        assertEquals("c", serviceMessageSource.getMessage("c", ENGLISH));
+        assertEquals(ofSet("test.a", "test.hello", "test.c"), serviceMessageSource.getMessageCodes());
+        assertEquals(3L, serviceMessageSource.getResourceVersion(resource));
+        assertEquals(1L, serviceMessageSource.getResourceVersion(serviceMessageSource.getResource(SIMPLIFIED_CHINESE)));
+
+        // The messages are reloaded in the background, the future completes after they are visible
+        contents.put(resource, "test.a=async");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        serviceMessageSource.reloadAsync(ofList(resource), executorService).join();
+        assertEquals("async", serviceMessageSource.getMessage("a", ENGLISH));
+        assertEquals(4L, serviceMessageSource.getResourceVersion(resource));
+        executorService.shutdown();
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testResourceIndex() throws IOException {
+        Path directory = Files.createTempDirectory("i18n");
+        Path resourcePath = directory.resolve("META-INF/i18n/test/i18n_messages_en.properties");
+        Path indexPath = directory.resolve(ResourceIndex.INDEX_RESOURCE_NAME);
+        Files.createDirectories(resourcePath.getParent());
+        Files.write(resourcePath, "test.a=indexed-a".getBytes(UTF_8));
+        try (OutputStream outputStream = Files.newOutputStream(indexPath)) {
+            ResourceIndex.writeTo(ofList("test/i18n_messages_en.properties"), outputStream);
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource("test", classLoader);
+            serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+            serviceMessageSource.init();
+            assertNotNull(serviceMessageSource.getResourceIndex());
+            // All roots of the directory are indexed, thus the resources are resolved by the index
+            assertTrue(serviceMessageSource.getResourceIndex().isIndexed(serviceMessageSource.getResource(ENGLISH)));
+            assertEquals("indexed-a", serviceMessageSource.getMessage("a", ENGLISH));
+            assertNull(serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            assertTrue(serviceMessageSource.getMessages(SIMPLIFIED_CHINESE).isEmpty());
+            assertTrue(serviceMessageSource.canReload(serviceMessageSource.getResource(ENGLISH)));
+            assertFalse(serviceMessageSource.canReload(serviceMessageSource.getResource(SIMPLIFIED_CHINESE)));
+            serviceMessageSource.destroy();
+            assertNull(serviceMessageSource.getResourceIndex());
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getDefaultClassLoader())) {
+            DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource("test", classLoader);
+            serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+            serviceMessageSource.init();
+            assertNotNull(serviceMessageSource.getResourceIndex());
+            // The test classpath contributes to the directory without the index, thus the ClassLoader resolves it
+            assertFalse(serviceMessageSource.getResourceIndex().isIndexed(serviceMessageSource.getResource(ENGLISH)));
+            assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+            assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+            assertFalse(serviceMessageSource.getMessages(SIMPLIFIED_CHINESE).isEmpty());
+            serviceMessageSource.destroy();
+        } finally {
+            Files.delete(indexPath);
+            Files.delete(resourcePath);
+        }
+    }
+
+    @Test
+    void testLazyLoading() throws Exception {
+        List<String> loadedResources = new CopyOnWriteArrayList<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
+                loadedResources.add(resource);
+                return super.loadAllPropertiesResources(resource);
+            }
+        };
+        serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+        serviceMessageSource.setLazyLoading(true);
+        serviceMessageSource.setWarmUpLocales(ofList(ENGLISH));
+        assertTrue(serviceMessageSource.isLazyLoading());
+        assertEquals(ofSet(ENGLISH), serviceMessageSource.getWarmUpLocales());
+        serviceMessageSource.init();
+
+        // Only the resources of the warm-up locales are loaded
+        assertEquals(ofList(serviceMessageSource.getResource(ENGLISH)), loadedResources);
+        assertNull(serviceMessageSource.getMessageCodes());
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals(1, loadedResources.size());
+
+        // The pending resource is loaded by exactly one thread
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                latch.await();
+                return serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE);
+            }));
+        }
+        latch.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("测试-a", future.get());
+        }
+        executorService.shutdown();
+        // The resources of the supported locales along the fallback chain, e.g. "zh", are loaded together once
+        assertEquals(serviceMessageSource.getResources(), new HashSet<>(loadedResources));
+        assertEquals(serviceMessageSource.getResources().size(), loadedResources.size());
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+
+        // The messages are loaded on the first request of getMessages(Locale)
+        serviceMessageSource.init();
+        assertEquals("测试-a", serviceMessageSource.getMessages(SIMPLIFIED_CHINESE).get("test.a"));
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testLoadingExecutor() {
+        List<String> loadingThreads = new CopyOnWriteArrayList<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
+                loadingThreads.add(Thread.currentThread().getName());
+                return super.loadAllPropertiesResources(resource);
+            }
+        };
+        serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+        serviceMessageSource.setMessagePool(MessagePool.shared());
+        assertNull(serviceMessageSource.getLoadingExecutor());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        serviceMessageSource.setLoadingExecutor(executorService);
+        assertSame(executorService, serviceMessageSource.getLoadingExecutor());
+        serviceMessageSource.init();
+        executorService.shutdown();
+
+        assertEquals(serviceMessageSource.getResources().size(), loadingThreads.size());
+        assertEquals(serviceMessageSource.getResources(), serviceMessageSource.getInitializedResources());
+        assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+        assertTrue(serviceMessageSource.getDeduplicationStatistics().getCount() > 0);
+
+        // The executor that rejects the tasks, the caller loads the resources
+        serviceMessageSource.setLoadingExecutor(executorService);
+        loadingThreads.clear();
+        serviceMessageSource.init();
+        assertEquals(ofSet(Thread.currentThread().getName()), new HashSet<>(loadingThreads));
+        assertEquals("测试-a", serviceMessageSource.getMessage("a", SIMPLIFIED_CHINESE));
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testGetMessageCodes() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+    }
+
+    @Test
+    void testAddListener() {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        List<Iterable<String>> initializedResources = new ArrayList<>();
+        ResourceServiceMessageSourceListener listener = (source, resources) -> {
+            assertSame(serviceMessageSource, source);
+            initializedResources.add(resources);
+        };
+        serviceMessageSource.addListener(listener);
+        serviceMessageSource.initializeResources(serviceMessageSource.getInitializedResources());
+        assertEquals(1, initializedResources.size());
+
+        serviceMessageSource.removeListener(listener);
+        serviceMessageSource.initializeResources(serviceMessageSource.getInitializedResources());
+        assertEquals(1, initializedResources.size());
     }
 
     @Test
@@ -124,6 +791,18 @@ class DefaultServiceMessageSourceTest extends ReloadableResourceServiceMessageSo
         assertFalse(serviceMessageSource.canReload(ofSet(TEST_SOURCE)));
     }
 
+    @Test
+    @Override
+    void testReloadAsync() throws Exception {
+        DefaultServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        long version = serviceMessageSource.getResourceVersion(serviceMessageSource.getResource(ENGLISH));
+        serviceMessageSource.reloadAsync(ofSet(TEST_SOURCE), Runnable::run).get();
+        serviceMessageSource.reloadAsync(ofSet(serviceMessageSource.getResource(ENGLISH)), Runnable::run).get();
+        // No message is changed
+        assertEquals(version, serviceMessageSource.getResourceVersion(serviceMessageSource.getResource(ENGLISH)));
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+    }
+
     @Test
     @Override
     void testReload() {
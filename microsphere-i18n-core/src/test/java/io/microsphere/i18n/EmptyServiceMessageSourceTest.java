@@ -10,6 +10,7 @@ import static java.util.Locale.ENGLISH;
 import static java.util.Locale.getDefault;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link EmptyServiceMessageSource} Test
@@ -60,4 +61,9 @@ class EmptyServiceMessageSourceTest extends AbstractI18nTest {
     void testGetSupportedLocales() {
         assertEquals(ofSet(getDefault(), ENGLISH), serviceMessageSource.getSupportedLocales());
     }
+
+    @Test
+    void testGetMessageCodes() {
+        assertTrue(serviceMessageSource.getMessageCodes().isEmpty());
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.AbstractI18nTest.TEST_SOURCE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Locale.ENGLISH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FileSystemServiceMessageSource} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see FileSystemServiceMessageSource
+ * @since 1.0.0
+ */
+class FileSystemServiceMessageSourceTest {
+
+    private static final String RESOURCE_NAME = "i18n_messages_en.properties";
+
+    private Path directory;
+
+    private FileSystemServiceMessageSource serviceMessageSource;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("i18n");
+        this.serviceMessageSource = new FileSystemServiceMessageSource(TEST_SOURCE, this.directory);
+        this.serviceMessageSource.setDefaultLocale(ENGLISH);
+        this.serviceMessageSource.setSupportedLocales(ofSet(ENGLISH));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.serviceMessageSource.destroy();
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testGetMessage() throws IOException {
+        write(this.directory.resolve(RESOURCE_NAME), "test.a=file-a\ntest.hello=Hello,{}");
+        this.serviceMessageSource.init();
+        assertTrue(this.serviceMessageSource.isWatching());
+        assertEquals(this.directory.toAbsolutePath().normalize(), this.serviceMessageSource.getDirectory());
+        assertEquals("file-a", this.serviceMessageSource.getMessage("a", ENGLISH));
+        assertEquals("Hello,World", this.serviceMessageSource.getMessage("hello", ENGLISH, "World"));
+
+        String resource = this.serviceMessageSource.getResource(ENGLISH);
+        assertTrue(this.serviceMessageSource.canReload(resource));
+        assertFalse(this.serviceMessageSource.canReload(RESOURCE_NAME));
+
+        this.serviceMessageSource.destroy();
+        assertFalse(this.serviceMessageSource.isWatching());
+    }
+
+    @Test
+    void testReloadChangedResources() throws IOException {
+        Path file = this.directory.resolve(RESOURCE_NAME);
+        this.serviceMessageSource.setWatchEnabled(false);
+        this.serviceMessageSource.init();
+        assertFalse(this.serviceMessageSource.isWatching());
+        assertNull(this.serviceMessageSource.getMessage("a", ENGLISH));
+        assertTrue(this.serviceMessageSource.reloadChangedResources().isEmpty());
+
+        // Created
+        write(file, "test.a=file-a");
+        String resource = this.serviceMessageSource.getResource(ENGLISH);
+        assertEquals(ofSet(resource), this.serviceMessageSource.reloadChangedResources());
+        assertEquals("file-a", this.serviceMessageSource.getMessage("a", ENGLISH));
+        assertTrue(this.serviceMessageSource.reloadChangedResources().isEmpty());
+
+        // Modified
+        write(file, "test.a=file-b");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        assertEquals(ofSet(resource), this.serviceMessageSource.reloadChangedResources());
+        assertEquals("file-b", this.serviceMessageSource.getMessage("a", ENGLISH));
+
+        // Deleted
+        Files.delete(file);
+        assertEquals(ofSet(resource), this.serviceMessageSource.reloadChangedResources());
+        assertNull(this.serviceMessageSource.getMessage("a", ENGLISH));
+    }
+
+    @Test
+    void testWatchSymbolicLinkSwap() throws Exception {
+        // The layout of the Kubernetes ConfigMap volume
+        write(this.directory.resolve("..v1").resolve(RESOURCE_NAME), "test.a=v1");
+        write(this.directory.resolve("..v2").resolve(RESOURCE_NAME), "test.a=v2");
+        Path data = this.directory.resolve("..data");
+        Files.createSymbolicLink(data, this.directory.resolve("..v1"));
+        Files.createSymbolicLink(this.directory.resolve(RESOURCE_NAME), data.resolve(RESOURCE_NAME));
+
+        this.serviceMessageSource.init();
+        assertEquals("v1", this.serviceMessageSource.getMessage("a", ENGLISH));
+
+        Path dataTmp = this.directory.resolve("..data_tmp");
+        Files.createSymbolicLink(dataTmp, this.directory.resolve("..v2"));
+        Files.move(dataTmp, data, ATOMIC_MOVE, REPLACE_EXISTING);
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!"v2".equals(this.serviceMessageSource.getMessage("a", ENGLISH)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("v2", this.serviceMessageSource.getMessage("a", ENGLISH));
+    }
+
+    @Test
+    void testWatchReappearedDirectory() throws Exception {
+        write(this.directory.resolve(RESOURCE_NAME), "test.a=v1");
+        this.serviceMessageSource.init();
+        assertEquals("v1", this.serviceMessageSource.getMessage("a", ENGLISH));
+
+        // The directory is deleted, the watching is stopped
+        Files.delete(this.directory.resolve(RESOURCE_NAME));
+        Files.delete(this.directory);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (this.serviceMessageSource.isWatching() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(this.serviceMessageSource.isWatching());
+        assertNull(this.serviceMessageSource.getMessage("a", ENGLISH));
+
+        // The directory reappears, it's watched again
+        write(this.directory.resolve(RESOURCE_NAME), "test.a=v2");
+        deadline = System.currentTimeMillis() + 10000;
+        while (!"v2".equals(this.serviceMessageSource.getMessage("a", ENGLISH)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("v2", this.serviceMessageSource.getMessage("a", ENGLISH));
+        assertTrue(this.serviceMessageSource.isWatching());
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.i18n.text.MessagePattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.i18n.AbstractI18nTest.TEST_SOURCE;
+import static io.microsphere.i18n.EmptyServiceMessageSource.INSTANCE;
+import static java.util.Locale.CHINESE;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRANCE;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static java.util.Locale.UK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FlattenedMessageCatalog} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see FlattenedMessageCatalog
+ * @since 1.0.0
+ */
+class FlattenedMessageCatalogTest {
+
+    private DefaultServiceMessageSource defaultServiceMessageSource;
+
+    private CompositeServiceMessageSource compositeServiceMessageSource;
+
+    @BeforeEach
+    void setUp() {
+        this.defaultServiceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE);
+        CompositeServiceMessageSource nestedServiceMessageSource = new CompositeServiceMessageSource(ofList(this.defaultServiceMessageSource));
+        this.compositeServiceMessageSource = new CompositeServiceMessageSource(ofList(INSTANCE, nestedServiceMessageSource));
+        this.compositeServiceMessageSource.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.compositeServiceMessageSource.destroy();
+    }
+
+    @Test
+    void testGetMessage() {
+        FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(this.compositeServiceMessageSource);
+        assertNotNull(catalog);
+        for (Locale locale : ofList(ENGLISH, UK, SIMPLIFIED_CHINESE, CHINESE, FRANCE, new Locale("en", "US", "POSIX"))) {
+            for (String code : ofList("a", "hello", "test.a", "test.hello", "not-found", "test.test.a")) {
+                assertEquals(this.compositeServiceMessageSource.getMessage(code, locale, "World"),
+                        catalog.getMessage(code, locale, "World"));
+            }
+        }
+        assertEquals("Hello,World", catalog.getMessage("hello", UK, "World"));
+        assertNull(catalog.getMessage(null, ENGLISH));
+    }
+
+    @Test
+    void testGetMessageInPriorityOrder() {
+        DefaultServiceMessageSource highPriorityServiceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            public int getPriority() {
+                return Integer.MIN_VALUE;
+            }
+        };
+        highPriorityServiceMessageSource.setMessageFormatter((pattern, locale) ->
+                args -> "high-" + MessagePattern.compile(pattern).format(args));
+        CompositeServiceMessageSource compositeServiceMessageSource =
+                new CompositeServiceMessageSource(ofList(this.defaultServiceMessageSource, highPriorityServiceMessageSource));
+        compositeServiceMessageSource.init();
+
+        FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(compositeServiceMessageSource);
+        assertSame(highPriorityServiceMessageSource, catalog.getServiceMessageSources().get(0));
+        assertEquals(compositeServiceMessageSource.getMessage("a", ENGLISH), catalog.getMessage("a", ENGLISH));
+        assertEquals("high-test-a", catalog.getMessage("a", ENGLISH));
+        assertEquals(compositeServiceMessageSource.getMessage("hello", ENGLISH, 1), catalog.getMessage("hello", ENGLISH, 1));
+        assertEquals("high-Hello,1", catalog.getMessage("hello", ENGLISH, 1));
+    }
+
+    @Test
+    void testGetMessagePatterns() {
+        FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(this.compositeServiceMessageSource);
+        Map<String, MessagePattern> messagePatterns = catalog.getMessagePatterns(UK);
+        assertEquals("Hello,{}", messagePatterns.get("hello").getPattern());
+        assertEquals("Hello,{}", messagePatterns.get("test.hello").getPattern());
+        assertThrows(UnsupportedOperationException.class, () -> messagePatterns.put("a", null));
+        assertTrue(catalog.getMessagePatterns(FRANCE).isEmpty());
+    }
+
+    @Test
+    void testGetMessageOnCachedLocales() {
+        FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(this.compositeServiceMessageSource);
+        for (int i = 0; i < FlattenedMessageCatalog.MAX_CACHED_LOCALES * 2; i++) {
+            assertEquals("test-a", catalog.getMessage("a", new Locale("en", "C" + i)));
+        }
+    }
+
+    @Test
+    void testGetMessageOnLazyLoading() {
+        List<String> loadedResources = new CopyOnWriteArrayList<>();
+        DefaultServiceMessageSource serviceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE) {
+            @Override
+            protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
+                loadedResources.add(resource);
+                return super.loadAllPropertiesResources(resource);
+            }
+        };
+        serviceMessageSource.setSupportedLocales(ofList(SIMPLIFIED_CHINESE, ENGLISH));
+        serviceMessageSource.setLazyLoading(true);
+        serviceMessageSource.setWarmUpLocales(ofList(ENGLISH));
+        serviceMessageSource.init();
+        assertEquals(ofList(serviceMessageSource.getResource(ENGLISH)), loadedResources);
+
+        // The building never loads the pending resources
+        FlattenedMessageCatalog catalog = FlattenedMessageCatalog.of(serviceMessageSource);
+        assertEquals(ofList(serviceMessageSource.getResource(ENGLISH)), loadedResources);
+        assertEquals("Hello,World", catalog.getMessage("hello", ENGLISH, "World"));
+        assertEquals(1, loadedResources.size());
+
+        // The pending resources are loaded and flattened on the first lookup
+        assertEquals("测试-a", catalog.getMessage("a", SIMPLIFIED_CHINESE));
+        assertEquals(serviceMessageSource.getResources(), new HashSet<>(loadedResources));
+        assertEquals("测试-a", catalog.getMessage("test.a", SIMPLIFIED_CHINESE));
+        assertEquals(serviceMessageSource.getResources().size(), loadedResources.size());
+        serviceMessageSource.destroy();
+    }
+
+    @Test
+    void testOfUnflattenable() {
+        CompositeServiceMessageSource compositeServiceMessageSource =
+                new CompositeServiceMessageSource(ofList(this.defaultServiceMessageSource, new TestServiceMessageSource()));
+        assertNull(FlattenedMessageCatalog.of(compositeServiceMessageSource));
+        assertTrue(FlattenedMessageCatalog.of(INSTANCE).getServiceMessageSources().isEmpty());
+        // The leaf source without any message is skipped, the one not initialized can't be flattened
+        MappedServiceMessageSource mappedServiceMessageSource = new MappedServiceMessageSource(TEST_SOURCE);
+        compositeServiceMessageSource = new CompositeServiceMessageSource(ofList(this.defaultServiceMessageSource, mappedServiceMessageSource));
+        assertNull(FlattenedMessageCatalog.of(compositeServiceMessageSource));
+        mappedServiceMessageSource.init();
+        assertEquals(ofList(this.defaultServiceMessageSource), FlattenedMessageCatalog.of(compositeServiceMessageSource).getServiceMessageSources());
+        mappedServiceMessageSource.destroy();
+    }
+
+    @Test
+    void testToString() {
+        assertNotNull(FlattenedMessageCatalog.of(this.compositeServiceMessageSource).toString());
+    }
+}
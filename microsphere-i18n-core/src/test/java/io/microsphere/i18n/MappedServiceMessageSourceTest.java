@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n;
+
+import io.microsphere.i18n.catalog.BinaryMessageCatalogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static java.util.Locale.CHINESE;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRANCE;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static java.util.Locale.UK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MappedServiceMessageSource} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MappedServiceMessageSource
+ * @since 1.0.0
+ */
+class MappedServiceMessageSourceTest extends AbstractI18nTest {
+
+    private DefaultServiceMessageSource defaultServiceMessageSource;
+
+    private Path directory;
+
+    private byte[] catalogBytes;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.defaultServiceMessageSource = new DefaultServiceMessageSource(TEST_SOURCE);
+        this.defaultServiceMessageSource.init();
+        BinaryMessageCatalogWriter writer = new BinaryMessageCatalogWriter();
+        for (Locale locale : this.defaultServiceMessageSource.getSupportedLocales()) {
+            writer.addMessages(locale, this.defaultServiceMessageSource.getMessages(locale));
+        }
+        this.catalogBytes = writer.toByteArray();
+        this.directory = Files.createTempDirectory("i18n");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.defaultServiceMessageSource.destroy();
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testGetMessageFromFile() throws IOException {
+        Path catalogPath = this.directory.resolve("META-INF/i18n/test/i18n_messages.catalog");
+        Files.createDirectories(catalogPath.getParent());
+        Files.write(catalogPath, this.catalogBytes);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{this.directory.toUri().toURL()}, null)) {
+            assertMessages(new MappedServiceMessageSource(TEST_SOURCE, classLoader));
+        }
+    }
+
+    @Test
+    void testGetMessageFromArchive() throws IOException {
+        Path jarPath = this.directory.resolve("test.jar");
+        try (OutputStream outputStream = Files.newOutputStream(jarPath);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            jarOutputStream.putNextEntry(new ZipEntry("META-INF/i18n/test/i18n_messages.catalog"));
+            jarOutputStream.write(this.catalogBytes);
+            jarOutputStream.closeEntry();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, null)) {
+            assertMessages(new MappedServiceMessageSource(TEST_SOURCE, classLoader));
+        }
+    }
+
+    @Test
+    void testSetCatalogPath() throws IOException {
+        Path catalogPath = this.directory.resolve("i18n_messages.catalog");
+        Files.write(catalogPath, this.catalogBytes);
+        MappedServiceMessageSource serviceMessageSource = new MappedServiceMessageSource(TEST_SOURCE);
+        serviceMessageSource.setCatalogPath(catalogPath);
+        assertMessages(serviceMessageSource);
+
+        serviceMessageSource.setCatalogPath(this.directory.resolve("not-found.catalog"));
+        assertThrows(RuntimeException.class, serviceMessageSource::init);
+    }
+
+    @Test
+    void testAbsentCatalog() {
+        MappedServiceMessageSource serviceMessageSource = new MappedServiceMessageSource(TEST_SOURCE);
+        serviceMessageSource.init();
+        assertEquals("META-INF/i18n/test/i18n_messages.catalog", serviceMessageSource.getCatalogResource());
+        assertNull(serviceMessageSource.getCatalog());
+        assertNull(serviceMessageSource.getMessage("a", ENGLISH));
+        assertTrue(serviceMessageSource.getMessageCodes().isEmpty());
+        assertNotNull(serviceMessageSource.toString());
+    }
+
+    @Test
+    void testGetMessageCodesBeforeInit() throws IOException {
+        Path catalogPath = this.directory.resolve("i18n_messages.catalog");
+        Files.write(catalogPath, this.catalogBytes);
+        MappedServiceMessageSource serviceMessageSource = new MappedServiceMessageSource(TEST_SOURCE);
+        serviceMessageSource.setCatalogPath(catalogPath);
+        // The message codes can't be enumerated before the initialization
+        assertNull(serviceMessageSource.getMessageCodes());
+        // The routing index that is built before the initialization still routes to the source
+        CompositeServiceMessageSource compositeServiceMessageSource = new CompositeServiceMessageSource(ofList(serviceMessageSource));
+        assertNull(compositeServiceMessageSource.getMessage("hello", ENGLISH, "World"));
+        serviceMessageSource.init();
+        assertEquals("Hello,World", compositeServiceMessageSource.getMessage("hello", ENGLISH, "World"));
+        serviceMessageSource.destroy();
+        assertNull(serviceMessageSource.getMessageCodes());
+    }
+
+    private void assertMessages(MappedServiceMessageSource serviceMessageSource) {
+        serviceMessageSource.init();
+        assertNotNull(serviceMessageSource.getCatalog());
+        for (Locale locale : ofList(ENGLISH, UK, SIMPLIFIED_CHINESE, CHINESE, FRANCE)) {
+            for (String code : ofList("a", "hello", "test.a", "test.hello", "not-found", "test.test.a")) {
+                assertEquals(this.defaultServiceMessageSource.getMessage(code, locale, "World"),
+                        serviceMessageSource.getMessage(code, locale, "World"));
+            }
+        }
+        assertEquals("Hello,World", serviceMessageSource.getMessage("hello", UK, "World"));
+        assertEquals("测试-a", serviceMessageSource.getMessage("a"));
+        assertEquals(ofSet("test.a", "test.hello"), serviceMessageSource.getMessageCodes());
+
+        CompositeServiceMessageSource compositeServiceMessageSource = new CompositeServiceMessageSource(ofList(serviceMessageSource));
+        assertEquals("Hello,World", compositeServiceMessageSource.getMessage("hello", ENGLISH, "World"));
+
+        serviceMessageSource.destroy();
+        assertNull(serviceMessageSource.getCatalog());
+        assertNull(serviceMessageSource.getMessage("a", ENGLISH));
+    }
+}
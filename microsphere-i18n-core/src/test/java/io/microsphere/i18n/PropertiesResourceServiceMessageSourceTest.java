@@ -50,6 +50,11 @@ class PropertiesResourceServiceMessageSourceTest {
         assertThrows(RuntimeException.class, () -> this.propertiesResourceServiceMessageSource.loadMessages("test"));
     }
 
+    @Test
+    void testLoadMessagePatterns() {
+        assertThrows(RuntimeException.class, () -> this.propertiesResourceServiceMessageSource.loadMessagePatterns("test"));
+    }
+
     @Test
     @LoggingLevelsTest(levels = "ERROR")
     void testSetDefaultLocale() {
@@ -19,8 +19,12 @@ package io.microsphere.i18n;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 import static io.microsphere.collection.SetUtils.ofSet;
 import static io.microsphere.collection.Sets.ofSet;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -55,6 +59,23 @@ class ReloadableResourceServiceMessageSourceTest extends ResourceServiceMessageS
         assertEquals(ofSet(resources), serviceMessageSource.getInitializedResources());
     }
 
+    @Test
+    void testReloadAsync() throws Exception {
+        ReloadableResourceServiceMessageSource serviceMessageSource = getServiceMessageSource();
+        Iterable<String> resources = ofSet(TEST_SOURCE);
+        // The resources can't be reloaded
+        serviceMessageSource.reloadAsync(resources, Runnable::run).get();
+        assertTrue(serviceMessageSource.getInitializedResources().isEmpty());
+
+        serviceMessageSource.reload(resources);
+        ExecutorService executor = newSingleThreadExecutor();
+        CompletableFuture<Void> future = serviceMessageSource.reloadAsync(resources, executor);
+        future.get();
+        assertTrue(future.isDone());
+        assertEquals(ofSet(resources), serviceMessageSource.getInitializedResources());
+        executor.shutdown();
+    }
+
     @Test
     void testCanReload() {
         ReloadableResourceServiceMessageSource serviceMessageSource = getServiceMessageSource();
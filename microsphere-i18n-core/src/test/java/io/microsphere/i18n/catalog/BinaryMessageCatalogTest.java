@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static java.util.Collections.emptyMap;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.FRANCE;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BinaryMessageCatalog} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see BinaryMessageCatalog
+ * @see BinaryMessageCatalogWriter
+ * @since 1.0.0
+ */
+class BinaryMessageCatalogTest {
+
+    private byte[] bytes;
+
+    private BinaryMessageCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> englishMessages = new HashMap<>();
+        englishMessages.put("test.a", "test-a");
+        englishMessages.put("test.hello", "Hello,{}");
+        englishMessages.put("test.ab", "test-a");
+        Map<String, String> chineseMessages = new HashMap<>();
+        chineseMessages.put("test.a", "测试-a");
+        chineseMessages.put("test.测试", "测试");
+        chineseMessages.put("test.😀", "smile");
+        this.bytes = new BinaryMessageCatalogWriter()
+                .addMessages(ENGLISH, englishMessages)
+                .addMessages(SIMPLIFIED_CHINESE, chineseMessages)
+                .addMessages(FRANCE, emptyMap())
+                .toByteArray();
+        this.catalog = BinaryMessageCatalog.of(ByteBuffer.wrap(this.bytes));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.catalog = null;
+    }
+
+    @Test
+    void testGetMessage() {
+        assertEquals("test-a", this.catalog.getMessage(ENGLISH, "test.a"));
+        assertEquals("Hello,{}", this.catalog.getMessage(ENGLISH, "test.hello"));
+        assertEquals("test-a", this.catalog.getMessage(ENGLISH, "test.ab"));
+        assertEquals("测试-a", this.catalog.getMessage(SIMPLIFIED_CHINESE, "test.a"));
+        assertEquals("测试", this.catalog.getMessage(SIMPLIFIED_CHINESE, "test.测试"));
+        assertEquals("smile", this.catalog.getMessage(SIMPLIFIED_CHINESE, "test.😀"));
+        assertNull(this.catalog.getMessage(SIMPLIFIED_CHINESE, "test.hello"));
+        assertNull(this.catalog.getMessage(FRANCE, "test.a"));
+        assertNull(this.catalog.getMessage(ENGLISH, "test"));
+        assertNull(this.catalog.getMessage(ENGLISH, "test.b"));
+        assertNull(this.catalog.getMessage(ENGLISH, ""));
+        assertThrows(IndexOutOfBoundsException.class, () -> this.catalog.getMessage(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> this.catalog.getMessage(0, 100));
+    }
+
+    @Test
+    void testIndexOfCode() {
+        int index = this.catalog.indexOfCode("test.hello");
+        assertTrue(index > -1);
+        assertEquals(index, this.catalog.indexOfCode("test.", "hello"));
+        assertEquals(index, this.catalog.indexOfCode("test.hello", ""));
+        assertEquals(-1, this.catalog.indexOfCode("test.", "hell"));
+        assertEquals(-1, this.catalog.indexOfCode("test.", "hello."));
+    }
+
+    @Test
+    void testGetLocales() {
+        assertEquals(ofList(ENGLISH, SIMPLIFIED_CHINESE, FRANCE), this.catalog.getLocales());
+        assertEquals(1, this.catalog.indexOfLocale(SIMPLIFIED_CHINESE));
+        assertEquals(-1, this.catalog.indexOfLocale(null));
+    }
+
+    @Test
+    void testGetCodes() {
+        assertEquals(ofSet("test.a", "test.ab", "test.hello", "test.测试", "test.😀"), this.catalog.getCodes());
+        assertTrue(this.catalog.getCodes().contains("test.a"));
+        assertFalse(this.catalog.getCodes().contains("test.b"));
+        assertFalse(this.catalog.getCodes().contains(1));
+        Iterator<String> iterator = BinaryMessageCatalog.of(ByteBuffer.wrap(new BinaryMessageCatalogWriter().toByteArray()))
+                .getCodes().iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testMap() throws IOException {
+        Path path = Files.createTempFile("i18n_messages", ".catalog");
+        try {
+            Files.write(path, this.bytes);
+            BinaryMessageCatalog catalog = BinaryMessageCatalog.map(path);
+            assertEquals("Hello,{}", catalog.getMessage(ENGLISH, "test.hello"));
+            assertEquals(this.bytes.length, catalog.getSize());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testOfInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCatalog.of(ByteBuffer.allocate(4)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCatalog.of(ByteBuffer.allocate(16)));
+        ByteBuffer version = ByteBuffer.wrap(this.bytes.clone());
+        version.putInt(4, BinaryMessageCatalog.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCatalog.of(version));
+        ByteBuffer truncated = ByteBuffer.wrap(this.bytes, 0, 32);
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCatalog.of(truncated));
+    }
+
+    @Test
+    void testToString() {
+        assertNotNull(this.catalog.toString());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.i18n.text.MessagePattern;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CompactMessagePatterns} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CompactMessagePatterns
+ * @since 1.0.0
+ */
+class CompactMessagePatternsTest {
+
+    private final MessageCodeTable codeTable = MessageCodeTable.of(ofList("test.a", "test.b", "test.hello"));
+
+    private final Map<String, MessagePattern> messagePatterns = new HashMap<>();
+
+    {
+        this.messagePatterns.put("test.a", compile("test-a"));
+        this.messagePatterns.put("test.hello", compile("您好,{}"));
+    }
+
+    @Test
+    void testOf() {
+        assertThrows(IllegalArgumentException.class, () -> CompactMessagePatterns.of(null, this.messagePatterns));
+        assertThrows(IllegalArgumentException.class, () -> CompactMessagePatterns.of(this.codeTable, null));
+        this.messagePatterns.put("test.c", compile("c"));
+        assertThrows(IllegalArgumentException.class, () -> CompactMessagePatterns.of(this.codeTable, this.messagePatterns));
+    }
+
+    @Test
+    void testGet() {
+        CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(this.codeTable, this.messagePatterns);
+        assertEquals(compile("test-a"), compactMessagePatterns.get("test.a"));
+        assertEquals("您好,World", compactMessagePatterns.get("test.hello").format("World"));
+        assertNull(compactMessagePatterns.get("test.b"));
+        assertNull(compactMessagePatterns.get("test.c"));
+        assertEquals("您好,{}", compactMessagePatterns.getPattern("test.hello"));
+        assertNull(compactMessagePatterns.getPattern("test.b"));
+        assertNull(compactMessagePatterns.getPattern("test.c"));
+        // The compiled message pattern of the used code is cached
+        assertSame(compactMessagePatterns.get("test.a"), compactMessagePatterns.get("test.a"));
+        assertEquals("test-a", compactMessagePatterns.getPattern("test.a"));
+    }
+
+    @Test
+    void testGetCodeIndexes() {
+        BitSet codeIndexes = new BitSet();
+        codeIndexes.set(0);
+        codeIndexes.set(2);
+        assertEquals(codeIndexes, CompactMessagePatterns.of(this.codeTable, this.messagePatterns).getCodeIndexes());
+    }
+
+    @Test
+    void testContainsKey() {
+        CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(this.codeTable, this.messagePatterns);
+        assertTrue(compactMessagePatterns.containsKey("test.a"));
+        assertFalse(compactMessagePatterns.containsKey("test.b"));
+        assertFalse(compactMessagePatterns.containsKey("test.c"));
+        assertTrue(compactMessagePatterns.keySet().contains("test.hello"));
+    }
+
+    @Test
+    void testEquals() {
+        CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(this.codeTable, this.messagePatterns);
+        assertEquals(2, compactMessagePatterns.size());
+        assertEquals(this.messagePatterns, compactMessagePatterns);
+        assertEquals(compactMessagePatterns, this.messagePatterns);
+        assertEquals(this.messagePatterns.keySet(), compactMessagePatterns.keySet());
+        assertEquals(2, compactMessagePatterns.entrySet().size());
+    }
+
+    @Test
+    void testIterator() {
+        CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(this.codeTable, this.messagePatterns);
+        Iterator<String> iterator = compactMessagePatterns.keySet().iterator();
+        assertEquals("test.a", iterator.next());
+        assertEquals("test.hello", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testGetCodeTable() {
+        assertSame(this.codeTable, CompactMessagePatterns.of(this.codeTable, this.messagePatterns).getCodeTable());
+    }
+
+    @Test
+    void testGetArenaSize() {
+        CompactMessagePatterns compactMessagePatterns = CompactMessagePatterns.of(this.codeTable, this.messagePatterns);
+        // Latin-1 for "test-a", UTF-8 for "您好,{}"
+        assertEquals("test-a".length() + "您好,{}".getBytes(UTF_8).length, compactMessagePatterns.getArenaSize());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.catalog.MessageCodeTable.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MessageCodeTable} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MessageCodeTable
+ * @since 1.0.0
+ */
+class MessageCodeTableTest {
+
+    private final MessageCodeTable codeTable = of(ofList("test.hello", "test.a", "test.hello"));
+
+    @Test
+    void testOf() {
+        assertThrows(IllegalArgumentException.class, () -> of(null));
+        assertEquals(0, of(ofList()).size());
+    }
+
+    @Test
+    void testIndexOf() {
+        assertEquals(0, this.codeTable.indexOf("test.a"));
+        assertEquals(1, this.codeTable.indexOf("test.hello"));
+        assertEquals(-1, this.codeTable.indexOf("test.b"));
+        assertEquals(-1, this.codeTable.indexOf(null));
+        assertEquals(-1, this.codeTable.indexOf(1));
+    }
+
+    @Test
+    void testIndexOfWithPrefix() {
+        assertEquals(0, this.codeTable.indexOf("test.", "a"));
+        assertEquals(1, this.codeTable.indexOf("test.", "hello"));
+        assertEquals(1, this.codeTable.indexOf("", "test.hello"));
+        assertEquals(1, this.codeTable.indexOf("test.hello", ""));
+        assertEquals(-1, this.codeTable.indexOf("test.", "b"));
+        assertEquals(-1, this.codeTable.indexOf("test.", "hello.world"));
+        assertEquals(-1, this.codeTable.indexOf("test.", ""));
+        assertEquals(-1, of(ofList()).indexOf("test.", "a"));
+    }
+
+    @Test
+    void testGetCode() {
+        assertEquals("test.a", this.codeTable.getCode(0));
+        assertEquals("test.hello", this.codeTable.getCode(1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> this.codeTable.getCode(2));
+    }
+
+    @Test
+    void testContainsAll() {
+        assertTrue(this.codeTable.containsAll(ofList("test.a")));
+        assertTrue(this.codeTable.containsAll(ofList()));
+        assertFalse(this.codeTable.containsAll(ofList("test.a", "test.b")));
+    }
+
+    @Test
+    void testSubset() {
+        BitSet indexes = new BitSet();
+        indexes.set(1);
+        Set<String> codes = this.codeTable.subset(indexes);
+        indexes.set(0);
+        assertEquals(ofSet("test.hello"), codes);
+        assertTrue(codes.contains("test.hello"));
+        assertFalse(codes.contains("test.a"));
+        assertFalse(codes.contains("test.b"));
+        assertEquals(1, codes.size());
+        Iterator<String> iterator = codes.iterator();
+        assertEquals("test.hello", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(UnsupportedOperationException.class, () -> codes.remove("test.hello"));
+        assertEquals(ofSet("test.a", "test.hello"), this.codeTable.subset(indexes));
+        assertTrue(this.codeTable.subset(new BitSet()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> this.codeTable.subset(null));
+    }
+
+    @Test
+    void testSize() {
+        assertEquals(2, this.codeTable.size());
+    }
+
+    @Test
+    void testToString() {
+        assertNotNull(this.codeTable.toString());
+    }
+}
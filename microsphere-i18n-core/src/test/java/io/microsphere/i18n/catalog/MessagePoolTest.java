@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import io.microsphere.i18n.text.MessagePattern;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.i18n.catalog.MessagePool.shared;
+import static io.microsphere.i18n.catalog.MessagePool.sizeOf;
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MessagePool} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MessagePool
+ * @since 1.0.0
+ */
+class MessagePoolTest {
+
+    private final MessagePool messagePool = new MessagePool();
+
+    @Test
+    void testShared() {
+        assertSame(shared(), shared());
+    }
+
+    @Test
+    void testCanonicalize() {
+        MessagePool.Statistics statistics = new MessagePool.Statistics();
+        String code = new String("test.hello");
+        assertSame(code, this.messagePool.canonicalize(code, statistics));
+        assertSame(code, this.messagePool.canonicalize(new String("test.hello"), statistics));
+        assertEquals(2, statistics.getCount());
+        assertEquals(1, statistics.getDeduplicatedCount());
+        assertEquals(sizeOf(code), statistics.getSavedBytes());
+        assertThrows(IllegalArgumentException.class, () -> this.messagePool.canonicalize(null, statistics));
+    }
+
+    @Test
+    void testCompile() {
+        MessagePool.Statistics statistics = new MessagePool.Statistics();
+        MessagePattern messagePattern = this.messagePool.compile(new String("Hello,{}"), statistics);
+        assertSame(messagePattern, this.messagePool.compile(new String("Hello,{}"), statistics));
+        assertNotSame(messagePattern, this.messagePool.compile("Hi,{}", statistics));
+        assertEquals("Hello,World", messagePattern.format("World"));
+        assertEquals(3, statistics.getCount());
+        assertEquals(1, statistics.getDeduplicatedCount());
+        assertEquals(sizeOf(messagePattern), statistics.getSavedBytes());
+        assertThrows(IllegalArgumentException.class, () -> this.messagePool.compile(null, statistics));
+    }
+
+    @Test
+    void testSize() {
+        MessagePool.Statistics statistics = new MessagePool.Statistics();
+        assertEquals(0, this.messagePool.size());
+        String code = this.messagePool.canonicalize("test.a", statistics);
+        MessagePattern messagePattern = this.messagePool.compile("test-a", statistics);
+        assertEquals(2, this.messagePool.size());
+        assertNotNull(code);
+        assertNotNull(messagePattern);
+    }
+
+    @Test
+    void testSizeOf() {
+        assertTrue(sizeOf("测试测试测试") > sizeOf("abcdef"));
+        assertTrue(sizeOf(compile("Hello,{}")) > sizeOf(compile("Hello,")));
+    }
+
+    @Test
+    void testStatisticsToString() {
+        assertEquals("Statistics{count=0, deduplicatedCount=0, savedBytes=0}", new MessagePool.Statistics().toString());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.catalog.ResourceIndex.IGNORE_PROPERTY_NAME;
+import static io.microsphere.i18n.catalog.ResourceIndex.INDEX_RESOURCE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ResourceIndex} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ResourceIndex
+ * @since 1.0.0
+ */
+class ResourceIndexTest {
+
+    private static final String RESOURCE = "META-INF/i18n/test/i18n_messages_en.properties";
+
+    private Path directory;
+
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("i18n");
+        Path resource = this.directory.resolve(RESOURCE);
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, "test.a=indexed-a".getBytes(UTF_8));
+        try (OutputStream outputStream = Files.newOutputStream(this.directory.resolve(INDEX_RESOURCE_NAME))) {
+            ResourceIndex.writeTo(ofList("test/i18n_messages_en.properties"), outputStream);
+        }
+        this.classLoader = new URLClassLoader(new URL[]{this.directory.toUri().toURL()}, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.classLoader.close();
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testLoad() throws IOException {
+        ResourceIndex resourceIndex = ResourceIndex.load(this.classLoader);
+        assertNotNull(resourceIndex);
+        assertEquals(ofSet(RESOURCE), resourceIndex.getResourceNames());
+        assertEquals(ofList(this.classLoader.getResource(RESOURCE)), resourceIndex.getResources(RESOURCE));
+        assertEquals(this.classLoader.getResource(RESOURCE), resourceIndex.getResource(RESOURCE));
+
+        // The absent resource of the indexed directory
+        String absentResource = "META-INF/i18n/test/i18n_messages_zh_CN.properties";
+        assertTrue(resourceIndex.isIndexed(absentResource));
+        assertTrue(resourceIndex.getResources(absentResource).isEmpty());
+        assertNull(resourceIndex.getResource(absentResource));
+
+        // The directory is not indexed
+        assertFalse(resourceIndex.isIndexed("META-INF/i18n/error/i18n_messages_en.properties"));
+        assertNotNull(resourceIndex.toString());
+    }
+
+    @Test
+    void testLoadWithUnindexedRoot() throws IOException {
+        Path unindexedDirectory = Files.createTempDirectory("i18n");
+        Path resource = unindexedDirectory.resolve("META-INF/i18n/test/i18n_messages_zh_CN.properties");
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, "test.a=unindexed-a".getBytes(UTF_8));
+        URL[] urls = {this.directory.toUri().toURL(), unindexedDirectory.toUri().toURL()};
+        try (URLClassLoader classLoader = new URLClassLoader(urls, null)) {
+            ResourceIndex resourceIndex = ResourceIndex.load(classLoader);
+            assertNotNull(resourceIndex);
+            // The directory is contributed by the root without the index, thus it's resolved by the ClassLoader
+            assertFalse(resourceIndex.isIndexed(RESOURCE));
+            assertFalse(resourceIndex.isIndexed("META-INF/i18n/test/i18n_messages_zh_CN.properties"));
+            assertEquals(ofSet(RESOURCE), resourceIndex.getResourceNames());
+
+            // The root ships the index of the other directory
+            Path indexPath = unindexedDirectory.resolve(INDEX_RESOURCE_NAME);
+            try (OutputStream outputStream = Files.newOutputStream(indexPath)) {
+                ResourceIndex.writeTo(ofList("error/i18n_messages_en.properties"), outputStream);
+            }
+            resourceIndex = ResourceIndex.load(classLoader);
+            assertNotNull(resourceIndex);
+            assertFalse(resourceIndex.isIndexed(RESOURCE));
+            assertTrue(resourceIndex.isIndexed("META-INF/i18n/error/i18n_messages_en.properties"));
+
+            // The root indexes the directory too
+            try (OutputStream outputStream = Files.newOutputStream(indexPath)) {
+                ResourceIndex.writeTo(ofList("test/i18n_messages_zh_CN.properties"), outputStream);
+            }
+            resourceIndex = ResourceIndex.load(classLoader);
+            assertNotNull(resourceIndex);
+            assertTrue(resourceIndex.isIndexed(RESOURCE));
+            assertEquals(ofList(classLoader.getResource("META-INF/i18n/test/i18n_messages_zh_CN.properties")),
+                    resourceIndex.getResources("META-INF/i18n/test/i18n_messages_zh_CN.properties"));
+        } finally {
+            try (Stream<Path> paths = Files.walk(unindexedDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void testLoadWithoutIndex() throws IOException {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+            assertNull(ResourceIndex.load(classLoader));
+            assertNull(ResourceIndex.of(classLoader));
+        }
+    }
+
+    @Test
+    void testOf() throws IOException {
+        ResourceIndex resourceIndex = ResourceIndex.of(this.classLoader);
+        assertNotNull(resourceIndex);
+        assertSame(resourceIndex, ResourceIndex.of(this.classLoader));
+
+        System.setProperty(IGNORE_PROPERTY_NAME, "true");
+        try {
+            assertNull(ResourceIndex.of(this.classLoader));
+        } finally {
+            System.clearProperty(IGNORE_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    void testWriteTo() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ResourceIndex.writeTo(ofList("test/b.properties", "test/a.properties"), outputStream);
+        assertEquals("test/a.properties\ntest/b.properties\n", outputStream.toString("UTF-8"));
+
+        assertThrows(IllegalArgumentException.class, () -> ResourceIndex.writeTo(ofList("/test/a.properties"), outputStream));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.i18n.text.MessageFormatter.CompiledMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMANY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link JdkMessageFormatter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see JdkMessageFormatter
+ * @since 1.0.0
+ */
+class JdkMessageFormatterTest {
+
+    private final JdkMessageFormatter messageFormatter = new JdkMessageFormatter();
+
+    @Test
+    void testCompile() {
+        assertThrows(IllegalArgumentException.class, () -> messageFormatter.compile(null, ENGLISH));
+        // The pattern with the "{}" placeholders falls back to MessagePattern
+        assertTrue(messageFormatter.compile("Hello,{}", ENGLISH) instanceof MessagePattern);
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("Hello,World", messageFormatter.compile("Hello,{0}", ENGLISH).format("World"));
+        assertEquals("Hello,World", messageFormatter.compile("Hello,{}", ENGLISH).format("World"));
+        // The numbers are formatted in the Locale
+        CompiledMessage compiledMessage = messageFormatter.compile("{0,number} items", ENGLISH);
+        assertEquals("1,234 items", compiledMessage.format(1234));
+        assertEquals("1.234 items", messageFormatter.compile("{0,number} items", GERMANY).format(1234));
+        // The missing argument is kept as is
+        assertEquals("{0} items", messageFormatter.compile("{0} items", ENGLISH).format());
+    }
+
+    @Test
+    void testFormatConstantMessage() {
+        // The pattern without any argument is kept as is
+        CompiledMessage compiledMessage = messageFormatter.compile("Can't connect", ENGLISH);
+        assertTrue(compiledMessage instanceof MessagePattern);
+        assertEquals("Can't connect", compiledMessage.format());
+        assertEquals("Can't connect", compiledMessage.format("ignored"));
+    }
+
+    @Test
+    void testFormatTo() throws IOException {
+        StringWriter writer = new StringWriter();
+        messageFormatter.compile("{0},{1}!", ENGLISH).formatTo(writer, "Hello", "World");
+        assertEquals("Hello,World!", writer.toString());
+    }
+
+    @Test
+    void testFormatConcurrently() throws Exception {
+        CompiledMessage compiledMessage = messageFormatter.compile("{0,number,#.##}", ENGLISH);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        assertEquals(j + ".5", compiledMessage.format(j + 0.5));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
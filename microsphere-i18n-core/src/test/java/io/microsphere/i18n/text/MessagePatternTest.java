@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+
+import static io.microsphere.i18n.text.MessagePattern.compile;
+import static io.microsphere.text.FormatUtils.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link MessagePattern} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MessagePattern
+ * @since 1.0.0
+ */
+class MessagePatternTest {
+
+    @Test
+    void testCompile() {
+        assertThrows(IllegalArgumentException.class, () -> compile(null));
+        assertEquals(0, compile("Hello").getArgumentCount());
+        assertEquals(1, compile("Hello,{}").getArgumentCount());
+        assertEquals(2, compile("{}{}").getArgumentCount());
+    }
+
+    @Test
+    void testFormat() {
+        assertFormat("Hello");
+        assertFormat("Hello", "World");
+        assertFormat("Hello,{}");
+        assertFormat("Hello,{}", "World");
+        assertFormat("Hello,{}", "World", "!");
+        assertFormat("{},{}!", "Hello", "World");
+        assertFormat("{},{}!", "Hello");
+        assertFormat("{}", 1);
+    }
+
+    @Test
+    void testFormatWithoutPlaceholders() {
+        String pattern = "Hello";
+        assertSame(pattern, compile(pattern).format());
+        assertSame(pattern, compile(pattern).format("World"));
+        assertSame(pattern, compile("Hello").getPattern());
+    }
+
+    @Test
+    void testEquals() {
+        assertEquals(compile("Hello,{}"), compile("Hello,{}"));
+        assertEquals(compile("Hello,{}").hashCode(), compile("Hello,{}").hashCode());
+        assertNotEquals(compile("Hello,{}"), compile("Hello"));
+        assertNotEquals(compile("Hello,{}"), "Hello,{}");
+        assertEquals("Hello,{}", compile("Hello,{}").toString());
+    }
+
+    @Test
+    void testFormatWithFixedArity() {
+        assertEquals(format("Hello,{}", "World"), compile("Hello,{}").format((Object) "World"));
+        assertEquals(format("Hello,{}", (Object) null), compile("Hello,{}").format((Object) null));
+        assertEquals(format("{}-{}-{}", "a", "b"), compile("{}-{}-{}").format("a", "b"));
+        assertEquals(format("{}-{}-{}", "a", "b", "c"), compile("{}-{}-{}").format("a", "b", "c"));
+        assertEquals(format("{}-{}", "a", "b", "c"), compile("{}-{}").format("a", "b", "c"));
+        assertEquals(format("{}", "a", "b"), compile("{}").format("a", "b"));
+        assertEquals(format("Limit : {}, {}", 100), compile("Limit : {}, {}").format(100));
+        assertEquals(format("Id : {}", Long.MAX_VALUE), compile("Id : {}").format(Long.MAX_VALUE));
+
+        String pattern = "Hello";
+        assertSame(pattern, compile(pattern).format(1));
+        assertSame(pattern, compile(pattern).format(1L));
+        assertSame(pattern, compile(pattern).format("a", "b", "c"));
+    }
+
+    @Test
+    void testFormatTo() throws IOException {
+        StringBuilder out = new StringBuilder("Message : ");
+        compile("Hello,{}").formatTo(out, "World");
+        assertEquals("Message : Hello,World", out.toString());
+
+        StringWriter writer = new StringWriter();
+        compile("{}-{}").formatTo(writer, new StringBuilder("a"), null);
+        assertEquals("a-null", writer.toString());
+
+        CharBuffer charBuffer = CharBuffer.allocate(16);
+        compile("Hello,{}").formatTo(charBuffer);
+        assertEquals("Hello,{}", charBuffer.flip().toString());
+    }
+
+    void assertFormat(String pattern, Object... args) {
+        assertEquals(format(pattern, args), compile(pattern).format(args));
+        StringBuilder out = new StringBuilder();
+        try {
+            compile(pattern).formatTo(out, args);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        assertEquals(format(pattern, args), out.toString());
+    }
+}
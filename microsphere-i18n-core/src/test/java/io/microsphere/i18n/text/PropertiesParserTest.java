@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link PropertiesParser} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see PropertiesParser
+ * @since 1.0.0
+ */
+class PropertiesParserTest {
+
+    @Test
+    void testParse() throws IOException {
+        Map<String, String> messages = new LinkedHashMap<>();
+        PropertiesParser.parse(new StringReader("test.a = test-a\ntest.hello=Hello,{}"), messages::put);
+        assertEquals(2, messages.size());
+        assertEquals("test-a", messages.get("test.a"));
+        assertEquals("Hello,{}", messages.get("test.hello"));
+    }
+
+    @Test
+    void testParseAsProperties() throws IOException {
+        assertSameAsProperties("");
+        assertSameAsProperties("\n\r\n   \t\f\n");
+        assertSameAsProperties("# comment\n! comment\n  # indented comment \\\na=1");
+        assertSameAsProperties("a=1\r\nb:2\rc 3\n d\t=\t4 \ne");
+        assertSameAsProperties("key = value = more\nkey2 :: value\nkey3   =   \n");
+        assertSameAsProperties("multi = line1 \\\n     line2 \\\r\n\tline3\\\r    line4");
+        assertSameAsProperties("even = backslashes\\\\\nodd = backslash\\\\\\\nnext");
+        assertSameAsProperties("escaped\\ key\\=with\\:separators = v\\t\\n\\r\\f\\\\\\x");
+        assertSameAsProperties("unicode = \\u6D4B\\u8BD5-a\n\\u0041 = A");
+        assertSameAsProperties("test.a=测试-a\ntest.hello=您好,{}");
+        assertSameAsProperties("dup=1\ndup=2");
+        assertSameAsProperties("tail = value\\");
+        assertSameAsProperties("blank.continuation = a\\\n\nb = 2");
+        assertSameAsProperties("comment.continuation = a\\\n# not a comment\nb");
+        assertSameAsProperties("=empty key\n:also empty");
+        assertSameAsProperties("# last comment without newline");
+    }
+
+    @Test
+    void testParseLongInput() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("test.key").append(i).append(" = value-").append(i).append(" \\\n  continued\n");
+        }
+        assertSameAsProperties(content.toString());
+    }
+
+    @Test
+    void testParseOnMalformedUnicode() {
+        assertThrows(IllegalArgumentException.class, () -> PropertiesParser.parse(new StringReader("a=\\u12"), (k, v) -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> PropertiesParser.parse(new StringReader("a=\\u12G4"), (k, v) -> {
+        }));
+    }
+
+    private void assertSameAsProperties(String content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(content));
+        Map<String, String> expected = new HashMap<>();
+        properties.forEach((key, value) -> expected.put((String) key, (String) value));
+
+        Map<String, String> actual = new HashMap<>();
+        PropertiesParser.parse(new StringReader(content), actual::put);
+        assertEquals(expected, actual, content);
+    }
+}
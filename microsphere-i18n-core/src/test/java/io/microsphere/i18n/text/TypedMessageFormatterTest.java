@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.text;
+
+import io.microsphere.i18n.text.MessageFormatter.CompiledMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Locale;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMANY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TypedMessageFormatter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see TypedMessageFormatter
+ * @since 1.0.0
+ */
+class TypedMessageFormatterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 31);
+
+    private static final LocalTime TIME = LocalTime.of(13, 5, 9);
+
+    private final TypedMessageFormatter messageFormatter = new TypedMessageFormatter();
+
+    @Test
+    void testCompile() {
+        assertThrows(IllegalArgumentException.class, () -> messageFormatter.compile(null, ENGLISH));
+        assertThrows(IllegalArgumentException.class, () -> messageFormatter.compile("{n}", null));
+        // The pattern without any typed placeholder is compiled into MessagePattern
+        assertTrue(messageFormatter.compile("Hello,{}", ENGLISH) instanceof MessagePattern);
+        assertTrue(messageFormatter.compile("Hello,{0}", ENGLISH) instanceof MessagePattern);
+        assertTrue(messageFormatter.compile("{d:unknown}", ENGLISH) instanceof MessagePattern);
+    }
+
+    @Test
+    void testFormatNumber() {
+        assertEquals("1,234.5 items", format("{n} items", ENGLISH, 1234.5));
+        assertEquals("1.234,5 items", format("{n} items", GERMANY, 1234.5));
+        assertEquals("1,235", format("{n:integer}", ENGLISH, 1234.6));
+        assertEquals("25%", format("{n:percent}", ENGLISH, 0.25));
+        // The argument that is not a number is formatted as is
+        assertEquals("abc", format("{n}", ENGLISH, "abc"));
+        assertEquals("null", format("{n}", ENGLISH, (Object) null));
+    }
+
+    @Test
+    void testFormatDateTime() {
+        assertEquals("2024-01-31", format("{d:iso}", ENGLISH, DATE));
+        assertEquals("13:05:09", format("{t:iso}", ENGLISH, TIME));
+        assertEquals("2024-01-31T13:05:09", format("{dt:iso}", ENGLISH, LocalDateTime.of(DATE, TIME)));
+        assertEquals("1/31/24", format("{d:short}", ENGLISH, DATE));
+        assertEquals("31.01.24", format("{d:short}", GERMANY, DATE));
+        assertEquals("Jan 31, 2024", format("{d}", ENGLISH, DATE));
+        assertEquals("Wednesday, January 31, 2024", format("{d:full}", ENGLISH, DATE));
+        // java.util.Date is formatted in the default time zone
+        Date date = Date.from(LocalDateTime.of(DATE, TIME).atZone(ZoneId.systemDefault()).toInstant());
+        assertEquals("2024-01-31", format("{d:iso}", ENGLISH, date));
+        assertEquals("2024-01-31T13:05:09", format("{dt:iso}", ENGLISH, date.toInstant()));
+        // The zoned arguments are formatted in their own zones rather than the default one
+        ZoneId zoneId = ZoneId.systemDefault().equals(ZoneOffset.ofHours(14)) ? ZoneOffset.ofHours(-12) : ZoneOffset.ofHours(14);
+        assertEquals("2024-01-31T13:05:09", format("{dt:iso}", ENGLISH, ZonedDateTime.of(DATE, TIME, zoneId)));
+        assertEquals("13:05:09", format("{t:iso}", ENGLISH, OffsetDateTime.of(DATE, TIME, ZoneOffset.ofHours(14))));
+        // The argument that lacks the fields is formatted as is
+        assertEquals("13:05:09", format("{d:iso}", ENGLISH, TIME));
+        assertEquals("abc", format("{d}", ENGLISH, "abc"));
+    }
+
+    @Test
+    void testFormatMixedPlaceholders() throws IOException {
+        CompiledMessage compiledMessage = messageFormatter.compile("{} ordered {n} items on {d:iso} {0}", ENGLISH);
+        assertEquals("Alice ordered 1,234 items on 2024-01-31 {0}", compiledMessage.format("Alice", 1234, DATE));
+        // The placeholders without the arguments are kept, the redundant arguments are ignored
+        assertEquals("Alice ordered {n} items on {d:iso} {0}", compiledMessage.format("Alice"));
+        assertEquals("{} ordered {n} items on {d:iso} {0}", compiledMessage.format());
+        assertEquals("Alice ordered 1 items on 2024-01-31 {0}", compiledMessage.format("Alice", 1, DATE, "ignored"));
+
+        StringBuilder out = new StringBuilder("Message : ");
+        compiledMessage.formatTo(out, "Bob", 2, DATE);
+        assertEquals("Message : Bob ordered 2 items on 2024-01-31 {0}", out.toString());
+        assertEquals("{} ordered {n} items on {d:iso} {0}", compiledMessage.toString());
+    }
+
+    @Test
+    void testLocaleFormats() {
+        LocaleFormats localeFormats = LocaleFormats.of(ENGLISH);
+        assertSame(localeFormats, LocaleFormats.of(ENGLISH));
+        assertNotSame(localeFormats, LocaleFormats.of(GERMANY));
+        assertSame(ENGLISH, localeFormats.getLocale());
+        assertSame(localeFormats.getArgumentFormat("d", "medium"), localeFormats.getArgumentFormat("d", null));
+        assertNull(localeFormats.getArgumentFormat("x", null));
+    }
+
+    private String format(String pattern, Locale locale, Object... args) {
+        return messageFormatter.compile(pattern, locale).format(args);
+    }
+}
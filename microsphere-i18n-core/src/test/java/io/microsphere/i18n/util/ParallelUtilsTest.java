@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.i18n.util.ParallelUtils.runAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ParallelUtils} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+class ParallelUtilsTest {
+
+    @Test
+    void testRunAll() {
+        AtomicInteger counter = new AtomicInteger();
+        Runnable task = counter::incrementAndGet;
+
+        runAll(null, ofList(task, task));
+        assertEquals(2, counter.get());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        runAll(executorService, ofList(task, task, task));
+        assertEquals(5, counter.get());
+        executorService.shutdown();
+
+        // The rejected tasks are run by the caller
+        runAll(executorService, ofList(task, task));
+        assertEquals(7, counter.get());
+    }
+
+    @Test
+    void testRunAllNested() {
+        // The nested invocations on the single thread would not deadlock
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        List<String> results = new CopyOnWriteArrayList<>();
+        Runnable nestedTask = () -> runAll(executorService, ofList(() -> results.add("a"), () -> results.add("b")));
+        runAll(executorService, ofList(nestedTask, nestedTask));
+        assertEquals(4, results.size());
+        executorService.shutdown();
+    }
+
+    @Test
+    void testRunAllOnFailure() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        IllegalStateException failure = new IllegalStateException("failure");
+        AtomicInteger counter = new AtomicInteger();
+        Runnable task = counter::incrementAndGet;
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> runAll(executorService, ofList(() -> {
+            throw failure;
+        }, task, task)));
+        assertSame(failure, e);
+        // All tasks are completed
+        assertEquals(2, counter.get());
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ReloadCoalescer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ReloadCoalescer
+ * @since 1.0.0
+ */
+class ReloadCoalescerTest {
+
+    @Test
+    void testSubmitWithoutQuietPeriod() {
+        List<Set<String>> reloads = new CopyOnWriteArrayList<>();
+        ReloadCoalescer coalescer = new ReloadCoalescer(0, reloads::add);
+        assertEquals(0, coalescer.getQuietPeriod());
+        assertTrue(coalescer.submit(ofList("a")).isDone());
+        assertTrue(coalescer.submit(ofList("b")).isDone());
+        assertEquals(ofList(ofSet("a"), ofSet("b")), reloads);
+        coalescer.close();
+    }
+
+    @Test
+    void testSubmit() {
+        List<Set<String>> reloads = new CopyOnWriteArrayList<>();
+        ReloadCoalescer coalescer = new ReloadCoalescer(100, reloads::add);
+        CompletableFuture<Void> future = coalescer.submit(ofList("a", "b"));
+        assertSame(future, coalescer.submit(ofList("b", "c")));
+        assertSame(future, coalescer.submit(ofList("a")));
+        future.join();
+        assertEquals(ofList(ofSet("a", "b", "c")), reloads);
+
+        // The next burst
+        coalescer.submit(ofList("d")).join();
+        assertEquals(ofList(ofSet("a", "b", "c"), ofSet("d")), reloads);
+        coalescer.close();
+    }
+
+    @Test
+    void testSubmitOnFailure() {
+        ReloadCoalescer coalescer = new ReloadCoalescer(10, names -> {
+            throw new IllegalStateException();
+        });
+        CompletionException e = assertThrows(CompletionException.class, coalescer.submit(ofList("a"))::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        coalescer.close();
+    }
+
+    @Test
+    void testClose() {
+        List<Set<String>> reloads = new CopyOnWriteArrayList<>();
+        ReloadCoalescer coalescer = new ReloadCoalescer(60000, reloads::add);
+        CompletableFuture<Void> future = coalescer.submit(ofList("a"));
+        coalescer.close();
+        assertTrue(future.isCancelled());
+        assertTrue(coalescer.submit(ofList("b")).isDone());
+        assertTrue(reloads.isEmpty());
+        // Closed twice
+        coalescer.close();
+    }
+
+    @Test
+    void testConstructorOnIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReloadCoalescer(-1, names -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new ReloadCoalescer(1, null));
+    }
+}
@@ -21,6 +21,12 @@ import io.microsphere.i18n.spring.cloud.event.ReloadableResourceServiceMessageSo
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static io.microsphere.i18n.spring.constants.I18nConstants.ASYNC_RELOAD_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_ASYNC_RELOAD_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_RELOAD_QUIET_PERIOD;
+import static io.microsphere.i18n.spring.constants.I18nConstants.RELOAD_QUIET_PERIOD_PROPERTY_NAME;
 
 /**
  * I18n Auto-Configuration for Spring Cloud that enables dynamic reloading of
@@ -43,7 +49,9 @@ import org.springframework.context.annotation.Configuration;
 public class I18nCloudAutoConfiguration {
 
     @Bean
-    public ReloadableResourceServiceMessageSourceListener reloadableResourceServiceMessageSourceListener() {
-        return new ReloadableResourceServiceMessageSourceListener();
+    public ReloadableResourceServiceMessageSourceListener reloadableResourceServiceMessageSourceListener(Environment environment) {
+        boolean asyncReload = environment.getProperty(ASYNC_RELOAD_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_ASYNC_RELOAD_ENABLED);
+        long quietPeriod = environment.getProperty(RELOAD_QUIET_PERIOD_PROPERTY_NAME, long.class, DEFAULT_RELOAD_QUIET_PERIOD);
+        return new ReloadableResourceServiceMessageSourceListener(asyncReload, quietPeriod);
     }
 }
\ No newline at end of file
@@ -20,15 +20,23 @@ import io.microsphere.i18n.ReloadableResourceServiceMessageSource;
 import io.microsphere.i18n.ServiceMessageSource;
 import io.microsphere.i18n.spring.DelegatingServiceMessageSource;
 import io.microsphere.i18n.spring.PropertySourcesServiceMessageSource;
+import io.microsphere.i18n.util.ReloadCoalescer;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static io.microsphere.i18n.spring.PropertySourcesServiceMessageSource.reloadAll;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 /**
  * An {@link ApplicationListener} of {@link EnvironmentChangeEvent} to reload
@@ -41,6 +49,13 @@ import static io.microsphere.i18n.spring.PropertySourcesServiceMessageSource.rel
  *   // When an EnvironmentChangeEvent is fired (e.g. via /actuator/refresh),
  *   // this listener reloads all PropertySourcesServiceMessageSource beans
  *   // whose property names match the changed keys.
+ *
+ *   // Reloads on the background worker, the refresh endpoint returns without waiting for the reload
+ *   ReloadableResourceServiceMessageSourceListener listener = new ReloadableResourceServiceMessageSourceListener(true);
+ *   listener.getReloadFuture().join(); // waits for the latest reload if required
+ *
+ *   // Merges the changed property names of a refresh storm into one reload after 200 ms of quiet
+ *   ReloadableResourceServiceMessageSourceListener listener = new ReloadableResourceServiceMessageSourceListener(true, 200);
  * }</pre>
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
@@ -52,16 +67,116 @@ import static io.microsphere.i18n.spring.PropertySourcesServiceMessageSource.rel
  * @since 1.0.0
  */
 public class ReloadableResourceServiceMessageSourceListener implements ApplicationListener<EnvironmentChangeEvent>,
-        BeanFactoryAware {
+        BeanFactoryAware, DisposableBean {
 
     private BeanFactory beanFactory;
 
+    /**
+     * The single background worker that reloads one by one, {@code null} if the reload is synchronous
+     */
+    private final ExecutorService reloadExecutor;
+
+    /**
+     * The coalescer of the bursts of the changed property names, {@code null} if the reloads are not coalesced
+     */
+    private final ReloadCoalescer reloadCoalescer;
+
+    private volatile CompletableFuture<Void> reloadFuture = completedFuture(null);
+
+    /**
+     * Constructs the listener that reloads synchronously on the event-publishing thread
+     */
+    public ReloadableResourceServiceMessageSourceListener() {
+        this(false);
+    }
+
+    /**
+     * Constructs the listener
+     *
+     * @param asyncReload whether to reload on the background worker rather than the event-publishing thread
+     */
+    public ReloadableResourceServiceMessageSourceListener(boolean asyncReload) {
+        this(asyncReload, 0);
+    }
+
+    /**
+     * Constructs the listener
+     *
+     * @param asyncReload whether to reload on the background worker rather than the event-publishing thread
+     * @param quietPeriod the quiet period in milliseconds to merge the changed property names of the successive
+     *                    events, zero if the reloads are not coalesced, otherwise the reloads are always asynchronous
+     */
+    public ReloadableResourceServiceMessageSourceListener(boolean asyncReload, long quietPeriod) {
+        this.reloadCoalescer = quietPeriod > 0 ? new ReloadCoalescer(quietPeriod, this::reloadAllSources) : null;
+        this.reloadExecutor = asyncReload && this.reloadCoalescer == null ? newReloadExecutor() : null;
+    }
+
     @Override
     public void onApplicationEvent(EnvironmentChangeEvent event) {
         Set<String> changedPropertyNames = event.getKeys();
+        reload(changedPropertyNames);
+    }
+
+    /**
+     * Reloads the {@link PropertySourcesServiceMessageSource} beans whose property names match the changed ones,
+     * the new messages of each source are published atomically, thus the readers never block
+     *
+     * @param changedPropertyNames the changed property names
+     * @return the future that completes when the reload completes
+     */
+    public CompletableFuture<Void> reload(Set<String> changedPropertyNames) {
+        CompletableFuture<Void> reloadFuture;
+        if (this.reloadCoalescer != null) {
+            reloadFuture = this.reloadCoalescer.submit(changedPropertyNames);
+        } else if (this.reloadExecutor == null) {
+            reloadAllSources(changedPropertyNames);
+            reloadFuture = completedFuture(null);
+        } else {
+            reloadFuture = runAsync(() -> reloadAllSources(changedPropertyNames), this.reloadExecutor);
+        }
+        this.reloadFuture = reloadFuture;
+        return reloadFuture;
+    }
+
+    /**
+     * Get the future of the latest reload, the reloads are serialized, thus the previous ones have completed when
+     * it completes
+     *
+     * @return non-null
+     */
+    public CompletableFuture<Void> getReloadFuture() {
+        return this.reloadFuture;
+    }
+
+    /**
+     * Whether the reload is asynchronous
+     *
+     * @return {@code true} if reloads on the background worker
+     */
+    public boolean isAsyncReload() {
+        return this.reloadExecutor != null || this.reloadCoalescer != null;
+    }
+
+    @Override
+    public void destroy() {
+        if (this.reloadExecutor != null) {
+            this.reloadExecutor.shutdown();
+        }
+        if (this.reloadCoalescer != null) {
+            this.reloadCoalescer.close();
+        }
+    }
+
+    private void reloadAllSources(Set<String> changedPropertyNames) {
         reloadAll(this.beanFactory, changedPropertyNames);
     }
 
+    private static ExecutorService newReloadExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("microsphere-i18n-cloud-reload-");
+        threadFactory.setDaemon(true);
+        return newSingleThreadExecutor(threadFactory);
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = beanFactory;
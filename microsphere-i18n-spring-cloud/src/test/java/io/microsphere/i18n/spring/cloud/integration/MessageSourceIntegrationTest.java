@@ -19,6 +19,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.jayway.jsonpath.JsonPath.using;
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.hasJsonPath;
 import static io.microsphere.collection.Sets.ofSet;
@@ -57,6 +59,58 @@ class MessageSourceIntegrationTest {
         MatcherAssert.assertThat(parse, hasJsonPath("$.['common.i18n_messages_en.properties'].['common.a']", equalTo("a.2024")));
     }
 
+    @Test
+    void shouldGetMessageWhenReloadAsync(ApplicationContext applicationContext) {
+        String key = "common.i18n_messages_en.properties";
+        ServiceMessageSource serviceMessageSource = applicationContext.getBean("commonServiceMessageSource", ServiceMessageSource.class);
+        ConfigurableEnvironment environment = (ConfigurableEnvironment) applicationContext.getEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("async", Maps.newHashMap(key, "common.a=a.async")));
+
+        ReloadableResourceServiceMessageSourceListener listener = new ReloadableResourceServiceMessageSourceListener(true);
+        listener.setBeanFactory(applicationContext);
+        try {
+            listener.reload(ofSet(key)).join();
+            assertThat(listener.getReloadFuture().isDone()).isTrue();
+            assertThat(serviceMessageSource.getMessage("common.a", ENGLISH))
+                    .isEqualTo("a.async");
+        } finally {
+            listener.destroy();
+            environment.getPropertySources().remove("async");
+            reloadSynchronously(applicationContext, key);
+        }
+    }
+
+    @Test
+    void shouldGetMessageWhenReloadCoalesced(ApplicationContext applicationContext) {
+        String key = "common.i18n_messages_en.properties";
+        ServiceMessageSource serviceMessageSource = applicationContext.getBean("commonServiceMessageSource", ServiceMessageSource.class);
+        ConfigurableEnvironment environment = (ConfigurableEnvironment) applicationContext.getEnvironment();
+        MapPropertySource propertySource = new MapPropertySource("coalesced", Maps.newHashMap(key, "common.a=a.1"));
+        environment.getPropertySources().addFirst(propertySource);
+
+        ReloadableResourceServiceMessageSourceListener listener = new ReloadableResourceServiceMessageSourceListener(false, 50);
+        listener.setBeanFactory(applicationContext);
+        try {
+            CompletableFuture<Void> reloadFuture = listener.reload(ofSet(key));
+            propertySource.getSource().put(key, "common.a=a.2");
+            // The burst is merged into one reload
+            assertThat(listener.reload(ofSet(key))).isSameAs(reloadFuture);
+            reloadFuture.join();
+            assertThat(serviceMessageSource.getMessage("common.a", ENGLISH))
+                    .isEqualTo("a.2");
+        } finally {
+            listener.destroy();
+            environment.getPropertySources().remove("coalesced");
+            reloadSynchronously(applicationContext, key);
+        }
+    }
+
+    private void reloadSynchronously(ApplicationContext applicationContext, String key) {
+        ReloadableResourceServiceMessageSourceListener listener = new ReloadableResourceServiceMessageSourceListener();
+        listener.setBeanFactory(applicationContext);
+        listener.reload(ofSet(key));
+    }
+
     @ImportAutoConfiguration(classes = {
             I18nAutoConfiguration.class,
             I18nEndpointAutoConfiguration.class,
@@ -2,6 +2,7 @@ package io.microsphere.i18n.spring;
 
 import io.microsphere.i18n.AbstractServiceMessageSource;
 import io.microsphere.i18n.CompositeServiceMessageSource;
+import io.microsphere.i18n.FlattenedMessageCatalog;
 import io.microsphere.i18n.ReloadableResourceServiceMessageSource;
 import io.microsphere.i18n.ServiceMessageSource;
 import io.microsphere.logging.Logger;
@@ -10,10 +11,15 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_FLATTENED_CATALOG_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.FLATTENED_CATALOG_ENABLED_PROPERTY_NAME;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
 
@@ -21,6 +27,12 @@ import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
  * The delegating {@link ServiceMessageSource} class composited by Spring {@link ServiceMessageSource} beans.
  * Registered as the primary {@link ServiceMessageSource} bean and auto-discovers all other
  * {@link ServiceMessageSource} beans in the {@link BeanFactory}.
+ * <p>
+ * If the {@link io.microsphere.i18n.spring.constants.I18nConstants#FLATTENED_CATALOG_ENABLED_PROPERTY_NAME
+ * "microsphere.i18n.flattened-catalog.enabled"} property is {@code true}, the messages of all leaf sources are
+ * looked up from one {@link FlattenedMessageCatalog} instead of walking the nested composites, the catalog is rebuilt
+ * once any leaf source completes reloading its resources, the lookups use the previous one until the new one is
+ * published.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -36,26 +48,166 @@ import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
  * @since 1.0.0
  */
 public class DelegatingServiceMessageSource extends CompositeServiceMessageSource
-        implements ReloadableResourceServiceMessageSource, InitializingBean, DisposableBean, BeanFactoryAware {
+        implements ReloadableResourceServiceMessageSource, InitializingBean, DisposableBean, BeanFactoryAware,
+        EnvironmentAware {
 
     private static final Logger logger = getLogger(DelegatingServiceMessageSource.class);
 
     private BeanFactory beanFactory;
 
+    private boolean flattenedCatalogEnabled = DEFAULT_FLATTENED_CATALOG_ENABLED;
+
+    /**
+     * The flattened catalog, it's {@code null} if disabled, not built yet or the leaf sources can't be flattened
+     */
+    private volatile FlattenedMessageCatalog flattenedMessageCatalog;
+
+    /**
+     * The count of the catalog rebuilding, guarded by {@link #getLock()}, the catalog built by the stale rebuilding
+     * will not be published
+     */
+    private long flattenedMessageCatalogRebuildingCount;
+
     @Override
     public void afterPropertiesSet() {
         super.init();
         this.setServiceMessageSources(findServiceMessageSourceBeans());
     }
 
+    @Override
+    public String getMessage(String code, Locale locale, Object... args) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, args);
+        }
+        return super.getMessage(code, locale, args);
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object arg) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, arg);
+        }
+        return super.getMessage(code, locale, arg);
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, arg0, arg1);
+        }
+        return super.getMessage(code, locale, arg0, arg1);
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, Object arg0, Object arg1, Object arg2) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, arg0, arg1, arg2);
+        }
+        return super.getMessage(code, locale, arg0, arg1, arg2);
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, int arg) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, arg);
+        }
+        return super.getMessage(code, locale, arg);
+    }
+
+    @Override
+    public String getMessage(String code, Locale locale, long arg) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.getMessage(code, locale, arg);
+        }
+        return super.getMessage(code, locale, arg);
+    }
+
+    @Override
+    public boolean appendMessage(Appendable out, String code, Locale locale, Object... args) {
+        FlattenedMessageCatalog flattenedMessageCatalog = getEnabledFlattenedMessageCatalog();
+        if (flattenedMessageCatalog != null) {
+            return flattenedMessageCatalog.appendMessage(out, code, locale, args);
+        }
+        return super.appendMessage(out, code, locale, args);
+    }
+
+    /**
+     * Get the {@link FlattenedMessageCatalog} if {@link #isFlattenedCatalogEnabled() enabled}
+     *
+     * @return {@code null} if disabled or the leaf sources can't be flattened
+     */
+    private FlattenedMessageCatalog getEnabledFlattenedMessageCatalog() {
+        return this.flattenedCatalogEnabled ? this.flattenedMessageCatalog : null;
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = beanFactory;
     }
 
     @Override
-    public void destroy() {
-        super.destroy();
+    public void setEnvironment(Environment environment) {
+        setFlattenedCatalogEnabled(environment.getProperty(FLATTENED_CATALOG_ENABLED_PROPERTY_NAME, boolean.class,
+                DEFAULT_FLATTENED_CATALOG_ENABLED));
+    }
+
+    /**
+     * Whether the {@link FlattenedMessageCatalog flattened catalog} is enabled
+     *
+     * @return {@code true} if enabled
+     */
+    public boolean isFlattenedCatalogEnabled() {
+        return this.flattenedCatalogEnabled;
+    }
+
+    /**
+     * Sets whether the {@link FlattenedMessageCatalog flattened catalog} is enabled
+     *
+     * @param flattenedCatalogEnabled {@code true} if enabled
+     */
+    public void setFlattenedCatalogEnabled(boolean flattenedCatalogEnabled) {
+        this.flattenedCatalogEnabled = flattenedCatalogEnabled;
+        if (logger.isTraceEnabled()) {
+            logger.trace("The flattened catalog is {}", flattenedCatalogEnabled ? "enabled" : "disabled");
+        }
+        rebuildFlattenedMessageCatalog();
+    }
+
+    @Override
+    protected void invalidate() {
+        super.invalidate();
+        rebuildFlattenedMessageCatalog();
+    }
+
+    /**
+     * Rebuilds the {@link FlattenedMessageCatalog} from the loaded resources of the leaf sources out of
+     * {@link #getLock() the lock}, then publishes it unless a later rebuilding has started meanwhile.
+     */
+    private void rebuildFlattenedMessageCatalog() {
+        long rebuildingCount;
+        synchronized (getLock()) {
+            rebuildingCount = ++this.flattenedMessageCatalogRebuildingCount;
+        }
+        FlattenedMessageCatalog flattenedMessageCatalog = null;
+        if (this.flattenedCatalogEnabled) {
+            flattenedMessageCatalog = FlattenedMessageCatalog.of(this);
+            if (flattenedMessageCatalog == null) {
+                logger.warn("The ServiceMessageSource list can't be flattened, the nested lookup is used : {}", getServiceMessageSources());
+            } else if (logger.isTraceEnabled()) {
+                logger.trace("The flattened catalog was rebuilt : {}", flattenedMessageCatalog);
+            }
+        }
+        synchronized (getLock()) {
+            if (rebuildingCount == this.flattenedMessageCatalogRebuildingCount) {
+                this.flattenedMessageCatalog = flattenedMessageCatalog;
+            }
+        }
     }
 
     private List<ServiceMessageSource> findServiceMessageSourceBeans() {
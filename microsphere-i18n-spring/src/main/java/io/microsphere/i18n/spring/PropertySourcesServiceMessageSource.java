@@ -9,9 +9,11 @@ import io.microsphere.i18n.spring.constants.I18nConstants;
 import io.microsphere.i18n.util.I18nUtils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.PropertySources;
 
 import java.io.IOException;
@@ -20,6 +22,7 @@ import java.io.StringReader;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -30,6 +33,7 @@ import static io.microsphere.i18n.util.I18nUtils.findAllServiceMessageSources;
 import static io.microsphere.i18n.util.MessageUtils.SOURCE_SEPARATOR;
 import static io.microsphere.lang.function.Predicates.and;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.util.CollectionUtils.isEmpty;
 import static org.springframework.util.StringUtils.hasText;
@@ -64,6 +68,29 @@ public class PropertySourcesServiceMessageSource extends PropertiesResourceServi
         super(source);
     }
 
+    /**
+     * Initializes the messages, and registers the resources into the {@link PropertySourcesServiceMessageSourceRegistry}
+     * of the {@link Environment}
+     */
+    @Override
+    public void init() {
+        super.init();
+        if (this.environment != null) {
+            PropertySourcesServiceMessageSourceRegistry.get(this.environment).register(this);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.environment != null) {
+            PropertySourcesServiceMessageSourceRegistry registry = PropertySourcesServiceMessageSourceRegistry.find(this.environment);
+            if (registry != null) {
+                registry.unregister(this);
+            }
+        }
+        super.destroy();
+    }
+
     @Override
     public boolean canReload(Iterable<String> changedResources) {
         for (String changedResource : changedResources) {
@@ -175,21 +202,40 @@ public class PropertySourcesServiceMessageSource extends PropertiesResourceServi
     }
 
     /**
-     * Reload all {@link PropertySourcesServiceMessageSource} beans from the specified {@link BeanFactory}
+     * Reload all {@link PropertySourcesServiceMessageSource} beans from the specified {@link BeanFactory}, the changed
+     * property names are routed by the {@link PropertySourcesServiceMessageSourceRegistry} of the {@link Environment}
+     * to the beans registered with their current resources, the other beans, e.g. the ones whose {@link Environment}
+     * was set after the initialization or whose resources changed since the registration, are scanned and registered
+     * again. The sources registered in the {@link Environment} but not reachable from the {@link BeanFactory} are
+     * never reloaded.
      *
      * @param beanFactory          {@link BeanFactory}
      * @param changedPropertyNames {@link Set} of changed property names
      * @see #findAllPropertySourcesServiceMessageSources(BeanFactory)
+     * @see PropertySourcesServiceMessageSourceRegistry#route(Collection)
      */
     public static void reloadAll(BeanFactory beanFactory, Set<String> changedPropertyNames) {
         List<PropertySourcesServiceMessageSource> propertySourcesServiceMessageSources = findAllPropertySourcesServiceMessageSources(beanFactory);
+        if (propertySourcesServiceMessageSources.isEmpty()) {
+            return;
+        }
+        Environment environment = resolveEnvironment(beanFactory);
+        PropertySourcesServiceMessageSourceRegistry registry = environment == null ? null :
+                PropertySourcesServiceMessageSourceRegistry.find(environment);
+        Map<PropertySourcesServiceMessageSource, Set<String>> routedResources = registry == null ? emptyMap() :
+                registry.route(changedPropertyNames);
         for (PropertySourcesServiceMessageSource propertySourcesServiceMessageSource : propertySourcesServiceMessageSources) {
-            Set<String> resources = propertySourcesServiceMessageSource.getResources();
-            Set<String> changedResources = newFixedLinkedHashSet(changedPropertyNames.size());
-            for (String resource : resources) {
-                String propertyName = propertySourcesServiceMessageSource.getPropertyName(resource);
-                if (changedPropertyNames.contains(propertyName)) {
-                    changedResources.add(resource);
+            Set<String> changedResources;
+            if (registry != null && registry.isRegisteredWithCurrentResources(propertySourcesServiceMessageSource)) {
+                changedResources = routedResources.get(propertySourcesServiceMessageSource);
+                if (changedResources == null) {
+                    continue;
+                }
+            } else {
+                changedResources = scanChangedResources(propertySourcesServiceMessageSource, changedPropertyNames);
+                if (registry != null && propertySourcesServiceMessageSource.environment == environment) {
+                    // Routed on the next reloading
+                    registry.register(propertySourcesServiceMessageSource);
                 }
             }
             if (propertySourcesServiceMessageSource.canReload(changedResources)) {
@@ -197,4 +243,26 @@ public class PropertySourcesServiceMessageSource extends PropertiesResourceServi
             }
         }
     }
+
+    @Nullable
+    private static Environment resolveEnvironment(BeanFactory beanFactory) {
+        if (beanFactory instanceof EnvironmentCapable) {
+            return ((EnvironmentCapable) beanFactory).getEnvironment();
+        }
+        String beanName = ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME;
+        return beanFactory.containsBean(beanName) ? beanFactory.getBean(beanName, Environment.class) : null;
+    }
+
+    private static Set<String> scanChangedResources(PropertySourcesServiceMessageSource propertySourcesServiceMessageSource,
+                                                    Set<String> changedPropertyNames) {
+        Set<String> resources = propertySourcesServiceMessageSource.getResources();
+        Set<String> changedResources = newFixedLinkedHashSet(changedPropertyNames.size());
+        for (String resource : resources) {
+            String propertyName = propertySourcesServiceMessageSource.getPropertyName(resource);
+            if (changedPropertyNames.contains(propertyName)) {
+                changedResources.add(resource);
+            }
+        }
+        return changedResources;
+    }
 }
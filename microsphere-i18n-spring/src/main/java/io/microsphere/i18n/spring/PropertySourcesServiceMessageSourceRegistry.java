@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.spring;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import org.springframework.core.env.Environment;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The registry of the {@link PropertySourcesServiceMessageSource PropertySourcesServiceMessageSources} that share one
+ * {@link Environment}, which indexes the sources and their resources by the property names they depend on. The
+ * sources are registered on the initialization and unregistered on the destruction, thus the changed property names
+ * are routed to the resources without scanning all sources. The registry holds the sources weakly, because they hold
+ * the {@link Environment} that keys the registry.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   PropertySourcesServiceMessageSource source = new PropertySourcesServiceMessageSource("test");
+ *   source.setEnvironment(environment);
+ *   source.init(); // registered
+ *   PropertySourcesServiceMessageSourceRegistry registry = PropertySourcesServiceMessageSourceRegistry.find(environment);
+ *   registry.route(Collections.singleton("test.i18n_messages_en.properties"));
+ *   // {source=[test.i18n_messages_en.properties]}
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see PropertySourcesServiceMessageSource
+ * @since 1.0.0
+ */
+public final class PropertySourcesServiceMessageSourceRegistry {
+
+    private static final Map<Environment, PropertySourcesServiceMessageSourceRegistry> registries = new WeakHashMap<>();
+
+    /**
+     * The registrations keyed by the property name, the lists are copied on write
+     */
+    private final Map<String, List<Registration>> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * The property names keyed by the registered source, guarded by {@code this}
+     */
+    private final Map<PropertySourcesServiceMessageSource, Set<String>> propertyNames = new WeakHashMap<>();
+
+    /**
+     * The resources keyed by the registered source when it was registered, guarded by {@code this}
+     */
+    private final Map<PropertySourcesServiceMessageSource, Set<String>> resources = new WeakHashMap<>();
+
+    private PropertySourcesServiceMessageSourceRegistry() {
+    }
+
+    /**
+     * Get the registry of the specified {@link Environment}, creates it if absent
+     *
+     * @param environment the {@link Environment}
+     * @return non-null
+     */
+    @Nonnull
+    public static PropertySourcesServiceMessageSourceRegistry get(Environment environment) {
+        assertNotNull(environment, () -> "The 'environment' argument must not be null");
+        synchronized (registries) {
+            return registries.computeIfAbsent(environment, e -> new PropertySourcesServiceMessageSourceRegistry());
+        }
+    }
+
+    /**
+     * Find the registry of the specified {@link Environment}
+     *
+     * @param environment the {@link Environment}
+     * @return {@code null} if no source of the {@link Environment} has been registered
+     */
+    @Nullable
+    public static PropertySourcesServiceMessageSourceRegistry find(Environment environment) {
+        synchronized (registries) {
+            return registries.get(environment);
+        }
+    }
+
+    /**
+     * Registers the resources of the specified source by their property names, the previous registration of the
+     * source is replaced
+     *
+     * @param serviceMessageSource the {@link PropertySourcesServiceMessageSource}
+     */
+    public synchronized void register(PropertySourcesServiceMessageSource serviceMessageSource) {
+        unregister(serviceMessageSource);
+        Set<String> resources = new LinkedHashSet<>(serviceMessageSource.getResources());
+        Set<String> propertyNames = new LinkedHashSet<>();
+        for (String resource : resources) {
+            String propertyName = serviceMessageSource.getPropertyName(resource);
+            propertyNames.add(propertyName);
+            this.registrations.compute(propertyName, (name, registrations) -> {
+                List<Registration> newRegistrations = registrations == null ? new ArrayList<>(1) : new ArrayList<>(registrations);
+                newRegistrations.add(new Registration(serviceMessageSource, resource));
+                return unmodifiableList(newRegistrations);
+            });
+        }
+        this.propertyNames.put(serviceMessageSource, propertyNames);
+        this.resources.put(serviceMessageSource, resources);
+    }
+
+    /**
+     * Unregisters the specified source
+     *
+     * @param serviceMessageSource the {@link PropertySourcesServiceMessageSource}
+     */
+    public synchronized void unregister(PropertySourcesServiceMessageSource serviceMessageSource) {
+        Set<String> propertyNames = this.propertyNames.remove(serviceMessageSource);
+        this.resources.remove(serviceMessageSource);
+        if (propertyNames == null) {
+            return;
+        }
+        for (String propertyName : propertyNames) {
+            this.registrations.computeIfPresent(propertyName, (name, registrations) -> {
+                List<Registration> newRegistrations = new ArrayList<>(registrations.size());
+                for (Registration registration : registrations) {
+                    PropertySourcesServiceMessageSource registeredServiceMessageSource = registration.get();
+                    // The reclaimed ones are purged too
+                    if (registeredServiceMessageSource != null && registeredServiceMessageSource != serviceMessageSource) {
+                        newRegistrations.add(registration);
+                    }
+                }
+                return newRegistrations.isEmpty() ? null : unmodifiableList(newRegistrations);
+            });
+        }
+    }
+
+    /**
+     * Routes the changed property names to the registered sources and their resources that depend on them, the cost
+     * is proportional to the count of the changed property names rather than the sources
+     *
+     * @param changedPropertyNames the changed property names
+     * @return the changed resources keyed by the source in the order of the changed property names, the empty map if
+     * no source depends on them
+     */
+    @Nonnull
+    public Map<PropertySourcesServiceMessageSource, Set<String>> route(Collection<String> changedPropertyNames) {
+        Map<PropertySourcesServiceMessageSource, Set<String>> changedResources = null;
+        for (String changedPropertyName : changedPropertyNames) {
+            List<Registration> registrations = this.registrations.getOrDefault(changedPropertyName, emptyList());
+            for (Registration registration : registrations) {
+                PropertySourcesServiceMessageSource serviceMessageSource = registration.get();
+                if (serviceMessageSource == null) { // reclaimed without the destruction
+                    continue;
+                }
+                if (changedResources == null) {
+                    changedResources = new LinkedHashMap<>();
+                }
+                changedResources.computeIfAbsent(serviceMessageSource, s -> new LinkedHashSet<>()).add(registration.resource);
+            }
+        }
+        return changedResources == null ? emptyMap() : changedResources;
+    }
+
+    /**
+     * Whether the specified source is registered
+     *
+     * @param serviceMessageSource the {@link PropertySourcesServiceMessageSource}
+     * @return {@code true} if registered
+     */
+    public synchronized boolean isRegistered(PropertySourcesServiceMessageSource serviceMessageSource) {
+        return this.propertyNames.containsKey(serviceMessageSource);
+    }
+
+    /**
+     * Whether the specified source is registered with its current {@link PropertySourcesServiceMessageSource#getResources()
+     * resources}, the source whose resources changed since the registration should be registered again
+     *
+     * @param serviceMessageSource the {@link PropertySourcesServiceMessageSource}
+     * @return {@code true} if registered and its resources are unchanged
+     */
+    public synchronized boolean isRegisteredWithCurrentResources(PropertySourcesServiceMessageSource serviceMessageSource) {
+        Set<String> resources = this.resources.get(serviceMessageSource);
+        return resources != null && resources.equals(serviceMessageSource.getResources());
+    }
+
+    /**
+     * Get the count of the registered property names
+     *
+     * @return the count of the registered property names
+     */
+    public int size() {
+        return this.registrations.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertySourcesServiceMessageSourceRegistry{propertyNames=" + this.registrations.keySet() + '}';
+    }
+
+    /**
+     * The resource of the source that depends on the property
+     */
+    private static final class Registration extends WeakReference<PropertySourcesServiceMessageSource> {
+
+        private final String resource;
+
+        Registration(PropertySourcesServiceMessageSource serviceMessageSource, String resource) {
+            super(serviceMessageSource);
+            this.resource = resource;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package io.microsphere.i18n.spring.beans.factory;
 
 import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.i18n.AbstractResourceServiceMessageSource;
 import io.microsphere.i18n.AbstractServiceMessageSource;
 import io.microsphere.i18n.CompositeServiceMessageSource;
+import io.microsphere.i18n.MappedServiceMessageSource;
 import io.microsphere.i18n.ReloadableResourceServiceMessageSource;
 import io.microsphere.i18n.ServiceMessageSource;
+import io.microsphere.i18n.catalog.MessagePool;
 import io.microsphere.i18n.spring.annotation.EnableI18n;
 import io.microsphere.i18n.spring.context.ResourceServiceMessageSourceChangedEvent;
+import io.microsphere.i18n.text.JdkMessageFormatter;
+import io.microsphere.i18n.text.MessageFormatter;
+import io.microsphere.i18n.text.TypedMessageFormatter;
 import io.microsphere.logging.Logger;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -19,24 +26,56 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-
+import java.util.concurrent.ExecutorService;
+
+import static io.microsphere.i18n.spring.constants.I18nConstants.ASYNC_RELOAD_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.COMPACT_CATALOG_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_ASYNC_RELOAD_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_COMPACT_CATALOG_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_FALLBACK_TO_DEFAULT_LOCALE;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_LAZY_LOADING_ENABLED;
 import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_LOCALE_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_MAPPED_CATALOG_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_MESSAGE_POOL_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_PARALLEL_INITIALIZATION_ENABLED;
+import static io.microsphere.i18n.spring.constants.I18nConstants.FALLBACK_LOCALES_PROPERTY_NAME_PREFIX;
+import static io.microsphere.i18n.spring.constants.I18nConstants.FALLBACK_TO_DEFAULT_LOCALE_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.JDK_MESSAGE_FORMATTER;
+import static io.microsphere.i18n.spring.constants.I18nConstants.LAZY_LOADING_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MAPPED_CATALOG_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MESSAGE_FORMATTER_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MESSAGE_POOL_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME;
 import static io.microsphere.i18n.spring.constants.I18nConstants.SUPPORTED_LOCALES_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.TYPED_MESSAGE_FORMATTER;
+import static io.microsphere.i18n.spring.constants.I18nConstants.WARM_UP_LOCALES_PROPERTY_NAME;
 import static io.microsphere.i18n.spring.util.LocaleUtils.getLocaleFromLocaleContext;
+import static io.microsphere.i18n.util.ParallelUtils.runAll;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.spring.beans.BeanUtils.invokeAwareInterfaces;
 import static io.microsphere.spring.core.env.EnvironmentUtils.asConfigurableEnvironment;
+import static java.lang.Math.max;
+import static java.lang.Runtime.getRuntime;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.sort;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.stream.Collectors.toSet;
 import static org.springframework.beans.BeanUtils.instantiateClass;
 import static org.springframework.core.io.support.SpringFactoriesLoader.loadFactoryNames;
@@ -79,6 +118,12 @@ public final class ServiceMessageSourceFactoryBean extends CompositeServiceMessa
 
     private int order;
 
+    /**
+     * The single background worker that reloads the changed resources one by one, {@code null} if the reload is
+     * synchronous
+     */
+    private volatile ExecutorService reloadExecutor;
+
     /**
      * Constructs with the given source identifier and lowest precedence order.
      *
@@ -117,6 +162,19 @@ public final class ServiceMessageSourceFactoryBean extends CompositeServiceMessa
     @Override
     public void init() {
         this.setServiceMessageSources(initServiceMessageSources());
+        if (this.reloadExecutor == null && resolveAsyncReload(environment)) {
+            this.reloadExecutor = newReloadExecutor();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ExecutorService reloadExecutor = this.reloadExecutor;
+        if (reloadExecutor != null) {
+            this.reloadExecutor = null;
+            reloadExecutor.shutdown();
+        }
+        super.destroy();
     }
 
     @Nonnull
@@ -164,12 +222,26 @@ public final class ServiceMessageSourceFactoryBean extends CompositeServiceMessa
     }
 
     protected List<AbstractServiceMessageSource> initServiceMessageSources() {
-        List<String> factoryNames = loadFactoryNames(AbstractServiceMessageSource.class, classLoader);
+        List<String> factoryNames = new ArrayList<>(loadFactoryNames(AbstractServiceMessageSource.class, classLoader));
+        String mappedFactoryName = MappedServiceMessageSource.class.getName();
+        if (resolveMappedCatalog(environment) && !factoryNames.contains(mappedFactoryName)) {
+            factoryNames.add(mappedFactoryName);
+        }
 
         Locale defaultLocale = resolveDefaultLocale(environment);
         Set<Locale> supportedLocales = resolveSupportedLocales(environment);
+        boolean fallbackToDefaultLocale = resolveFallbackToDefaultLocale(environment);
+        Map<Locale, List<Locale>> explicitFallbackLocales = resolveExplicitFallbackLocales(environment);
+        MessageFormatter messageFormatter = resolveMessageFormatter(environment);
+        boolean compactCatalog = resolveCompactCatalog(environment);
+        MessagePool messagePool = resolveMessagePool(environment);
+        boolean lazyLoading = resolveLazyLoading(environment);
+        Set<Locale> warmUpLocales = resolveWarmUpLocales(environment);
+        ExecutorService executor = resolveParallelInitialization(environment) ?
+                newInitializationExecutor(resolveParallelism(environment)) : null;
 
         List<AbstractServiceMessageSource> serviceMessageSources = new ArrayList<>(factoryNames.size());
+        List<Runnable> initTasks = new ArrayList<>(factoryNames.size());
 
         for (String factoryName : factoryNames) {
             Class<?> factoryClass = resolveClassName(factoryName, classLoader);
@@ -181,7 +253,33 @@ public final class ServiceMessageSourceFactoryBean extends CompositeServiceMessa
 
             serviceMessageSource.setDefaultLocale(defaultLocale);
             serviceMessageSource.setSupportedLocales(supportedLocales);
-            serviceMessageSource.init();
+            serviceMessageSource.setFallbackToDefaultLocale(fallbackToDefaultLocale);
+            serviceMessageSource.setExplicitFallbackLocales(explicitFallbackLocales);
+            serviceMessageSource.setMessageFormatter(messageFormatter);
+            if (serviceMessageSource instanceof AbstractResourceServiceMessageSource) {
+                AbstractResourceServiceMessageSource resourceServiceMessageSource = (AbstractResourceServiceMessageSource) serviceMessageSource;
+                resourceServiceMessageSource.setCompactCatalog(compactCatalog);
+                resourceServiceMessageSource.setMessagePool(messagePool);
+                resourceServiceMessageSource.setLazyLoading(lazyLoading);
+                resourceServiceMessageSource.setWarmUpLocales(warmUpLocales);
+                resourceServiceMessageSource.setLoadingExecutor(executor);
+            }
+            initTasks.add(serviceMessageSource::init);
+        }
+
+        try {
+            // Blocks until the messages of all sources are published
+            runAll(executor, initTasks);
+        } finally {
+            if (executor != null) {
+                for (AbstractServiceMessageSource serviceMessageSource : serviceMessageSources) {
+                    if (serviceMessageSource instanceof AbstractResourceServiceMessageSource) {
+                        // The later loadings, e.g. lazy loading and reloading, are sequential
+                        ((AbstractResourceServiceMessageSource) serviceMessageSource).setLoadingExecutor(null);
+                    }
+                }
+                executor.shutdown();
+            }
         }
 
         sort(serviceMessageSources);
@@ -238,12 +336,189 @@ public final class ServiceMessageSourceFactoryBean extends CompositeServiceMessa
         return unmodifiableSet(supportedLocales);
     }
 
+    protected boolean resolveFallbackToDefaultLocale(ConfigurableEnvironment environment) {
+        String propertyName = FALLBACK_TO_DEFAULT_LOCALE_PROPERTY_NAME;
+        boolean fallbackToDefaultLocale = environment.getProperty(propertyName, boolean.class, DEFAULT_FALLBACK_TO_DEFAULT_LOCALE);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The fallback to the default Locale : {} , configuration property [name : '{}']", fallbackToDefaultLocale, propertyName);
+        }
+        return fallbackToDefaultLocale;
+    }
+
+    protected Map<Locale, List<Locale>> resolveExplicitFallbackLocales(ConfigurableEnvironment environment) {
+        String propertyNamePrefix = FALLBACK_LOCALES_PROPERTY_NAME_PREFIX;
+        Map<Locale, List<Locale>> explicitFallbackLocales = new LinkedHashMap<>();
+        for (PropertySource<?> propertySource : environment.getPropertySources()) {
+            if (!(propertySource instanceof EnumerablePropertySource)) {
+                continue;
+            }
+            for (String propertyName : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                if (!propertyName.startsWith(propertyNamePrefix)) {
+                    continue;
+                }
+                Locale locale = parseLocale(propertyName.substring(propertyNamePrefix.length()));
+                if (locale == null || explicitFallbackLocales.containsKey(locale)) { // The former PropertySource takes precedence
+                    continue;
+                }
+                // The value is resolved by the Environment, thus the placeholders are resolved too
+                List<String> locales = environment.getProperty(propertyName, List.class, emptyList());
+                List<Locale> fallbackLocales = new ArrayList<>(locales.size());
+                for (String fallbackLocale : locales) {
+                    if (hasText(fallbackLocale)) {
+                        fallbackLocales.add(parseLocale(fallbackLocale.trim()));
+                    }
+                }
+                explicitFallbackLocales.put(locale, fallbackLocales);
+            }
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("The explicit fallback Locales parsed by configuration properties [prefix : '{}']: {}", propertyNamePrefix, explicitFallbackLocales);
+        }
+        return unmodifiableMap(explicitFallbackLocales);
+    }
+
+    @Nullable
+    protected MessageFormatter resolveMessageFormatter(ConfigurableEnvironment environment) {
+        String propertyName = MESSAGE_FORMATTER_PROPERTY_NAME;
+        String formatterName = environment.getProperty(propertyName);
+        final MessageFormatter messageFormatter;
+        if (hasText(formatterName)) {
+            messageFormatter = newMessageFormatter(formatterName.trim());
+            if (logger.isTraceEnabled()) {
+                logger.trace("The MessageFormatter : {} , configuration property [name : '{}' , value : '{}']", messageFormatter, propertyName, formatterName);
+            }
+        } else {
+            messageFormatter = getUniqueMessageFormatterBean();
+            if (logger.isTraceEnabled()) {
+                logger.trace("The MessageFormatter configuration property [name : '{}'] not found, use the unique bean : {}", propertyName, messageFormatter);
+            }
+        }
+        return messageFormatter;
+    }
+
+    private MessageFormatter newMessageFormatter(String formatterName) {
+        if (JDK_MESSAGE_FORMATTER.equalsIgnoreCase(formatterName)) {
+            return new JdkMessageFormatter();
+        } else if (TYPED_MESSAGE_FORMATTER.equalsIgnoreCase(formatterName)) {
+            return new TypedMessageFormatter();
+        }
+        Class<?> formatterClass = resolveClassName(formatterName, classLoader);
+        if (!MessageFormatter.class.isAssignableFrom(formatterClass)) {
+            throw new IllegalArgumentException("The class[name : '" + formatterName + "'] is not a MessageFormatter");
+        }
+        return (MessageFormatter) instantiateClass(formatterClass);
+    }
+
+    @Nullable
+    private MessageFormatter getUniqueMessageFormatterBean() {
+        ApplicationContext context = this.context;
+        if (context == null) {
+            return null;
+        }
+        String[] beanNames = context.getBeanNamesForType(MessageFormatter.class);
+        return beanNames.length == 1 ? context.getBean(beanNames[0], MessageFormatter.class) : null;
+    }
+
+    protected boolean resolveCompactCatalog(ConfigurableEnvironment environment) {
+        String propertyName = COMPACT_CATALOG_ENABLED_PROPERTY_NAME;
+        boolean compactCatalog = environment.getProperty(propertyName, boolean.class, DEFAULT_COMPACT_CATALOG_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The compact catalog : {} , configuration property [name : '{}']", compactCatalog, propertyName);
+        }
+        return compactCatalog;
+    }
+
+    protected boolean resolveMappedCatalog(ConfigurableEnvironment environment) {
+        String propertyName = MAPPED_CATALOG_ENABLED_PROPERTY_NAME;
+        boolean mappedCatalog = environment.getProperty(propertyName, boolean.class, DEFAULT_MAPPED_CATALOG_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The mapped catalog : {} , configuration property [name : '{}']", mappedCatalog, propertyName);
+        }
+        return mappedCatalog;
+    }
+
+    @Nullable
+    protected MessagePool resolveMessagePool(ConfigurableEnvironment environment) {
+        String propertyName = MESSAGE_POOL_ENABLED_PROPERTY_NAME;
+        boolean messagePoolEnabled = environment.getProperty(propertyName, boolean.class, DEFAULT_MESSAGE_POOL_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The message pool enabled : {} , configuration property [name : '{}']", messagePoolEnabled, propertyName);
+        }
+        return messagePoolEnabled ? MessagePool.shared() : null;
+    }
+
+    protected boolean resolveLazyLoading(ConfigurableEnvironment environment) {
+        String propertyName = LAZY_LOADING_ENABLED_PROPERTY_NAME;
+        boolean lazyLoading = environment.getProperty(propertyName, boolean.class, DEFAULT_LAZY_LOADING_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The lazy loading : {} , configuration property [name : '{}']", lazyLoading, propertyName);
+        }
+        return lazyLoading;
+    }
+
+    protected Set<Locale> resolveWarmUpLocales(ConfigurableEnvironment environment) {
+        String propertyName = WARM_UP_LOCALES_PROPERTY_NAME;
+        List<String> locales = environment.getProperty(propertyName, List.class, emptyList());
+        Set<Locale> warmUpLocales = locales.stream()
+                .map(StringUtils::parseLocale)
+                .collect(toSet());
+        if (logger.isTraceEnabled()) {
+            logger.trace("The set of warm-up Locales parsed by configuration property [name : '{}']: {}", propertyName, warmUpLocales);
+        }
+        return unmodifiableSet(warmUpLocales);
+    }
+
+    protected boolean resolveParallelInitialization(ConfigurableEnvironment environment) {
+        String propertyName = PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME;
+        boolean parallelInitialization = environment.getProperty(propertyName, boolean.class, DEFAULT_PARALLEL_INITIALIZATION_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The parallel initialization : {} , configuration property [name : '{}']", parallelInitialization, propertyName);
+        }
+        return parallelInitialization;
+    }
+
+    protected int resolveParallelism(ConfigurableEnvironment environment) {
+        String propertyName = PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME;
+        int parallelism = environment.getProperty(propertyName, int.class, getRuntime().availableProcessors());
+        if (logger.isTraceEnabled()) {
+            logger.trace("The parallelism of initialization : {} , configuration property [name : '{}']", parallelism, propertyName);
+        }
+        return max(1, parallelism);
+    }
+
+    private ExecutorService newInitializationExecutor(int parallelism) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("microsphere-i18n-" + this.source + "-init-");
+        threadFactory.setDaemon(true);
+        return newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    protected boolean resolveAsyncReload(ConfigurableEnvironment environment) {
+        String propertyName = ASYNC_RELOAD_ENABLED_PROPERTY_NAME;
+        boolean asyncReload = environment.getProperty(propertyName, boolean.class, DEFAULT_ASYNC_RELOAD_ENABLED);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The asynchronous reload : {} , configuration property [name : '{}']", asyncReload, propertyName);
+        }
+        return asyncReload;
+    }
+
+    private ExecutorService newReloadExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("microsphere-i18n-" + this.source + "-reload-");
+        threadFactory.setDaemon(true);
+        return newSingleThreadExecutor(threadFactory);
+    }
+
     @Override
     public void onApplicationEvent(ResourceServiceMessageSourceChangedEvent event) {
         Iterable<String> changedResources = event.getChangedResources();
         if (logger.isTraceEnabled()) {
             logger.trace("Receive event change resource: {}", changedResources);
         }
-        super.reload(changedResources);
+        ExecutorService reloadExecutor = this.reloadExecutor;
+        if (reloadExecutor == null) {
+            super.reload(changedResources);
+        } else {
+            // The messages are reloaded aside and swapped atomically, the readers keep the current ones until then
+            event.addReloadFuture(reloadAsync(changedResources, reloadExecutor));
+        }
     }
 }
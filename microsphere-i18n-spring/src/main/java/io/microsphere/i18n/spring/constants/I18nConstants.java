@@ -70,6 +70,232 @@ public interface I18nConstants {
     )
     String SUPPORTED_LOCALES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "supported-locales";
 
+    /**
+     * The property name of whether the message falls back to the default {@link Locale} finally :
+     * "microsphere.i18n.fallback-to-default-locale", e.g. the fallback chain of "en_GB" is "en_GB", "en",
+     * then the default {@link Locale}
+     *
+     * @see io.microsphere.i18n.AbstractServiceMessageSource#setFallbackToDefaultLocale(boolean)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String FALLBACK_TO_DEFAULT_LOCALE_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "fallback-to-default-locale";
+
+    /**
+     * The message does not fall back to the default {@link Locale} by default
+     */
+    boolean DEFAULT_FALLBACK_TO_DEFAULT_LOCALE = false;
+
+    /**
+     * The property name prefix of the explicit fallback {@link Locale locales} of one {@link Locale} :
+     * "microsphere.i18n.fallback-locales.", e.g. "microsphere.i18n.fallback-locales.en_GB=en,fr", the fallback chain
+     * of "en_GB" is "en_GB", "en", then "fr"
+     *
+     * @see io.microsphere.i18n.AbstractServiceMessageSource#setExplicitFallbackLocales(java.util.Map)
+     */
+    @ConfigurationProperty(
+            type = String[].class,
+            source = APPLICATION_SOURCE
+    )
+    String FALLBACK_LOCALES_PROPERTY_NAME_PREFIX = PROPERTY_NAME_PREFIX + "fallback-locales.";
+
+    /**
+     * The property name of whether the messages are stored in the compact catalog :
+     * "microsphere.i18n.compact-catalog.enabled"
+     *
+     * @see io.microsphere.i18n.AbstractResourceServiceMessageSource#setCompactCatalog(boolean)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String COMPACT_CATALOG_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "compact-catalog.enabled";
+
+    /**
+     * The compact catalog is disabled by default
+     */
+    boolean DEFAULT_COMPACT_CATALOG_ENABLED = false;
+
+    /**
+     * The property name of whether the message codes and patterns are deduplicated by the shared
+     * {@link io.microsphere.i18n.catalog.MessagePool} : "microsphere.i18n.message-pool.enabled"
+     *
+     * @see io.microsphere.i18n.AbstractResourceServiceMessageSource#setMessagePool(io.microsphere.i18n.catalog.MessagePool)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String MESSAGE_POOL_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "message-pool.enabled";
+
+    /**
+     * The message pool is disabled by default
+     */
+    boolean DEFAULT_MESSAGE_POOL_ENABLED = false;
+
+    /**
+     * The property name of whether the resources of the supported {@link Locale locales} are loaded lazily on the
+     * first request : "microsphere.i18n.lazy-loading.enabled"
+     *
+     * @see io.microsphere.i18n.AbstractResourceServiceMessageSource#setLazyLoading(boolean)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String LAZY_LOADING_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "lazy-loading.enabled";
+
+    /**
+     * The lazy loading is disabled by default
+     */
+    boolean DEFAULT_LAZY_LOADING_ENABLED = false;
+
+    /**
+     * The property name of the hot {@link Locale locales} whose resources are loaded eagerly in the lazy loading mode :
+     * "microsphere.i18n.warm-up-locales"
+     *
+     * @see io.microsphere.i18n.AbstractResourceServiceMessageSource#setWarmUpLocales(java.util.Collection)
+     */
+    @ConfigurationProperty(
+            type = String[].class,
+            source = APPLICATION_SOURCE
+    )
+    String WARM_UP_LOCALES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "warm-up-locales";
+
+    /**
+     * The property name of whether the sources and the resources of their {@link Locale locales} are initialized in
+     * parallel : "microsphere.i18n.parallel-initialization.enabled"
+     *
+     * @see io.microsphere.i18n.AbstractResourceServiceMessageSource#setLoadingExecutor(java.util.concurrent.Executor)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "parallel-initialization.enabled";
+
+    /**
+     * The parallel initialization is disabled by default
+     */
+    boolean DEFAULT_PARALLEL_INITIALIZATION_ENABLED = false;
+
+    /**
+     * The property name of the max count of the threads that initialize the sources in parallel :
+     * "microsphere.i18n.parallel-initialization.parallelism", the count of the available processors by default
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            source = APPLICATION_SOURCE
+    )
+    String PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "parallel-initialization.parallelism";
+
+    /**
+     * The property name of whether the changed resources are reloaded on the background worker rather than the
+     * event-publishing thread : "microsphere.i18n.async-reload.enabled"
+     *
+     * @see io.microsphere.i18n.ReloadableResourceServiceMessageSource#reloadAsync(Iterable, java.util.concurrent.Executor)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String ASYNC_RELOAD_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "async-reload.enabled";
+
+    /**
+     * The asynchronous reload is disabled by default
+     */
+    boolean DEFAULT_ASYNC_RELOAD_ENABLED = false;
+
+    /**
+     * The property name of the quiet period in milliseconds, the changed property names in a burst of the change
+     * events are merged until no event arrives in the period, then one reload runs :
+     * "microsphere.i18n.reload.quiet-period"
+     *
+     * @see io.microsphere.i18n.util.ReloadCoalescer
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "0",
+            source = APPLICATION_SOURCE
+    )
+    String RELOAD_QUIET_PERIOD_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "reload.quiet-period";
+
+    /**
+     * The reloads are not coalesced by default
+     */
+    long DEFAULT_RELOAD_QUIET_PERIOD = 0L;
+
+    /**
+     * The property name of whether the {@link io.microsphere.i18n.FlattenedMessageCatalog flattened catalog} of
+     * all leaf {@link ServiceMessageSource sources} is enabled : "microsphere.i18n.flattened-catalog.enabled"
+     *
+     * @see io.microsphere.i18n.spring.DelegatingServiceMessageSource
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String FLATTENED_CATALOG_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "flattened-catalog.enabled";
+
+    /**
+     * The flattened catalog is disabled by default
+     */
+    boolean DEFAULT_FLATTENED_CATALOG_ENABLED = false;
+
+    /**
+     * The property name of whether the {@link io.microsphere.i18n.MappedServiceMessageSource} that resolves the
+     * messages off the memory-mapped binary catalog is added to the sources : "microsphere.i18n.mapped-catalog.enabled"
+     *
+     * @see io.microsphere.i18n.MappedServiceMessageSource
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String MAPPED_CATALOG_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "mapped-catalog.enabled";
+
+    /**
+     * The mapped catalog is disabled by default
+     */
+    boolean DEFAULT_MAPPED_CATALOG_ENABLED = false;
+
+    /**
+     * The property name of the {@link io.microsphere.i18n.text.MessageFormatter} of the sources :
+     * "microsphere.i18n.message-formatter", the value is either the alias, "jdk" for the
+     * {@link io.microsphere.i18n.text.JdkMessageFormatter} or "typed" for the
+     * {@link io.microsphere.i18n.text.TypedMessageFormatter}, or the class name of the
+     * {@link io.microsphere.i18n.text.MessageFormatter}. If absent, the unique
+     * {@link io.microsphere.i18n.text.MessageFormatter} bean is used if present, otherwise the {@code "{}"}
+     * placeholders are formatted.
+     *
+     * @see io.microsphere.i18n.AbstractServiceMessageSource#setMessageFormatter(io.microsphere.i18n.text.MessageFormatter)
+     */
+    @ConfigurationProperty(
+            type = String.class,
+            source = APPLICATION_SOURCE
+    )
+    String MESSAGE_FORMATTER_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "message-formatter";
+
+    /**
+     * The alias of the {@link io.microsphere.i18n.text.JdkMessageFormatter} : "jdk"
+     */
+    String JDK_MESSAGE_FORMATTER = "jdk";
+
+    /**
+     * The alias of the {@link io.microsphere.i18n.text.TypedMessageFormatter} : "typed"
+     */
+    String TYPED_MESSAGE_FORMATTER = "typed";
+
     /**
      * The Primary {@link ServiceMessageSource} Bean Bean
      */
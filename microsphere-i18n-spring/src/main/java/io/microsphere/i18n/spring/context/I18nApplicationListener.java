@@ -18,6 +18,7 @@ package io.microsphere.i18n.spring.context;
 
 import io.microsphere.i18n.ServiceMessageSource;
 import io.microsphere.i18n.spring.annotation.EnableI18n;
+import io.microsphere.i18n.util.ReloadCoalescer;
 import io.microsphere.spring.config.env.event.PropertySourcesChangedEvent;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
@@ -30,6 +31,8 @@ import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 import java.util.Map;
 
 import static io.microsphere.i18n.spring.PropertySourcesServiceMessageSource.reloadAll;
+import static io.microsphere.i18n.spring.constants.I18nConstants.DEFAULT_RELOAD_QUIET_PERIOD;
+import static io.microsphere.i18n.spring.constants.I18nConstants.RELOAD_QUIET_PERIOD_PROPERTY_NAME;
 import static io.microsphere.i18n.spring.util.I18nBeanUtils.getServiceMessageSource;
 import static io.microsphere.i18n.util.I18nUtils.destroyServiceMessageSource;
 import static io.microsphere.i18n.util.I18nUtils.setServiceMessageSource;
@@ -42,6 +45,8 @@ import static io.microsphere.i18n.util.I18nUtils.setServiceMessageSource;
  * <pre>{@code
  *   // Automatically registered via @EnableI18n
  *   // Listens for ContextRefreshedEvent, ContextClosedEvent, and PropertySourcesChangedEvent
+ *   // The burst of PropertySourcesChangedEvent is coalesced into one reload if
+ *   // "microsphere.i18n.reload.quiet-period" is positive
  *   @EnableI18n
  *   @Configuration
  *   public class AppConfig { }
@@ -55,6 +60,8 @@ import static io.microsphere.i18n.util.I18nUtils.setServiceMessageSource;
  */
 public class I18nApplicationListener {
 
+    private volatile ReloadCoalescer reloadCoalescer;
+
     @EventListener(ContextRefreshedEvent.class)
     public void onContextRefreshedEvent(ContextRefreshedEvent event) {
         ApplicationContext context = event.getApplicationContext();
@@ -63,6 +70,11 @@ public class I18nApplicationListener {
 
     @EventListener(ContextClosedEvent.class)
     public void onContextClosedEvent() {
+        ReloadCoalescer reloadCoalescer = this.reloadCoalescer;
+        if (reloadCoalescer != null) {
+            this.reloadCoalescer = null;
+            reloadCoalescer.close();
+        }
         destroyServiceMessageSource();
     }
 
@@ -70,7 +82,23 @@ public class I18nApplicationListener {
     public void onPropertySourcesChangedEvent(PropertySourcesChangedEvent event) {
         Map<String, Object> changedProperties = event.getChangedProperties();
         ApplicationContext context = event.getApplicationContext();
-        reloadAll(context, changedProperties.keySet());
+        getReloadCoalescer(context).submit(changedProperties.keySet());
+    }
+
+    private ReloadCoalescer getReloadCoalescer(ApplicationContext context) {
+        ReloadCoalescer reloadCoalescer = this.reloadCoalescer;
+        if (reloadCoalescer == null) {
+            synchronized (this) {
+                reloadCoalescer = this.reloadCoalescer;
+                if (reloadCoalescer == null) {
+                    long quietPeriod = context.getEnvironment().getProperty(RELOAD_QUIET_PERIOD_PROPERTY_NAME, long.class,
+                            DEFAULT_RELOAD_QUIET_PERIOD);
+                    reloadCoalescer = new ReloadCoalescer(quietPeriod, names -> reloadAll(context, names));
+                    this.reloadCoalescer = reloadCoalescer;
+                }
+            }
+        }
+        return reloadCoalescer;
     }
 
     private void initializeServiceMessageSource(ApplicationContext context) {
@@ -5,6 +5,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.event.ApplicationContextEvent;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.CompletableFuture.allOf;
+
 /**
  * {@link ResourceServiceMessageSource} Changed {@link ApplicationEvent Event},
  * published when i18n resource files are modified at runtime.
@@ -14,6 +20,8 @@ import org.springframework.context.event.ApplicationContextEvent;
  *   ApplicationContext context = ...;
  *   context.publishEvent(new ResourceServiceMessageSourceChangedEvent(
  *       context, Arrays.asList("META-INF/i18n/test/i18n_messages_en.properties")));
+ *   // The listeners may reload asynchronously, waits for the reloaded messages if required
+ *   event.getReloadFuture().join();
  * }</pre>
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
@@ -24,6 +32,8 @@ public class ResourceServiceMessageSourceChangedEvent extends ApplicationContext
 
     private final Iterable<String> changedResources;
 
+    private final List<CompletableFuture<?>> reloadFutures = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs the event.
      *
@@ -43,4 +53,23 @@ public class ResourceServiceMessageSourceChangedEvent extends ApplicationContext
     public Iterable<String> getChangedResources() {
         return changedResources;
     }
+
+    /**
+     * Adds the future of the reload that is triggered by this event, e.g. the asynchronous reload of the listener.
+     *
+     * @param reloadFuture the future of the reload
+     */
+    public void addReloadFuture(CompletableFuture<?> reloadFuture) {
+        this.reloadFutures.add(reloadFuture);
+    }
+
+    /**
+     * Gets the future that completes when all reloads triggered by this event complete, thus the callers could read
+     * the reloaded messages after it.
+     *
+     * @return the completed future if no reload is asynchronous
+     */
+    public CompletableFuture<Void> getReloadFuture() {
+        return allOf(reloadFutures.toArray(new CompletableFuture[0]));
+    }
 }
@@ -17,12 +17,22 @@
 
 package io.microsphere.i18n.spring;
 
+import io.microsphere.i18n.DefaultServiceMessageSource;
 import io.microsphere.i18n.EmptyServiceMessageSource;
 import io.microsphere.spring.test.junit.jupiter.SpringLoggingTest;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
 
+import static io.microsphere.i18n.spring.constants.I18nConstants.FLATTENED_CATALOG_ENABLED_PROPERTY_NAME;
 import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
+import static java.util.Arrays.asList;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link DelegatingServiceMessageSource} Test
@@ -41,4 +51,36 @@ class DelegatingServiceMessageSourceTest {
             assertNull(delegatingServiceMessageSource.getMessage("test"));
         }, DelegatingServiceMessageSource.class, EmptyServiceMessageSource.class);
     }
+
+    @Test
+    void testFlattenedCatalog() {
+        DefaultServiceMessageSource defaultServiceMessageSource = new DefaultServiceMessageSource("test");
+        defaultServiceMessageSource.setSupportedLocales(asList(SIMPLIFIED_CHINESE, ENGLISH));
+        defaultServiceMessageSource.init();
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("defaultServiceMessageSource", defaultServiceMessageSource);
+
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(FLATTENED_CATALOG_ENABLED_PROPERTY_NAME, "true");
+
+        DelegatingServiceMessageSource delegatingServiceMessageSource = new DelegatingServiceMessageSource();
+        assertFalse(delegatingServiceMessageSource.isFlattenedCatalogEnabled());
+        delegatingServiceMessageSource.setBeanFactory(beanFactory);
+        delegatingServiceMessageSource.setEnvironment(environment);
+        delegatingServiceMessageSource.afterPropertiesSet();
+        assertTrue(delegatingServiceMessageSource.isFlattenedCatalogEnabled());
+
+        assertEquals("Hello,World", delegatingServiceMessageSource.getMessage("hello", ENGLISH, "World"));
+        assertEquals("您好,World", delegatingServiceMessageSource.getMessage("test.hello", SIMPLIFIED_CHINESE, "World"));
+        assertNull(delegatingServiceMessageSource.getMessage("not-found", ENGLISH));
+
+        // The flattened catalog is rebuilt after the leaf reloaded
+        defaultServiceMessageSource.initializeResources(defaultServiceMessageSource.getInitializedResources());
+        assertEquals("test-a", delegatingServiceMessageSource.getMessage("a", ENGLISH));
+
+        delegatingServiceMessageSource.setFlattenedCatalogEnabled(false);
+        assertEquals("test-a", delegatingServiceMessageSource.getMessage("a", ENGLISH));
+        delegatingServiceMessageSource.destroy();
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.i18n.spring;
+
+import io.microsphere.i18n.AbstractSpringTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.spring.PropertySourcesServiceMessageSourceRegistry.find;
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link PropertySourcesServiceMessageSourceRegistry} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see PropertySourcesServiceMessageSourceRegistry
+ * @since 1.0.0
+ */
+class PropertySourcesServiceMessageSourceRegistryTest extends AbstractSpringTest {
+
+    private static final String ZH_CN_PROPERTY_NAME = "test.i18n_messages_zh_CN.properties";
+
+    private static final String EN_PROPERTY_NAME = "test.i18n_messages_en.properties";
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    protected void before() throws Throwable {
+        super.before();
+        this.environment = new MockEnvironment();
+        this.environment.setProperty(ZH_CN_PROPERTY_NAME, "test.a=测试-a");
+        this.environment.setProperty(EN_PROPERTY_NAME, "test.a=test-a");
+    }
+
+    @Test
+    void testRegister() {
+        assertNull(find(this.environment));
+
+        PropertySourcesServiceMessageSource serviceMessageSource = newServiceMessageSource(TEST_SOURCE);
+        PropertySourcesServiceMessageSourceRegistry registry = find(this.environment);
+        assertNotNull(registry);
+        assertSame(registry, PropertySourcesServiceMessageSourceRegistry.get(this.environment));
+        assertTrue(registry.isRegistered(serviceMessageSource));
+        assertEquals(2, registry.size());
+
+        // Registered twice
+        serviceMessageSource.init();
+        assertEquals(2, registry.size());
+        assertEquals(ofSet(ZH_CN_PROPERTY_NAME), registry.route(ofSet(ZH_CN_PROPERTY_NAME)).get(serviceMessageSource));
+
+        serviceMessageSource.destroy();
+        assertFalse(registry.isRegistered(serviceMessageSource));
+        assertEquals(0, registry.size());
+        assertTrue(registry.route(ofSet(ZH_CN_PROPERTY_NAME)).isEmpty());
+        assertNotNull(registry.toString());
+    }
+
+    @Test
+    void testRoute() {
+        PropertySourcesServiceMessageSource serviceMessageSource = newServiceMessageSource(TEST_SOURCE);
+        PropertySourcesServiceMessageSource otherServiceMessageSource = newServiceMessageSource("other");
+        PropertySourcesServiceMessageSourceRegistry registry = find(this.environment);
+        assertEquals(4, registry.size());
+
+        Map<PropertySourcesServiceMessageSource, Set<String>> changedResources =
+                registry.route(ofSet(ZH_CN_PROPERTY_NAME, EN_PROPERTY_NAME, "other.i18n_messages_en.properties", "unknown"));
+        assertEquals(2, changedResources.size());
+        assertEquals(ofSet(ZH_CN_PROPERTY_NAME, EN_PROPERTY_NAME), changedResources.get(serviceMessageSource));
+        assertEquals(ofSet("other.i18n_messages_en.properties"), changedResources.get(otherServiceMessageSource));
+
+        assertTrue(registry.route(ofSet("unknown")).isEmpty());
+
+        serviceMessageSource.destroy();
+        otherServiceMessageSource.destroy();
+    }
+
+    @Test
+    void testIsRegisteredWithCurrentResources() {
+        PropertySourcesServiceMessageSource serviceMessageSource = newServiceMessageSource(TEST_SOURCE);
+        PropertySourcesServiceMessageSourceRegistry registry = find(this.environment);
+        assertTrue(registry.isRegisteredWithCurrentResources(serviceMessageSource));
+
+        // The resources changed since the registration
+        serviceMessageSource.setSupportedLocales(ofSet(ENGLISH));
+        assertTrue(registry.isRegistered(serviceMessageSource));
+        assertFalse(registry.isRegisteredWithCurrentResources(serviceMessageSource));
+
+        registry.register(serviceMessageSource);
+        assertTrue(registry.isRegisteredWithCurrentResources(serviceMessageSource));
+        assertTrue(registry.route(ofSet(ZH_CN_PROPERTY_NAME)).isEmpty());
+
+        serviceMessageSource.destroy();
+        assertFalse(registry.isRegisteredWithCurrentResources(serviceMessageSource));
+    }
+
+    private PropertySourcesServiceMessageSource newServiceMessageSource(String source) {
+        PropertySourcesServiceMessageSource serviceMessageSource = new PropertySourcesServiceMessageSource(source);
+        serviceMessageSource.setEnvironment(this.environment);
+        serviceMessageSource.setSupportedLocales(ofSet(SIMPLIFIED_CHINESE, ENGLISH));
+        serviceMessageSource.init();
+        return serviceMessageSource;
+    }
+}
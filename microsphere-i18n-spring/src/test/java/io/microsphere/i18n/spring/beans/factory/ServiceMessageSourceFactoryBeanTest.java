@@ -1,9 +1,13 @@
 package io.microsphere.i18n.spring.beans.factory;
 
 import io.microsphere.i18n.AbstractSpringTest;
+import io.microsphere.i18n.MappedServiceMessageSource;
 import io.microsphere.i18n.ServiceMessageSource;
+import io.microsphere.i18n.catalog.MessagePool;
 import io.microsphere.i18n.spring.config.TestSourceEnableI18nConfiguration;
 import io.microsphere.i18n.spring.context.ResourceServiceMessageSourceChangedEvent;
+import io.microsphere.i18n.text.JdkMessageFormatter;
+import io.microsphere.i18n.text.TypedMessageFormatter;
 import io.microsphere.logging.test.jupiter.LoggingLevelsTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,18 +22,39 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.i18n.spring.constants.I18nConstants.ASYNC_RELOAD_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.COMPACT_CATALOG_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.FALLBACK_LOCALES_PROPERTY_NAME_PREFIX;
+import static io.microsphere.i18n.spring.constants.I18nConstants.FALLBACK_TO_DEFAULT_LOCALE_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.LAZY_LOADING_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MAPPED_CATALOG_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MESSAGE_FORMATTER_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.MESSAGE_POOL_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME;
+import static io.microsphere.i18n.spring.constants.I18nConstants.WARM_UP_LOCALES_PROPERTY_NAME;
+import static java.util.Arrays.asList;
 import static java.util.Locale.ENGLISH;
 import static java.util.Locale.FRANCE;
+import static java.util.Locale.FRENCH;
+import static java.util.Locale.SIMPLIFIED_CHINESE;
+import static java.util.Locale.UK;
 import static java.util.Locale.US;
 import static java.util.Locale.getDefault;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.context.i18n.LocaleContextHolder.resetLocaleContext;
 import static org.springframework.context.i18n.LocaleContextHolder.setLocale;
 
@@ -150,11 +175,191 @@ class ServiceMessageSourceFactoryBeanTest extends AbstractSpringTest {
         assertEquals(this.serviceMessageSourceFactoryBean.getDefaultSupportedLocales(), locales);
     }
 
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveFallbackToDefaultLocale() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveFallbackToDefaultLocale(environment));
+
+        environment.setProperty(FALLBACK_TO_DEFAULT_LOCALE_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveFallbackToDefaultLocale(environment));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveExplicitFallbackLocales() {
+        MockEnvironment environment = new MockEnvironment();
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveExplicitFallbackLocales(environment).isEmpty());
+
+        environment.setProperty(FALLBACK_LOCALES_PROPERTY_NAME_PREFIX + "en_GB", "en, fr");
+        environment.setProperty(FALLBACK_LOCALES_PROPERTY_NAME_PREFIX + "pt_BR", "pt_PT");
+        Map<Locale, List<Locale>> explicitFallbackLocales = this.serviceMessageSourceFactoryBean.resolveExplicitFallbackLocales(environment);
+        assertEquals(2, explicitFallbackLocales.size());
+        assertEquals(asList(ENGLISH, FRENCH), explicitFallbackLocales.get(UK));
+        assertEquals(asList(new Locale("pt", "PT")), explicitFallbackLocales.get(new Locale("pt", "BR")));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveCompactCatalog() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveCompactCatalog(environment));
+
+        environment.setProperty(COMPACT_CATALOG_ENABLED_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveCompactCatalog(environment));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveMappedCatalog() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveMappedCatalog(environment));
+
+        environment.setProperty(MAPPED_CATALOG_ENABLED_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveMappedCatalog(environment));
+    }
+
+    @Test
+    void testInitWithMappedCatalog() {
+        // The MappedServiceMessageSource is not registered by default
+        assertFalse(this.serviceMessageSourceFactoryBean.getServiceMessageSources().stream()
+                .anyMatch(MappedServiceMessageSource.class::isInstance));
+
+        propertySource.setProperty(MAPPED_CATALOG_ENABLED_PROPERTY_NAME, "true");
+        this.serviceMessageSourceFactoryBean.init();
+        assertTrue(this.serviceMessageSourceFactoryBean.getServiceMessageSources().stream()
+                .anyMatch(MappedServiceMessageSource.class::isInstance));
+        assertEquals("test-a", this.serviceMessageSourceFactoryBean.getMessage("a"));
+
+        propertySource.setProperty(MAPPED_CATALOG_ENABLED_PROPERTY_NAME, "false");
+        this.serviceMessageSourceFactoryBean.init();
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveMessageFormatter() {
+        MockEnvironment environment = new MockEnvironment();
+        assertNull(this.serviceMessageSourceFactoryBean.resolveMessageFormatter(environment));
+
+        environment.setProperty(MESSAGE_FORMATTER_PROPERTY_NAME, "jdk");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveMessageFormatter(environment) instanceof JdkMessageFormatter);
+
+        environment.setProperty(MESSAGE_FORMATTER_PROPERTY_NAME, "typed");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveMessageFormatter(environment) instanceof TypedMessageFormatter);
+
+        environment.setProperty(MESSAGE_FORMATTER_PROPERTY_NAME, JdkMessageFormatter.class.getName());
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveMessageFormatter(environment) instanceof JdkMessageFormatter);
+
+        environment.setProperty(MESSAGE_FORMATTER_PROPERTY_NAME, String.class.getName());
+        assertThrows(IllegalArgumentException.class, () -> this.serviceMessageSourceFactoryBean.resolveMessageFormatter(environment));
+    }
+
+    @Test
+    void testInitWithMessageFormatter() {
+        propertySource.setProperty(MESSAGE_FORMATTER_PROPERTY_NAME, "jdk");
+        this.serviceMessageSourceFactoryBean.init();
+        assertEquals("Hello,World", this.serviceMessageSourceFactoryBean.getMessage("hello", ENGLISH, "World"));
+
+        propertySource.getSource().remove(MESSAGE_FORMATTER_PROPERTY_NAME);
+        this.serviceMessageSourceFactoryBean.init();
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveLazyLoading() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveLazyLoading(environment));
+
+        environment.setProperty(LAZY_LOADING_ENABLED_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveLazyLoading(environment));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveWarmUpLocales() {
+        MockEnvironment environment = new MockEnvironment();
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveWarmUpLocales(environment).isEmpty());
+
+        environment.setProperty(WARM_UP_LOCALES_PROPERTY_NAME, "en,zh_CN");
+        assertEquals(ofSet(ENGLISH, SIMPLIFIED_CHINESE), this.serviceMessageSourceFactoryBean.resolveWarmUpLocales(environment));
+    }
+
+    @Test
+    void testInitInParallel() {
+        propertySource.setProperty(PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME, "true");
+        propertySource.setProperty(PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME, "2");
+        this.serviceMessageSourceFactoryBean.init();
+        assertEquals("test-a", this.serviceMessageSourceFactoryBean.getMessage("a"));
+        assertEquals("Hello,World", this.serviceMessageSourceFactoryBean.getMessage("hello", "World"));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveParallelInitialization() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveParallelInitialization(environment));
+
+        environment.setProperty(PARALLEL_INITIALIZATION_ENABLED_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveParallelInitialization(environment));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveParallelism() {
+        MockEnvironment environment = new MockEnvironment();
+        assertEquals(Runtime.getRuntime().availableProcessors(), this.serviceMessageSourceFactoryBean.resolveParallelism(environment));
+
+        environment.setProperty(PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME, "3");
+        assertEquals(3, this.serviceMessageSourceFactoryBean.resolveParallelism(environment));
+
+        environment.setProperty(PARALLEL_INITIALIZATION_PARALLELISM_PROPERTY_NAME, "0");
+        assertEquals(1, this.serviceMessageSourceFactoryBean.resolveParallelism(environment));
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveMessagePool() {
+        MockEnvironment environment = new MockEnvironment();
+        assertNull(this.serviceMessageSourceFactoryBean.resolveMessagePool(environment));
+
+        environment.setProperty(MESSAGE_POOL_ENABLED_PROPERTY_NAME, "true");
+        assertSame(MessagePool.shared(), this.serviceMessageSourceFactoryBean.resolveMessagePool(environment));
+    }
+
     @Test
     @LoggingLevelsTest(levels = "ERROR")
     void testOnApplicationEvent() {
         ResourceServiceMessageSourceChangedEvent event = new ResourceServiceMessageSourceChangedEvent(this.context, ofList("test.i18n_messages_en.properties"));
         this.serviceMessageSourceFactoryBean.onApplicationEvent(event);
+        assertTrue(event.getReloadFuture().isDone());
+    }
+
+    @Test
+    void testOnApplicationEventAsync() {
+        propertySource.setProperty(ASYNC_RELOAD_ENABLED_PROPERTY_NAME, "true");
+        this.serviceMessageSourceFactoryBean.init();
+        try {
+            ResourceServiceMessageSourceChangedEvent event = new ResourceServiceMessageSourceChangedEvent(this.context, ofList("test.i18n_messages_en.properties"));
+            propertySource.setProperty("test.i18n_messages_en.properties", "test.a=2");
+            eventPublisher.publishEvent(event);
+            event.getReloadFuture().join();
+            assertEquals("2", this.serviceMessageSource.getMessage("a"));
+        } finally {
+            // Restores the synchronous reload
+            propertySource.setProperty(ASYNC_RELOAD_ENABLED_PROPERTY_NAME, "false");
+            this.serviceMessageSourceFactoryBean.destroy();
+            this.serviceMessageSourceFactoryBean.init();
+        }
+    }
+
+    @Test
+    @LoggingLevelsTest(levels = "ERROR")
+    void testResolveAsyncReload() {
+        MockEnvironment environment = new MockEnvironment();
+        assertFalse(this.serviceMessageSourceFactoryBean.resolveAsyncReload(environment));
+
+        environment.setProperty(ASYNC_RELOAD_ENABLED_PROPERTY_NAME, "true");
+        assertTrue(this.serviceMessageSourceFactoryBean.resolveAsyncReload(environment));
     }
 
     @Test
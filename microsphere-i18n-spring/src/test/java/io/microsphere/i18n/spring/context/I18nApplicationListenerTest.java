@@ -25,12 +25,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.mock.env.MockPropertySource;
 
 import static io.microsphere.i18n.EmptyServiceMessageSource.INSTANCE;
+import static io.microsphere.i18n.spring.constants.I18nConstants.RELOAD_QUIET_PERIOD_PROPERTY_NAME;
 import static io.microsphere.i18n.spring.util.I18nBeanUtils.getServiceMessageSource;
 import static io.microsphere.i18n.util.I18nUtils.serviceMessageSource;
 import static io.microsphere.spring.config.env.event.PropertySourceChangedEvent.added;
 import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
+import static java.time.Duration.ofSeconds;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 /**
  * {@link I18nApplicationListener} Test
@@ -62,4 +65,27 @@ class I18nApplicationListenerTest extends AbstractSpringTest {
         }, TestSourceEnableI18nConfiguration.class);
         assertSame(INSTANCE, serviceMessageSource());
     }
+
+    @Test
+    void testCoalescedReload() {
+        testInSpringContainer((context, environment) -> {
+            ServiceMessageSource serviceMessageSource = getServiceMessageSource(context);
+
+            MockPropertySource mockPropertySource = new MockPropertySource("test");
+            mockPropertySource.setProperty(RELOAD_QUIET_PERIOD_PROPERTY_NAME, "50");
+            mockPropertySource.setProperty("test.i18n_messages_zh_CN.properties", "test.a = 测试-1");
+            environment.getPropertySources().addFirst(mockPropertySource);
+
+            // The burst of the events is reloaded once after the quiet period
+            context.publishEvent(new PropertySourcesChangedEvent(context, added(context, mockPropertySource)));
+            mockPropertySource.setProperty("test.i18n_messages_zh_CN.properties", "test.a = 测试-2");
+            context.publishEvent(new PropertySourcesChangedEvent(context, added(context, mockPropertySource)));
+
+            assertTimeoutPreemptively(ofSeconds(5), () -> {
+                while (!"测试-2".equals(serviceMessageSource.getMessage("a"))) {
+                    Thread.sleep(10);
+                }
+            });
+        }, TestSourceEnableI18nConfiguration.class);
+    }
 }